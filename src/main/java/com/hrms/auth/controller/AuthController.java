@@ -3,6 +3,7 @@ package com.hrms.auth.controller;
 import com.hrms.payload.request.LoginRequest;
 import com.hrms.payload.response.JwtResponse;
 import com.hrms.security.jwt.JwtUtil;
+import com.hrms.security.service.LoginHashingExecutor;
 import com.hrms.security.service.UserDetailsImpl;
 import com.hrms.audit.service.AuditLogService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,9 +14,9 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -39,6 +40,9 @@ public class AuthController {
     @Autowired
     AuditLogService auditLogService;
 
+    @Autowired
+    LoginHashingExecutor loginHashingExecutor;
+
     private String getClientIpAddress(HttpServletRequest request) {
         String xfHeader = request.getHeader("X-Forwarded-For");
         if (xfHeader == null || xfHeader.isEmpty() || "unknown".equalsIgnoreCase(xfHeader)) {
@@ -55,17 +59,22 @@ public class AuthController {
         @ApiResponse(responseCode = "400", description = "Invalid request payload (e.g., missing username/password)",
                      content = @Content(mediaType = "application/json", schema = @Schema(implementation = Object.class))),
         @ApiResponse(responseCode = "401", description = "Authentication failed (invalid credentials or account status issues)",
+                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Object.class))),
+        @ApiResponse(responseCode = "503", description = "Too many logins in progress; retry after the Retry-After delay",
                      content = @Content(mediaType = "application/json", schema = @Schema(implementation = Object.class)))
     })
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        String ipAddress = getClientIpAddress(request);
+        // Password verification (and any BCrypt cost rehash) runs on the hashing pool; the servlet thread is released meanwhile.
+        return loginHashingExecutor.submit(() -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())))
+                .thenApply(authentication -> buildLoginResponse(authentication, ipAddress));
+    }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+    private ResponseEntity<?> buildLoginResponse(Authentication authentication, String ipAddress) {
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
         String jwt = jwtUtil.generateToken(userDetails);
         try {
-            String ipAddress = getClientIpAddress(request);
             auditLogService.logEvent(
                 userDetails.getUsername(),
                 userDetails.getId(),
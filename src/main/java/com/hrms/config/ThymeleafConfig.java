@@ -1,7 +1,9 @@
 package com.hrms.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.thymeleaf.cache.StandardCacheManager;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
@@ -13,12 +15,23 @@ import org.thymeleaf.templateresolver.ITemplateResolver;
 @Configuration
 public class ThymeleafConfig {
 
+    // Parsed templates are cached by default; turn off (or set a TTL) in development to pick up template edits
+    @Value("${hrms.mail.templates.cache-enabled:true}")
+    private boolean templateCacheEnabled;
+
+    @Value("${hrms.mail.templates.cache-ttl-ms:0}")
+    private long templateCacheTtlMs; // 0 = cached until restart
+
     @Bean(name = "emailTemplateEngine")
     public SpringTemplateEngine emailTemplateEngine() {
         SpringTemplateEngine templateEngine = new SpringTemplateEngine();
         templateEngine.setTemplateResolver(emailTemplateResolver());
-        // For example, if you want to use SpringEL expressions:
-        // templateEngine.setEnableSpringELCompiler(true);
+        // Compiles frequently evaluated SpEL expressions to bytecode instead of interpreting them on every render
+        templateEngine.setEnableSpringELCompiler(true);
+        // Counts template cache hits and misses for the super-admin cache statistics
+        StandardCacheManager cacheManager = new StandardCacheManager();
+        cacheManager.setTemplateCacheEnableCounters(true);
+        templateEngine.setCacheManager(cacheManager);
         return templateEngine;
     }
 
@@ -29,8 +42,11 @@ public class ThymeleafConfig {
         templateResolver.setSuffix(".html");
         templateResolver.setTemplateMode(TemplateMode.HTML);
         templateResolver.setCharacterEncoding("UTF-8");
-        // Set to true in production for better performance
-        templateResolver.setCacheable(false);
+        // Cached templates are read and parsed once; static markup is kept as pre-built text events
+        templateResolver.setCacheable(templateCacheEnabled);
+        if (templateCacheEnabled && templateCacheTtlMs > 0) {
+            templateResolver.setCacheTTLMs(templateCacheTtlMs);
+        }
         templateResolver.setOrder(1); // In case other template resolvers are configured
         return templateResolver;
     }
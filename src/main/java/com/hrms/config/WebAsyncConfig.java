@@ -0,0 +1,44 @@
+package com.hrms.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Async request timeouts per request. spring.mvc.async.request-timeout (or the container default) applies to every
+ * async request; a handler returning a Callable or StreamingResponseBody that needs longer, like the attendance
+ * export, sets its own with {@link #setAsyncTimeout(HttpServletRequest, long)} before returning.
+ */
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    private static final String TIMEOUT_ATTRIBUTE = WebAsyncConfig.class.getName() + ".timeoutMs";
+
+    public static void setAsyncTimeout(HttpServletRequest request, long timeoutMs) {
+        request.setAttribute(TIMEOUT_ATTRIBUTE, timeoutMs);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new RequestTimeoutInterceptor());
+    }
+
+    // Runs after the handler returned and before the async request starts, when its timeout can still be changed
+    static class RequestTimeoutInterceptor implements CallableProcessingInterceptor {
+
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+            Object timeoutMs = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (timeoutMs instanceof Long timeout && request instanceof AsyncWebRequest asyncRequest) {
+                asyncRequest.setTimeout(timeout);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.hrms.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Replaces the default unbounded ConcurrentMapCacheManager with Caffeine (W-TinyLFU eviction).
+ * Skipped when {@code spring.cache.type} names another provider, e.g. {@code none} in tests.
+ */
+@Configuration
+@EnableConfigurationProperties(HrmsCacheProperties.class)
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "caffeine", matchIfMissing = true)
+public class CacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
+    @Bean
+    public CacheManager cacheManager(HrmsCacheProperties properties, ObjectProvider<CacheRefreshLoader> refreshLoaders) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Caches created on first use by name get the default bounds
+        cacheManager.setCaffeine(builder(properties.getDefaults(), "default"));
+
+        Map<String, CacheRefreshLoader> loaders = refreshLoaders.orderedStream()
+                .collect(Collectors.toMap(CacheRefreshLoader::getCacheName, Function.identity()));
+        properties.getCaches().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, buildCache(name, spec, loaders.get(name))));
+        logger.info("Configured bounded caches: {}", properties.getCaches().keySet());
+        return cacheManager;
+    }
+
+    private static Cache<Object, Object> buildCache(String name, HrmsCacheProperties.CacheSpec spec, CacheRefreshLoader loader) {
+        Caffeine<Object, Object> builder = builder(spec, name);
+        if (spec.getRefreshAfterWrite() != null) {
+            if (loader != null) {
+                builder.refreshAfterWrite(spec.getRefreshAfterWrite());
+                return builder.build(loader::load);
+            }
+            logger.warn("Cache '{}' has refresh-after-write but no CacheRefreshLoader; entries will only expire.", name);
+        }
+        return builder.build();
+    }
+
+    private static Caffeine<Object, Object> builder(HrmsCacheProperties.CacheSpec spec, String name) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.getMaximumSize())
+                .recordStats();
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        logger.debug("Cache '{}': maximumSize={}, expireAfterWrite={}, expireAfterAccess={}", name,
+                spec.getMaximumSize(), spec.getExpireAfterWrite(), spec.getExpireAfterAccess());
+        return builder;
+    }
+}
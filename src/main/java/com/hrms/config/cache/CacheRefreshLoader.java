@@ -0,0 +1,12 @@
+package com.hrms.config.cache;
+
+/**
+ * Reloads entries of one named cache in the background when {@code refresh-after-write} is set for it.
+ * Declare an implementation as a bean; caches without a loader only expire.
+ */
+public interface CacheRefreshLoader {
+
+    String getCacheName();
+
+    Object load(Object key) throws Exception;
+}
@@ -0,0 +1,79 @@
+package com.hrms.config.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache sizing and expiry, bound from {@code hrms.cache.*}. Every cache is bounded: a named cache
+ * without its own entry under {@code hrms.cache.caches} uses {@code hrms.cache.defaults}.
+ */
+@ConfigurationProperties(prefix = "hrms.cache")
+public class HrmsCacheProperties {
+
+    private CacheSpec defaults = new CacheSpec();
+
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    public CacheSpec getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(CacheSpec defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, CacheSpec> getCaches() {
+        return caches;
+    }
+
+    public void setCaches(Map<String, CacheSpec> caches) {
+        this.caches = caches;
+    }
+
+    public static class CacheSpec {
+
+        private long maximumSize = 1000;
+
+        private Duration expireAfterWrite;
+
+        private Duration expireAfterAccess;
+
+        // Only honoured for caches that have a CacheRefreshLoader bean; without one there is nothing to reload with
+        private Duration refreshAfterWrite;
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getExpireAfterWrite() {
+            return expireAfterWrite;
+        }
+
+        public void setExpireAfterWrite(Duration expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        public Duration getExpireAfterAccess() {
+            return expireAfterAccess;
+        }
+
+        public void setExpireAfterAccess(Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+        }
+
+        public Duration getRefreshAfterWrite() {
+            return refreshAfterWrite;
+        }
+
+        public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+            this.refreshAfterWrite = refreshAfterWrite;
+        }
+    }
+}
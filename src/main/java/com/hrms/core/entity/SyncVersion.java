@@ -0,0 +1,25 @@
+package com.hrms.core.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Monotonic per-key version counter used to propagate in-memory state (revocations, config snapshots)
+ * across nodes. Nodes poll the counter and reload only when it moves.
+ */
+@Entity
+@Table(name = "sync_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncVersion {
+
+    @Id
+    @Column(name = "version_key", length = 100)
+    private String versionKey;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
@@ -0,0 +1,22 @@
+package com.hrms.core.repository;
+
+import com.hrms.core.entity.SyncVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SyncVersionRepository extends JpaRepository<SyncVersion, String> {
+
+    // The row lock taken here is held until commit, so versions are handed out in commit order.
+    @Modifying
+    @Query("UPDATE SyncVersion v SET v.version = v.version + 1 WHERE v.versionKey = :versionKey")
+    int incrementVersion(@Param("versionKey") String versionKey);
+
+    @Query("SELECT v.version FROM SyncVersion v WHERE v.versionKey = :versionKey")
+    Optional<Long> findVersionByKey(@Param("versionKey") String versionKey);
+}
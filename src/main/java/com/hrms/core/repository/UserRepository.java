@@ -2,12 +2,16 @@ package com.hrms.core.repository;
 
 import com.hrms.core.entity.Role;
 import com.hrms.core.entity.User;
+import com.hrms.scheduler.UnrecordedLeaveCandidate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,7 +26,9 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     List<User> findByCompanyIdAndIsActive(Long companyId, boolean isActive);
     List<User> findByCompanyIsNullAndIsActive(boolean isActive);
     List<User> findByCompanyIsNull();
-    long countByRolesContains(Role role);
+    // A join, not the derived "member of" subquery that Hibernate runs once per user
+    @Query("SELECT count(u) FROM User u JOIN u.roles r WHERE r = :role")
+    long countByRolesContains(@Param("role") Role role);
     List<User> findByIsActiveTrue();
     long countByIsActiveTrue(); // New count method
     long countByCompanyIdAndIsActiveTrue(Long companyId); // New count method
@@ -38,5 +44,33 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     boolean existsByManagerIdAndIsActiveTrue(Long managerId);
     long countByIsActiveFalse(); // Added
     @org.springframework.data.jpa.repository.EntityGraph(attributePaths = {"company", "roles"})
-    org.springframework.data.domain.Page<User> findAllWithCompanyAndRoles(org.springframework.data.jpa.domain.Specification<User> spec, org.springframework.data.domain.Pageable pageable);
+    @Override
+    org.springframework.data.domain.Page<User> findAll(org.springframework.data.jpa.domain.Specification<User> spec, org.springframework.data.domain.Pageable pageable);
+
+    // Not a derivable query name: Spring Data would fail at startup. Specification queries load company and roles eagerly.
+    default org.springframework.data.domain.Page<User> findAllWithCompanyAndRoles(org.springframework.data.jpa.domain.Specification<User> spec, org.springframework.data.domain.Pageable pageable) {
+        return findAll(spec, pageable);
+    }
+
+    // Active users with no attendance, no approved leave and no company holiday on the date, in one anti-join.
+    // Keyset paged: pass the last employeeId of the previous page as afterId (0 for the first page).
+    // Restricted to one company partition: company id modulo partitionCount (no company counts as 0).
+    @Query("SELECT new com.hrms.scheduler.UnrecordedLeaveCandidate(u.id, u.firstName, u.email) FROM User u " +
+           "WHERE u.isActive = true AND u.id > :afterId " +
+           "AND mod(coalesce(u.company.id, 0), :partitionCount) = :partition " +
+           "AND NOT EXISTS (SELECT 1 FROM Attendance a WHERE a.employee = u AND a.workDate = :checkDate) " +
+           "AND NOT EXISTS (SELECT 1 FROM LeaveRequest lr WHERE lr.employee = u " +
+           "    AND lr.status = com.hrms.employee.core.enums.LeaveStatus.APPROVED " +
+           "    AND :checkDate BETWEEN lr.startDate AND lr.endDate) " +
+           "AND NOT EXISTS (SELECT 1 FROM Holiday h WHERE h.company = u.company AND h.date = :checkDate) " +
+           "ORDER BY u.id")
+    List<UnrecordedLeaveCandidate> findUnrecordedLeaveCandidates(@Param("checkDate") LocalDate checkDate,
+                                                                 @Param("afterId") Long afterId,
+                                                                 @Param("partition") int partition,
+                                                                 @Param("partitionCount") int partitionCount,
+                                                                 Pageable pageable);
+
+    // Which of the given ids are active employees of the company, for validating batch input in one query
+    @Query("SELECT u.id FROM User u WHERE u.company.id = :companyId AND u.isActive = true AND u.id IN :ids")
+    List<Long> findActiveIdsByCompanyIdAndIdIn(@Param("companyId") Long companyId, @Param("ids") Collection<Long> ids);
 }
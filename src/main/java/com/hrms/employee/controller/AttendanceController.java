@@ -1,6 +1,7 @@
 package com.hrms.employee.controller;
 
 import com.hrms.employee.payload.request.AttendanceLogRequest;
+import com.hrms.employee.payload.response.AttendanceMonthlySummaryDTO;
 import com.hrms.employee.payload.response.AttendanceRecordDTO;
 import com.hrms.employee.payload.response.AttendanceSummaryResponse;
 import com.hrms.employee.service.AttendanceService;
@@ -14,6 +15,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/employee/attendance")
@@ -43,4 +46,15 @@ public class AttendanceController {
         AttendanceSummaryResponse summaryResponse = attendanceService.getAttendanceForPeriod(startDate, endDate, currentUser);
         return ResponseEntity.ok(summaryResponse);
     }
+
+    @GetMapping("/monthly-summary")
+    public ResponseEntity<List<AttendanceMonthlySummaryDTO>> getMonthlyAttendanceSummary(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth fromMonth,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth toMonth,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        if (fromMonth.isAfter(toMonth)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(attendanceService.getMonthlySummaries(fromMonth, toMonth, currentUser));
+    }
 }
@@ -5,12 +5,14 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.PartitionKey;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 
 @Entity
 @Table(name = "employee_attendance", uniqueConstraints = {
@@ -35,6 +37,12 @@ public class Attendance {
 
     private LocalDateTime logoutTime;
 
+    // Time of day of loginTime, generated by the database (V35) so the late-login alert query can use an index
+    @Column(name = "login_time_of_day", insertable = false, updatable = false)
+    private LocalTime loginTimeOfDay;
+
+    // employee_attendance is partitioned by month of work_date: updates and deletes by id also name it
+    @PartitionKey
     @Column(nullable = false)
     private LocalDate workDate;
 
@@ -43,6 +51,10 @@ public class Attendance {
     @Column(nullable = false)
     private boolean isRegularized = false;
 
+    // Judged once when the login is recorded, so a later change of the late login threshold does not re-judge it
+    @Column(name = "is_late_login", nullable = false)
+    private boolean lateLogin = false;
+
     @Column(columnDefinition = "TEXT")
     private String notes;
 
@@ -0,0 +1,53 @@
+package com.hrms.employee.core.entity;
+
+import com.hrms.core.entity.User;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Attendance totals of one employee for one month. Maintained by AttendanceRollupService in the same
+ * transaction as each attendance write, so summaries read one row per month instead of every attendance row.
+ */
+@Entity
+@Table(name = "attendance_monthly_rollup", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"employee_id", "month_start"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id", nullable = false)
+    private User employee;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart; // First day of the month
+
+    @Column(name = "days_present", nullable = false)
+    private int daysPresent;
+
+    @Column(name = "total_hours", nullable = false)
+    private double totalHours;
+
+    @Column(name = "late_count", nullable = false)
+    private int lateCount; // Logins after LATE_LOGIN_THRESHOLD_TIME that are not regularized
+
+    @Column(name = "missed_logout_count", nullable = false)
+    private int missedLogoutCount; // Days with a login and no logout
+
+    @Column(name = "regularized_count", nullable = false)
+    private int regularizedCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -32,7 +32,7 @@ public class RegularizationRequest {
 
     // Nullable if the regularization is for a day with no attendance record yet (e.g. forgot to login at all)
     @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "attendance_id")
+    @JoinColumn(name = "attendance_record_id")
     private Attendance attendanceRecord;
 
     @Column(nullable = false)
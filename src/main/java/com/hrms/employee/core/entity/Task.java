@@ -61,4 +61,7 @@ public class Task {
 
     @Column(name = "auto_closed_at")
     private LocalDateTime autoClosedAt;
+
+    @Column(name = "reminder_sent_at")
+    private LocalDateTime reminderSentAt;
 }
@@ -0,0 +1,43 @@
+package com.hrms.employee.core.repository;
+
+import com.hrms.employee.core.entity.AttendanceMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AttendanceMonthlyRollupRepository extends JpaRepository<AttendanceMonthlyRollup, Long> {
+
+    List<AttendanceMonthlyRollup> findByEmployeeIdAndMonthStartBetweenOrderByMonthStartAsc(Long employeeId, LocalDate fromMonth, LocalDate toMonth);
+
+    @Query("SELECT r FROM AttendanceMonthlyRollup r WHERE r.employee.company.id = :companyId AND r.monthStart = :monthStart")
+    List<AttendanceMonthlyRollup> findByCompanyIdAndMonthStart(@Param("companyId") Long companyId, @Param("monthStart") LocalDate monthStart);
+
+    // Adds deltas to the employee-months given as parallel arrays, creating missing rows, in one statement.
+    // Deltas rather than recomputed totals: concurrent writers to the same month then serialize on the row lock
+    // and neither overwrites the other. An employee-month must appear at most once per call.
+    @Modifying
+    @Query(value = "INSERT INTO attendance_monthly_rollup AS r (employee_id, month_start, days_present, total_hours, " +
+           "  late_count, missed_logout_count, regularized_count, updated_at) " +
+           "SELECT d.employee_id, d.month_start, d.days_present, d.total_hours, d.late_count, d.missed_logout_count, " +
+           "  d.regularized_count, :now " +
+           "FROM unnest(CAST(:employeeIds AS bigint[]), CAST(:monthStarts AS date[]), CAST(:daysPresent AS int[]), " +
+           "            CAST(:totalHours AS float8[]), CAST(:lateCounts AS int[]), CAST(:missedLogoutCounts AS int[]), " +
+           "            CAST(:regularizedCounts AS int[])) " +
+           "     AS d(employee_id, month_start, days_present, total_hours, late_count, missed_logout_count, regularized_count) " +
+           "ON CONFLICT (employee_id, month_start) DO UPDATE SET days_present = r.days_present + EXCLUDED.days_present, " +
+           "  total_hours = r.total_hours + EXCLUDED.total_hours, late_count = r.late_count + EXCLUDED.late_count, " +
+           "  missed_logout_count = r.missed_logout_count + EXCLUDED.missed_logout_count, " +
+           "  regularized_count = r.regularized_count + EXCLUDED.regularized_count, updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int addToRollups(@Param("employeeIds") Long[] employeeIds, @Param("monthStarts") LocalDate[] monthStarts,
+                     @Param("daysPresent") Integer[] daysPresent, @Param("totalHours") Double[] totalHours,
+                     @Param("lateCounts") Integer[] lateCounts, @Param("missedLogoutCounts") Integer[] missedLogoutCounts,
+                     @Param("regularizedCounts") Integer[] regularizedCounts, @Param("now") LocalDateTime now);
+}
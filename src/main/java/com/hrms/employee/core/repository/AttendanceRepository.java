@@ -2,13 +2,22 @@ package com.hrms.employee.core.repository;
 
 import com.hrms.core.entity.User;
 import com.hrms.employee.core.entity.Attendance;
+import com.hrms.employee.service.AttendanceBatchRow;
+import com.hrms.employee.service.AttendanceUpsertCounts;
+import com.hrms.scheduler.anomaly.AttendanceAlertRow;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,32 +26,104 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     Optional<Attendance> findByEmployeeAndWorkDate(User employee, LocalDate workDate);
     List<Attendance> findByEmployeeAndWorkDateBetweenOrderByWorkDateAsc(User employee, LocalDate startDate, LocalDate endDate);
 
-    @Query("SELECT a FROM Attendance a JOIN FETCH a.employee WHERE a.workDate = :workDate " +
-           "AND a.totalHours IS NOT NULL AND a.totalHours < :minHours " +
-           "AND (a.isRegularized = false OR a.isRegularized IS NULL) " +
-           "AND a.underworkAlertSentAt IS NULL")
-    List<Attendance> findUnderworkedAttendanceForAlert(
-            @Param("workDate") LocalDate workDate,
-            @Param("minHours") double minHours
-    );
-
-    @Query("SELECT a FROM Attendance a JOIN FETCH a.employee WHERE a.workDate = :workDate " +
-           "AND a.loginTime IS NOT NULL AND a.logoutTime IS NULL " +
-           "AND a.missedLogoutAlertSentAt IS NULL")
-    List<Attendance> findAttendanceWithMissedLogoutForAlert(@Param("workDate") LocalDate workDate);
-
-    @Query("SELECT a FROM Attendance a JOIN FETCH a.employee WHERE a.workDate = :workDate " +
-           "AND a.loginTime IS NOT NULL AND a.logoutTime IS NOT NULL " +
-           "AND a.totalHours IS NOT NULL AND a.totalHours < :minHours " +
-           "AND (a.isRegularized = false OR a.isRegularized IS NULL) " +
-           "AND a.earlyLogoutAlertSentAt IS NULL")
-    List<Attendance> findEarlyLogoutsForAlert(@Param("workDate") LocalDate workDate, @Param("minHours") double minHours);
-
-    @Query("SELECT a FROM Attendance a JOIN FETCH a.employee WHERE a.workDate = :workDate " +
-           "AND a.loginTime IS NOT NULL AND FUNCTION('TIME', a.loginTime) > :lateThreshold " +
-           "AND (a.isRegularized = false OR a.isRegularized IS NULL) " +
-           "AND a.lateLoginAlertSentAt IS NULL")
-    List<Attendance> findLateLoginsForAlert(@Param("workDate") LocalDate workDate, @Param("lateThreshold") LocalTime lateThreshold);
+    // Writers lock the row they are about to change: the monthly rollup is updated with the difference between
+    // the row before and after, so the "before" must not change underneath them.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Attendance a WHERE a.employee = :employee AND a.workDate = :workDate")
+    Optional<Attendance> findByEmployeeAndWorkDateForUpdate(@Param("employee") User employee, @Param("workDate") LocalDate workDate);
+
+    // By id only, so every partition's primary key is probed; only used for single regularization approvals
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Attendance a WHERE a.id = :id")
+    Optional<Attendance> findByIdForUpdate(@Param("id") Long id);
+
+    // Locks exactly the rows of the given (employee, date) pairs for a batch write, passed as parallel arrays that
+    // unnest zips into pairs. The date range lets the planner prune to the batch's partitions.
+    @Query(value = "SELECT a.employee_id AS \"employeeId\", a.work_date AS \"workDate\", a.login_time AS \"loginTime\", " +
+           "a.is_late_login AS \"lateLogin\", a.logout_time AS \"logoutTime\", a.total_hours AS \"totalHours\", " +
+           "a.is_regularized AS \"regularized\" " +
+           "FROM unnest(CAST(:employeeIds AS bigint[]), CAST(:workDates AS date[])) AS k(employee_id, work_date) " +
+           "JOIN employee_attendance a ON a.employee_id = k.employee_id AND a.work_date = k.work_date " +
+           "WHERE a.work_date BETWEEN :fromDate AND :toDate " +
+           "FOR UPDATE OF a", nativeQuery = true)
+    List<AttendanceBatchRow> findForUpdateByEmployeeAndWorkDatePairs(@Param("employeeIds") Long[] employeeIds,
+                                                                     @Param("workDates") LocalDate[] workDates,
+                                                                     @Param("fromDate") LocalDate fromDate,
+                                                                     @Param("toDate") LocalDate toDate);
+
+    // One keyset chunk of a work date for the anomaly engine: the rows at least one rule will alert on. Each OR
+    // branch is one rule's matches() condition restricted to rows not yet alerted for it, and is served by that
+    // rule's partial index (V35) once most of the day is stamped; keep them in step with the rules and the index
+    // predicates.
+    // Restricted to one company partition of employees (company id modulo partitionCount, no company counts as 0).
+    // A single partition skips the modulo: its estimate is a guess that would make the planner drive from users.
+    @Query("SELECT new com.hrms.scheduler.anomaly.AttendanceAlertRow(a.id, e.id, e.firstName, e.email, " +
+           "a.loginTime, a.logoutTime, a.totalHours, a.isRegularized, " +
+           "a.underworkAlertSentAt, a.missedLogoutAlertSentAt, a.earlyLogoutAlertSentAt, a.lateLoginAlertSentAt) " +
+           "FROM Attendance a JOIN a.employee e WHERE a.workDate = :workDate AND a.id > :afterId " +
+           "AND (:partitionCount = 1 OR mod(coalesce(e.company.id, 0), :partitionCount) = :partition) " +
+           "AND ((a.underworkAlertSentAt IS NULL AND a.isRegularized = false AND a.totalHours < :minimumWorkHours) " +
+           "OR (a.missedLogoutAlertSentAt IS NULL AND a.logoutTime IS NULL) " +
+           "OR (a.earlyLogoutAlertSentAt IS NULL AND a.logoutTime IS NOT NULL AND a.isRegularized = false " +
+           "AND a.totalHours < :minimumWorkHours) " +
+           "OR (a.lateLoginAlertSentAt IS NULL AND a.isRegularized = false AND a.loginTimeOfDay > :lateLoginThreshold)) " +
+           "ORDER BY a.id")
+    List<AttendanceAlertRow> findAlertCandidates(@Param("workDate") LocalDate workDate, @Param("afterId") Long afterId,
+                                                 @Param("partition") int partition, @Param("partitionCount") int partitionCount,
+                                                 @Param("minimumWorkHours") double minimumWorkHours,
+                                                 @Param("lateLoginThreshold") LocalTime lateLoginThreshold,
+                                                 Pageable pageable);
+
+    // Bulk stamps bypass the auditing listener, so updatedAt is set explicitly. The work date confines them to
+    // one partition.
+    @Modifying
+    @Query("UPDATE Attendance a SET a.underworkAlertSentAt = :sentAt, a.updatedAt = :sentAt " +
+           "WHERE a.workDate = :workDate AND a.id IN :ids")
+    int markUnderworkAlertSent(@Param("workDate") LocalDate workDate, @Param("ids") Collection<Long> ids,
+                               @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE Attendance a SET a.missedLogoutAlertSentAt = :sentAt, a.updatedAt = :sentAt " +
+           "WHERE a.workDate = :workDate AND a.id IN :ids")
+    int markMissedLogoutAlertSent(@Param("workDate") LocalDate workDate, @Param("ids") Collection<Long> ids,
+                                  @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE Attendance a SET a.earlyLogoutAlertSentAt = :sentAt, a.updatedAt = :sentAt " +
+           "WHERE a.workDate = :workDate AND a.id IN :ids")
+    int markEarlyLogoutAlertSent(@Param("workDate") LocalDate workDate, @Param("ids") Collection<Long> ids,
+                                 @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE Attendance a SET a.lateLoginAlertSentAt = :sentAt, a.updatedAt = :sentAt " +
+           "WHERE a.workDate = :workDate AND a.id IN :ids")
+    int markLateLoginAlertSent(@Param("workDate") LocalDate workDate, @Param("ids") Collection<Long> ids,
+                               @Param("sentAt") LocalDateTime sentAt);
 
     boolean existsByEmployeeAndWorkDate(User employee, LocalDate workDate);
+
+    // Inserts or updates one batch of attendance in a single statement: the batch is passed as parallel arrays
+    // (unnest zips them into rows) and keyed by the (employee_id, work_date) unique constraint. The batch must not
+    // hold the same employee and date twice. Rows whose login and logout are unchanged are not rewritten, so the
+    // late login flag passed for an unchanged login must be the row's own. A row counts as inserted when its
+    // created_at is this statement's :now (xmax cannot be read through a partitioned table).
+    @Query(value = "WITH upserted AS (" +
+           "  INSERT INTO employee_attendance AS a (employee_id, work_date, login_time, is_late_login, logout_time, total_hours, " +
+           "                                        created_at, updated_at) " +
+           "  SELECT r.employee_id, r.work_date, r.login_time, r.is_late_login, r.logout_time, r.total_hours, :now, :now " +
+           "  FROM unnest(CAST(:employeeIds AS bigint[]), CAST(:workDates AS date[]), CAST(:loginTimes AS timestamp[]), " +
+           "              CAST(:lateLogins AS boolean[]), CAST(:logoutTimes AS timestamp[]), CAST(:totalHours AS float8[])) " +
+           "       AS r(employee_id, work_date, login_time, is_late_login, logout_time, total_hours) " +
+           "  ON CONFLICT (employee_id, work_date) DO UPDATE SET login_time = EXCLUDED.login_time, " +
+           "  is_late_login = EXCLUDED.is_late_login, logout_time = EXCLUDED.logout_time, total_hours = EXCLUDED.total_hours, " +
+           "  updated_at = EXCLUDED.updated_at " +
+           "  WHERE (a.login_time, a.logout_time) IS DISTINCT FROM (EXCLUDED.login_time, EXCLUDED.logout_time) " +
+           "  RETURNING (a.created_at = :now) AS inserted) " +
+           "SELECT count(*) FILTER (WHERE inserted) AS \"inserted\", count(*) FILTER (WHERE NOT inserted) AS \"updated\" " +
+           "FROM upserted", nativeQuery = true)
+    AttendanceUpsertCounts upsertAttendance(@Param("employeeIds") Long[] employeeIds, @Param("workDates") LocalDate[] workDates,
+                                            @Param("loginTimes") LocalDateTime[] loginTimes,
+                                            @Param("lateLogins") Boolean[] lateLogins,
+                                            @Param("logoutTimes") LocalDateTime[] logoutTimes,
+                                            @Param("totalHours") Double[] totalHours, @Param("now") LocalDateTime now);
 }
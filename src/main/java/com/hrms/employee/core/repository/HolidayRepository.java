@@ -1,7 +1,9 @@
 package com.hrms.employee.core.repository;
 
 import com.hrms.employee.core.entity.Holiday;
+import com.hrms.employee.service.HolidayDay;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -16,4 +18,8 @@ public interface HolidayRepository extends JpaRepository<Holiday, Long> {
     boolean existsByDateAndIsGlobalTrue(LocalDate date);
     boolean existsByCompanyIdAndDate(Long companyId, LocalDate date);
     Optional<Holiday> findByIdAndIsGlobalTrue(Long id);
+
+    // Dates only, for the in-memory HolidayCalendar
+    @Query("SELECT new com.hrms.employee.service.HolidayDay(c.id, h.date, h.isGlobal) FROM Holiday h LEFT JOIN h.company c")
+    List<HolidayDay> findAllHolidayDays();
 }
@@ -3,12 +3,17 @@ package com.hrms.employee.core.repository;
 import com.hrms.core.entity.User;
 import com.hrms.employee.core.entity.Task;
 import com.hrms.employee.core.enums.TaskStatus;
+import com.hrms.scheduler.OverdueTaskClosureRow;
+import com.hrms.scheduler.TaskNotificationRow;
+import com.hrms.scheduler.deadline.TaskDeadline;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,8 +23,69 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByAssignedToIdOrderByDeadlineAscPriorityDesc(Long assignedToId);
     Optional<Task> findByIdAndAssignedToId(Long id, Long assignedToId);
 
-    @Query("SELECT t FROM Task t WHERE t.deadline < :now AND t.status IN :openStatuses AND t.autoClosedAt IS NULL")
-    List<Task> findOverdueTasksForAutoClosure(@Param("now") LocalDateTime now, @Param("openStatuses") List<TaskStatus> openStatuses);
+    // The TaskNotificationRow columns of a changed task c, its assignee and its assigner
+    String TASK_CONTACT_COLUMNS = "c.id AS \"taskId\", c.title AS \"title\", c.deadline AS \"deadline\", " +
+           "assignee.id AS \"assigneeId\", assignee.first_name AS \"assigneeFirstName\", " +
+           "assignee.last_name AS \"assigneeLastName\", assignee.email AS \"assigneeEmail\", " +
+           "assigner.id AS \"assignerId\", assigner.first_name AS \"assignerFirstName\", assigner.email AS \"assignerEmail\" ";
+
+    // Selects the notification columns for the tasks an UPDATE ... RETURNING put in the "changed" CTE
+    String CHANGED_TASK_CONTACTS = "SELECT " + TASK_CONTACT_COLUMNS +
+           "FROM changed c JOIN users assignee ON assignee.id = c.assigned_to_id " +
+           "LEFT JOIN users assigner ON assigner.id = c.assigned_by_id " +
+           "ORDER BY c.id";
+
+    // Closes one keyset chunk of overdue open tasks in a single statement and returns only what the notifications need.
+    // Partitioned by the assignee's company (company id modulo partitionCount, no company counts as 0).
+    // The open-status check is repeated on the UPDATE so a task completed concurrently is re-checked and left alone;
+    // the keyset cursor is therefore the last scanned id, returned on every row (and on a lone row when none closed).
+    @Query(value = "WITH scanned AS (" +
+           "  SELECT o.id FROM employee_tasks o JOIN users assignee ON assignee.id = o.assigned_to_id " +
+           "  WHERE o.deadline < :now AND o.status IN (:openStatuses) AND o.auto_closed_at IS NULL AND o.id > :afterId " +
+           "  AND mod(coalesce(assignee.company_id, 0), :partitionCount) = :partition " +
+           "  ORDER BY o.id LIMIT :chunkSize), " +
+           "changed AS (" +
+           "  UPDATE employee_tasks t SET status = :closedStatus, auto_closed_at = :now, updated_at = :now " +
+           "  WHERE t.id IN (SELECT id FROM scanned) AND t.status IN (:openStatuses) AND t.auto_closed_at IS NULL " +
+           "  RETURNING t.id, t.title, t.deadline, t.assigned_to_id, t.assigned_by_id) " +
+           "SELECT " + TASK_CONTACT_COLUMNS + ", s.last_id AS \"scannedLastId\", s.scanned AS \"scannedCount\" " +
+           "FROM (SELECT max(id) AS last_id, count(*) AS scanned FROM scanned) s " +
+           "LEFT JOIN changed c ON TRUE " +
+           "LEFT JOIN users assignee ON assignee.id = c.assigned_to_id " +
+           "LEFT JOIN users assigner ON assigner.id = c.assigned_by_id " +
+           "ORDER BY c.id", nativeQuery = true)
+    List<OverdueTaskClosureRow> closeOverdueTasks(@Param("now") LocalDateTime now, @Param("openStatuses") List<String> openStatuses,
+                                                @Param("closedStatus") String closedStatus, @Param("afterId") long afterId,
+                                                @Param("partition") int partition, @Param("partitionCount") int partitionCount,
+                                                @Param("chunkSize") int chunkSize);
+
+    // Closes the given tasks if they are still open and past their deadline (the deadline scheduler's timers).
+    // Nodes firing the same timer race on the row; only the one whose UPDATE matched gets the row back.
+    @Query(value = "WITH changed AS (" +
+           "  UPDATE employee_tasks t SET status = :closedStatus, auto_closed_at = :now, updated_at = :now " +
+           "  WHERE t.id IN (:ids) AND t.deadline <= :now AND t.status IN (:openStatuses) AND t.auto_closed_at IS NULL " +
+           "  RETURNING t.id, t.title, t.deadline, t.assigned_to_id, t.assigned_by_id) " +
+           CHANGED_TASK_CONTACTS, nativeQuery = true)
+    List<TaskNotificationRow> closeDueTasks(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+                                            @Param("openStatuses") List<String> openStatuses,
+                                            @Param("closedStatus") String closedStatus);
+
+    // Stamps reminder_sent_at on the given open, not yet reminded tasks and returns those it stamped
+    @Query(value = "WITH changed AS (" +
+           "  UPDATE employee_tasks t SET reminder_sent_at = :now " +
+           "  WHERE t.id IN (:ids) AND t.deadline > :now AND t.status IN (:openStatuses) " +
+           "  AND t.auto_closed_at IS NULL AND t.reminder_sent_at IS NULL " +
+           "  RETURNING t.id, t.title, t.deadline, t.assigned_to_id, t.assigned_by_id) " +
+           CHANGED_TASK_CONTACTS, nativeQuery = true)
+    List<TaskNotificationRow> markRemindersSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+                                                @Param("openStatuses") List<String> openStatuses);
+
+    // One keyset page of open tasks due before the given time, for rebuilding the deadline scheduler's timers
+    @Query("SELECT new com.hrms.scheduler.deadline.TaskDeadline(t.id, t.deadline, t.reminderSentAt) FROM Task t " +
+           "WHERE t.deadline < :dueBefore AND t.status IN :openStatuses AND t.autoClosedAt IS NULL AND t.id > :afterId " +
+           "ORDER BY t.id")
+    List<TaskDeadline> findOpenTaskDeadlines(@Param("dueBefore") LocalDateTime dueBefore, @Param("openStatuses") List<TaskStatus> openStatuses,
+                                             @Param("afterId") long afterId, Pageable pageable);
 
     long countByAssignedToAndStatusInAndAutoClosedAtIsNull(User assignedTo, List<TaskStatus> statuses);
     long countByAssignedByAndStatusInAndDeadlineBeforeAndAutoClosedAtIsNull(User assignedBy, List<TaskStatus> statuses, LocalDateTime now);
@@ -0,0 +1,21 @@
+package com.hrms.employee.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceMonthlySummaryDTO {
+    private Long employeeId;
+    private String employeeName;
+    private YearMonth month;
+    private int daysPresent;
+    private double totalHours;
+    private int lateCount; // Late logins not regularized
+    private int missedLogoutCount;
+    private int regularizedCount;
+}
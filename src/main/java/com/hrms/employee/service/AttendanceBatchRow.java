@@ -0,0 +1,26 @@
+package com.hrms.employee.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Current values of an attendance row a batch chunk is about to write, locked by
+ * AttendanceRepository.findForUpdateByEmployeeAndWorkDatePairs. Only what the monthly rollup and the late login
+ * flag need, so no Attendance or User entity is loaded.
+ */
+public interface AttendanceBatchRow {
+
+    Long getEmployeeId();
+
+    LocalDate getWorkDate();
+
+    LocalDateTime getLoginTime();
+
+    Boolean getLateLogin();
+
+    LocalDateTime getLogoutTime();
+
+    Double getTotalHours();
+
+    Boolean getRegularized();
+}
@@ -0,0 +1,183 @@
+package com.hrms.employee.service;
+
+import com.hrms.employee.core.entity.Attendance;
+import com.hrms.employee.core.repository.AttendanceMonthlyRollupRepository;
+import com.hrms.service.config.SystemConfigValueProviderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps attendance_monthly_rollup in step with attendance writes. A writer takes the {@link Contribution} of the
+ * row before and after its change and records the difference in the same transaction; counts follow the anomaly
+ * rules (a late login is not regularized and was flagged late when recorded, a missed logout has no logout time).
+ * The late flag is stored on the row, so the before side always matches what was counted.
+ */
+@Service
+public class AttendanceRollupService {
+
+    static final String LATE_LOGIN_THRESHOLD_KEY = "LATE_LOGIN_THRESHOLD_TIME";
+    static final LocalTime DEFAULT_LATE_LOGIN_THRESHOLD = LocalTime.of(9, 30);
+
+    @Autowired
+    private AttendanceMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private SystemConfigValueProviderService configValueProvider;
+
+    /**
+     * The late login flag to store with a login: the current row's flag when the login is unchanged, otherwise
+     * whether it is after LATE_LOGIN_THRESHOLD_TIME as configured now. current is null for a new row.
+     */
+    public boolean isLateLogin(Attendance current, LocalDateTime loginTime) {
+        return isLateLogin(current != null ? current.getLoginTime() : null, current != null && current.isLateLogin(), loginTime);
+    }
+
+    /**
+     * Same as {@link #isLateLogin(Attendance, LocalDateTime)} for a row read without its entity; currentLoginTime is
+     * null for a new row.
+     */
+    public boolean isLateLogin(LocalDateTime currentLoginTime, boolean currentLateLogin, LocalDateTime loginTime) {
+        if (loginTime.equals(currentLoginTime)) {
+            return currentLateLogin;
+        }
+        LocalTime threshold = configValueProvider.getLocalTimeValue(LATE_LOGIN_THRESHOLD_KEY, DEFAULT_LATE_LOGIN_THRESHOLD);
+        return loginTime.toLocalTime().isAfter(threshold);
+    }
+
+    public Contribution contributionOf(Attendance attendance) {
+        if (attendance == null) {
+            return Contribution.NONE;
+        }
+        return contributionOf(attendance.getLoginTime(), attendance.isLateLogin(), attendance.getLogoutTime(),
+                              attendance.getTotalHours(), attendance.isRegularized());
+    }
+
+    public Contribution contributionOf(AttendanceBatchRow row) {
+        if (row == null) {
+            return Contribution.NONE;
+        }
+        return contributionOf(row.getLoginTime(), Boolean.TRUE.equals(row.getLateLogin()), row.getLogoutTime(),
+                              row.getTotalHours(), Boolean.TRUE.equals(row.getRegularized()));
+    }
+
+    public Contribution contributionOf(LocalDateTime loginTime, boolean lateLogin, LocalDateTime logoutTime, Double totalHours,
+                                       boolean regularized) {
+        boolean late = loginTime != null && lateLogin && !regularized;
+        boolean missedLogout = loginTime != null && logoutTime == null;
+        return new Contribution(1, totalHours != null ? totalHours : 0.0, late ? 1 : 0, missedLogout ? 1 : 0, regularized ? 1 : 0);
+    }
+
+    /**
+     * Records the change of one attendance row; before is {@link Contribution#NONE} for a new row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Long employeeId, LocalDate workDate, Contribution before, Contribution after) {
+        Changes changes = new Changes();
+        changes.add(employeeId, workDate, before, after);
+        apply(changes);
+    }
+
+    /**
+     * Writes the accumulated changes with one statement. Employee-months whose totals did not move are skipped.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Changes changes) {
+        int size = 0;
+        for (Map<LocalDate, Delta> byMonth : changes.deltas.values()) {
+            for (Delta delta : byMonth.values()) {
+                if (!delta.isZero()) {
+                    size++;
+                }
+            }
+        }
+        if (size == 0) {
+            return;
+        }
+        Long[] employeeIds = new Long[size];
+        LocalDate[] monthStarts = new LocalDate[size];
+        Integer[] daysPresent = new Integer[size];
+        Double[] totalHours = new Double[size];
+        Integer[] lateCounts = new Integer[size];
+        Integer[] missedLogoutCounts = new Integer[size];
+        Integer[] regularizedCounts = new Integer[size];
+        int i = 0;
+        for (Map.Entry<Long, Map<LocalDate, Delta>> employee : changes.deltas.entrySet()) {
+            for (Map.Entry<LocalDate, Delta> month : employee.getValue().entrySet()) {
+                Delta delta = month.getValue();
+                if (delta.isZero()) {
+                    continue;
+                }
+                employeeIds[i] = employee.getKey();
+                monthStarts[i] = month.getKey();
+                daysPresent[i] = delta.daysPresent;
+                totalHours[i] = delta.totalHours;
+                lateCounts[i] = delta.lateCount;
+                missedLogoutCounts[i] = delta.missedLogoutCount;
+                regularizedCounts[i] = delta.regularizedCount;
+                i++;
+            }
+        }
+        rollupRepository.addToRollups(employeeIds, monthStarts, daysPresent, totalHours, lateCounts, missedLogoutCounts,
+                                      regularizedCounts, LocalDateTime.now());
+    }
+
+    /**
+     * What one attendance row adds to its employee-month.
+     */
+    public static final class Contribution {
+
+        public static final Contribution NONE = new Contribution(0, 0.0, 0, 0, 0);
+
+        private final int daysPresent;
+        private final double totalHours;
+        private final int lateCount;
+        private final int missedLogoutCount;
+        private final int regularizedCount;
+
+        Contribution(int daysPresent, double totalHours, int lateCount, int missedLogoutCount, int regularizedCount) {
+            this.daysPresent = daysPresent;
+            this.totalHours = totalHours;
+            this.lateCount = lateCount;
+            this.missedLogoutCount = missedLogoutCount;
+            this.regularizedCount = regularizedCount;
+        }
+    }
+
+    /**
+     * Rollup deltas of several attendance changes, summed per employee-month, for writers that change many rows.
+     */
+    public static final class Changes {
+
+        private final Map<Long, Map<LocalDate, Delta>> deltas = new LinkedHashMap<>();
+
+        public void add(Long employeeId, LocalDate workDate, Contribution before, Contribution after) {
+            Delta delta = deltas.computeIfAbsent(employeeId, id -> new LinkedHashMap<>())
+                    .computeIfAbsent(workDate.withDayOfMonth(1), month -> new Delta());
+            delta.daysPresent += after.daysPresent - before.daysPresent;
+            delta.totalHours += after.totalHours - before.totalHours;
+            delta.lateCount += after.lateCount - before.lateCount;
+            delta.missedLogoutCount += after.missedLogoutCount - before.missedLogoutCount;
+            delta.regularizedCount += after.regularizedCount - before.regularizedCount;
+        }
+    }
+
+    private static final class Delta {
+        int daysPresent;
+        double totalHours;
+        int lateCount;
+        int missedLogoutCount;
+        int regularizedCount;
+
+        boolean isZero() {
+            return daysPresent == 0 && totalHours == 0.0 && lateCount == 0 && missedLogoutCount == 0 && regularizedCount == 0;
+        }
+    }
+}
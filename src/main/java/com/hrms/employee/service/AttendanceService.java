@@ -3,12 +3,24 @@ package com.hrms.employee.service;
 import com.hrms.core.entity.User;
 import com.hrms.core.repository.UserRepository;
 import com.hrms.employee.core.entity.Attendance;
+import com.hrms.employee.core.entity.AttendanceMonthlyRollup;
+import com.hrms.employee.core.repository.AttendanceMonthlyRollupRepository;
 import com.hrms.employee.core.repository.AttendanceRepository;
 import com.hrms.employee.payload.request.AttendanceLogRequest;
+import com.hrms.employee.payload.response.AttendanceMonthlySummaryDTO;
 import com.hrms.employee.payload.response.AttendanceRecordDTO;
 import com.hrms.employee.payload.response.AttendanceSummaryResponse;
+import com.hrms.hr.payload.request.AttendanceBatchRecord;
+import com.hrms.hr.payload.request.AttendanceBatchRequest;
+import com.hrms.hr.payload.response.AttendanceBatchSummaryDTO;
 import com.hrms.security.service.UserDetailsImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,29 +28,55 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
 public class AttendanceService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceService.class);
+
     @Autowired
     private AttendanceRepository attendanceRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AttendanceMonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private AttendanceRollupService attendanceRollupService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${hrms.attendance.batch.max-records:20000}")
+    private int maxBatchRecords;
+
+    @Value("${hrms.attendance.batch.chunk-size:1000}")
+    private int batchChunkSize;
+
     @Transactional
     public AttendanceRecordDTO logOrUpdateAttendance(AttendanceLogRequest request, UserDetailsImpl currentUserDetails) {
         User user = userRepository.findById(currentUserDetails.getId())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + currentUserDetails.getUsername()));
 
-        Optional<Attendance> existingAttendanceOpt = attendanceRepository.findByEmployeeAndWorkDate(user, request.getWorkDate());
+        Optional<Attendance> existingAttendanceOpt = attendanceRepository.findByEmployeeAndWorkDateForUpdate(user, request.getWorkDate());
 
         Attendance attendance;
+        AttendanceRollupService.Contribution before = AttendanceRollupService.Contribution.NONE;
         if (existingAttendanceOpt.isPresent()) {
             attendance = existingAttendanceOpt.get();
+            before = attendanceRollupService.contributionOf(attendance);
         } else {
             attendance = new Attendance();
             attendance.setEmployee(user);
@@ -46,6 +84,7 @@ public class AttendanceService {
         }
 
         LocalDateTime loginDateTime = LocalDateTime.of(request.getWorkDate(), request.getLoginTime());
+        attendance.setLateLogin(attendanceRollupService.isLateLogin(existingAttendanceOpt.orElse(null), loginDateTime));
         attendance.setLoginTime(loginDateTime);
 
         if (request.getLogoutTime() != null) {
@@ -64,9 +103,161 @@ public class AttendanceService {
         // isRegularized and notes would be handled by a separate regularization process
 
         Attendance savedAttendance = attendanceRepository.save(attendance);
+        attendanceRollupService.recordChange(user.getId(), savedAttendance.getWorkDate(), before,
+                                             attendanceRollupService.contributionOf(savedAttendance));
         return mapToAttendanceRecordDTO(savedAttendance);
     }
 
+    /**
+     * Applies a batch of attendance records (e.g. a biometric gate sync) for employees of the HR user's company.
+     * Records are validated in memory, employees are checked with one query per chunk and the valid records are
+     * written with one INSERT ... ON CONFLICT DO UPDATE per chunk, all in one transaction. Invalid records are
+     * reported in the summary and do not stop the rest. When the batch holds the same employee and date more than
+     * once, the last record wins. The monthly rollup is moved by each chunk's changes in the same transaction.
+     */
+    @Transactional
+    public AttendanceBatchSummaryDTO ingestAttendanceBatch(AttendanceBatchRequest request, UserDetailsImpl hrUserDetails) {
+        Long companyId = hrUserDetails.getCompanyId();
+        if (companyId == null) {
+            throw new IllegalStateException("HR user is not associated with a company to record attendance for.");
+        }
+        List<AttendanceBatchRecord> records = request.getRecords();
+        if (records.size() > maxBatchRecords) {
+            throw new IllegalArgumentException("A batch can hold at most " + maxBatchRecords + " records, got " + records.size() + ".");
+        }
+
+        AttendanceBatchSummaryDTO summary = new AttendanceBatchSummaryDTO();
+        summary.setTotalRecordsProcessed(records.size());
+        Map<Integer, String> errors = new TreeMap<>(); // By record number, so the summary lists them in input order
+
+        // Field checks, and the last record for each employee and date (one statement cannot update a row twice)
+        Map<Long, Map<LocalDate, Integer>> latest = new HashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            AttendanceBatchRecord record = records.get(i);
+            String error = validateBatchRecord(record);
+            if (error != null) {
+                errors.put(i, error);
+                continue;
+            }
+            Integer previous = latest.computeIfAbsent(record.getEmployeeId(), id -> new HashMap<>()).put(record.getWorkDate(), i);
+            if (previous != null) {
+                summary.setSuperseded(summary.getSuperseded() + 1);
+            }
+        }
+        List<Integer> accepted = new ArrayList<>();
+        latest.values().forEach(byDate -> accepted.addAll(byDate.values()));
+        accepted.sort(null);
+
+        int chunkSize = Math.max(1, batchChunkSize);
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            List<Integer> chunk = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+            Set<Long> employeeIds = new HashSet<>();
+            for (int index : chunk) {
+                employeeIds.add(records.get(index).getEmployeeId());
+            }
+            Set<Long> known = new HashSet<>(userRepository.findActiveIdsByCompanyIdAndIdIn(companyId, employeeIds));
+
+            List<Integer> valid = new ArrayList<>(chunk.size());
+            for (int index : chunk) {
+                if (known.contains(records.get(index).getEmployeeId())) {
+                    valid.add(index);
+                } else {
+                    errors.put(index, "Employee not found or not active in your company.");
+                }
+            }
+            if (valid.isEmpty()) {
+                continue;
+            }
+
+            // Lock the rows of exactly the chunk's employee and date pairs; the rollup is moved by the difference
+            // from their current values
+            Long[] ids = new Long[valid.size()];
+            LocalDate[] workDates = new LocalDate[valid.size()];
+            LocalDate fromDate = null;
+            LocalDate toDate = null;
+            for (int i = 0; i < valid.size(); i++) {
+                AttendanceBatchRecord record = records.get(valid.get(i));
+                ids[i] = record.getEmployeeId();
+                workDates[i] = record.getWorkDate();
+                fromDate = fromDate == null || workDates[i].isBefore(fromDate) ? workDates[i] : fromDate;
+                toDate = toDate == null || workDates[i].isAfter(toDate) ? workDates[i] : toDate;
+            }
+            Map<Long, Map<LocalDate, AttendanceBatchRow>> existing = new HashMap<>();
+            for (AttendanceBatchRow row : attendanceRepository.findForUpdateByEmployeeAndWorkDatePairs(ids, workDates, fromDate, toDate)) {
+                existing.computeIfAbsent(row.getEmployeeId(), id -> new HashMap<>()).put(row.getWorkDate(), row);
+            }
+
+            AttendanceRollupService.Changes rollupChanges = new AttendanceRollupService.Changes();
+            int expectedInserts = 0;
+            LocalDateTime[] loginTimes = new LocalDateTime[valid.size()];
+            LocalDateTime[] logoutTimes = new LocalDateTime[valid.size()];
+            Double[] totalHours = new Double[valid.size()];
+            Boolean[] lateLogins = new Boolean[valid.size()];
+            for (int i = 0; i < valid.size(); i++) {
+                AttendanceBatchRecord record = records.get(valid.get(i));
+                loginTimes[i] = LocalDateTime.of(record.getWorkDate(), record.getLoginTime());
+                if (record.getLogoutTime() != null) {
+                    logoutTimes[i] = LocalDateTime.of(record.getWorkDate(), record.getLogoutTime());
+                    totalHours[i] = calculateWorkHours(loginTimes[i], logoutTimes[i]);
+                }
+                AttendanceBatchRow current = existing.getOrDefault(ids[i], Map.of()).get(workDates[i]);
+                if (current == null) {
+                    expectedInserts++;
+                }
+                lateLogins[i] = attendanceRollupService.isLateLogin(current != null ? current.getLoginTime() : null,
+                        current != null && Boolean.TRUE.equals(current.getLateLogin()), loginTimes[i]);
+                boolean regularized = current != null && Boolean.TRUE.equals(current.getRegularized()); // The upsert leaves it as it is
+                rollupChanges.add(ids[i], workDates[i], attendanceRollupService.contributionOf(current),
+                                  attendanceRollupService.contributionOf(loginTimes[i], lateLogins[i], logoutTimes[i],
+                                                                         totalHours[i], regularized));
+            }
+            AttendanceUpsertCounts counts = attendanceRepository.upsertAttendance(ids, workDates, loginTimes, lateLogins,
+                                                                                  logoutTimes, totalHours, now);
+            if (counts.getInserted() != expectedInserts) {
+                // A row missing when the chunk was locked was inserted by a concurrent writer; its values are unknown
+                throw new ConcurrencyFailureException("Attendance in this batch was written concurrently; please retry the batch.");
+            }
+            attendanceRollupService.apply(rollupChanges);
+            summary.setInserted(summary.getInserted() + (int) counts.getInserted());
+            summary.setUpdated(summary.getUpdated() + (int) counts.getUpdated());
+            summary.setUnchanged(summary.getUnchanged() + valid.size() - (int) (counts.getInserted() + counts.getUpdated()));
+            // Keep the persistence context from growing across chunks
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        errors.forEach((index, error) -> {
+            AttendanceBatchRecord record = records.get(index);
+            String source = record != null ? " (Employee: " + record.getEmployeeId() + ", Date: " + record.getWorkDate() + ")" : "";
+            summary.addErrorDetail("Record " + (index + 1) + source + ": " + error);
+        });
+        logger.info("Attendance batch from {} for company {}: {} records, {} inserted, {} updated, {} unchanged, {} superseded, {} failed.",
+                    hrUserDetails.getUsername(), companyId, records.size(), summary.getInserted(), summary.getUpdated(),
+                    summary.getUnchanged(), summary.getSuperseded(), summary.getFailedRecords());
+        return summary;
+    }
+
+    // Same rules as logOrUpdateAttendance; null when the record is valid
+    private String validateBatchRecord(AttendanceBatchRecord record) {
+        if (record == null) {
+            return "Record is empty.";
+        }
+        if (record.getEmployeeId() == null) {
+            return "Employee ID cannot be null.";
+        }
+        if (record.getWorkDate() == null) {
+            return "Work date cannot be null.";
+        }
+        if (record.getLoginTime() == null) {
+            return "Login time cannot be null.";
+        }
+        if (record.getLogoutTime() != null && record.getLogoutTime().isBefore(record.getLoginTime())) {
+            return "Logout time cannot be before login time on the same day.";
+        }
+        return null;
+    }
+
     private Double calculateWorkHours(LocalDateTime login, LocalDateTime logout) {
         if (login == null || logout == null || logout.isBefore(login)) {
             return null; // Or 0.0, depending on policy for invalid data
@@ -91,6 +282,66 @@ public class AttendanceService {
         return new AttendanceSummaryResponse(dtoList);
     }
 
+    @Transactional(readOnly = true)
+    public List<AttendanceMonthlySummaryDTO> getMonthlySummaries(YearMonth fromMonth, YearMonth toMonth, UserDetailsImpl currentUserDetails) {
+        User user = userRepository.findById(currentUserDetails.getId())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + currentUserDetails.getUsername()));
+        return getMonthlySummariesForEmployee(user, fromMonth, toMonth);
+    }
+
+    /**
+     * One summary per month of the range, read from the monthly rollup; months without attendance have zero totals.
+     */
+    @Transactional(readOnly = true)
+    public List<AttendanceMonthlySummaryDTO> getMonthlySummariesForEmployee(User employee, YearMonth fromMonth, YearMonth toMonth) {
+        if (fromMonth.isAfter(toMonth)) {
+            throw new IllegalArgumentException("Start month cannot be after end month.");
+        }
+        Map<LocalDate, AttendanceMonthlyRollup> rollups = new HashMap<>();
+        for (AttendanceMonthlyRollup rollup : rollupRepository.findByEmployeeIdAndMonthStartBetweenOrderByMonthStartAsc(
+                employee.getId(), fromMonth.atDay(1), toMonth.atDay(1))) {
+            rollups.put(rollup.getMonthStart(), rollup);
+        }
+        List<AttendanceMonthlySummaryDTO> summaries = new ArrayList<>();
+        for (YearMonth month = fromMonth; !month.isAfter(toMonth); month = month.plusMonths(1)) {
+            summaries.add(mapToAttendanceMonthlySummaryDTO(employee, month, rollups.get(month.atDay(1))));
+        }
+        return summaries;
+    }
+
+    /**
+     * The month's totals for every active employee of the HR user's company (for payroll), one rollup row each.
+     */
+    @Transactional(readOnly = true)
+    public List<AttendanceMonthlySummaryDTO> getCompanyMonthlySummaries(YearMonth month, UserDetailsImpl hrUserDetails) {
+        Long companyId = hrUserDetails.getCompanyId();
+        if (companyId == null) {
+            throw new IllegalStateException("HR user is not associated with a company.");
+        }
+        Map<Long, AttendanceMonthlyRollup> rollups = new HashMap<>();
+        for (AttendanceMonthlyRollup rollup : rollupRepository.findByCompanyIdAndMonthStart(companyId, month.atDay(1))) {
+            rollups.put(rollup.getEmployee().getId(), rollup);
+        }
+        return userRepository.findByCompanyIdAndIsActive(companyId, true).stream()
+                .map(employee -> mapToAttendanceMonthlySummaryDTO(employee, month, rollups.get(employee.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private AttendanceMonthlySummaryDTO mapToAttendanceMonthlySummaryDTO(User employee, YearMonth month, AttendanceMonthlyRollup rollup) {
+        AttendanceMonthlySummaryDTO dto = new AttendanceMonthlySummaryDTO();
+        dto.setEmployeeId(employee.getId());
+        dto.setEmployeeName(employee.getFirstName() + " " + employee.getLastName());
+        dto.setMonth(month);
+        if (rollup != null) {
+            dto.setDaysPresent(rollup.getDaysPresent());
+            dto.setTotalHours(rollup.getTotalHours());
+            dto.setLateCount(rollup.getLateCount());
+            dto.setMissedLogoutCount(rollup.getMissedLogoutCount());
+            dto.setRegularizedCount(rollup.getRegularizedCount());
+        }
+        return dto;
+    }
+
     private AttendanceRecordDTO mapToAttendanceRecordDTO(Attendance attendance) {
         return new AttendanceRecordDTO(
                 attendance.getId(),
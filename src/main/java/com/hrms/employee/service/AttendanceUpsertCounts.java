@@ -0,0 +1,12 @@
+package com.hrms.employee.service;
+
+/**
+ * Rows inserted and updated by one batched attendance upsert; records that matched a row with the same
+ * login and logout are in neither count.
+ */
+public interface AttendanceUpsertCounts {
+
+    long getInserted();
+
+    long getUpdated();
+}
@@ -32,7 +32,7 @@ public class EmployeeDashboardService {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeDashboardService.class);
 
     @Autowired private UserRepository userRepository;
-    @Autowired private HolidayService holidayService; // Reusing for consistent holiday logic
+    @Autowired private HolidayCalendar holidayCalendar; // Same company + global holiday rules as HolidayService
     @Autowired private LeaveService leaveService;     // Reusing for consistent leave balance logic
     @Autowired private TaskRepository taskRepository;
     @Autowired private RegularizationRequestRepository regularizationRequestRepository;
@@ -48,12 +48,10 @@ public class EmployeeDashboardService {
         String welcomeMessage = "Welcome, " + currentUser.getFirstName() + "!";
 
         // 1. Upcoming Holidays
-        // Get all applicable holidays (company + global)
-        HolidayListResponse holidayListResponse = holidayService.getApplicableHolidays(currentUserDetails);
-        long upcomingHolidaysCount = holidayListResponse.getHolidays().stream()
-            .filter(h -> !h.getDate().isBefore(LocalDate.now())) // Today or in future
-            .limit(5) // Example: count next 5 upcoming, or just all future ones
-            .count();
+        // Company + global holiday dates from today on, counted in the in-memory calendar
+        Long companyId = currentUser.getCompany() != null ? currentUser.getCompany().getId() : null;
+        long upcomingHolidaysCount = Math.min(5, // Example: count next 5 upcoming, or just all future ones
+            holidayCalendar.countHolidaysOnOrAfter(companyId, LocalDate.now()));
 
         // 2. Leave Balances
         EmployeeLeaveSummaryResponse leaveSummary = leaveService.getLeaveBalances(currentUserDetails);
@@ -0,0 +1,281 @@
+package com.hrms.employee.service;
+
+import com.hrms.employee.core.repository.HolidayRepository;
+import com.hrms.service.sync.SyncVersionService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of holiday dates: one bitset per company and year (bit = day of year) plus the global set.
+ * Lookups are array reads with no allocation and no database access. Holiday writers call
+ * {@link #publishChange()}; every node polls the {@code company_holidays} sync version and rebuilds its index
+ * when it moves.
+ */
+@Component
+public class HolidayCalendar {
+
+    private static final Logger logger = LoggerFactory.getLogger(HolidayCalendar.class);
+
+    public static final String VERSION_KEY = "company_holidays";
+
+    @Autowired
+    private HolidayRepository holidayRepository;
+
+    @Autowired
+    private SyncVersionService syncVersionService;
+
+    private volatile Index index = Index.EMPTY;
+
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong reloadNanos = new AtomicLong();
+
+    @PostConstruct
+    public void load() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            // Until the poller manages to load it, the calendar reports no holidays
+            logger.error("Could not load holiday calendar at startup: {}", e.getMessage());
+        }
+    }
+
+    public boolean isGlobalHoliday(LocalDate date) {
+        return index.global.contains(date);
+    }
+
+    /**
+     * True when the date is a holiday of the company or a global holiday. A null companyId checks global holidays only.
+     */
+    public boolean isHoliday(Long companyId, LocalDate date) {
+        Index current = index;
+        if (current.global.contains(date)) {
+            return true;
+        }
+        YearBits company = companyId != null ? current.companies.get(companyId) : null;
+        return company != null && company.contains(date);
+    }
+
+    /**
+     * Number of distinct holiday dates (company or global) between from and to, both inclusive.
+     */
+    public int countHolidays(Long companyId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return 0;
+        }
+        Index current = index;
+        YearBits company = companyId != null ? current.companies.get(companyId) : null;
+        int count = 0;
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            long[] companyWords = company != null ? company.row(year) : null;
+            long[] globalWords = current.global.row(year);
+            if (companyWords == null && globalWords == null) {
+                continue;
+            }
+            int first = year == from.getYear() ? from.getDayOfYear() - 1 : 0;
+            int last = year == to.getYear() ? to.getDayOfYear() - 1 : Year.isLeap(year) ? 365 : 364;
+            for (int word = first >>> 6; word <= last >>> 6; word++) {
+                long bits = (companyWords != null ? companyWords[word] : 0L) | (globalWords != null ? globalWords[word] : 0L);
+                if (word == first >>> 6) {
+                    bits &= -1L << (first & 63);
+                }
+                if (word == last >>> 6) {
+                    bits &= -1L >>> (63 - (last & 63));
+                }
+                count += Long.bitCount(bits);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Number of holiday dates (company or global) on or after the given date, up to the last indexed year.
+     */
+    public int countHolidaysOnOrAfter(Long companyId, LocalDate from) {
+        int lastYear = index.lastYear;
+        return lastYear < from.getYear() ? 0 : countHolidays(companyId, from, LocalDate.of(lastYear, 12, 31));
+    }
+
+    public long getVersion() {
+        return index.version;
+    }
+
+    /**
+     * Number of holiday dates in the index, global and per company.
+     */
+    public int getHolidayDateCount() {
+        return index.dateCount;
+    }
+
+    public long getReloadCount() {
+        return reloads.get();
+    }
+
+    public double getAverageReloadMillis() {
+        long count = reloads.get();
+        return count > 0 ? reloadNanos.get() / 1_000_000.0 / count : 0;
+    }
+
+    /**
+     * Publishes a holiday change made in the caller's transaction: bumps the shared version so other
+     * nodes reload, and rebuilds the local index once the change is committed.
+     */
+    @Transactional
+    public void publishChange() {
+        long version = syncVersionService.nextVersion(VERSION_KEY);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reloadQuietly();
+                }
+            });
+        } else {
+            reloadQuietly();
+        }
+        logger.info("Published holiday calendar version {}.", version);
+    }
+
+    @Scheduled(fixedDelayString = "${hrms.holidays.calendar.poll-interval-ms:5000}")
+    public void pollForChanges() {
+        try {
+            if (syncVersionService.currentVersion(VERSION_KEY) != index.version) {
+                reload();
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Holiday calendar poll failed: {}", e.getMessage());
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            logger.warn("Could not rebuild holiday calendar, the poller will retry: {}", e.getMessage());
+        }
+    }
+
+    // Read the version before the rows: the index may then be newer than its version, never older.
+    private synchronized void reload() {
+        long start = System.nanoTime();
+        long version = syncVersionService.currentVersion(VERSION_KEY);
+        List<HolidayDay> days = holidayRepository.findAllHolidayDays();
+        Index rebuilt = Index.of(version, days);
+        index = rebuilt;
+        reloads.incrementAndGet();
+        reloadNanos.addAndGet(System.nanoTime() - start);
+        logger.info("Loaded holiday calendar version {} ({} holiday dates, {} companies).", version, days.size(), rebuilt.companies.size());
+    }
+
+    /**
+     * Immutable holiday index at one version.
+     */
+    private static final class Index {
+
+        static final Index EMPTY = new Index(-1L, YearBits.EMPTY, Map.of(), Integer.MIN_VALUE, 0);
+
+        final long version;
+        final YearBits global;
+        final Map<Long, YearBits> companies;
+        final int lastYear; // Last year with any holiday
+        final int dateCount;
+
+        Index(long version, YearBits global, Map<Long, YearBits> companies, int lastYear, int dateCount) {
+            this.version = version;
+            this.global = global;
+            this.companies = companies;
+            this.lastYear = lastYear;
+            this.dateCount = dateCount;
+        }
+
+        static Index of(long version, List<HolidayDay> days) {
+            List<LocalDate> globalDates = new ArrayList<>();
+            Map<Long, List<LocalDate>> companyDates = new HashMap<>();
+            int lastYear = Integer.MIN_VALUE;
+            int dateCount = 0;
+            for (HolidayDay day : days) {
+                if (day.isGlobal()) {
+                    globalDates.add(day.getDate());
+                } else if (day.getCompanyId() != null) {
+                    companyDates.computeIfAbsent(day.getCompanyId(), id -> new ArrayList<>()).add(day.getDate());
+                } else {
+                    continue; // Neither global nor owned by a company: applies to nobody
+                }
+                lastYear = Math.max(lastYear, day.getDate().getYear());
+                dateCount++;
+            }
+            Map<Long, YearBits> companies = new HashMap<>(Math.max(16, companyDates.size() * 2));
+            companyDates.forEach((companyId, dates) -> companies.put(companyId, YearBits.of(dates)));
+            return new Index(version, YearBits.of(globalDates), Map.copyOf(companies), lastYear, dateCount);
+        }
+    }
+
+    /**
+     * Holiday dates as one 366-bit row per year, indexed by day of year.
+     */
+    private static final class YearBits {
+
+        static final YearBits EMPTY = new YearBits(0, new long[0][]);
+
+        private static final int WORDS_PER_YEAR = 6; // 6 x 64 >= 366
+
+        private final int firstYear;
+        private final long[][] rows; // Null row: no holidays that year
+
+        private YearBits(int firstYear, long[][] rows) {
+            this.firstYear = firstYear;
+            this.rows = rows;
+        }
+
+        static YearBits of(List<LocalDate> dates) {
+            if (dates.isEmpty()) {
+                return EMPTY;
+            }
+            int firstYear = Integer.MAX_VALUE;
+            int lastYear = Integer.MIN_VALUE;
+            for (LocalDate date : dates) {
+                firstYear = Math.min(firstYear, date.getYear());
+                lastYear = Math.max(lastYear, date.getYear());
+            }
+            long[][] rows = new long[lastYear - firstYear + 1][];
+            for (LocalDate date : dates) {
+                int year = date.getYear() - firstYear;
+                if (rows[year] == null) {
+                    rows[year] = new long[WORDS_PER_YEAR];
+                }
+                int day = date.getDayOfYear() - 1;
+                rows[year][day >>> 6] |= 1L << day;
+            }
+            return new YearBits(firstYear, rows);
+        }
+
+        long[] row(int year) {
+            int offset = year - firstYear;
+            return offset >= 0 && offset < rows.length ? rows[offset] : null;
+        }
+
+        boolean contains(LocalDate date) {
+            long[] row = row(date.getYear());
+            if (row == null) {
+                return false;
+            }
+            int day = date.getDayOfYear() - 1;
+            return (row[day >>> 6] & (1L << day)) != 0;
+        }
+    }
+}
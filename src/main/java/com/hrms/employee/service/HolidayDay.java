@@ -0,0 +1,31 @@
+package com.hrms.employee.service;
+
+import java.time.LocalDate;
+
+/**
+ * One holiday date as loaded into the {@link HolidayCalendar}; companyId is null for global holidays.
+ */
+public class HolidayDay {
+
+    private final Long companyId;
+    private final LocalDate date;
+    private final boolean global;
+
+    public HolidayDay(Long companyId, LocalDate date, boolean global) {
+        this.companyId = companyId;
+        this.date = date;
+        this.global = global;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public boolean isGlobal() {
+        return global;
+    }
+}
@@ -10,6 +10,7 @@ import com.hrms.employee.core.repository.TaskRepository;
 import com.hrms.employee.payload.request.TaskUpdateRequest;
 import com.hrms.employee.payload.response.TaskDetailsDTO;
 import com.hrms.employee.payload.response.TaskListResponse;
+import com.hrms.scheduler.deadline.TaskDeadlineScheduler;
 import com.hrms.security.service.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
@@ -27,6 +28,9 @@ public class TaskService {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskDeadlineScheduler taskDeadlineScheduler;
+
     // Assuming UserDetailsImpl has employee's ID.
     // UserRepository might be needed if we need to fetch the User entity itself for 'assignedTo'
     // or if 'assignedBy' in Task entity is just an ID and we need to fetch its details.
@@ -84,6 +88,7 @@ public class TaskService {
         }
 
         Task updatedTask = taskRepository.save(task);
+        taskDeadlineScheduler.schedule(updatedTask); // Completing the task cancels its timers, reopening sets them again
         return mapToTaskDetailsDTO(updatedTask);
     }
 
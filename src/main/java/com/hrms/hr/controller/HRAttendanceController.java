@@ -0,0 +1,123 @@
+package com.hrms.hr.controller;
+
+import com.hrms.config.WebAsyncConfig;
+import com.hrms.employee.payload.response.AttendanceMonthlySummaryDTO;
+import com.hrms.employee.service.AttendanceService;
+import com.hrms.hr.payload.request.AttendanceBatchRequest;
+import com.hrms.hr.payload.response.AttendanceBatchSummaryDTO;
+import com.hrms.hr.service.AttendanceExportService;
+import com.hrms.security.service.UserDetailsImpl;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/hr/attendance")
+@PreAuthorize("hasRole('ROLE_HR')")
+public class HRAttendanceController {
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private AttendanceExportService attendanceExportService;
+
+    // Streaming a large company's month can outlast the default async request timeout
+    @Value("${hrms.attendance.export.timeout-ms:1800000}")
+    private long exportTimeoutMs;
+
+    // Bulk ingestion (e.g. biometric gate syncs): records are upserted by employee and work date
+    @PostMapping("/batch")
+    public ResponseEntity<AttendanceBatchSummaryDTO> ingestAttendanceBatch(
+            @Valid @RequestBody AttendanceBatchRequest request,
+            @AuthenticationPrincipal UserDetailsImpl hrUser) {
+        try {
+            AttendanceBatchSummaryDTO summary = attendanceService.ingestAttendanceBatch(request, hrUser);
+            if (summary.getFailedRecords() > 0) {
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(summary);
+            }
+            return ResponseEntity.ok(summary);
+        } catch (IllegalStateException | IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (ConcurrencyFailureException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, ex.getMessage(), ex);
+        }
+    }
+
+    // Month totals of every active employee in the company, e.g. for payroll
+    @GetMapping("/monthly-summary")
+    public ResponseEntity<List<AttendanceMonthlySummaryDTO>> getCompanyMonthlyAttendanceSummary(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @AuthenticationPrincipal UserDetailsImpl hrUser) {
+        try {
+            return ResponseEntity.ok(attendanceService.getCompanyMonthlySummaries(month, hrUser));
+        } catch (IllegalStateException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+    }
+
+    // Every attendance row of the company for the month, e.g. for the payroll vendor. Streamed (chunked) as CSV or
+    // NDJSON, gzip-compressed when the client accepts it. Errors are reported before streaming starts; a failure
+    // mid-stream cuts the response short.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCompanyMonthlyAttendance(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @AuthenticationPrincipal UserDetailsImpl hrUser,
+            HttpServletRequest request) {
+        AttendanceExportService.Format exportFormat;
+        try {
+            exportFormat = AttendanceExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format, ex);
+        }
+        if (hrUser.getCompanyId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "HR user is not associated with a company.");
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        WebAsyncConfig.setAsyncTimeout(request, exportTimeoutMs);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                attendanceExportService.exportCompanyMonth(month, exportFormat, hrUser, gzipOut);
+                gzipOut.finish();
+            } else {
+                attendanceExportService.exportCompanyMonth(month, exportFormat, hrUser, out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"attendance-" + month + "." + exportFormat.getExtension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
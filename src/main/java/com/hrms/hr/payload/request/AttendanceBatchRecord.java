@@ -0,0 +1,22 @@
+package com.hrms.hr.payload.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One attendance record of a batch. Fields are checked per record by the service, so that one bad record
+ * is reported in the summary instead of rejecting the whole batch.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceBatchRecord {
+    private Long employeeId;
+    private LocalDate workDate;
+    private LocalTime loginTime;
+    private LocalTime logoutTime; // Nullable, can be sent in a later batch
+}
@@ -0,0 +1,17 @@
+package com.hrms.hr.payload.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceBatchRequest {
+
+    @NotEmpty(message = "At least one attendance record is required")
+    private List<AttendanceBatchRecord> records;
+}
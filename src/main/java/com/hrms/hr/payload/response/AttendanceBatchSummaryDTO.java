@@ -0,0 +1,26 @@
+package com.hrms.hr.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendanceBatchSummaryDTO {
+    private int totalRecordsProcessed = 0;
+    private int inserted = 0;
+    private int updated = 0;
+    private int unchanged = 0; // Same login and logout as already stored
+    private int superseded = 0; // A later record in the batch had the same employee and date
+    private int failedRecords = 0;
+    private List<String> errorDetails = new ArrayList<>();
+
+    public void addErrorDetail(String error) {
+        this.failedRecords++;
+        this.errorDetails.add(error);
+    }
+}
@@ -0,0 +1,267 @@
+package com.hrms.hr.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.hrms.audit.service.AuditLogService;
+import com.hrms.security.service.UserDetailsImpl;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+
+/**
+ * Streams one company's attendance for a month (e.g. for the payroll vendor) as CSV or NDJSON. Rows are read
+ * through a forward-only cursor in a read-only transaction, fetch-size rows at a time, and written straight to
+ * the output, so memory stays flat however many rows the month holds.
+ */
+@Service
+public class AttendanceExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceExportService.class);
+
+    // One month of the company, ordered for the payroll vendor; the work date range prunes to one partition
+    private static final String EXPORT_SQL =
+            "SELECT a.employee_id, u.username, u.first_name, u.last_name, a.work_date, a.login_time, a.logout_time, " +
+            "a.total_hours, a.is_regularized " +
+            "FROM employee_attendance a JOIN users u ON u.id = a.employee_id " +
+            "WHERE u.company_id = ? AND a.work_date >= ? AND a.work_date < ? " +
+            "ORDER BY a.employee_id, a.work_date";
+
+    private static final String[] COLUMNS = {"employee_id", "username", "first_name", "last_name", "work_date",
+            "login_time", "logout_time", "total_hours", "is_regularized"};
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Value("${hrms.attendance.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${hrms.attendance.export.buffer-size:65536}")
+    private int bufferSize;
+
+    private TransactionTemplate readOnlyTx;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * Writes the HR user's company attendance for the month to the stream; the caller closes it.
+     *
+     * @return number of attendance rows written
+     */
+    public long exportCompanyMonth(YearMonth month, Format format, UserDetailsImpl hrUserDetails, OutputStream out) {
+        Long companyId = hrUserDetails.getCompanyId();
+        if (companyId == null) {
+            throw new IllegalStateException("HR user is not associated with a company.");
+        }
+        long started = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), bufferSize);
+        long[] rows = {0};
+        try {
+            RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+            rowWriter.writeHeader();
+            // The cursor only streams inside a transaction (PostgreSQL otherwise fetches the whole result at once)
+            readOnlyTx.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, companyId);
+                statement.setDate(2, Date.valueOf(month.atDay(1)));
+                statement.setDate(3, Date.valueOf(month.plusMonths(1).atDay(1)));
+                return statement;
+            }, resultSet -> {
+                try {
+                    rowWriter.writeRow(resultSet);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // Client went away; ends the query and the transaction
+                }
+                rows[0]++;
+            }));
+            rowWriter.finish();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        logger.info("Exported {} attendance rows of company ID {} for {} as {} in {} ms.",
+                    rows[0], companyId, month, format, System.currentTimeMillis() - started);
+        auditLogService.logEvent(hrUserDetails.getUsername(), hrUserDetails.getId(), "ATTENDANCE_EXPORTED",
+                                 "Company", String.valueOf(companyId),
+                                 String.format("Exported %d attendance rows for %s as %s.", rows[0], month, format),
+                                 null, "SUCCESS");
+        return rows[0];
+    }
+
+    private interface RowWriter {
+        void writeHeader() throws IOException;
+
+        void writeRow(ResultSet resultSet) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    // RFC 4180: a header line, CRLF line ends, fields quoted when they hold a separator, quote or line break
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void writeHeader() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void writeRow(ResultSet resultSet) throws SQLException, IOException {
+            writer.write(Long.toString(resultSet.getLong(1)));
+            writer.write(',');
+            writeText(resultSet.getString(2));
+            writer.write(',');
+            writeText(resultSet.getString(3));
+            writer.write(',');
+            writeText(resultSet.getString(4));
+            writer.write(',');
+            writer.write(resultSet.getDate(5).toLocalDate().toString());
+            writer.write(',');
+            writeTimestamp(resultSet.getTimestamp(6));
+            writer.write(',');
+            writeTimestamp(resultSet.getTimestamp(7));
+            writer.write(',');
+            double totalHours = resultSet.getDouble(8);
+            if (!resultSet.wasNull()) {
+                writer.write(Double.toString(totalHours));
+            }
+            writer.write(',');
+            writer.write(Boolean.toString(resultSet.getBoolean(9)));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        private void writeTimestamp(Timestamp timestamp) throws IOException {
+            if (timestamp != null) {
+                writer.write(timestamp.toLocalDateTime().toString());
+            }
+        }
+
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    // One JSON object per line; absent values are written as null
+    private static class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            generator = JSON_FACTORY.createGenerator(writer);
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            generator.configure(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM, false);
+            generator.setRootValueSeparator(null); // Lines are separated explicitly
+        }
+
+        @Override
+        public void writeHeader() {
+        }
+
+        @Override
+        public void writeRow(ResultSet resultSet) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], resultSet.getLong(1));
+            generator.writeStringField(COLUMNS[1], resultSet.getString(2));
+            generator.writeStringField(COLUMNS[2], resultSet.getString(3));
+            generator.writeStringField(COLUMNS[3], resultSet.getString(4));
+            generator.writeStringField(COLUMNS[4], resultSet.getDate(5).toLocalDate().toString());
+            writeTimestamp(COLUMNS[5], resultSet.getTimestamp(6));
+            writeTimestamp(COLUMNS[6], resultSet.getTimestamp(7));
+            double totalHours = resultSet.getDouble(8);
+            if (resultSet.wasNull()) {
+                generator.writeNullField(COLUMNS[7]);
+            } else {
+                generator.writeNumberField(COLUMNS[7], totalHours);
+            }
+            generator.writeBooleanField(COLUMNS[8], resultSet.getBoolean(9));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+
+        private void writeTimestamp(String name, Timestamp timestamp) throws IOException {
+            if (timestamp == null) {
+                generator.writeNullField(name);
+            } else {
+                generator.writeStringField(name, timestamp.toLocalDateTime().toString());
+            }
+        }
+    }
+}
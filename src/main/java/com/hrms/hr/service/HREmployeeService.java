@@ -17,6 +17,7 @@ import com.hrms.hr.payload.request.InitiateOffboardingRequest; // New DTO
 import com.hrms.hr.payload.request.ReassignReporteesRequest;
 import com.hrms.hr.payload.response.ReporteeReassignmentResponse;
 import com.hrms.security.service.UserDetailsImpl;
+import com.hrms.security.service.TokenRevocationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,6 +46,7 @@ public class HREmployeeService {
     @Autowired private PasswordEncoder passwordEncoder;
     @Autowired private AuditLogService auditLogService;
     @Autowired private TaskRepository taskRepository;
+    @Autowired private TokenRevocationService tokenRevocationService;
 
     @Transactional
     public EmployeeProfileResponse addNewEmployee(HRAddEmployeeRequest request, UserDetailsImpl hrUserDetails) {
@@ -119,6 +121,9 @@ public class HREmployeeService {
             userToUpdate.setDateOfBirth(request.getDateOfBirth());
         }
         if (request.getIsActive() != null) {
+            if (userToUpdate.isActive() && !request.getIsActive()) {
+                tokenRevocationService.revokeUserTokens(userToUpdate.getId(), TokenRevocationService.REASON_DEACTIVATED);
+            }
             userToUpdate.setActive(request.getIsActive());
         }
 
@@ -205,6 +210,7 @@ public class HREmployeeService {
         userToOffboard.setOffboardingCommentsByHR(offboardingRequest.getHrComments());
 
         User savedUser = userRepository.save(userToOffboard);
+        tokenRevocationService.revokeUserTokens(savedUser.getId(), TokenRevocationService.REASON_OFFBOARDED); // Invalidate outstanding tokens
 
         List<TaskStatus> openTaskStatuses = List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS);
         long openTasksCount = taskRepository.countByAssignedToAndStatusInAndAutoClosedAtIsNull(savedUser, openTaskStatuses);
@@ -11,10 +11,8 @@ import com.hrms.hr.payload.request.PublishHikesRequest; // New DTO for publish
 import com.hrms.hr.payload.response.HikeCsvUploadSummaryDTO;
 import com.hrms.hr.payload.response.HikePublishSummaryDTO; // New DTO for publish summary
 import com.hrms.security.service.UserDetailsImpl;
+import com.hrms.service.notification.EmailService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -53,7 +51,7 @@ public class HRHikeService {
     private UserRepository userRepository;
 
     @Autowired(required = false)
-    private JavaMailSender mailSender;
+    private EmailService emailService;
 
 
     @Transactional
@@ -264,52 +262,43 @@ public class HRHikeService {
                 summary.incrementSuccessfullyPublished();
                 summary.addDetail("Hike ID " + hikeId + ": Published successfully.");
 
-                if (mailSender != null && StringUtils.hasText(employee.getEmail())) {
-                    try {
-                        SimpleMailMessage message = new SimpleMailMessage();
-                        message.setTo(employee.getEmail());
-
-                        String employeeName = employee.getFirstName();
-                        String effectiveDateStr = hikeRecord.getEffectiveDate().toString();
-                        String hikePercentageStr = (hikeRecord.getHikePercentage() != null) ? hikeRecord.getHikePercentage().stripTrailingZeros().toPlainString() + "%" : "N/A";
-                        String hikeAmountStr = (hikeRecord.getHikeAmount() != null) ? hikeRecord.getHikeAmount().stripTrailingZeros().toPlainString() : "N/A";
-                        String newSalaryStr = (hikeRecord.getNewSalary() != null) ? hikeRecord.getNewSalary().stripTrailingZeros().toPlainString() : "N/A";
-                        // Assuming currency symbol is not part of these values for now.
-                        // Add it in formatting if needed, e.g., "$" + newSalaryStr
-
-                        message.setSubject(String.format("Congratulations on Your Salary Revision, %s!", employeeName));
-
-                        StringBuilder textBodyBuilder = new StringBuilder();
-                        textBodyBuilder.append(String.format("Dear %s,\n\nWe are pleased to inform you of your salary revision, effective %s!\n\n", employeeName, effectiveDateStr));
-                        textBodyBuilder.append("Your new compensation details are:\n");
-                        if (hikeRecord.getHikePercentage() != null) textBodyBuilder.append(String.format("  - Hike Percentage: %s\n", hikePercentageStr));
-                        if (hikeRecord.getHikeAmount() != null) textBodyBuilder.append(String.format("  - Hike Amount: %s\n", hikeAmountStr));
-                        textBodyBuilder.append(String.format("  - New Salary: %s\n", newSalaryStr));
-
-                        if (StringUtils.hasText(hikeRecord.getPromotionTitle())) {
-                            textBodyBuilder.append(String.format("\nCongratulations on your promotion to %s as well!\n", hikeRecord.getPromotionTitle()));
-                        }
-
-                        if (StringUtils.hasText(hikeRecord.getHikeLetterDocumentUrl())) {
-                            textBodyBuilder.append(String.format("\nYour promotion/hike letter is available here: %s\n", hikeRecord.getHikeLetterDocumentUrl()));
-                            textBodyBuilder.append("Alternatively, you can find it in the Document Center in your employee portal if uploaded there separately.\n");
-                        }
+                boolean mailConfigured = emailService != null && emailService.isMailConfigured();
+                if (mailConfigured && StringUtils.hasText(employee.getEmail())) {
+                    String employeeName = employee.getFirstName();
+                    String effectiveDateStr = hikeRecord.getEffectiveDate().toString();
+                    String hikePercentageStr = (hikeRecord.getHikePercentage() != null) ? hikeRecord.getHikePercentage().stripTrailingZeros().toPlainString() + "%" : "N/A";
+                    String hikeAmountStr = (hikeRecord.getHikeAmount() != null) ? hikeRecord.getHikeAmount().stripTrailingZeros().toPlainString() : "N/A";
+                    String newSalaryStr = (hikeRecord.getNewSalary() != null) ? hikeRecord.getNewSalary().stripTrailingZeros().toPlainString() : "N/A";
+                    // Assuming currency symbol is not part of these values for now.
+                    // Add it in formatting if needed, e.g., "$" + newSalaryStr
+
+                    String subject = String.format("Congratulations on Your Salary Revision, %s!", employeeName);
+
+                    StringBuilder textBodyBuilder = new StringBuilder();
+                    textBodyBuilder.append(String.format("Dear %s,\n\nWe are pleased to inform you of your salary revision, effective %s!\n\n", employeeName, effectiveDateStr));
+                    textBodyBuilder.append("Your new compensation details are:\n");
+                    if (hikeRecord.getHikePercentage() != null) textBodyBuilder.append(String.format("  - Hike Percentage: %s\n", hikePercentageStr));
+                    if (hikeRecord.getHikeAmount() != null) textBodyBuilder.append(String.format("  - Hike Amount: %s\n", hikeAmountStr));
+                    textBodyBuilder.append(String.format("  - New Salary: %s\n", newSalaryStr));
+
+                    if (StringUtils.hasText(hikeRecord.getPromotionTitle())) {
+                        textBodyBuilder.append(String.format("\nCongratulations on your promotion to %s as well!\n", hikeRecord.getPromotionTitle()));
+                    }
 
-                        textBodyBuilder.append("\nRegards,\nHR Department");
-
-                        message.setText(textBodyBuilder.toString());
-                        // message.setFrom("noreply@hrms.example.com"); // Set from address from properties if needed
-                        mailSender.send(message);
-                        summary.incrementEmailSent();
-                        summary.addDetail("Hike ID " + hikeId + ": Email notification sent to " + employee.getEmail());
-                    } catch (MailException e) {
-                        summary.incrementEmailFailed();
-                        summary.addDetail("Hike ID " + hikeId + ": Failed to send email notification - " + e.getMessage());
-                        logger.error("Failed to send hike notification email for Hike ID {}: {}", hikeId, e.getMessage(), e);
+                    if (StringUtils.hasText(hikeRecord.getHikeLetterDocumentUrl())) {
+                        textBodyBuilder.append(String.format("\nYour promotion/hike letter is available here: %s\n", hikeRecord.getHikeLetterDocumentUrl()));
+                        textBodyBuilder.append("Alternatively, you can find it in the Document Center in your employee portal if uploaded there separately.\n");
                     }
+
+                    textBodyBuilder.append("\nRegards,\nHR Department");
+
+                    // Queued in this transaction; the outbox dispatcher delivers it after commit
+                    emailService.sendSimpleMail(employee.getEmail(), subject, textBodyBuilder.toString());
+                    summary.incrementEmailSent();
+                    summary.addDetail("Hike ID " + hikeId + ": Email notification queued for " + employee.getEmail());
                 } else {
                     summary.addDetail("Hike ID " + hikeId + ": Email notification skipped (MailSender not configured or employee email missing).");
-                    if (mailSender == null) logger.warn("MailSender not configured. Cannot send hike email for Hike ID {}.", hikeId);
+                    if (!mailConfigured) logger.warn("MailSender not configured. Cannot send hike email for Hike ID {}.", hikeId);
                     else logger.warn("Employee email missing for Hike ID {}. Cannot send email.", hikeId);
                 }
 
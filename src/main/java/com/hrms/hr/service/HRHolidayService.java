@@ -7,6 +7,7 @@ import com.hrms.core.repository.UserRepository;
 import com.hrms.employee.core.entity.Holiday;
 import com.hrms.employee.core.repository.HolidayRepository;
 import com.hrms.employee.payload.response.HolidayDetailsDTO; // Reusing
+import com.hrms.employee.service.HolidayCalendar;
 import com.hrms.hr.payload.request.HolidayManagementRequest;
 import com.hrms.security.service.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,6 +41,9 @@ public class HRHolidayService {
     @Autowired
     private CompanyRepository companyRepository; // For associating non-global holidays
 
+    @Autowired
+    private HolidayCalendar holidayCalendar;
+
     @Transactional
     public HolidayDetailsDTO addHoliday(HolidayManagementRequest request, UserDetailsImpl hrUserDetails) {
         User hrUser = userRepository.findById(hrUserDetails.getId())
@@ -66,6 +70,7 @@ public class HRHolidayService {
         }
 
         Holiday savedHoliday = holidayRepository.save(holiday);
+        holidayCalendar.publishChange(); // Calendar is rebuilt on every node once this commits
         return mapToHolidayDetailsDTO(savedHoliday);
     }
 
@@ -106,6 +111,7 @@ public class HRHolidayService {
         }
 
         Holiday updatedHoliday = holidayRepository.save(holiday);
+        holidayCalendar.publishChange();
         return mapToHolidayDetailsDTO(updatedHoliday);
     }
 
@@ -126,6 +132,7 @@ public class HRHolidayService {
         } // HR can delete global holidays
 
         holidayRepository.deleteById(holidayId);
+        holidayCalendar.publishChange();
     }
 
     private HolidayDetailsDTO mapToHolidayDetailsDTO(Holiday holiday) {
@@ -10,6 +10,7 @@ import com.hrms.lead.payload.response.PendingTeamRegularizationResponse;
 import com.hrms.employee.core.entity.Attendance;
 import com.hrms.employee.core.enums.RegularizationStatus;
 import com.hrms.employee.core.repository.AttendanceRepository; // Needed for saving Attendance
+import com.hrms.employee.service.AttendanceRollupService;
 import com.hrms.lead.payload.request.RegularizationActionRequest;
 import com.hrms.lead.payload.response.TeamRegularizationRequestDTO;
 import com.hrms.security.service.UserDetailsImpl;
@@ -42,6 +43,9 @@ public class LeadRegularizationService {
     @Autowired
     private AttendanceRepository attendanceRepository; // To update Attendance record
 
+    @Autowired
+    private AttendanceRollupService attendanceRollupService;
+
     @Autowired(required = false) // Make EmailService optional
     private EmailService emailService;
 
@@ -87,11 +91,16 @@ public class LeadRegularizationService {
             case "APPROVE":
                 request.setStatus(RegularizationStatus.APPROVED);
                 if (request.getAttendanceRecord() != null) {
-                    Attendance attendance = request.getAttendanceRecord();
+                    // Locked, so the rollup is moved from the row's current values
+                    Attendance attendance = attendanceRepository.findByIdForUpdate(request.getAttendanceRecord().getId())
+                            .orElseThrow(() -> new IllegalStateException("Attendance record of regularization request " + regularizationRequestId + " no longer exists."));
+                    AttendanceRollupService.Contribution before = attendanceRollupService.contributionOf(attendance);
                     attendance.setRegularized(true);
                     // Potentially re-calculate totalHours if login/logout times were also adjusted by this regularization.
                     // For now, just marking as regularized.
                     attendanceRepository.save(attendance);
+                    attendanceRollupService.recordChange(employee.getId(), attendance.getWorkDate(), before,
+                                                         attendanceRollupService.contributionOf(attendance));
                 }
                 break;
             case "REJECT":
@@ -7,6 +7,7 @@ import com.hrms.employee.core.enums.TaskStatus;
 import com.hrms.employee.core.repository.TaskRepository;
 import com.hrms.employee.payload.response.TaskDetailsDTO; // Reusing
 import com.hrms.lead.payload.request.LeadCreateTaskRequest;
+import com.hrms.scheduler.deadline.TaskDeadlineScheduler;
 import com.hrms.security.service.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
@@ -26,6 +27,9 @@ public class LeadTaskService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TaskDeadlineScheduler taskDeadlineScheduler;
+
     @Transactional
     public TaskDetailsDTO createAndAssignTask(LeadCreateTaskRequest request, UserDetailsImpl leadUserDetails) {
         User leadUser = userRepository.findById(leadUserDetails.getId())
@@ -52,6 +56,7 @@ public class LeadTaskService {
         // completedAt will be null initially
 
         Task savedTask = taskRepository.save(task);
+        taskDeadlineScheduler.schedule(savedTask); // Timers are set once the task is committed
         return mapToTaskDetailsDTO(savedTask);
     }
 
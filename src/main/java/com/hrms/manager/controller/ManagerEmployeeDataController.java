@@ -84,6 +84,27 @@ public class ManagerEmployeeDataController {
         }
     }
 
+    @GetMapping("/{employeeId}/attendance/monthly-summary")
+    public ResponseEntity<java.util.List<com.hrms.employee.payload.response.AttendanceMonthlySummaryDTO>> viewEmployeeMonthlyAttendanceSummary(
+            @PathVariable Long employeeId,
+            @RequestParam @org.springframework.format.annotation.DateTimeFormat(pattern = "yyyy-MM") java.time.YearMonth fromMonth,
+            @RequestParam @org.springframework.format.annotation.DateTimeFormat(pattern = "yyyy-MM") java.time.YearMonth toMonth,
+            @AuthenticationPrincipal UserDetailsImpl managerUser) {
+        try {
+            return ResponseEntity.ok(managerEmployeeDataService.getEmployeeMonthlyAttendanceForManager(employeeId, fromMonth, toMonth, managerUser));
+        } catch (ResourceNotFoundException ex) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage(), ex);
+        } catch (AccessDeniedException ex) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, ex.getMessage(), ex);
+        } catch (IllegalStateException ex) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), ex);
+        } catch (BadRequestException ex) {
+             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (Exception ex) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred while fetching the monthly attendance summary.", ex);
+        }
+    }
+
     @GetMapping("/{employeeId}/tasks")
     public ResponseEntity<com.hrms.employee.payload.response.TaskListResponse> viewEmployeeTasks(
             @PathVariable Long employeeId,
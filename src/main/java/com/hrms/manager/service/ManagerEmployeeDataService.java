@@ -176,6 +176,39 @@ public class ManagerEmployeeDataService {
         return new com.hrms.employee.payload.response.AttendanceSummaryResponse(dtoList);
     }
 
+    @Autowired
+    private com.hrms.employee.service.AttendanceService attendanceService;
+
+    // Month totals from the attendance rollup: one row per month instead of every attendance record
+    @Transactional(readOnly = true)
+    public List<com.hrms.employee.payload.response.AttendanceMonthlySummaryDTO> getEmployeeMonthlyAttendanceForManager(
+            Long employeeId, java.time.YearMonth fromMonth, java.time.YearMonth toMonth, UserDetailsImpl managerUserDetails) {
+
+        if (fromMonth.isAfter(toMonth)) {
+            throw new BadRequestException("Start month cannot be after end month.");
+        }
+
+        User manager = userRepository.findById(managerUserDetails.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Manager details not found for current user with ID: " + managerUserDetails.getId()));
+
+        User employeeToView = userRepository.findById(employeeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with ID: " + employeeId));
+
+        // Permission Check
+        Company managerCompany = manager.getCompany();
+        if (managerCompany == null) {
+            throw new IllegalStateException("Manager " + manager.getUsername() + " is not associated with any company.");
+        }
+
+        Company employeeCompany = employeeToView.getCompany();
+        if (employeeCompany == null || !Objects.equals(employeeCompany.getId(), managerCompany.getId())) {
+            throw new AccessDeniedException("Manager can only view attendance of employees within their own company. Employee "
+                                            + employeeToView.getUsername() + " is not in company " + managerCompany.getName());
+        }
+
+        return attendanceService.getMonthlySummariesForEmployee(employeeToView, fromMonth, toMonth);
+    }
+
     @Autowired
     private com.hrms.employee.core.repository.TaskRepository taskRepository; // Added
 
@@ -9,6 +9,7 @@ import com.hrms.core.repository.UserRepository;
 import com.hrms.employee.payload.response.EmployeeProfileResponse; // Reusing
 import com.hrms.manager.payload.request.ManagerActionHRUserRequest;
 import com.hrms.security.service.UserDetailsImpl;
+import com.hrms.security.service.TokenRevocationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
@@ -45,6 +46,9 @@ public class ManagerUserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     // CompanyRepository might not be needed if relying on managerUser.getCompany() directly
     // @Autowired
     // private CompanyRepository companyRepository;
@@ -132,6 +136,9 @@ public class ManagerUserService {
             hrUserToUpdate.setPassword(passwordEncoder.encode(request.getPassword()));
         }
         if (request.getIsActive() != null) {
+            if (hrUserToUpdate.isActive() && !request.getIsActive()) {
+                tokenRevocationService.revokeUserTokens(hrUserToUpdate.getId(), TokenRevocationService.REASON_DEACTIVATED);
+            }
             hrUserToUpdate.setActive(request.getIsActive());
         }
 
@@ -158,6 +165,9 @@ public class ManagerUserService {
              throw new AccessDeniedException("User with ID " + hrUserId + " is not an HR user.");
         }
 
+        if (hrUserToUpdate.isActive() && !isActive) {
+            tokenRevocationService.revokeUserTokens(hrUserToUpdate.getId(), TokenRevocationService.REASON_DEACTIVATED);
+        }
         hrUserToUpdate.setActive(isActive);
         User updatedUser = userRepository.save(hrUserToUpdate);
         return mapToEmployeeProfileResponse(updatedUser);
@@ -0,0 +1,9 @@
+package com.hrms.notification.enums;
+
+public enum OutboxStatus {
+    PENDING,   // Waiting for dispatch (or for its next retry)
+    SENDING,   // Claimed by a dispatcher until lockedUntil
+    SENT,
+    DUPLICATE, // Same recipient/subject/body already sent within the dedupe window
+    FAILED     // Gave up after the maximum number of attempts
+}
@@ -0,0 +1,54 @@
+package com.hrms.notification.repository;
+
+import com.hrms.notification.entity.OutboxMessage;
+import com.hrms.notification.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // Due messages plus claims abandoned by a crashed dispatcher. SKIP LOCKED (lock timeout -2)
+    // lets dispatchers on several nodes claim disjoint batches without waiting on each other.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM OutboxMessage m WHERE (m.status = com.hrms.notification.enums.OutboxStatus.PENDING AND m.nextAttemptAt <= :now) " +
+           "OR (m.status = com.hrms.notification.enums.OutboxStatus.SENDING AND m.lockedUntil < :now) ORDER BY m.id")
+    List<OutboxMessage> findDispatchable(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = com.hrms.notification.enums.OutboxStatus.SENDING, m.lockedUntil = :lockedUntil WHERE m.id IN :ids")
+    int markSending(@Param("ids") Collection<Long> ids, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = com.hrms.notification.enums.OutboxStatus.SENT, m.sentAt = :sentAt, " +
+           "m.lockedUntil = NULL, m.attempts = m.attempts + 1 WHERE m.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = com.hrms.notification.enums.OutboxStatus.DUPLICATE, m.lockedUntil = NULL WHERE m.id IN :ids")
+    int markDuplicate(@Param("ids") Collection<Long> ids);
+
+    // Dedupe keys among the given ones that were already delivered after :since
+    @Query("SELECT DISTINCT m.dedupeKey FROM OutboxMessage m WHERE m.dedupeKey IN :keys " +
+           "AND m.status = com.hrms.notification.enums.OutboxStatus.SENT AND m.sentAt > :since")
+    List<String> findRecentlySentDedupeKeys(@Param("keys") Collection<String> keys, @Param("since") LocalDateTime since);
+
+    long countByStatus(OutboxStatus status);
+
+    @Query("SELECT MIN(m.createdAt) FROM OutboxMessage m WHERE m.status = com.hrms.notification.enums.OutboxStatus.PENDING")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status IN (com.hrms.notification.enums.OutboxStatus.SENT, " +
+           "com.hrms.notification.enums.OutboxStatus.DUPLICATE) AND m.createdAt < :cutoff")
+    int deleteDeliveredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,308 @@
+package com.hrms.notification.service;
+
+import com.hrms.notification.entity.OutboxMessage;
+import com.hrms.notification.enums.OutboxStatus;
+import com.hrms.notification.repository.OutboxMessageRepository;
+import com.hrms.service.notification.EmailService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Drains notification_outbox in batches. Each poll claims a batch (SKIP LOCKED, so several nodes can
+ * dispatch concurrently), drops messages already delivered to the same recipient within the dedupe window,
+ * sends the rest on a bounded worker pool under a global send-rate cap, and records the outcomes.
+ * Failed sends are retried with exponential backoff until max-attempts.
+ */
+@Service
+public class NotificationOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${hrms.notifications.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${hrms.notifications.outbox.workers:4}")
+    private int workers;
+
+    @Value("${hrms.notifications.outbox.max-per-second:20}")
+    private double maxPerSecond;
+
+    @Value("${hrms.notifications.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${hrms.notifications.outbox.retry-base-ms:30000}")
+    private long retryBaseMs;
+
+    @Value("${hrms.notifications.outbox.retry-max-ms:3600000}")
+    private long retryMaxMs;
+
+    @Value("${hrms.notifications.outbox.claim-timeout-ms:300000}")
+    private long claimTimeoutMs;
+
+    @Value("${hrms.notifications.outbox.dedupe-window-minutes:60}")
+    private long dedupeWindowMinutes;
+
+    @Value("${hrms.notifications.outbox.retention-days:14}")
+    private int retentionDays;
+
+    private TransactionTemplate tx;
+    private ThreadPoolExecutor senders;
+    private SendThrottle throttle;
+
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder failedAttemptCount = new LongAdder();
+    private final LongAdder duplicateCount = new LongAdder();
+    private final LongAdder sendNanos = new LongAdder();
+    private final AtomicLong maxSendNanos = new AtomicLong();
+    private final LongAdder deliveryLagMillis = new LongAdder(); // created_at -> sent, summed over sent messages
+
+    @PostConstruct
+    public void init() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        int poolSize = Math.max(1, workers);
+        // Bounded queue sized to one batch; CallerRunsPolicy makes the dispatcher thread help instead of queueing more
+        senders = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, batchSize)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "outbox-sender");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        throttle = new SendThrottle(maxPerSecond);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${hrms.notifications.outbox.poll-interval-ms:2000}")
+    public void dispatchPending() {
+        if (!emailService.isMailConfigured()) {
+            return;
+        }
+        try {
+            int claimed;
+            do {
+                claimed = dispatchBatch();
+            } while (claimed >= batchSize);
+        } catch (DataAccessException e) {
+            logger.warn("Outbox dispatch failed; will retry on the next poll: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claims, sends and records one batch.
+     *
+     * @return number of messages claimed
+     */
+    int dispatchBatch() {
+        List<OutboxMessage> batch = tx.execute(status -> claimBatch());
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxMessage> toSend = dropDuplicates(batch);
+        Map<Long, String> failures = new ConcurrentHashMap<>();
+        List<Long> sentIds = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> futures = new ArrayList<>(toSend.size());
+        for (OutboxMessage message : toSend) {
+            futures.add(senders.submit(() -> send(message, sentIds, failures)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break; // Unfinished claims expire after claim-timeout-ms and are picked up again
+            } catch (ExecutionException e) {
+                logger.error("Unexpected outbox sender failure: {}", e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        tx.execute(status -> {
+            recordOutcomes(batch, sentIds, failures);
+            return null;
+        });
+        return batch.size();
+    }
+
+    private List<OutboxMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> batch = outboxMessageRepository.findDispatchable(now, PageRequest.of(0, Math.max(1, batchSize)));
+        if (!batch.isEmpty()) {
+            outboxMessageRepository.markSending(batch.stream().map(OutboxMessage::getId).collect(Collectors.toList()),
+                                                now.plus(Duration.ofMillis(claimTimeoutMs)));
+        }
+        return batch;
+    }
+
+    // Keeps the first message per dedupe key in the batch, and none whose key was sent recently.
+    private List<OutboxMessage> dropDuplicates(List<OutboxMessage> batch) {
+        Set<String> keys = batch.stream().map(OutboxMessage::getDedupeKey).collect(Collectors.toSet());
+        LocalDateTime since = LocalDateTime.now().minusMinutes(dedupeWindowMinutes);
+        Set<String> seen = dedupeWindowMinutes > 0
+                ? new HashSet<>(outboxMessageRepository.findRecentlySentDedupeKeys(keys, since))
+                : new HashSet<>();
+        List<OutboxMessage> unique = new ArrayList<>(batch.size());
+        List<Long> duplicates = new ArrayList<>();
+        for (OutboxMessage message : batch) {
+            if (seen.add(message.getDedupeKey())) {
+                unique.add(message);
+            } else {
+                duplicates.add(message.getId());
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            tx.execute(status -> outboxMessageRepository.markDuplicate(duplicates));
+            duplicateCount.add(duplicates.size());
+            logger.info("Skipped {} duplicate outbox message(s).", duplicates.size());
+        }
+        return unique;
+    }
+
+    private void send(OutboxMessage message, List<Long> sentIds, Map<Long, String> failures) {
+        throttle.acquire();
+        long start = System.nanoTime();
+        try {
+            emailService.deliver(message);
+            long elapsed = System.nanoTime() - start;
+            sendNanos.add(elapsed);
+            maxSendNanos.accumulateAndGet(elapsed, Math::max);
+            sentCount.increment();
+            deliveryLagMillis.add(Duration.between(message.getCreatedAt(), LocalDateTime.now()).toMillis());
+            sentIds.add(message.getId());
+        } catch (Exception e) {
+            failedAttemptCount.increment();
+            failures.put(message.getId(), e.toString());
+        }
+    }
+
+    private void recordOutcomes(List<OutboxMessage> batch, List<Long> sentIds, Map<Long, String> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!sentIds.isEmpty()) {
+            outboxMessageRepository.markSent(new ArrayList<>(sentIds), now);
+        }
+        if (failures.isEmpty()) {
+            return;
+        }
+        for (OutboxMessage message : outboxMessageRepository.findAllById(failures.keySet())) {
+            int attempts = message.getAttempts() + 1;
+            String error = failures.get(message.getId());
+            message.setAttempts(attempts);
+            message.setLockedUntil(null);
+            message.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (attempts >= maxAttempts) {
+                message.setStatus(OutboxStatus.FAILED);
+                logger.error("Giving up on email {} to {} after {} attempts: {}", message.getId(), message.getRecipient(), attempts, error);
+            } else {
+                message.setStatus(OutboxStatus.PENDING);
+                message.setNextAttemptAt(now.plus(Duration.ofMillis(backoffMillis(attempts))));
+            }
+            outboxMessageRepository.save(message);
+        }
+        logger.warn("{} of {} outbox message(s) failed to send and were rescheduled or failed.", failures.size(), batch.size());
+    }
+
+    long backoffMillis(int attempts) {
+        long delay = retryBaseMs << Math.min(attempts - 1, 20);
+        return Math.min(delay, retryMaxMs);
+    }
+
+    @Scheduled(cron = "${hrms.notifications.outbox.cleanup-cron:0 30 3 * * ?}")
+    public void purgeDelivered() {
+        try {
+            Integer deleted = tx.execute(status ->
+                    outboxMessageRepository.deleteDeliveredBefore(LocalDateTime.now().minusDays(retentionDays)));
+            logger.info("Purged {} delivered outbox message(s) older than {} days.", deleted, retentionDays);
+        } catch (DataAccessException e) {
+            logger.warn("Outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    public long getPendingCount() {
+        return outboxMessageRepository.countByStatus(OutboxStatus.PENDING);
+    }
+
+    public long getSendingCount() {
+        return outboxMessageRepository.countByStatus(OutboxStatus.SENDING);
+    }
+
+    public long getFailedCount() {
+        return outboxMessageRepository.countByStatus(OutboxStatus.FAILED);
+    }
+
+    public long getOldestPendingAgeSeconds() {
+        LocalDateTime oldest = outboxMessageRepository.findOldestPendingCreatedAt();
+        return oldest == null ? 0L : Math.max(0L, Duration.between(oldest, LocalDateTime.now()).getSeconds());
+    }
+
+    public int getWorkerPoolSize() {
+        return senders.getMaximumPoolSize();
+    }
+
+    public int getActiveWorkers() {
+        return senders.getActiveCount();
+    }
+
+    public double getMaxPerSecond() {
+        return maxPerSecond;
+    }
+
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    public long getFailedAttemptCount() {
+        return failedAttemptCount.sum();
+    }
+
+    public long getDuplicateCount() {
+        return duplicateCount.sum();
+    }
+
+    public double getAverageSendMillis() {
+        long sent = sentCount.sum();
+        return sent == 0 ? 0.0 : sendNanos.sum() / 1_000_000.0 / sent;
+    }
+
+    public double getMaxSendMillis() {
+        return maxSendNanos.get() / 1_000_000.0;
+    }
+
+    public double getAverageDeliveryLagMillis() {
+        long sent = sentCount.sum();
+        return sent == 0 ? 0.0 : (double) deliveryLagMillis.sum() / sent;
+    }
+}
@@ -0,0 +1,61 @@
+package com.hrms.notification.service;
+
+import com.hrms.notification.entity.OutboxMessage;
+import com.hrms.notification.enums.OutboxStatus;
+import com.hrms.notification.repository.OutboxMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Writes outgoing email to notification_outbox. Joins the caller's transaction, so a message is
+ * only ever delivered if the business change that produced it committed.
+ */
+@Service
+public class NotificationOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutboxService.class);
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Transactional
+    public OutboxMessage enqueue(String recipient, String subject, String body, boolean html, String templateName) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxMessage message = new OutboxMessage();
+        message.setRecipient(recipient);
+        message.setSubject(subject);
+        message.setBody(body);
+        message.setHtml(html);
+        message.setTemplateName(templateName);
+        message.setDedupeKey(dedupeKey(recipient, subject, body));
+        message.setStatus(OutboxStatus.PENDING);
+        message.setNextAttemptAt(now);
+        message.setCreatedAt(now);
+        OutboxMessage saved = outboxMessageRepository.save(message);
+        logger.debug("Queued email {} to {} with subject '{}'.", saved.getId(), recipient, subject);
+        return saved;
+    }
+
+    static String dedupeKey(String recipient, String subject, String body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(recipient.toLowerCase().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(subject.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(body.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available in this JVM", e);
+        }
+    }
+}
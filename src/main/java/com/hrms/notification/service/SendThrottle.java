@@ -0,0 +1,38 @@
+package com.hrms.notification.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spaces sends evenly to at most maxPerSecond across all dispatcher workers.
+ * Each caller reserves the next free slot with a CAS and parks until it arrives.
+ */
+class SendThrottle {
+
+    private final long intervalNanos;
+    private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+    SendThrottle(double maxPerSecond) {
+        this.intervalNanos = maxPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / maxPerSecond) : 0L;
+    }
+
+    void acquire() {
+        if (intervalNanos == 0L) {
+            return;
+        }
+        long slot;
+        while (true) {
+            long now = System.nanoTime();
+            long next = nextSlot.get();
+            slot = Math.max(next, now);
+            if (nextSlot.compareAndSet(next, slot + intervalNanos)) {
+                break;
+            }
+        }
+        long waitNanos;
+        while ((waitNanos = slot - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(waitNanos);
+        }
+    }
+}
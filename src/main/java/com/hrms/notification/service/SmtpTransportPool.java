@@ -0,0 +1,206 @@
+package com.hrms.notification.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a few connected and authenticated SMTP transports open so that consecutive messages reuse the
+ * connection instead of paying connect, STARTTLS and AUTH for each one (which is what
+ * {@link JavaMailSenderImpl#send} does). A connection is retired after max-messages-per-connection or
+ * when it has been idle longer than max-idle-ms; a send that fails on a reused connection is retried
+ * once on a fresh one, since the server may have dropped it in the meantime.
+ */
+@Component
+public class SmtpTransportPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    @Autowired(required = false)
+    private JavaMailSender mailSender;
+
+    @Value("${hrms.mail.pool.size:4}")
+    private int poolSize;
+
+    @Value("${hrms.mail.pool.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    @Value("${hrms.mail.pool.max-idle-ms:30000}")
+    private long maxIdleMs;
+
+    @Value("${hrms.mail.pool.borrow-timeout-ms:30000}")
+    private long borrowTimeoutMs;
+
+    private Semaphore permits; // One per connection that may be open at a time
+    private final Deque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+    private final LongAdder messagesSent = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(Math.max(1, poolSize), true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        PooledTransport connection;
+        while ((connection = idle.pollFirst()) != null) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Pooling needs direct access to the mail session, which only {@link JavaMailSenderImpl} exposes.
+     */
+    public boolean isAvailable() {
+        return mailSender instanceof JavaMailSenderImpl;
+    }
+
+    public void send(MimeMessage message) throws MessagingException {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Timed out waiting for a free SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+        try {
+            prepare(message);
+            PooledTransport connection = takeIdle();
+            boolean reused = connection != null;
+            if (!reused) {
+                connection = open();
+            }
+            try {
+                connection.send(message);
+                recycle(connection);
+                return;
+            } catch (MessagingException e) {
+                boolean alive = release(connection);
+                if (!reused || alive) {
+                    throw e; // The server rejected this message on a working connection
+                }
+                reconnects.increment();
+                logger.debug("Reused SMTP connection failed ({}); retrying on a new connection.", e.getMessage());
+            }
+            connection = open();
+            try {
+                connection.send(message);
+                recycle(connection);
+            } catch (MessagingException e) {
+                release(connection);
+                throw e;
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void prepare(MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        message.saveChanges();
+    }
+
+    private PooledTransport takeIdle() {
+        PooledTransport connection;
+        while ((connection = idle.pollFirst()) != null) {
+            if (System.nanoTime() - connection.lastUsedNanos < TimeUnit.MILLISECONDS.toNanos(maxIdleMs)) {
+                return connection;
+            }
+            connection.close(); // Servers drop idle sessions; don't wait to find out on the next send
+        }
+        return null;
+    }
+
+    private void recycle(PooledTransport connection) {
+        if (connection.messagesSent >= maxMessagesPerConnection) {
+            connection.close();
+        } else {
+            idle.offerFirst(connection); // Most recently used first, so surplus connections age out
+        }
+    }
+
+    // After a failed send: keeps the connection if it still answers, otherwise closes it
+    private boolean release(PooledTransport connection) {
+        if (connection.transport.isConnected()) {
+            recycle(connection);
+            return true;
+        }
+        connection.close();
+        return false;
+    }
+
+    private PooledTransport open() throws MessagingException {
+        JavaMailSenderImpl sender = (JavaMailSenderImpl) mailSender;
+        Transport transport = sender.getSession().getTransport(sender.getProtocol() != null ? sender.getProtocol() : "smtp");
+        transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+        connectionsOpened.increment();
+        return new PooledTransport(transport);
+    }
+
+    public int getPoolSize() {
+        return Math.max(1, poolSize);
+    }
+
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+
+    public long getReconnects() {
+        return reconnects.sum();
+    }
+
+    public long getMessagesSent() {
+        return messagesSent.sum();
+    }
+
+    private class PooledTransport {
+        private final Transport transport;
+        private int messagesSent;
+        private long lastUsedNanos = System.nanoTime();
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        void send(MimeMessage message) throws MessagingException {
+            messagesSent++; // Counted even on failure so a flaky connection still retires
+            transport.sendMessage(message, message.getAllRecipients());
+            lastUsedNanos = System.nanoTime();
+            SmtpTransportPool.this.messagesSent.increment();
+        }
+
+        void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                logger.debug("Error closing SMTP connection: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -25,6 +25,12 @@ public interface PerformanceReviewRepository extends JpaRepository<PerformanceRe
     long countByStatusIn(List<String> statuses); // Added for System Stats
 
     @org.springframework.data.jpa.repository.EntityGraph(attributePaths = {"employee", "employee.company", "reviewer", "reviewCycle", "reviewedBy"})
-    org.springframework.data.domain.Page<PerformanceReview> findAllWithDetails(org.springframework.data.jpa.domain.Specification<PerformanceReview> spec, org.springframework.data.domain.Pageable pageable);
+    @Override
+    org.springframework.data.domain.Page<PerformanceReview> findAll(org.springframework.data.jpa.domain.Specification<PerformanceReview> spec, org.springframework.data.domain.Pageable pageable);
+
+    // Not a derivable query name: Spring Data would fail at startup. Specification queries load the details eagerly.
+    default org.springframework.data.domain.Page<PerformanceReview> findAllWithDetails(org.springframework.data.jpa.domain.Specification<PerformanceReview> spec, org.springframework.data.domain.Pageable pageable) {
+        return findAll(spec, pageable);
+    }
 
 }
@@ -0,0 +1,99 @@
+package com.hrms.scheduler;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of employee_attendance ahead of the calendar and, when a retention is set,
+ * archives the ones past it (detached from the table and moved to the attendance_archive schema, data kept,
+ * together with the regularization requests of their rows). The DDL lives in the database functions of V34 and
+ * V37, which serialize concurrent callers, so every node runs the job.
+ * Runs at startup and daily; each partition is created or archived in its own transaction.
+ */
+@Service
+public class AttendancePartitionMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendancePartitionMaintenanceService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${hrms.attendance.partitions.enabled:true}")
+    private boolean enabled;
+
+    @Value("${hrms.attendance.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${hrms.attendance.partitions.retention-months:0}")
+    private int retentionMonths;
+
+    private TransactionTemplate tx;
+
+    @PostConstruct
+    public void init() {
+        tx = new TransactionTemplate(transactionManager);
+        if (enabled) {
+            maintainPartitions();
+        }
+    }
+
+    @Scheduled(cron = "${hrms.attendance.partitions.cron:0 20 0 * * ?}")
+    public void maintainPartitions() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= monthsAhead; i++) {
+            LocalDate month = currentMonth.plusMonths(i);
+            try {
+                if (Boolean.TRUE.equals(tx.execute(status -> createPartition(month)))) {
+                    logger.info("Created attendance partition for {}.", month);
+                }
+            } catch (PersistenceException | TransactionException e) {
+                logger.warn("Could not create attendance partition for {}: {}", month, e.getMessage());
+            }
+        }
+        if (retentionMonths > 0) {
+            LocalDate cutoff = currentMonth.minusMonths(retentionMonths);
+            try {
+                List<String> archived = tx.execute(status -> archivePartitionsBefore(cutoff));
+                if (archived != null && !archived.isEmpty()) {
+                    logger.info("Archived {} attendance partitions before {}: {}", archived.size(), cutoff, archived);
+                }
+            } catch (PersistenceException | TransactionException e) {
+                logger.warn("Could not archive attendance partitions before {}: {}", cutoff, e.getMessage());
+            }
+        }
+    }
+
+    boolean createPartition(LocalDate monthStart) {
+        Object created = entityManager.createNativeQuery("SELECT create_attendance_partition(:monthStart)")
+                .setParameter("monthStart", monthStart)
+                .getSingleResult();
+        return Boolean.TRUE.equals(created);
+    }
+
+    @SuppressWarnings("unchecked")
+    List<String> archivePartitionsBefore(LocalDate cutoff) {
+        return entityManager.createNativeQuery("SELECT archive_attendance_partitions(:before)")
+                .setParameter("before", cutoff)
+                .getResultList();
+    }
+}
@@ -0,0 +1,16 @@
+package com.hrms.scheduler;
+
+/**
+ * Row of one auto-close chunk (TaskRepository.closeOverdueTasks): a task the chunk closed, carrying the keyset
+ * scan of the chunk alongside. The UPDATE re-checks each scanned task, so it can close fewer tasks than it scanned,
+ * even none; a chunk that closed nothing returns a single row with only the scan columns set.
+ */
+public interface OverdueTaskClosureRow extends TaskNotificationRow {
+
+    /**
+     * Highest task id the chunk scanned, null when the scan found no overdue task.
+     */
+    Long getScannedLastId();
+
+    Long getScannedCount();
+}
@@ -1,14 +1,19 @@
 package com.hrms.scheduler;
 
-import com.hrms.core.entity.User;
-import com.hrms.employee.core.entity.Task;
 import com.hrms.employee.core.enums.TaskStatus;
 import com.hrms.employee.core.repository.TaskRepository;
-// UserRepository might not be needed if Task entity eagerly fetches assignedTo and assignedBy with email
+import com.hrms.scheduler.batch.ChunkedJob;
+import com.hrms.scheduler.batch.ChunkedJobResumer;
+import com.hrms.scheduler.batch.ChunkedJobRunner;
+import com.hrms.scheduler.entity.JobRun;
+import com.hrms.scheduler.history.JobMetrics;
+import com.hrms.scheduler.lease.JobLeaseService;
+import com.hrms.scheduler.lease.JobPartition;
 import com.hrms.service.notification.EmailService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,12 +21,24 @@ import org.springframework.util.StringUtils;
 import org.thymeleaf.context.Context;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
-public class TaskManagementJobService {
+public class TaskManagementJobService implements ChunkedJobResumer {
+
+    public static final String AUTO_CLOSE_JOB = "TASK_AUTO_CLOSE";
+    static final String AUTO_CLOSE_SCHEDULE = "0 0 1 * * ?"; // Daily at 1 AM
+
+    private static final List<String> OPEN_STATUSES = List.of(TaskStatus.TODO.name(), TaskStatus.IN_PROGRESS.name());
+    private static final TaskStatus CLOSED_STATUS = TaskStatus.AUTO_CLOSED_DEADLINE_PASSED;
+    private static final String DIGEST_TEMPLATE = "task-auto-closed-digest.html";
+    private static final String REMINDER_TEMPLATE = "generic-notification.html";
 
     private static final Logger logger = LoggerFactory.getLogger(TaskManagementJobService.class);
 
@@ -31,84 +48,224 @@ public class TaskManagementJobService {
     @Autowired(required = false)
     private EmailService emailService;
 
-    // UserRepository might be needed if we need to fetch User entities fresh to ensure email is present
-    // @Autowired
-    // private UserRepository userRepository;
+    @Autowired
+    private ChunkedJobRunner chunkedJobRunner;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Value("${hrms.tasks.auto-close.chunk-size:500}")
+    private int autoCloseChunkSize;
 
-    @Scheduled(cron = "0 0 1 * * ?") // Daily at 1 AM
+    @Scheduled(cron = AUTO_CLOSE_SCHEDULE)
     // For testing: @Scheduled(fixedRate = 300000) // every 5 mins
-    @Transactional
     public void autoCloseOverdueTasks() {
         logger.info("Starting scheduled job: AutoCloseOverdueTasks");
         LocalDateTime now = LocalDateTime.now();
-        List<TaskStatus> openStatuses = Arrays.asList(TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+        // Every node fires the cron; each company partition is run by whichever node leases it
+        jobLeaseService.runPartitioned(AUTO_CLOSE_JOB, partition -> autoCloseOverdueTasks(now, partition));
+    }
 
-        List<Task> overdueTasks = taskRepository.findOverdueTasksForAutoClosure(now, openStatuses);
+    @Override
+    public Collection<String> getResumableJobNames() {
+        return List.of(AUTO_CLOSE_JOB);
+    }
 
-        if (overdueTasks.isEmpty()) {
-            logger.info("No overdue tasks found for auto-closure.");
-            return;
-        }
+    // The run key only holds the date; the run's start stands in for the cut-off the interrupted run used
+    @Override
+    public void resume(JobRun run) {
+        autoCloseOverdueTasks(run.getStartedAt(), JobPartition.of(run.getRunKey()));
+    }
+
+    private void autoCloseOverdueTasks(LocalDateTime now, JobPartition partition) {
+        // Each chunk is closed by one UPDATE ... RETURNING; the notifications are queued in the same transaction.
+        // Tasks completed between the scan and the UPDATE are skipped, so a chunk can close fewer tasks than it
+        // scanned; the run continues after the last scanned id and ends when a scan finds nothing.
+        JobRun run = chunkedJobRunner.run(new ChunkedJob<TaskNotificationRow>() {
+            private long scannedLastId;
+            private long scannedCount;
+
+            @Override
+            public String getName() {
+                return AUTO_CLOSE_JOB;
+            }
+
+            @Override
+            public String getSchedule() {
+                return AUTO_CLOSE_SCHEDULE;
+            }
+
+            @Override
+            public List<TaskNotificationRow> readChunk(long afterId, int chunkSize) {
+                List<OverdueTaskClosureRow> rows = taskRepository.closeOverdueTasks(now, OPEN_STATUSES, CLOSED_STATUS.name(),
+                        afterId, partition.getIndex(), partition.getCount(), chunkSize);
+                OverdueTaskClosureRow first = rows.get(0); // The scan columns come back even when nothing was closed
+                scannedLastId = first.getScannedLastId() != null ? first.getScannedLastId() : afterId;
+                scannedCount = first.getScannedCount();
+                return rows.stream().filter(row -> row.getTaskId() != null).collect(Collectors.toList());
+            }
+
+            @Override
+            public long getId(TaskNotificationRow task) {
+                return task.getTaskId();
+            }
+
+            @Override
+            public long getCursor(List<TaskNotificationRow> chunk, long afterId) {
+                return scannedLastId;
+            }
+
+            @Override
+            public boolean isLastChunk(List<TaskNotificationRow> chunk, int chunkSize) {
+                return scannedCount == 0;
+            }
+
+            @Override
+            public void processChunk(List<TaskNotificationRow> chunk) {
+                logger.info("Auto-closed {} tasks (IDs {} to {}) with status {} at {}.", chunk.size(),
+                            chunk.get(0).getTaskId(), chunk.get(chunk.size() - 1).getTaskId(), CLOSED_STATUS, now);
+                JobMetrics.current().addRowsAlerted(chunk.size()); // Tasks closed
+                notifyAutoClosure(chunk);
+            }
+        }, partition.qualify(now.toLocalDate().toString()), autoCloseChunkSize);
 
-        logger.info("Found {} overdue tasks to auto-close. Processing...", overdueTasks.size());
+        logger.info("Finished scheduled job: AutoCloseOverdueTasks (partition {}). Run {} with {} tasks processed.",
+                    partition, run.getStatus(), run.getProcessedCount());
+    }
 
-        for (Task task : overdueTasks) {
-            TaskStatus oldStatus = task.getStatus();
-            task.setStatus(TaskStatus.AUTO_CLOSED_DEADLINE_PASSED);
-            task.setAutoClosedAt(now);
-            taskRepository.save(task);
-            logger.info("Task ID {}: Status changed from {} to {}. Auto-closed at {}.",
-                        task.getId(), oldStatus, task.getStatus(), task.getAutoClosedAt());
+    /**
+     * Closes the given tasks that are still open and past their deadline, and notifies as the nightly job does.
+     * Called by the deadline scheduler when task timers fire.
+     *
+     * @return the number of tasks this call closed
+     */
+    @Transactional
+    public int closeDueTasks(Collection<Long> taskIds, LocalDateTime now) {
+        List<TaskNotificationRow> closed = taskRepository.closeDueTasks(taskIds, now, OPEN_STATUSES, CLOSED_STATUS.name());
+        if (!closed.isEmpty()) {
+            logger.info("Auto-closed {} tasks at their deadline: {}.", closed.size(),
+                        closed.stream().map(TaskNotificationRow::getTaskId).toList());
+            notifyAutoClosure(closed);
+        }
+        return closed.size();
+    }
 
-            if (emailService == null) {
-                logger.warn("EmailService not configured. Skipping notifications for auto-closed task ID {}.", task.getId());
+    /**
+     * Sends a deadline reminder to the assignee of each given task that is still open and was not reminded yet.
+     *
+     * @return the number of reminders sent
+     */
+    @Transactional
+    public int remindDueTasks(Collection<Long> taskIds, LocalDateTime now) {
+        List<TaskNotificationRow> reminded = taskRepository.markRemindersSent(taskIds, now, OPEN_STATUSES);
+        if (!reminded.isEmpty() && emailService == null) {
+            logger.warn("EmailService not configured. Skipping reminders for {} tasks.", reminded.size());
+            return 0;
+        }
+        for (TaskNotificationRow task : reminded) {
+            if (!StringUtils.hasText(task.getAssigneeEmail())) {
+                logger.warn("Assignee email missing for Task ID {}. Skipping deadline reminder.", task.getTaskId());
                 continue;
             }
+            String subject = "Task Due Soon: " + task.getTitle();
+            Context context = new Context();
+            context.setVariable("greeting", "Dear " + task.getAssigneeFirstName() + ",");
+            context.setVariable("subject", subject);
+            context.setVariable("bodyMessage",
+                String.format("Your task '<strong>%s</strong>' is due on %s at %s. If it is still open then, it will be closed automatically.",
+                              task.getTitle(), task.getDeadline().toLocalDate().toString(), task.getDeadline().toLocalTime().toString()));
+            send(task.getAssigneeEmail(), subject, REMINDER_TEMPLATE, context, "assignee", List.of(task));
+        }
+        return reminded.size();
+    }
+
+    // One message per assignee and one per assigner for the batch, instead of two per task.
+    private void notifyAutoClosure(List<TaskNotificationRow> tasks) {
+        if (emailService == null) {
+            logger.warn("EmailService not configured. Skipping notifications for {} auto-closed tasks.", tasks.size());
+            return;
+        }
 
-            // Notify Assignee
-            User assignedTo = task.getAssignedTo();
-            if (assignedTo != null && StringUtils.hasText(assignedTo.getEmail())) {
-                Context assignedContext = new Context();
-                assignedContext.setVariable("greeting", "Dear " + assignedTo.getFirstName() + ",");
-                assignedContext.setVariable("subject", "Task Auto-Closed: " + task.getTitle());
-                assignedContext.setVariable("bodyMessage",
-                    String.format("Your task '<strong>%s</strong>' which was due on %s has been automatically closed as the deadline passed.<br/>New Status: <strong>%s</strong>.",
-                                  task.getTitle(), task.getDeadline().toLocalDate().toString(), task.getStatus().name()));
-                // assignedContext.setVariable("actionUrl", "#"); // Optional: Link to task details in portal
-                // assignedContext.setVariable("actionText", "View Task");
-
-                try {
-                    emailService.sendHtmlMailFromTemplate(assignedTo.getEmail(),
-                                                        "Task Auto-Closed: " + task.getTitle(),
-                                                        "task-auto-closed-notification.html", assignedContext);
-                    logger.info("Auto-closure notification sent to assignee {} for Task ID {}.", assignedTo.getEmail(), task.getId());
-                } catch (Exception e) {
-                    logger.error("Error sending auto-closure notification to assignee for Task ID {}: {}", task.getId(), e.getMessage(), e);
-                }
+        Map<Long, List<TaskNotificationRow>> byAssignee = new LinkedHashMap<>();
+        Map<Long, List<TaskNotificationRow>> byAssigner = new LinkedHashMap<>();
+        for (TaskNotificationRow task : tasks) {
+            if (StringUtils.hasText(task.getAssigneeEmail())) {
+                byAssignee.computeIfAbsent(task.getAssigneeId(), id -> new ArrayList<>()).add(task);
             } else {
-                logger.warn("Assignee or assignee email missing for Task ID {}. Skipping assignee notification.", task.getId());
+                logger.warn("Assignee email missing for Task ID {}. Skipping assignee notification.", task.getTaskId());
             }
-
-            // Notify Assigner
-            User assignedBy = task.getAssignedBy();
-            if (assignedBy != null && StringUtils.hasText(assignedBy.getEmail()) && !Objects.equals(assignedBy.getId(), assignedTo.getId())) {
-                Context assignerContext = new Context();
-                assignerContext.setVariable("greeting", "Dear " + assignedBy.getFirstName() + ",");
-                assignerContext.setVariable("subject", "Task Assigned by You Auto-Closed: " + task.getTitle());
-                assignerContext.setVariable("bodyMessage",
-                    String.format("The task '<strong>%s</strong>' (assigned to %s %s), which was due on %s, has been automatically closed as the deadline passed.<br/>New Status: <strong>%s</strong>.",
-                                  task.getTitle(), assignedTo.getFirstName(), assignedTo.getLastName(), task.getDeadline().toLocalDate().toString(), task.getStatus().name()));
-
-                try {
-                    emailService.sendHtmlMailFromTemplate(assignedBy.getEmail(),
-                                                        "Task Assigned by You Auto-Closed: " + task.getTitle(),
-                                                        "task-auto-closed-assigner-notification.html", assignerContext);
-                    logger.info("Auto-closure notification sent to assigner {} for Task ID {}.", assignedBy.getEmail(), task.getId());
-                } catch (Exception e) {
-                    logger.error("Error sending auto-closure notification to assigner for Task ID {}: {}", task.getId(), e.getMessage(), e);
-                }
+            if (task.getAssignerId() != null && StringUtils.hasText(task.getAssignerEmail())
+                    && !Objects.equals(task.getAssignerId(), task.getAssigneeId())) {
+                byAssigner.computeIfAbsent(task.getAssignerId(), id -> new ArrayList<>()).add(task);
             }
         }
-        logger.info("Finished scheduled job: AutoCloseOverdueTasks. Processed {} tasks.", overdueTasks.size());
+        byAssignee.values().forEach(this::notifyAssignee);
+        byAssigner.values().forEach(this::notifyAssigner);
+    }
+
+    private void notifyAssignee(List<TaskNotificationRow> tasks) {
+        TaskNotificationRow first = tasks.get(0);
+        Context context = new Context();
+        context.setVariable("greeting", "Dear " + first.getAssigneeFirstName() + ",");
+        String subject;
+        String template;
+        if (tasks.size() == 1) {
+            subject = "Task Auto-Closed: " + first.getTitle();
+            template = "task-auto-closed-notification.html";
+            context.setVariable("bodyMessage",
+                String.format("Your task '<strong>%s</strong>' which was due on %s has been automatically closed as the deadline passed.<br/>New Status: <strong>%s</strong>.",
+                              first.getTitle(), first.getDeadline().toLocalDate().toString(), CLOSED_STATUS.name()));
+        } else {
+            subject = String.format("%d Tasks Auto-Closed", tasks.size());
+            template = DIGEST_TEMPLATE;
+            context.setVariable("bodyMessage",
+                String.format("The following tasks assigned to you have been automatically closed as their deadlines passed.<br/>New Status: <strong>%s</strong>.",
+                              CLOSED_STATUS.name()));
+            context.setVariable("tasks", tasks.stream()
+                .map(task -> String.format("<strong>%s</strong>, due on %s", task.getTitle(), task.getDeadline().toLocalDate().toString()))
+                .toList());
+        }
+        context.setVariable("subject", subject);
+        send(first.getAssigneeEmail(), subject, template, context, "assignee", tasks);
+    }
+
+    private void notifyAssigner(List<TaskNotificationRow> tasks) {
+        TaskNotificationRow first = tasks.get(0);
+        Context context = new Context();
+        context.setVariable("greeting", "Dear " + first.getAssignerFirstName() + ",");
+        String subject;
+        String template;
+        if (tasks.size() == 1) {
+            subject = "Task Assigned by You Auto-Closed: " + first.getTitle();
+            template = "task-auto-closed-assigner-notification.html";
+            context.setVariable("bodyMessage",
+                String.format("The task '<strong>%s</strong>' (assigned to %s %s), which was due on %s, has been automatically closed as the deadline passed.<br/>New Status: <strong>%s</strong>.",
+                              first.getTitle(), first.getAssigneeFirstName(), first.getAssigneeLastName(),
+                              first.getDeadline().toLocalDate().toString(), CLOSED_STATUS.name()));
+        } else {
+            subject = String.format("%d Tasks Assigned by You Auto-Closed", tasks.size());
+            template = DIGEST_TEMPLATE;
+            context.setVariable("bodyMessage",
+                String.format("The following tasks you assigned have been automatically closed as their deadlines passed.<br/>New Status: <strong>%s</strong>.",
+                              CLOSED_STATUS.name()));
+            context.setVariable("tasks", tasks.stream()
+                .map(task -> String.format("<strong>%s</strong> (assigned to %s %s), due on %s", task.getTitle(),
+                                           task.getAssigneeFirstName(), task.getAssigneeLastName(), task.getDeadline().toLocalDate().toString()))
+                .toList());
+        }
+        context.setVariable("subject", subject);
+        send(first.getAssignerEmail(), subject, template, context, "assigner", tasks);
+    }
+
+    private void send(String to, String subject, String template, Context context, String role, List<TaskNotificationRow> tasks) {
+        List<Long> taskIds = tasks.stream().map(TaskNotificationRow::getTaskId).toList();
+        try {
+            emailService.sendHtmlMailFromTemplate(to, subject, template, context);
+            logger.info("Task notification '{}' sent to {} {} for Task IDs {}.", subject, role, to, taskIds);
+            JobMetrics.current().addEmailQueued();
+        } catch (Exception e) {
+            logger.error("Error sending task notification '{}' to {} for Task IDs {}: {}", subject, role, taskIds, e.getMessage(), e);
+            JobMetrics.current().addFailure();
+        }
     }
 }
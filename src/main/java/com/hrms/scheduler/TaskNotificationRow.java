@@ -0,0 +1,31 @@
+package com.hrms.scheduler;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task just auto-closed or reminded, with the contact details of its assignee and assigner (null when the
+ * assigner no longer exists). Returned by the native UPDATE ... RETURNING queries in TaskRepository, which
+ * Spring Data maps to interface projections only, so no Task or User entity is loaded.
+ */
+public interface TaskNotificationRow {
+
+    Long getTaskId();
+
+    String getTitle();
+
+    LocalDateTime getDeadline();
+
+    Long getAssigneeId();
+
+    String getAssigneeFirstName();
+
+    String getAssigneeLastName();
+
+    String getAssigneeEmail();
+
+    Long getAssignerId();
+
+    String getAssignerFirstName();
+
+    String getAssignerEmail();
+}
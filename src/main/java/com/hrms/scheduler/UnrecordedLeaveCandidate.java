@@ -0,0 +1,30 @@
+package com.hrms.scheduler;
+
+/**
+ * Active employee with no attendance, approved leave or company holiday on the checked date.
+ * Built by a JPQL constructor expression so the unrecorded-leave job never loads User entities or their roles.
+ */
+public class UnrecordedLeaveCandidate {
+
+    private final Long employeeId;
+    private final String firstName;
+    private final String email;
+
+    public UnrecordedLeaveCandidate(Long employeeId, String firstName, String email) {
+        this.employeeId = employeeId;
+        this.firstName = firstName;
+        this.email = email;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
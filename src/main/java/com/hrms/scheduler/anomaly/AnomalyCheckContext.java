@@ -0,0 +1,41 @@
+package com.hrms.scheduler.anomaly;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Inputs shared by all rules for one run; configuration is read once per run, not per row.
+ */
+public class AnomalyCheckContext {
+
+    private final LocalDate workDate;
+    private final double minimumWorkHours;
+    private final LocalTime lateLoginThreshold;
+    private final boolean digestMode;
+
+    public AnomalyCheckContext(LocalDate workDate, double minimumWorkHours, LocalTime lateLoginThreshold, boolean digestMode) {
+        this.workDate = workDate;
+        this.minimumWorkHours = minimumWorkHours;
+        this.lateLoginThreshold = lateLoginThreshold;
+        this.digestMode = digestMode;
+    }
+
+    public LocalDate getWorkDate() {
+        return workDate;
+    }
+
+    public double getMinimumWorkHours() {
+        return minimumWorkHours;
+    }
+
+    public LocalTime getLateLoginThreshold() {
+        return lateLoginThreshold;
+    }
+
+    /**
+     * When true, an employee with several anomalies on the work date gets one combined email instead of one per rule.
+     */
+    public boolean isDigestMode() {
+        return digestMode;
+    }
+}
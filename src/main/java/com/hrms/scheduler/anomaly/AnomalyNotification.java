@@ -0,0 +1,29 @@
+package com.hrms.scheduler.anomaly;
+
+/**
+ * Email content for one detected anomaly; the engine adds the greeting and sends it.
+ */
+public class AnomalyNotification {
+
+    private final String subject;
+    private final String templateName;
+    private final String bodyMessage;
+
+    public AnomalyNotification(String subject, String templateName, String bodyMessage) {
+        this.subject = subject;
+        this.templateName = templateName;
+        this.bodyMessage = bodyMessage;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getTemplateName() {
+        return templateName;
+    }
+
+    public String getBodyMessage() {
+        return bodyMessage;
+    }
+}
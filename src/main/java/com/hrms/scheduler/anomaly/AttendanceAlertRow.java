@@ -0,0 +1,89 @@
+package com.hrms.scheduler.anomaly;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of one attendance row with the employee fields needed to classify and notify.
+ * Built by a JPQL constructor expression, so streaming a day's rows never loads managed entities.
+ */
+public class AttendanceAlertRow {
+
+    private final Long attendanceId;
+    private final Long employeeId;
+    private final String employeeFirstName;
+    private final String employeeEmail;
+    private final LocalDateTime loginTime;
+    private final LocalDateTime logoutTime;
+    private final Double totalHours;
+    private final boolean regularized;
+    private final LocalDateTime underworkAlertSentAt;
+    private final LocalDateTime missedLogoutAlertSentAt;
+    private final LocalDateTime earlyLogoutAlertSentAt;
+    private final LocalDateTime lateLoginAlertSentAt;
+
+    public AttendanceAlertRow(Long attendanceId, Long employeeId, String employeeFirstName, String employeeEmail,
+                              LocalDateTime loginTime, LocalDateTime logoutTime, Double totalHours, boolean regularized,
+                              LocalDateTime underworkAlertSentAt, LocalDateTime missedLogoutAlertSentAt,
+                              LocalDateTime earlyLogoutAlertSentAt, LocalDateTime lateLoginAlertSentAt) {
+        this.attendanceId = attendanceId;
+        this.employeeId = employeeId;
+        this.employeeFirstName = employeeFirstName;
+        this.employeeEmail = employeeEmail;
+        this.loginTime = loginTime;
+        this.logoutTime = logoutTime;
+        this.totalHours = totalHours;
+        this.regularized = regularized;
+        this.underworkAlertSentAt = underworkAlertSentAt;
+        this.missedLogoutAlertSentAt = missedLogoutAlertSentAt;
+        this.earlyLogoutAlertSentAt = earlyLogoutAlertSentAt;
+        this.lateLoginAlertSentAt = lateLoginAlertSentAt;
+    }
+
+    public Long getAttendanceId() {
+        return attendanceId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getEmployeeFirstName() {
+        return employeeFirstName;
+    }
+
+    public String getEmployeeEmail() {
+        return employeeEmail;
+    }
+
+    public LocalDateTime getLoginTime() {
+        return loginTime;
+    }
+
+    public LocalDateTime getLogoutTime() {
+        return logoutTime;
+    }
+
+    public Double getTotalHours() {
+        return totalHours;
+    }
+
+    public boolean isRegularized() {
+        return regularized;
+    }
+
+    public LocalDateTime getUnderworkAlertSentAt() {
+        return underworkAlertSentAt;
+    }
+
+    public LocalDateTime getMissedLogoutAlertSentAt() {
+        return missedLogoutAlertSentAt;
+    }
+
+    public LocalDateTime getEarlyLogoutAlertSentAt() {
+        return earlyLogoutAlertSentAt;
+    }
+
+    public LocalDateTime getLateLoginAlertSentAt() {
+        return lateLoginAlertSentAt;
+    }
+}
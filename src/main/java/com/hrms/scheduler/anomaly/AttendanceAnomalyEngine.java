@@ -0,0 +1,208 @@
+package com.hrms.scheduler.anomaly;
+
+import com.hrms.employee.core.repository.AttendanceRepository;
+import com.hrms.scheduler.batch.ChunkedJob;
+import com.hrms.scheduler.batch.ChunkedJobRunner;
+import com.hrms.scheduler.history.JobMetrics;
+import com.hrms.scheduler.lease.JobPartition;
+import com.hrms.service.notification.EmailService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the attendance rows of one work date that some rule will alert on in keyset chunks and
+ * classifies every row against all registered {@link AttendanceAnomalyRule}s. Alert-sent columns are stamped in bulk per chunk,
+ * one UPDATE per rule, in the same transaction as the chunk's checkpoint. In digest mode a row
+ * matching several rules produces a single combined email.
+ */
+@Service
+public class AttendanceAnomalyEngine {
+
+    public static final String JOB_NAME = "ATTENDANCE_ANOMALIES";
+    public static final String SCHEDULE = "${hrms.attendance.alerts.cron:0 0 2 * * MON-FRI}";
+    static final String DIGEST_TEMPLATE = "attendance-alert-digest.html";
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceAnomalyEngine.class);
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired(required = false)
+    private EmailService emailService;
+
+    @Autowired
+    private List<AttendanceAnomalyRule> rules; // Ordered by @Order
+
+    @Autowired
+    private ChunkedJobRunner chunkedJobRunner;
+
+    @Value("${hrms.attendance.alerts.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value(SCHEDULE)
+    private String schedule;
+
+    /**
+     * Runs (or resumes) the check for the context's work date over one company partition.
+     *
+     * @return number of alerts sent per rule name during this invocation
+     */
+    public Map<String, Integer> run(AnomalyCheckContext context, JobPartition partition) {
+        AnomalyJob job = new AnomalyJob(context, partition);
+        chunkedJobRunner.run(job, partition.qualify(context.getWorkDate().toString()), chunkSize);
+        logger.info("Attendance anomaly check for {} (partition {}) scanned {} rows; alerts sent: {} ({} combined into digests)",
+                    context.getWorkDate(), partition, job.scanned, job.summary, job.digests);
+        return job.summary;
+    }
+
+    private class AnomalyJob implements ChunkedJob<AttendanceAlertRow> {
+
+        private final AnomalyCheckContext context;
+        private final JobPartition partition;
+        private final Map<String, Integer> summary = new LinkedHashMap<>();
+        private long scanned;
+        private long digests;
+
+        AnomalyJob(AnomalyCheckContext context, JobPartition partition) {
+            this.context = context;
+            this.partition = partition;
+            rules.forEach(rule -> summary.put(rule.getName(), 0));
+        }
+
+        @Override
+        public String getName() {
+            return JOB_NAME;
+        }
+
+        @Override
+        public String getSchedule() {
+            return schedule;
+        }
+
+        @Override
+        public List<AttendanceAlertRow> readChunk(long afterId, int size) {
+            return attendanceRepository.findAlertCandidates(context.getWorkDate(), afterId,
+                    partition.getIndex(), partition.getCount(), context.getMinimumWorkHours(),
+                    context.getLateLoginThreshold(), PageRequest.of(0, size));
+        }
+
+        @Override
+        public long getId(AttendanceAlertRow row) {
+            return row.getAttendanceId();
+        }
+
+        @Override
+        public void processChunk(List<AttendanceAlertRow> chunk) {
+            Map<AttendanceAnomalyRule, List<Long>> alertedIds = new LinkedHashMap<>();
+            rules.forEach(rule -> alertedIds.put(rule, new ArrayList<>()));
+            List<AttendanceAnomalyRule> matched = new ArrayList<>(rules.size());
+            for (AttendanceAlertRow row : chunk) {
+                matched.clear();
+                for (AttendanceAnomalyRule rule : rules) {
+                    if (!rule.isAlreadyAlerted(row) && rule.matches(row, context)) {
+                        matched.add(rule);
+                    }
+                }
+                if (context.isDigestMode() && matched.size() > 1) {
+                    // One email covers every matched rule, so all of them are stamped or none
+                    if (notifyEmployeeDigest(row, matched, context)) {
+                        matched.forEach(rule -> alertedIds.get(rule).add(row.getAttendanceId()));
+                        digests++;
+                    }
+                    continue;
+                }
+                for (AttendanceAnomalyRule rule : matched) {
+                    if (notifyEmployee(row, rule, context)) {
+                        alertedIds.get(rule).add(row.getAttendanceId());
+                    }
+                }
+            }
+            scanned += chunk.size();
+
+            LocalDateTime sentAt = LocalDateTime.now();
+            alertedIds.forEach((rule, ids) -> {
+                if (!ids.isEmpty()) {
+                    rule.markAlerted(context.getWorkDate(), ids, sentAt);
+                    summary.merge(rule.getName(), ids.size(), Integer::sum);
+                    JobMetrics.current().addRowsAlerted(ids.size());
+                }
+            });
+        }
+    }
+
+    private boolean notifyEmployee(AttendanceAlertRow row, AttendanceAnomalyRule rule, AnomalyCheckContext context) {
+        if (!canNotify(row, rule.getName())) {
+            return false;
+        }
+        try {
+            AnomalyNotification notification = rule.buildNotification(row, context);
+            org.thymeleaf.context.Context emailContext = new org.thymeleaf.context.Context();
+            emailContext.setVariable("greeting", "Dear " + row.getEmployeeFirstName() + ",");
+            emailContext.setVariable("subject", notification.getSubject());
+            emailContext.setVariable("bodyMessage", notification.getBodyMessage());
+
+            emailService.sendHtmlMailFromTemplate(row.getEmployeeEmail(), notification.getSubject(),
+                                                  notification.getTemplateName(), emailContext);
+            logger.debug("{} alert sent to employee ID {} for attendance ID {}.", rule.getName(), row.getEmployeeId(), row.getAttendanceId());
+            JobMetrics.current().addEmailQueued();
+            return true;
+        } catch (Exception e) {
+            logger.error("Failed to send {} alert email to employee ID {} for attendance ID {}: {}",
+                         rule.getName(), row.getEmployeeId(), row.getAttendanceId(), e.getMessage(), e);
+            JobMetrics.current().addFailure();
+            return false;
+        }
+    }
+
+    private boolean notifyEmployeeDigest(AttendanceAlertRow row, List<AttendanceAnomalyRule> matched, AnomalyCheckContext context) {
+        if (!canNotify(row, "DIGEST")) {
+            return false;
+        }
+        try {
+            List<AnomalyNotification> alerts = new ArrayList<>(matched.size());
+            for (AttendanceAnomalyRule rule : matched) {
+                alerts.add(rule.buildNotification(row, context));
+            }
+            String subject = String.format("Alert: %d Attendance Issues Detected for %s", alerts.size(), context.getWorkDate());
+            org.thymeleaf.context.Context emailContext = new org.thymeleaf.context.Context();
+            emailContext.setVariable("greeting", "Dear " + row.getEmployeeFirstName() + ",");
+            emailContext.setVariable("subject", subject);
+            emailContext.setVariable("alerts", alerts);
+
+            emailService.sendHtmlMailFromTemplate(row.getEmployeeEmail(), subject, DIGEST_TEMPLATE, emailContext);
+            logger.debug("Digest of {} alerts sent to employee ID {} for attendance ID {}.", alerts.size(), row.getEmployeeId(), row.getAttendanceId());
+            JobMetrics.current().addEmailQueued();
+            return true;
+        } catch (Exception e) {
+            logger.error("Failed to send alert digest email to employee ID {} for attendance ID {}: {}",
+                         row.getEmployeeId(), row.getAttendanceId(), e.getMessage(), e);
+            JobMetrics.current().addFailure();
+            return false;
+        }
+    }
+
+    private boolean canNotify(AttendanceAlertRow row, String alertName) {
+        if (emailService == null) {
+            logger.warn("EmailService not configured. Skipping {} alert for employee ID {} (Att. ID {}).",
+                        alertName, row.getEmployeeId(), row.getAttendanceId());
+            return false;
+        }
+        if (!StringUtils.hasText(row.getEmployeeEmail())) {
+            logger.warn("Employee ID {} (Att. ID {}) has no email address. Skipping {} alert.",
+                        row.getEmployeeId(), row.getAttendanceId(), alertName);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package com.hrms.scheduler.anomaly;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * One attendance anomaly checked by {@link AttendanceAnomalyEngine}. Implementations are Spring beans and
+ * the engine picks up every rule in the context. The engine only reads candidate rows, so a new rule also
+ * needs its condition added to AttendanceRepository.findAlertCandidates.
+ */
+public interface AttendanceAnomalyRule {
+
+    /**
+     * Short stable name used in logs and run summaries, e.g. "UNDERWORK".
+     */
+    String getName();
+
+    /**
+     * True when this rule already alerted for the row (its *AlertSentAt column is set).
+     */
+    boolean isAlreadyAlerted(AttendanceAlertRow row);
+
+    boolean matches(AttendanceAlertRow row, AnomalyCheckContext context);
+
+    AnomalyNotification buildNotification(AttendanceAlertRow row, AnomalyCheckContext context);
+
+    /**
+     * Stamps the rule's alert-sent column for all given attendance ids of the work date in one statement.
+     *
+     * @return number of rows updated
+     */
+    int markAlerted(LocalDate workDate, Collection<Long> attendanceIds, LocalDateTime sentAt);
+}
@@ -0,0 +1,54 @@
+package com.hrms.scheduler.anomaly;
+
+import com.hrms.employee.core.repository.AttendanceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// Logged out with fewer hours than the configured minimum, not regularized
+@Component
+@Order(3)
+public class EarlyLogoutRule implements AttendanceAnomalyRule {
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Override
+    public String getName() {
+        return "EARLY_LOGOUT";
+    }
+
+    @Override
+    public boolean isAlreadyAlerted(AttendanceAlertRow row) {
+        return row.getEarlyLogoutAlertSentAt() != null;
+    }
+
+    @Override
+    public boolean matches(AttendanceAlertRow row, AnomalyCheckContext context) {
+        return row.getLoginTime() != null
+                && row.getLogoutTime() != null
+                && row.getTotalHours() != null
+                && row.getTotalHours() < context.getMinimumWorkHours()
+                && !row.isRegularized();
+    }
+
+    @Override
+    public AnomalyNotification buildNotification(AttendanceAlertRow row, AnomalyCheckContext context) {
+        String subject = "Alert: Early Logout Detected for " + context.getWorkDate();
+        String body = String.format("Your attendance record for %s shows an early logout. Your total recorded work hours were %.2f, which is less than the expected %.1f hours.<br/>" +
+                                    "Please review your attendance or apply for regularization if this is incorrect.",
+                                    context.getWorkDate(),
+                                    row.getTotalHours(),
+                                    context.getMinimumWorkHours());
+        return new AnomalyNotification(subject, "early-logout-alert.html", body);
+    }
+
+    @Override
+    public int markAlerted(LocalDate workDate, Collection<Long> attendanceIds, LocalDateTime sentAt) {
+        return attendanceRepository.markEarlyLogoutAlertSent(workDate, attendanceIds, sentAt);
+    }
+}
@@ -0,0 +1,52 @@
+package com.hrms.scheduler.anomaly;
+
+import com.hrms.employee.core.repository.AttendanceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// Logged in after the configured late-login threshold, not regularized
+@Component
+@Order(4)
+public class LateLoginRule implements AttendanceAnomalyRule {
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Override
+    public String getName() {
+        return "LATE_LOGIN";
+    }
+
+    @Override
+    public boolean isAlreadyAlerted(AttendanceAlertRow row) {
+        return row.getLateLoginAlertSentAt() != null;
+    }
+
+    @Override
+    public boolean matches(AttendanceAlertRow row, AnomalyCheckContext context) {
+        return row.getLoginTime() != null
+                && row.getLoginTime().toLocalTime().isAfter(context.getLateLoginThreshold())
+                && !row.isRegularized();
+    }
+
+    @Override
+    public AnomalyNotification buildNotification(AttendanceAlertRow row, AnomalyCheckContext context) {
+        String subject = "Alert: Late Login Detected for " + context.getWorkDate();
+        String body = String.format("Your attendance record for %s shows a late login at %s. The expected login time is by %s.<br/>" +
+                                    "Please review your attendance or apply for regularization if this is incorrect.",
+                                    context.getWorkDate(),
+                                    row.getLoginTime().toLocalTime(),
+                                    context.getLateLoginThreshold());
+        return new AnomalyNotification(subject, "late-login-alert.html", body);
+    }
+
+    @Override
+    public int markAlerted(LocalDate workDate, Collection<Long> attendanceIds, LocalDateTime sentAt) {
+        return attendanceRepository.markLateLoginAlertSent(workDate, attendanceIds, sentAt);
+    }
+}
@@ -0,0 +1,49 @@
+package com.hrms.scheduler.anomaly;
+
+import com.hrms.employee.core.repository.AttendanceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// Logged in but no logout recorded
+@Component
+@Order(2)
+public class MissedLogoutRule implements AttendanceAnomalyRule {
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Override
+    public String getName() {
+        return "MISSED_LOGOUT";
+    }
+
+    @Override
+    public boolean isAlreadyAlerted(AttendanceAlertRow row) {
+        return row.getMissedLogoutAlertSentAt() != null;
+    }
+
+    @Override
+    public boolean matches(AttendanceAlertRow row, AnomalyCheckContext context) {
+        return row.getLoginTime() != null && row.getLogoutTime() == null;
+    }
+
+    @Override
+    public AnomalyNotification buildNotification(AttendanceAlertRow row, AnomalyCheckContext context) {
+        String subject = "Alert: Missed Logout on " + context.getWorkDate();
+        String body = String.format("We noticed you logged in on %s at %s but there's no corresponding logout time recorded.<br/>" +
+                                    "Please update your attendance record for this day or apply for regularization if necessary via the employee portal.",
+                                    context.getWorkDate(),
+                                    row.getLoginTime().toLocalTime());
+        return new AnomalyNotification(subject, "missed-logout-alert.html", body);
+    }
+
+    @Override
+    public int markAlerted(LocalDate workDate, Collection<Long> attendanceIds, LocalDateTime sentAt) {
+        return attendanceRepository.markMissedLogoutAlertSent(workDate, attendanceIds, sentAt);
+    }
+}
@@ -0,0 +1,55 @@
+package com.hrms.scheduler.anomaly;
+
+import com.hrms.employee.core.repository.AttendanceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+// Total hours below the configured minimum, not regularized
+@Component
+@Order(1)
+public class UnderworkRule implements AttendanceAnomalyRule {
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Override
+    public String getName() {
+        return "UNDERWORK";
+    }
+
+    @Override
+    public boolean isAlreadyAlerted(AttendanceAlertRow row) {
+        return row.getUnderworkAlertSentAt() != null;
+    }
+
+    @Override
+    public boolean matches(AttendanceAlertRow row, AnomalyCheckContext context) {
+        return row.getTotalHours() != null
+                && row.getTotalHours() < context.getMinimumWorkHours()
+                && !row.isRegularized();
+    }
+
+    @Override
+    public AnomalyNotification buildNotification(AttendanceAlertRow row, AnomalyCheckContext context) {
+        String subject = "Alert: Work Hours Below Threshold for " + context.getWorkDate();
+        String body = String.format(
+                "Dear %s,\n\n" +
+                "Your recorded work hours for %s were %.2f, which is below the expected %.1f hours.<br/>" + // Using <br/> for HTML
+                "Please ensure your attendance is accurately recorded or apply for regularization if needed through the employee portal.",
+                row.getEmployeeFirstName(),
+                context.getWorkDate(),
+                row.getTotalHours(),
+                context.getMinimumWorkHours());
+        return new AnomalyNotification(subject, "generic-notification.html", body);
+    }
+
+    @Override
+    public int markAlerted(LocalDate workDate, Collection<Long> attendanceIds, LocalDateTime sentAt) {
+        return attendanceRepository.markUnderworkAlertSent(workDate, attendanceIds, sentAt);
+    }
+}
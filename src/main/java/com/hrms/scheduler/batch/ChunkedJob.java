@@ -0,0 +1,55 @@
+package com.hrms.scheduler.batch;
+
+import java.util.List;
+
+/**
+ * A scheduled job split into keyset-ordered chunks. {@link ChunkedJobRunner} calls
+ * {@link #readChunk} and {@link #processChunk} inside one transaction per chunk and commits
+ * the cursor (the id of the last item) together with the chunk's writes.
+ *
+ * @param <T> item type; read-only projections are preferred over managed entities
+ */
+public interface ChunkedJob<T> {
+
+    /**
+     * Stable name used as the checkpoint key in job_runs, e.g. "ATTENDANCE_ANOMALIES".
+     */
+    String getName();
+
+    /**
+     * Returns up to chunkSize items with id greater than afterId, ordered by id.
+     */
+    List<T> readChunk(long afterId, int chunkSize);
+
+    long getId(T item);
+
+    /**
+     * Keyset cursor to continue after the chunk, by default the id of its last item (afterId when it is empty).
+     * A job whose read skips some of the rows it scanned, like a conditional UPDATE ... RETURNING, returns the last
+     * scanned id instead, so those rows are neither read again nor taken for the end of the input.
+     */
+    default long getCursor(List<T> chunk, long afterId) {
+        return chunk.isEmpty() ? afterId : getId(chunk.get(chunk.size() - 1));
+    }
+
+    /**
+     * Whether the chunk ends the input, by default when it holds fewer than chunkSize items.
+     */
+    default boolean isLastChunk(List<T> chunk, int chunkSize) {
+        return chunk.size() < chunkSize;
+    }
+
+    /**
+     * Applies the job to one chunk (never an empty one). Runs in the chunk transaction; throwing rolls back
+     * the chunk and leaves the checkpoint at the previous chunk.
+     */
+    void processChunk(List<T> chunk);
+
+    /**
+     * Cron expression the job is fired by, used to record how long after its fire time a run started.
+     * Null for jobs not run on a schedule.
+     */
+    default String getSchedule() {
+        return null;
+    }
+}
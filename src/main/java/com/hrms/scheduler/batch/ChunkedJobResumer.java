@@ -0,0 +1,24 @@
+package com.hrms.scheduler.batch;
+
+import com.hrms.scheduler.entity.JobRun;
+
+import java.util.Collection;
+
+/**
+ * Rebuilds the {@link ChunkedJob} behind a job_runs row so {@link JobRunReconciler} can finish a run left
+ * RUNNING by a crashed node or FAILED by an error. Implemented by the services that own the jobs; they are
+ * Spring beans and the reconciler picks up every one in the context.
+ */
+public interface ChunkedJobResumer {
+
+    /**
+     * Names of the jobs (as returned by {@link ChunkedJob#getName()}) this bean can resume.
+     */
+    Collection<String> getResumableJobNames();
+
+    /**
+     * Runs the job again through {@link ChunkedJobRunner} with the run's job name and run key, so it continues
+     * after the run's checkpoint. Called under the run's lease.
+     */
+    void resume(JobRun run);
+}
@@ -0,0 +1,183 @@
+package com.hrms.scheduler.batch;
+
+import com.hrms.scheduler.entity.JobRun;
+import com.hrms.scheduler.enums.JobRunStatus;
+import com.hrms.scheduler.history.JobExecutionRecorder;
+import com.hrms.scheduler.history.JobMetrics;
+import com.hrms.scheduler.lease.JobLeaseService;
+import com.hrms.scheduler.repository.JobRunRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Runs a {@link ChunkedJob} one chunk per transaction, recording a checkpoint in job_runs after each chunk.
+ * Running the same job and run key again resumes after the last committed chunk; {@link JobRunReconciler} does
+ * so for runs left RUNNING by a crash or redeploy and for FAILED runs. A completed run is not repeated.
+ */
+@Service
+public class ChunkedJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedJobRunner.class);
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired(required = false)
+    private JobLeaseService jobLeaseService;
+
+    @Autowired(required = false)
+    private JobExecutionRecorder jobExecutionRecorder;
+
+    @Value("${hrms.jobs.chunk-size:500}")
+    private int defaultChunkSize;
+
+    public <T> JobRun run(ChunkedJob<T> job, String runKey) {
+        return run(job, runKey, defaultChunkSize);
+    }
+
+    /**
+     * @return the run's checkpoint row after the run, COMPLETED or FAILED
+     */
+    public <T> JobRun run(ChunkedJob<T> job, String runKey, int chunkSize) {
+        // Fresh counters for this run, recorded with its timings in job_executions when it ends
+        JobMetrics previous = JobMetrics.begin();
+        JobMetrics metrics = JobMetrics.current();
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        JobRun run = null;
+        RuntimeException error = null;
+        try {
+            run = execute(job, runKey, chunkSize);
+            return run;
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            JobMetrics.restore(previous);
+            // A run completed before this call was only looked up, not executed
+            boolean skipped = run != null && run.getStatus() == JobRunStatus.COMPLETED && !run.getCompletedAt().isAfter(startedAt);
+            if (!skipped && jobExecutionRecorder != null) {
+                jobExecutionRecorder.record(job.getName(), runKey, job.getSchedule(), startedAt, System.nanoTime() - start,
+                                            metrics, run, error);
+            }
+        }
+    }
+
+    private <T> JobRun execute(ChunkedJob<T> job, String runKey, int chunkSize) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        int size = Math.max(1, chunkSize);
+
+        JobRun run = tx.execute(status -> startOrResume(job.getName(), runKey));
+        if (run.getStatus() == JobRunStatus.COMPLETED) {
+            logger.info("Job {} for {} already completed at {}. Skipping.", job.getName(), runKey, run.getCompletedAt());
+            return run;
+        }
+        if (run.getAttempt() > 1) {
+            logger.info("Resuming job {} for {} after ID {} (attempt {}, {} items already processed).",
+                        job.getName(), runKey, run.getLastProcessedId(), run.getAttempt(), run.getProcessedCount());
+        }
+
+        Long runId = run.getId();
+        long afterId = run.getLastProcessedId();
+        try {
+            while (true) {
+                if (jobLeaseService != null && jobLeaseService.isCurrentLeaseLost()) {
+                    // Left RUNNING: JobRunReconciler resumes it from the last checkpoint once the lease is free
+                    logger.warn("Job {} for {} lost its lease after ID {}. Stopping.", job.getName(), runKey, afterId);
+                    return tx.execute(status -> jobRunRepository.findById(runId).orElseThrow());
+                }
+                final long cursor = afterId;
+                Long nextCursor = tx.execute(status -> processNextChunk(job, runId, cursor, size));
+                if (nextCursor == null) {
+                    break;
+                }
+                afterId = nextCursor;
+            }
+            return tx.execute(status -> finish(runId, JobRunStatus.COMPLETED, null));
+        } catch (RuntimeException e) {
+            logger.error("Job {} for {} failed after ID {}: {}", job.getName(), runKey, afterId, e.getMessage(), e);
+            return tx.execute(status -> finish(runId, JobRunStatus.FAILED, e.toString()));
+        }
+    }
+
+    private JobRun startOrResume(String jobName, String runKey) {
+        LocalDateTime now = LocalDateTime.now();
+        JobRun run = jobRunRepository.findByJobNameAndRunKey(jobName, runKey).orElseGet(() -> {
+            JobRun created = new JobRun();
+            created.setJobName(jobName);
+            created.setRunKey(runKey);
+            created.setStartedAt(now);
+            return created;
+        });
+        if (run.getStatus() == JobRunStatus.COMPLETED) {
+            return run;
+        }
+        run.setStatus(JobRunStatus.RUNNING);
+        run.setAttempt(run.getAttempt() + 1);
+        run.setUpdatedAt(now);
+        return jobRunRepository.save(run);
+    }
+
+    // Returns the new cursor, or null when the source is exhausted.
+    private <T> Long processNextChunk(ChunkedJob<T> job, Long runId, long afterId, int size) {
+        List<T> chunk = job.readChunk(afterId, size);
+        boolean last = job.isLastChunk(chunk, size);
+        long lastId = job.getCursor(chunk, afterId);
+        if (chunk.isEmpty() && (last || lastId == afterId)) {
+            return null;
+        }
+        if (!chunk.isEmpty()) {
+            job.processChunk(chunk);
+        }
+        JobMetrics metrics = JobMetrics.current();
+        metrics.addRowsScanned(chunk.size());
+        metrics.addChunk();
+
+        JobRun run = jobRunRepository.findById(runId).orElseThrow();
+        run.setLastProcessedId(lastId);
+        run.setProcessedCount(run.getProcessedCount() + chunk.size());
+        run.setChunkCount(run.getChunkCount() + 1);
+        run.setUpdatedAt(LocalDateTime.now());
+        jobRunRepository.save(run);
+
+        // Keep the persistence context from growing across chunks
+        entityManager.flush();
+        entityManager.clear();
+        return last ? null : lastId;
+    }
+
+    private JobRun finish(Long runId, JobRunStatus status, String error) {
+        JobRun run = jobRunRepository.findById(runId).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+        run.setStatus(status);
+        run.setUpdatedAt(now);
+        if (status == JobRunStatus.COMPLETED) {
+            run.setCompletedAt(now);
+            run.setLastError(null);
+            logger.info("Job {} for {} completed: {} items in {} chunks.",
+                        run.getJobName(), run.getRunKey(), run.getProcessedCount(), run.getChunkCount());
+        } else {
+            run.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        }
+        return jobRunRepository.save(run);
+    }
+}
@@ -0,0 +1,118 @@
+package com.hrms.scheduler.batch;
+
+import com.hrms.scheduler.entity.JobRun;
+import com.hrms.scheduler.enums.JobRunStatus;
+import com.hrms.scheduler.lease.JobLeaseService;
+import com.hrms.scheduler.lease.JobPartition;
+import com.hrms.scheduler.repository.JobRunRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finishes chunked job runs that were interrupted: rows left RUNNING by a node that crashed or was redeployed,
+ * and rows left FAILED by an error. Each run is resumed from its checkpoint under the lease its job or partition
+ * runs under, so a run still held by a live node is left alone. Runs once at startup and then on a fixed delay.
+ */
+@Service
+public class JobRunReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobRunReconciler.class);
+    private static final List<JobRunStatus> UNFINISHED = List.of(JobRunStatus.RUNNING, JobRunStatus.FAILED);
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Autowired(required = false)
+    private List<ChunkedJobResumer> resumers = List.of();
+
+    @Value("${hrms.jobs.resume.enabled:true}")
+    private boolean enabled;
+
+    // Runs not updated for this long are considered interrupted (a live run checkpoints after every chunk)
+    @Value("${hrms.jobs.resume.idle-ms:300000}")
+    private long idleMs;
+
+    // Older runs are left as they are: their alerts would be too late to be useful
+    @Value("${hrms.jobs.resume.max-age-hours:24}")
+    private long maxAgeHours;
+
+    // Attempts include the first run; a run failing this often needs a look, not another retry
+    @Value("${hrms.jobs.resume.max-attempts:3}")
+    private int maxAttempts;
+
+    private final Map<String, ChunkedJobResumer> resumersByJob = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (ChunkedJobResumer resumer : resumers) {
+            resumer.getResumableJobNames().forEach(jobName -> resumersByJob.put(jobName, resumer));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hrms.jobs.resume.interval-ms:300000}")
+    public void resumeInterruptedRuns() {
+        if (!enabled) {
+            return;
+        }
+        reconcile();
+    }
+
+    /**
+     * Resumes every interrupted run this node can lease.
+     *
+     * @return number of runs resumed by this node
+     */
+    public int reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        List<JobRun> runs;
+        try {
+            runs = jobRunRepository.findByStatusInAndStartedAtAfterAndUpdatedAtBeforeOrderByStartedAt(
+                    UNFINISHED, now.minusHours(maxAgeHours), now.minusNanos(idleMs * 1_000_000));
+        } catch (DataAccessException e) {
+            logger.warn("Could not look up interrupted job runs: {}", e.getMessage());
+            return 0;
+        }
+        int resumed = 0;
+        for (JobRun run : runs) {
+            ChunkedJobResumer resumer = resumersByJob.get(run.getJobName());
+            if (resumer == null) {
+                logger.debug("Job {} for {} is {} but no resumer is registered for it.", run.getJobName(), run.getRunKey(), run.getStatus());
+                continue;
+            }
+            if (run.getAttempt() >= maxAttempts) {
+                logger.warn("Job {} for {} is {} after {} attempts. Not resuming it; last error: {}",
+                            run.getJobName(), run.getRunKey(), run.getStatus(), run.getAttempt(), run.getLastError());
+                continue;
+            }
+            // The run key carries the partition the run was started for, and with it the lease it ran under
+            String leaseName = JobPartition.of(run.getRunKey()).qualify(run.getJobName());
+            logger.info("Resuming {} job {} for {} after ID {} (attempt {}).",
+                        run.getStatus(), run.getJobName(), run.getRunKey(), run.getLastProcessedId(), run.getAttempt());
+            try {
+                if (jobLeaseService.runExclusively(leaseName, () -> resumer.resume(run))) {
+                    resumed++;
+                }
+            } catch (RuntimeException e) {
+                logger.error("Resuming job {} for {} failed: {}", run.getJobName(), run.getRunKey(), e.getMessage(), e);
+            }
+        }
+        if (resumed > 0) {
+            logger.info("Resumed {} interrupted job run(s).", resumed);
+        }
+        return resumed;
+    }
+}
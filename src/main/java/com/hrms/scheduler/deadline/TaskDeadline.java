@@ -0,0 +1,32 @@
+package com.hrms.scheduler.deadline;
+
+import java.time.LocalDateTime;
+
+/**
+ * Open task's deadline and reminder state, built by a JPQL constructor expression for the deadline scheduler's
+ * reconcile sweep.
+ */
+public class TaskDeadline {
+
+    private final Long taskId;
+    private final LocalDateTime deadline;
+    private final LocalDateTime reminderSentAt;
+
+    public TaskDeadline(Long taskId, LocalDateTime deadline, LocalDateTime reminderSentAt) {
+        this.taskId = taskId;
+        this.deadline = deadline;
+        this.reminderSentAt = reminderSentAt;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public LocalDateTime getDeadline() {
+        return deadline;
+    }
+
+    public LocalDateTime getReminderSentAt() {
+        return reminderSentAt;
+    }
+}
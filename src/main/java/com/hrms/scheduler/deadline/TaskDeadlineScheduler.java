@@ -0,0 +1,194 @@
+package com.hrms.scheduler.deadline;
+
+import com.hrms.employee.core.entity.Task;
+import com.hrms.employee.core.enums.TaskStatus;
+import com.hrms.employee.core.repository.TaskRepository;
+import com.hrms.scheduler.TaskManagementJobService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Closes each task at its deadline, and reminds its assignee reminder-lead-minutes before it, from in-memory
+ * {@link TimerWheel}s instead of scanning employee_tasks. Task writers call {@link #schedule(Task)} after a
+ * create or status change; the reconcile sweep, which also runs at startup, re-reads open tasks due within the
+ * horizon so timers set on other nodes, or lost in a restart, are picked up. The nightly auto-close job stays
+ * as the last safety net.
+ * <p>
+ * Every node holds timers for every task. Firing runs a conditional UPDATE, so only the first node to fire a
+ * timer closes or reminds the task; the others match nothing.
+ */
+@Component
+public class TaskDeadlineScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskDeadlineScheduler.class);
+
+    private static final List<TaskStatus> OPEN_STATUSES = List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskManagementJobService taskManagementJobService;
+
+    @Value("${hrms.tasks.deadline.enabled:true}")
+    private boolean enabled;
+
+    @Value("${hrms.tasks.deadline.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${hrms.tasks.deadline.horizon-hours:24}")
+    private long horizonHours;
+
+    @Value("${hrms.tasks.deadline.reminder-lead-minutes:60}")
+    private long reminderLeadMinutes;
+
+    @Value("${hrms.tasks.deadline.reconcile-page-size:1000}")
+    private int reconcilePageSize;
+
+    private TimerWheel closeTimers; // Guarded by this
+    private TimerWheel reminderTimers; // Guarded by this
+
+    @PostConstruct
+    public void init() {
+        long now = System.currentTimeMillis();
+        closeTimers = new TimerWheel(tickMs, now);
+        reminderTimers = new TimerWheel(tickMs, now);
+    }
+
+    /**
+     * Sets or clears the task's timers from its current state once the caller's transaction commits.
+     */
+    public void schedule(Task task) {
+        if (!enabled || task.getId() == null) {
+            return;
+        }
+        Long taskId = task.getId();
+        boolean open = OPEN_STATUSES.contains(task.getStatus()) && task.getAutoClosedAt() == null;
+        TaskDeadline deadline = new TaskDeadline(taskId, task.getDeadline(), task.getReminderSentAt());
+        Runnable apply = () -> {
+            if (open) {
+                scheduleTimers(deadline, LocalDateTime.now());
+            } else {
+                cancelTimers(taskId);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    @Scheduled(fixedRateString = "${hrms.tasks.deadline.tick-ms:1000}")
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        List<Long> dueForReminder;
+        List<Long> dueForClosure;
+        long nowMillis = System.currentTimeMillis();
+        synchronized (this) {
+            dueForReminder = reminderTimers.advance(nowMillis);
+            dueForClosure = closeTimers.advance(nowMillis);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            if (!dueForReminder.isEmpty()) {
+                taskManagementJobService.remindDueTasks(dueForReminder, now);
+            }
+            if (!dueForClosure.isEmpty()) {
+                taskManagementJobService.closeDueTasks(dueForClosure, now);
+            }
+        } catch (DataAccessException e) {
+            // The tasks are still open in the database, so the next reconcile sweep sets their timers again
+            logger.warn("Deadline timers for tasks {} / reminders {} failed, retrying after the next reconcile: {}",
+                        dueForClosure, dueForReminder, e.getMessage());
+        }
+    }
+
+    /**
+     * Sets timers for every open task due within the horizon. Timers for tasks closed or completed elsewhere
+     * are left to fire; the conditional UPDATE ignores them.
+     */
+    @Scheduled(fixedDelayString = "${hrms.tasks.deadline.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dueBefore = now.plusHours(horizonHours);
+        int size = Math.max(1, reconcilePageSize);
+        long afterId = 0;
+        int scheduled = 0;
+        try {
+            List<TaskDeadline> page;
+            do {
+                page = taskRepository.findOpenTaskDeadlines(dueBefore, OPEN_STATUSES, afterId, PageRequest.of(0, size));
+                synchronized (this) {
+                    for (TaskDeadline deadline : page) {
+                        scheduleTimers(deadline, now);
+                    }
+                }
+                scheduled += page.size();
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getTaskId();
+                }
+            } while (page.size() == size);
+        } catch (DataAccessException e) {
+            logger.warn("Task deadline reconcile failed after ID {}: {}", afterId, e.getMessage());
+            return;
+        }
+        logger.debug("Task deadline reconcile set timers for {} open tasks due before {}.", scheduled, dueBefore);
+    }
+
+    public synchronized int getPendingClosures() {
+        return closeTimers.size();
+    }
+
+    public synchronized int getPendingReminders() {
+        return reminderTimers.size();
+    }
+
+    private synchronized void scheduleTimers(TaskDeadline task, LocalDateTime now) {
+        if (task.getDeadline() == null || task.getDeadline().isAfter(now.plusHours(horizonHours))) {
+            cancelTimers(task.getTaskId()); // Set by a later reconcile sweep, once within the horizon
+            return;
+        }
+        closeTimers.schedule(task.getTaskId(), toEpochMillis(task.getDeadline()));
+        LocalDateTime remindAt = task.getDeadline().minusMinutes(reminderLeadMinutes);
+        if (reminderLeadMinutes > 0 && task.getReminderSentAt() == null && task.getDeadline().isAfter(now)) {
+            // A reminder whose time already passed (e.g. while the node was down) goes out on the next tick
+            reminderTimers.schedule(task.getTaskId(), toEpochMillis(remindAt));
+        } else {
+            reminderTimers.cancel(task.getTaskId());
+        }
+    }
+
+    private synchronized void cancelTimers(Long taskId) {
+        closeTimers.cancel(taskId);
+        reminderTimers.cancel(taskId);
+    }
+
+    // Deadlines are stored as LocalDateTime in the server's zone, like every LocalDateTime.now() in the app
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
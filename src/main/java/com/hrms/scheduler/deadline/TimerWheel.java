@@ -0,0 +1,161 @@
+package com.hrms.scheduler.deadline;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by id: four wheels of 64 slots, where a slot at level n spans
+ * 64^n ticks, so one-second ticks cover about 194 days. Scheduling and cancelling are O(1); advancing one
+ * tick empties one level-0 slot, and a higher-level slot is cascaded into the levels below once per turn of
+ * the wheel under it. A timer never fires early, and fires at most one tick late.
+ * <p>
+ * Not thread-safe; the owner synchronizes.
+ */
+public class TimerWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final Timer[][] slots = new Timer[LEVELS][SLOTS]; // Head of each slot's doubly linked list
+    private final Map<Long, Timer> timers = new HashMap<>();
+    private long currentTick; // Last tick whose timers have fired
+
+    public TimerWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = Math.max(1, tickMillis);
+        this.currentTick = Math.floorDiv(nowMillis, this.tickMillis);
+    }
+
+    /**
+     * Sets the timer for id to fire at dueMillis, replacing any timer it had. A due time already passed fires
+     * on the next advance.
+     */
+    public void schedule(long id, long dueMillis) {
+        cancel(id);
+        long dueTick = -Math.floorDiv(-dueMillis, tickMillis); // Rounded up so the timer never fires early
+        Timer timer = new Timer(id, Math.max(dueTick, currentTick + 1));
+        timers.put(id, timer);
+        place(timer);
+    }
+
+    public boolean cancel(long id) {
+        Timer timer = timers.remove(id);
+        if (timer == null) {
+            return false;
+        }
+        unlink(timer);
+        return true;
+    }
+
+    public boolean contains(long id) {
+        return timers.containsKey(id);
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    /**
+     * Advances the wheel to nowMillis and returns the ids whose timers fired, tick by tick. Time moving
+     * backwards fires nothing.
+     */
+    public List<Long> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        List<Long> fired = new ArrayList<>();
+        while (currentTick < targetTick && !timers.isEmpty()) {
+            currentTick++;
+            if ((currentTick & SLOT_MASK) == 0) {
+                cascade(1);
+            }
+            int slot = (int) (currentTick & SLOT_MASK);
+            Timer timer = slots[0][slot];
+            slots[0][slot] = null;
+            while (timer != null) {
+                Timer next = timer.next;
+                timer.prev = timer.next = null;
+                if (timer.dueTick <= currentTick) {
+                    timers.remove(timer.id);
+                    fired.add(timer.id);
+                } else {
+                    place(timer); // Not reachable for timers placed by their due tick; kept as a guard
+                }
+                timer = next;
+            }
+        }
+        // An empty wheel skips straight to the target, so idle periods cost nothing
+        currentTick = Math.max(currentTick, targetTick);
+        return fired;
+    }
+
+    // Moves the timers in the current slot of this level down, after cascading the level above it on wrap-around
+    private void cascade(int level) {
+        if (level >= LEVELS) {
+            return;
+        }
+        int slot = (int) ((currentTick >>> (level * SLOT_BITS)) & SLOT_MASK);
+        if (slot == 0) {
+            cascade(level + 1);
+        }
+        Timer timer = slots[level][slot];
+        slots[level][slot] = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.prev = timer.next = null;
+            place(timer);
+            timer = next;
+        }
+    }
+
+    private void place(Timer timer) {
+        long delta = timer.dueTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << ((level + 1) * SLOT_BITS)) {
+            level++;
+        }
+        long slotTick;
+        if (delta >= 1L << (LEVELS * SLOT_BITS)) {
+            // Beyond the top wheel: park it in the top slot reached last; it is placed again when that slot cascades
+            slotTick = (currentTick >>> ((LEVELS - 1) * SLOT_BITS)) - 1;
+        } else {
+            slotTick = timer.dueTick >>> (level * SLOT_BITS);
+        }
+        int slot = (int) (slotTick & SLOT_MASK);
+        timer.level = level;
+        timer.slot = slot;
+        timer.next = slots[level][slot];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        slots[level][slot] = timer;
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else if (slots[timer.level][timer.slot] == timer) {
+            slots[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = timer.next = null;
+    }
+
+    private static final class Timer {
+        private final long id;
+        private final long dueTick;
+        private int level;
+        private int slot;
+        private Timer prev;
+        private Timer next;
+
+        Timer(long id, long dueTick) {
+            this.id = id;
+            this.dueTick = dueTick;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.hrms.scheduler.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cluster-wide lease for one scheduled job (or one partition of it). A node may run the job only while
+ * it owns the row and leaseUntil is in the future; the owner extends leaseUntil with heartbeats.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    @Id
+    @Column(name = "lease_name", length = 150)
+    private String leaseName;
+
+    @Column(name = "owner_id", length = 150)
+    private String ownerId;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "acquired_at")
+    private LocalDateTime acquiredAt;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
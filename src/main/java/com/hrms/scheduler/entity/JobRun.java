@@ -0,0 +1,61 @@
+package com.hrms.scheduler.entity;
+
+import com.hrms.scheduler.enums.JobRunStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of one chunked job run, identified by job name and run key (usually the processed date).
+ * lastProcessedId is the keyset cursor committed with each chunk, so a restarted run resumes after it.
+ */
+@Entity
+@Table(name = "job_runs", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"job_name", "run_key"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "run_key", nullable = false, length = 100)
+    private String runKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobRunStatus status;
+
+    @Column(name = "last_processed_id", nullable = false)
+    private Long lastProcessedId = 0L;
+
+    @Column(name = "processed_count", nullable = false)
+    private Long processedCount = 0L;
+
+    @Column(name = "chunk_count", nullable = false)
+    private Integer chunkCount = 0;
+
+    @Column(name = "attempt", nullable = false)
+    private Integer attempt = 0;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
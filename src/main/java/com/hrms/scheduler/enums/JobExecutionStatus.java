@@ -0,0 +1,7 @@
+package com.hrms.scheduler.enums;
+
+public enum JobExecutionStatus {
+    SUCCEEDED,
+    FAILED,
+    INTERRUPTED // Lease lost to another node, which resumes the run
+}
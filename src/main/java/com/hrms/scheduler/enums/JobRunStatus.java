@@ -0,0 +1,7 @@
+package com.hrms.scheduler.enums;
+
+public enum JobRunStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,146 @@
+package com.hrms.scheduler.history;
+
+import com.hrms.scheduler.entity.JobExecution;
+import com.hrms.scheduler.entity.JobRun;
+import com.hrms.scheduler.enums.JobExecutionStatus;
+import com.hrms.scheduler.enums.JobRunStatus;
+import com.hrms.scheduler.lease.JobLeaseService;
+import com.hrms.scheduler.repository.JobExecutionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Writes a job_executions row for every chunked job run: start and end, duration, lag behind the cron fire
+ * time, and the run's {@link JobMetrics}. Rows are written in their own transaction, and a failure to write
+ * one is logged without affecting the job. History older than the retention period is purged daily.
+ */
+@Service
+public class JobExecutionRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobExecutionRecorder.class);
+    private static final int MAX_ERROR_LENGTH = 2000;
+    private static final int FIRE_TIME_LOOKBACK_DAYS = 7; // Covers weekday-only crons over a long weekend
+
+    @Autowired
+    private JobExecutionRepository jobExecutionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private JobLeaseService jobLeaseService;
+
+    @Value("${hrms.jobs.history.retention-days:90}")
+    private int retentionDays;
+
+    private TransactionTemplate tx;
+
+    @PostConstruct
+    public void init() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Records one run. A run skipped because it had already completed is not recorded.
+     *
+     * @param schedule cron expression the job is fired by, or null
+     * @param run      the run's job_runs row afterwards, or null if the runner itself failed
+     * @param error    the exception that escaped the runner, if any
+     */
+    public void record(String jobName, String runKey, String schedule, LocalDateTime startedAt, long durationNanos,
+                       JobMetrics metrics, JobRun run, Throwable error) {
+        JobExecution execution = new JobExecution();
+        execution.setJobName(jobName);
+        execution.setRunKey(runKey);
+        execution.setNodeId(jobLeaseService != null ? jobLeaseService.getNodeId() : null);
+        execution.setStartedAt(startedAt);
+        execution.setDurationMs(Duration.ofNanos(durationNanos).toMillis());
+        execution.setFinishedAt(startedAt.plusNanos(durationNanos));
+        LocalDateTime scheduledAt = lastFireTime(schedule, startedAt);
+        execution.setScheduledAt(scheduledAt);
+        execution.setLagMs(scheduledAt != null ? Duration.between(scheduledAt, startedAt).toMillis() : null);
+        execution.setRowsScanned(metrics.getRowsScanned());
+        execution.setRowsAlerted(metrics.getRowsAlerted());
+        execution.setEmailsQueued(metrics.getEmailsQueued());
+        execution.setFailures(metrics.getFailures());
+        execution.setChunkCount(metrics.getChunks());
+
+        String message;
+        if (error != null || run == null) {
+            execution.setStatus(JobExecutionStatus.FAILED);
+            message = error != null ? error.toString() : null;
+        } else if (run.getStatus() == JobRunStatus.FAILED) {
+            execution.setStatus(JobExecutionStatus.FAILED);
+            message = run.getLastError();
+        } else if (run.getStatus() == JobRunStatus.RUNNING) {
+            execution.setStatus(JobExecutionStatus.INTERRUPTED);
+            message = null;
+        } else {
+            execution.setStatus(JobExecutionStatus.SUCCEEDED);
+            message = null;
+        }
+        execution.setError(message != null && message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+
+        try {
+            tx.executeWithoutResult(status -> jobExecutionRepository.save(execution));
+        } catch (DataAccessException | TransactionException e) {
+            logger.warn("Could not record execution of job {} for {}: {}", jobName, runKey, e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${hrms.jobs.history.purge-cron:0 45 3 * * ?}")
+    public void purgeHistory() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        try {
+            Integer deleted = tx.execute(status -> jobExecutionRepository.deleteStartedBefore(cutoff));
+            logger.info("Purged {} job execution records started before {}.", deleted, cutoff);
+        } catch (DataAccessException | TransactionException e) {
+            logger.warn("Could not purge job execution history: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Latest time at or before the given time at which the cron fires, or null when there is no schedule
+     * or it did not fire within the last week.
+     */
+    static LocalDateTime lastFireTime(String schedule, LocalDateTime at) {
+        if (!StringUtils.hasText(schedule)) {
+            return null;
+        }
+        CronExpression cron;
+        try {
+            cron = CronExpression.parse(schedule);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        // CronExpression only looks forward: step through the fires since a day (then a week) earlier
+        for (int days : new int[] {1, FIRE_TIME_LOOKBACK_DAYS}) {
+            LocalDateTime last = null;
+            LocalDateTime next = cron.next(at.minusDays(days));
+            while (next != null && !next.isAfter(at)) {
+                last = next;
+                next = cron.next(next);
+            }
+            if (last != null) {
+                return last;
+            }
+        }
+        return null;
+    }
+}
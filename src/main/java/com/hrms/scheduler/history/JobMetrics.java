@@ -0,0 +1,81 @@
+package com.hrms.scheduler.history;
+
+/**
+ * Counters of the job execution running on the current thread. {@link com.hrms.scheduler.batch.ChunkedJobRunner}
+ * binds a fresh instance for each run and counts rows scanned and chunks itself; jobs add what only they know
+ * (alerts, queued emails, per-item failures) through {@link #current()}. Outside a run, current() returns a
+ * detached instance, so jobs report unconditionally.
+ */
+public class JobMetrics {
+
+    private static final ThreadLocal<JobMetrics> CURRENT = new ThreadLocal<>();
+
+    private long rowsScanned;
+    private long rowsAlerted;
+    private long emailsQueued;
+    private long failures;
+    private int chunks;
+
+    public static JobMetrics current() {
+        JobMetrics metrics = CURRENT.get();
+        return metrics != null ? metrics : new JobMetrics();
+    }
+
+    /**
+     * Binds a fresh instance to the current thread and returns the one it replaces (null if none), which the
+     * caller restores with {@link #restore} when the run ends.
+     */
+    public static JobMetrics begin() {
+        JobMetrics previous = CURRENT.get();
+        CURRENT.set(new JobMetrics());
+        return previous;
+    }
+
+    public static void restore(JobMetrics previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public void addRowsScanned(long rows) {
+        rowsScanned += rows;
+    }
+
+    public void addRowsAlerted(long rows) {
+        rowsAlerted += rows;
+    }
+
+    public void addEmailQueued() {
+        emailsQueued++;
+    }
+
+    public void addFailure() {
+        failures++;
+    }
+
+    public void addChunk() {
+        chunks++;
+    }
+
+    public long getRowsScanned() {
+        return rowsScanned;
+    }
+
+    public long getRowsAlerted() {
+        return rowsAlerted;
+    }
+
+    public long getEmailsQueued() {
+        return emailsQueued;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+}
@@ -0,0 +1,258 @@
+package com.hrms.scheduler.lease;
+
+import com.hrms.scheduler.entity.JobLease;
+import com.hrms.scheduler.repository.JobLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * DB-backed leases so each scheduled job runs on one node of the cluster at a time.
+ * A lease is taken with a conditional UPDATE on job_leases, kept alive by a heartbeat while the job
+ * runs and released when it finishes. A crashed owner stops heartbeating and its lease expires.
+ */
+@Service
+public class JobLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLeaseService.class);
+    private static final long PARTITION_RETRY_MARGIN_MS = 1000;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${hrms.jobs.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${hrms.jobs.lease.duration-ms:120000}")
+    private long leaseDurationMs;
+
+    @Value("${hrms.jobs.lease.heartbeat-ms:30000}")
+    private long heartbeatMs;
+
+    @Value("${hrms.jobs.partitions:1}")
+    private int partitionCount;
+
+    // How long a node keeps retrying a partition leased by another node before leaving it to the next run
+    @Value("${hrms.jobs.partition-retry.max-wait-ms:21600000}")
+    private long partitionRetryMaxWaitMs;
+
+    private final ThreadLocal<AtomicBoolean> currentLeaseLost = new ThreadLocal<>();
+    // Leases held by this process; tryAcquire alone would let a second thread of the same node take them again
+    private final Set<String> heldLeases = ConcurrentHashMap.newKeySet();
+    private TransactionTemplate tx;
+    private ScheduledExecutorService heartbeats;
+    private ScheduledExecutorService partitionRetries;
+    private String nodeId;
+
+    @PostConstruct
+    public void init() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        nodeId = StringUtils.hasText(configuredNodeId) ? configuredNodeId : defaultNodeId();
+        heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "job-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        partitionRetries = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "job-partition-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Scheduled job leases owned as node {} (lease {} ms, heartbeat {} ms, {} partition(s)).",
+                    nodeId, leaseDurationMs, heartbeatMs, partitionCount);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        partitionRetries.shutdownNow();
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown-host";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8); // Unique per process, even on one host
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public int getPartitionCount() {
+        return Math.max(1, partitionCount);
+    }
+
+    /**
+     * Runs the task if this node can take the lease; otherwise returns false without running it.
+     */
+    public boolean runExclusively(String leaseName, Runnable task) {
+        if (!heldLeases.add(leaseName)) {
+            logger.info("Lease {} is already held on this node. Skipping this run.", leaseName);
+            return false;
+        }
+        if (!tryAcquire(leaseName)) {
+            heldLeases.remove(leaseName);
+            logger.info("Lease {} is held by another node. Skipping this run.", leaseName);
+            return false;
+        }
+        AtomicBoolean lost = new AtomicBoolean();
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleWithFixedDelay(
+                () -> heartbeat(leaseName, lost), heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        currentLeaseLost.set(lost);
+        try {
+            task.run();
+            return true;
+        } finally {
+            currentLeaseLost.remove();
+            heartbeat.cancel(false);
+            release(leaseName);
+            heldLeases.remove(leaseName);
+        }
+    }
+
+    /**
+     * Splits a job into {@link #getPartitionCount()} company partitions, each under its own lease, and runs
+     * every partition this node can lease. Partitions are tried starting at a random offset so nodes
+     * firing the same cron spread across partitions instead of contending for the first one.
+     * <p>
+     * A partition leased elsewhere is tried again in the background when that lease runs out, so a partition
+     * whose holder died is still processed. The work must therefore be idempotent per partition: the chunked
+     * jobs are, through their job_runs row (a finished run is skipped, an interrupted one resumes).
+     *
+     * @return number of partitions run by this node
+     */
+    public int runPartitioned(String jobName, Consumer<JobPartition> work) {
+        int count = getPartitionCount();
+        int offset = ThreadLocalRandom.current().nextInt(count);
+        int ran = 0;
+        for (int i = 0; i < count; i++) {
+            JobPartition partition = new JobPartition((offset + i) % count, count);
+            if (runExclusively(partition.qualify(jobName), () -> work.accept(partition))) {
+                ran++;
+            } else {
+                scheduleRetry(partition.qualify(jobName), partition, work, System.currentTimeMillis() + partitionRetryMaxWaitMs);
+            }
+        }
+        logger.info("Node {} ran {} of {} partition(s) of {}.", nodeId, ran, count, jobName);
+        return ran;
+    }
+
+    private void scheduleRetry(String leaseName, JobPartition partition, Consumer<JobPartition> work, long giveUpAtMs) {
+        // A live holder heartbeats its lease forward, so by then it has either extended it or finished
+        long delayMs = leaseRemainingMs(leaseName) + PARTITION_RETRY_MARGIN_MS;
+        if (System.currentTimeMillis() + delayMs > giveUpAtMs) {
+            logger.warn("Lease {} is still held elsewhere. Leaving partition {} to the next run.", leaseName, partition);
+            return;
+        }
+        logger.info("Lease {} is held elsewhere. Retrying partition {} in {} ms.", leaseName, partition, delayMs);
+        try {
+            partitionRetries.schedule(() -> {
+                try {
+                    if (!runExclusively(leaseName, () -> work.accept(partition))) {
+                        scheduleRetry(leaseName, partition, work, giveUpAtMs);
+                    }
+                } catch (RuntimeException e) {
+                    logger.error("Retry of partition {} under lease {} failed: {}", partition, leaseName, e.getMessage(), e);
+                }
+            }, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Not retrying partition {}; shutting down.", partition);
+        }
+    }
+
+    private long leaseRemainingMs(String leaseName) {
+        try {
+            return tx.execute(status -> jobLeaseRepository.findById(leaseName))
+                    .map(lease -> Math.max(0, Duration.between(LocalDateTime.now(), lease.getLeaseUntil()).toMillis()))
+                    .orElse(leaseDurationMs);
+        } catch (DataAccessException | TransactionException e) {
+            return leaseDurationMs;
+        }
+    }
+
+    /**
+     * True when the calling thread runs under a lease whose heartbeat found it taken over by another node.
+     * Long-running jobs check this between units of work and stop early.
+     */
+    public boolean isCurrentLeaseLost() {
+        AtomicBoolean lost = currentLeaseLost.get();
+        return lost != null && lost.get();
+    }
+
+    boolean tryAcquire(String leaseName) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusNanos(TimeUnit.MILLISECONDS.toNanos(leaseDurationMs));
+        try {
+            Integer updated = tx.execute(status -> jobLeaseRepository.tryAcquire(leaseName, nodeId, now, until));
+            if (updated != null && updated > 0) {
+                return true;
+            }
+            // First run of this job: create the row. A concurrent insert by another node loses on the primary key.
+            return Boolean.TRUE.equals(tx.execute(status -> {
+                if (jobLeaseRepository.existsById(leaseName)) {
+                    return false;
+                }
+                jobLeaseRepository.saveAndFlush(new JobLease(leaseName, nodeId, until, now, now));
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        } catch (DataAccessException | TransactionException e) {
+            logger.error("Could not acquire lease {}: {}", leaseName, e.getMessage());
+            return false;
+        }
+    }
+
+    private void heartbeat(String leaseName, AtomicBoolean lost) {
+        if (lost.get()) {
+            return; // Already taken over; the job is winding down
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusNanos(TimeUnit.MILLISECONDS.toNanos(leaseDurationMs));
+        try {
+            Integer updated = tx.execute(status -> jobLeaseRepository.heartbeat(leaseName, nodeId, now, until));
+            if (updated == null || updated == 0) {
+                lost.set(true);
+                logger.warn("Lease {} was taken over by another node; the running job will stop at its next checkpoint.", leaseName);
+            }
+        } catch (DataAccessException | TransactionException e) {
+            logger.warn("Heartbeat for lease {} failed: {}", leaseName, e.getMessage()); // Retried on the next tick
+        }
+    }
+
+    private void release(String leaseName) {
+        try {
+            tx.execute(status -> jobLeaseRepository.release(leaseName, nodeId, LocalDateTime.now()));
+        } catch (DataAccessException | TransactionException e) {
+            logger.warn("Could not release lease {}; it will expire on its own: {}", leaseName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.hrms.scheduler.lease;
+
+/**
+ * One slice of a company-partitioned job: rows whose company id modulo {@code count} equals {@code index}.
+ * Users without a company (super admins) fall into partition 0.
+ */
+public final class JobPartition {
+
+    public static final JobPartition SINGLE = new JobPartition(0, 1);
+
+    private final int index;
+    private final int count;
+
+    public JobPartition(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid partition " + index + " of " + count);
+        }
+        this.index = index;
+        this.count = count;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Qualifies a lease name or run key with the partition; unchanged for an unpartitioned job.
+     */
+    public String qualify(String name) {
+        return count == 1 ? name : name + "/p" + index + "of" + count;
+    }
+
+    /**
+     * The partition a name was qualified with by {@link #qualify}; {@link #SINGLE} for an unqualified name.
+     */
+    public static JobPartition of(String qualifiedName) {
+        int separator = qualifiedName.lastIndexOf("/p");
+        if (separator < 0) {
+            return SINGLE;
+        }
+        String[] parts = qualifiedName.substring(separator + 2).split("of");
+        if (parts.length != 2) {
+            return SINGLE;
+        }
+        try {
+            return new JobPartition(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        } catch (IllegalArgumentException e) {
+            return SINGLE;
+        }
+    }
+
+    /**
+     * The name without the qualifier added by {@link #qualify}.
+     */
+    public static String unqualify(String qualifiedName) {
+        JobPartition partition = of(qualifiedName);
+        return partition.count == 1 ? qualifiedName : qualifiedName.substring(0, qualifiedName.lastIndexOf("/p"));
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
@@ -0,0 +1,21 @@
+package com.hrms.scheduler.repository;
+
+import com.hrms.scheduler.entity.JobExecution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JobExecutionRepository extends JpaRepository<JobExecution, Long> {
+
+    List<JobExecution> findByStartedAtAfterOrderByStartedAtDesc(LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM JobExecution e WHERE e.startedAt < :cutoff")
+    int deleteStartedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,31 @@
+package com.hrms.scheduler.repository;
+
+import com.hrms.scheduler.entity.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    // Takes over the lease if it expired (or is already ours). The row lock taken by the UPDATE makes this atomic across nodes.
+    @Modifying
+    @Query("UPDATE JobLease l SET l.ownerId = :owner, l.leaseUntil = :until, l.acquiredAt = :now, l.heartbeatAt = :now " +
+           "WHERE l.leaseName = :name AND (l.leaseUntil < :now OR l.ownerId = :owner)")
+    int tryAcquire(@Param("name") String leaseName, @Param("owner") String ownerId,
+                   @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    // Returns 0 when the lease was lost to another node
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leaseUntil = :until, l.heartbeatAt = :now WHERE l.leaseName = :name AND l.ownerId = :owner")
+    int heartbeat(@Param("name") String leaseName, @Param("owner") String ownerId,
+                  @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leaseUntil = :now WHERE l.leaseName = :name AND l.ownerId = :owner")
+    int release(@Param("name") String leaseName, @Param("owner") String ownerId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,21 @@
+package com.hrms.scheduler.repository;
+
+import com.hrms.scheduler.entity.JobRun;
+import com.hrms.scheduler.enums.JobRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+    Optional<JobRun> findByJobNameAndRunKey(String jobName, String runKey);
+
+    // Interrupted runs for the reconcile sweep; served by idx_job_runs_status
+    List<JobRun> findByStatusInAndStartedAtAfterAndUpdatedAtBeforeOrderByStartedAt(Collection<JobRunStatus> statuses,
+                                                                                  LocalDateTime startedAfter,
+                                                                                  LocalDateTime updatedBefore);
+}
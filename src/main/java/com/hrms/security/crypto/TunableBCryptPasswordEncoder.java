@@ -0,0 +1,42 @@
+package com.hrms.security.crypto;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt encoder that flags a stored hash for re-encoding whenever its cost differs from the
+ * configured one, in either direction. {@link BCryptPasswordEncoder#upgradeEncoding(String)} only
+ * upgrades weaker hashes, which would make lowering the cost impossible without a password reset.
+ */
+public class TunableBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int strength;
+
+    public TunableBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = parseCost(encodedPassword);
+        return cost > 0 && cost != strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    // Hashes look like $2a$10$<22 char salt><31 char hash>; returns -1 for anything else
+    static int parseCost(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = encodedPassword.charAt(4);
+        char ones = encodedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(ones)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+}
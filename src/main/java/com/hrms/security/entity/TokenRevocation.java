@@ -0,0 +1,40 @@
+package com.hrms.security.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per user: every token for the user issued before {@code revokedBeforeMs} is revoked.
+ */
+@Entity
+@Table(name = "token_revocations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class TokenRevocation {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Epoch millis (UTC), compared directly against the JWT "iat" claim
+    @Column(name = "revoked_before_ms", nullable = false)
+    private Long revokedBeforeMs;
+
+    @Column(name = "reason", length = 50)
+    private String reason;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @LastModifiedDate
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
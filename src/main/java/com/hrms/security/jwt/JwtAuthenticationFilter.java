@@ -1,11 +1,14 @@
 package com.hrms.security.jwt;
 
+import com.hrms.security.service.UserDetailsImpl;
 import com.hrms.security.service.UserDetailsServiceImpl;
+import com.hrms.security.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -25,24 +28,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    // When enabled, the principal is built from the verified token claims instead of reloading the user per request.
+    @Value("${hrms.security.jwt.claims-only-auth:false}")
+    private boolean claimsOnlyAuth;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtil.validateToken(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtUtil.validateToken(jwt, userDetails)) { // Double check with UserDetails
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(userDetails,
-                                                                    null,
-                                                                    userDetails.getAuthorities());
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
+            VerifiedToken token = (jwt != null) ? jwtUtil.tryVerify(jwt) : null; // Single signature/expiry check per request
+            if (token != null) {
+                UserDetails userDetails = resolvePrincipal(token);
+                if (userDetails != null) {
+                    setAuthentication(userDetails, request);
                 }
             }
         } catch (Exception e) {
@@ -53,6 +56,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails resolvePrincipal(VerifiedToken token) {
+        Long userId = token.getUserId();
+        if (userId != null && tokenRevocationService.isRevoked(userId, token.getIssuedAtMillis())) {
+            logger.debug("Rejecting revoked token for user " + token.getSubject() + ".");
+            return null;
+        }
+        UserDetailsImpl principal = token.getPrincipal();
+        if (!claimsOnlyAuth || principal == null) {
+            // Legacy mode, or a token without a userId claim: resolve the user from the database.
+            return userDetailsService.loadUserByUsername(token.getSubject());
+        }
+        return principal;
+    }
+
+    private void setAuthentication(UserDetails userDetails, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDetails,
+                                                        null,
+                                                        userDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
@@ -2,6 +2,9 @@ package com.hrms.security.jwt;
 
 import com.hrms.security.service.UserDetailsImpl;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -27,16 +30,85 @@ public class JwtUtil {
     @Value("${jwt.expiration.ms}")
     private int jwtExpirationMs;
 
+    // Upper bound on remembered verifications; 0 disables the cache.
+    @Value("${hrms.security.jwt.verified-token-cache.max-entries:10000}")
+    private int verifiedTokenCacheMaxEntries = 10000;
+
+    // Key, parser and cache are immutable and thread-safe, so they are built once and shared by all requests.
+    private volatile Key signingKey;
+    private volatile JwtParser jwtParser;
+    private volatile VerifiedTokenCache verifiedTokenCache;
+
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        Key key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parserBuilder().setSigningKey(getSigningKey()).build();
+            jwtParser = parser;
+        }
+        return parser;
+    }
+
+    private VerifiedTokenCache getVerifiedTokenCache() {
+        VerifiedTokenCache cache = verifiedTokenCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = verifiedTokenCache;
+                if (cache == null) {
+                    cache = new VerifiedTokenCache(verifiedTokenCacheMaxEntries);
+                    verifiedTokenCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Verifies signature and expiry exactly once and returns the extracted claims.
+     * Repeat calls with the same token are answered from the verified-token cache until the token expires.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedTokenCache cache = getVerifiedTokenCache();
+        String digest = VerifiedTokenCache.digest(token);
+        VerifiedToken cached = cache.get(digest, now);
+        if (cached != null) {
+            return cached;
+        }
+        long start = System.nanoTime();
+        VerifiedToken verified = VerifiedToken.fromClaims(getParser().parseClaimsJws(token).getBody());
+        cache.recordLoad(System.nanoTime() - start);
+        cache.put(digest, verified, now);
+        return verified;
+    }
+
+    /**
+     * Same as {@link #verify(String)} but returns null instead of throwing for invalid or expired tokens.
+     */
+    public VerifiedToken tryVerify(String token) {
+        try {
+            return verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).getExpiration();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -44,12 +116,8 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Claims extractAllClaims(String token) {
+        return getParser().parseClaimsJws(token).getBody();
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -57,6 +125,7 @@ public class JwtUtil {
         if (userDetails instanceof UserDetailsImpl) {
             UserDetailsImpl userDetailsImpl = (UserDetailsImpl) userDetails;
             claims.put("userId", userDetailsImpl.getId());
+            claims.put("email", userDetailsImpl.getEmail());
             claims.put("companyId", userDetailsImpl.getCompanyId());
             List<String> roles = userDetailsImpl.getAuthorities().stream()
                                     .map(GrantedAuthority::getAuthority)
@@ -88,16 +157,47 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    public Boolean validateToken(String token) {
+        final VerifiedToken verified;
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) { // Catches all parsing exceptions (expired, malformed, etc.)
+            verified = verify(token);
+        } catch (ExpiredJwtException e) {
             return false;
         }
+        return verified.getSubject().equals(userDetails.getUsername());
+    }
+
+    public Boolean validateToken(String token) {
+        return tryVerify(token) != null;
+    }
+
+    // Verified-token cache statistics, for the super-admin cache statistics endpoint
+
+    public int getVerifiedTokenCacheSize() {
+        return getVerifiedTokenCache().size();
+    }
+
+    public int getVerifiedTokenCacheMaxEntries() {
+        return getVerifiedTokenCache().getMaxEntries();
+    }
+
+    public long getVerifiedTokenCacheHits() {
+        return getVerifiedTokenCache().getHits();
+    }
+
+    public long getVerifiedTokenCacheMisses() {
+        return getVerifiedTokenCache().getMisses();
+    }
+
+    public long getVerifiedTokenCacheEvictions() {
+        return getVerifiedTokenCache().getEvictions();
+    }
+
+    // Signature verifications on a miss; failed verifications are not counted
+    public long getVerifiedTokenCacheLoads() {
+        return getVerifiedTokenCache().getLoads();
+    }
+
+    public double getVerifiedTokenCacheAverageLoadMillis() {
+        return getVerifiedTokenCache().getAverageLoadMillis();
     }
 }
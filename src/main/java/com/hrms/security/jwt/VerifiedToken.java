@@ -0,0 +1,111 @@
+package com.hrms.security.jwt;
+
+import com.hrms.security.service.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable result of a single signature + expiry check of a JWT.
+ * Everything the request path needs is extracted once, so the token never has to be parsed again.
+ */
+public final class VerifiedToken {
+
+    private final String subject;
+    private final Long userId;
+    private final Long companyId;
+    private final String email;
+    private final List<String> roles;
+    private final long issuedAtMillis;
+    private final long expirationMillis;
+    private final UserDetailsImpl principal; // Null for tokens without a userId claim
+
+    private VerifiedToken(String subject, Long userId, Long companyId, String email, List<String> roles,
+                          long issuedAtMillis, long expirationMillis) {
+        this.subject = subject;
+        this.userId = userId;
+        this.companyId = companyId;
+        this.email = email;
+        this.roles = roles;
+        this.issuedAtMillis = issuedAtMillis;
+        this.expirationMillis = expirationMillis;
+        this.principal = userId == null ? null : buildPrincipal();
+    }
+
+    static VerifiedToken fromClaims(Claims claims) {
+        List<?> rawRoles = claims.get("roles", List.class);
+        List<String> roles = rawRoles == null ? Collections.emptyList() : rawRoles.stream()
+                .map(String::valueOf)
+                .collect(Collectors.toUnmodifiableList());
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                claims.get("companyId", Long.class),
+                claims.get("email", String.class),
+                roles,
+                issuedAt != null ? issuedAt.getTime() : 0L,
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+    }
+
+    private UserDetailsImpl buildPrincipal() {
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .collect(Collectors.toUnmodifiableList());
+        return new UserDetailsImpl(userId, subject, email, null, companyId, authorities); // Password is never carried in the token
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expirationMillis;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public Date getIssuedAt() {
+        return new Date(issuedAtMillis);
+    }
+
+    public long getIssuedAtMillis() {
+        return issuedAtMillis;
+    }
+
+    public Date getExpiration() {
+        return new Date(expirationMillis);
+    }
+
+    public long getExpirationMillis() {
+        return expirationMillis;
+    }
+
+    /**
+     * Principal rebuilt from the claims, or null when the token does not carry a userId
+     * (e.g. tokens minted by {@link JwtUtil#generateToken(String, List, Long)}).
+     */
+    public UserDetailsImpl getPrincipal() {
+        return principal;
+    }
+}
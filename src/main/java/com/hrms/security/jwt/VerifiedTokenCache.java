@@ -0,0 +1,128 @@
+package com.hrms.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of tokens that already passed signature verification, keyed by the SHA-256 digest
+ * of the compact token so raw bearer tokens are never retained on the heap.
+ * A cryptographic digest is required here: a weaker hash would let a forged token collide with a cached one.
+ */
+class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available in this JVM", e);
+        }
+    });
+
+    private final ConcurrentHashMap<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    static String digest(String token) {
+        MessageDigest md = SHA_256.get();
+        byte[] hash = md.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * Returns the cached verification for the digest, or null if absent or expired.
+     */
+    VerifiedToken get(String digest, long nowMillis) {
+        VerifiedToken cached = entries.get(digest);
+        if (cached == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (cached.isExpired(nowMillis)) {
+            if (entries.remove(digest, cached)) {
+                evictions.incrementAndGet();
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cached;
+    }
+
+    /**
+     * Records the signature verification that produced an entry.
+     */
+    void recordLoad(long nanos) {
+        loads.incrementAndGet();
+        loadNanos.addAndGet(nanos);
+    }
+
+    void put(String digest, VerifiedToken token, long nowMillis) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict(nowMillis);
+        }
+        entries.put(digest, token);
+    }
+
+    // Drop expired entries first; if that does not free enough room, shed arbitrary entries.
+    // A miss only costs one re-verification, so approximate eviction is fine.
+    private void evict(long nowMillis) {
+        int before = entries.size();
+        entries.values().removeIf(token -> token.isExpired(nowMillis));
+        Iterator<String> it = entries.keySet().iterator();
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+        evictions.addAndGet(Math.max(0, before - entries.size()));
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    long getEvictions() {
+        return evictions.get();
+    }
+
+    long getLoads() {
+        return loads.get();
+    }
+
+    double getAverageLoadMillis() {
+        long count = loads.get();
+        return count > 0 ? loadNanos.get() / 1_000_000.0 / count : 0;
+    }
+
+    int getMaxEntries() {
+        return maxEntries;
+    }
+}
@@ -0,0 +1,62 @@
+package com.hrms.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token bucket implemented as GCRA: the whole bucket state is a single
+ * "theoretical arrival time" updated with CAS, so concurrent requests never block each other.
+ * Rate and burst are passed in on every call, so limit changes apply without rebuilding buckets.
+ */
+class RateLimitBucket {
+
+    private final AtomicLong theoreticalArrivalNanos = new AtomicLong(Long.MIN_VALUE);
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Takes one token if available.
+     *
+     * @return nanos until the bucket is full again when allowed (>= 0), or the negated nanos
+     *         until the next token frees up when rejected (< 0)
+     */
+    long tryAcquire(long nowNanos, long intervalNanos, long burst) {
+        long capacityNanos = intervalNanos * burst;
+        while (true) {
+            long tat = theoreticalArrivalNanos.get();
+            long base = (tat == Long.MIN_VALUE || tat - nowNanos < 0) ? nowNanos : tat;
+            long next = base + intervalNanos;
+            long debt = next - nowNanos;
+            if (debt > capacityNanos) {
+                rejected.increment();
+                return -Math.max(1L, debt - capacityNanos);
+            }
+            if (theoreticalArrivalNanos.compareAndSet(tat, next)) {
+                allowed.increment();
+                return debt;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire} for a request that was not served after all.
+     */
+    void release(long intervalNanos) {
+        theoreticalArrivalNanos.addAndGet(-intervalNanos);
+        allowed.decrement();
+    }
+
+    // A bucket whose arrival time is in the past is full; dropping it loses no state.
+    boolean isIdle(long nowNanos) {
+        long tat = theoreticalArrivalNanos.get();
+        return tat == Long.MIN_VALUE || tat - nowNanos < 0;
+    }
+
+    long getAllowed() {
+        return allowed.sum();
+    }
+
+    long getRejected() {
+        return rejected.sum();
+    }
+}
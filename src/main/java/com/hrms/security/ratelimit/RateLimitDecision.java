@@ -0,0 +1,50 @@
+package com.hrms.security.ratelimit;
+
+/**
+ * Outcome of a rate limit check, carrying what the filter needs for the X-RateLimit-* headers.
+ */
+public final class RateLimitDecision {
+
+    static final RateLimitDecision UNLIMITED = new RateLimitDecision(true, null, 0, 0, 0);
+
+    private final boolean allowed;
+    private final String scope; // "company" or "user": the most restrictive bucket
+    private final long limit;
+    private final long remaining;
+    private final long resetSeconds;
+
+    RateLimitDecision(boolean allowed, String scope, long limit, long remaining, long resetSeconds) {
+        this.allowed = allowed;
+        this.scope = scope;
+        this.limit = limit;
+        this.remaining = remaining;
+        this.resetSeconds = resetSeconds;
+    }
+
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    public boolean isLimited() {
+        return scope != null;
+    }
+
+    public String getScope() {
+        return scope;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    public long getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Seconds until the bucket is full again when allowed, or until the next request is accepted when rejected.
+     */
+    public long getResetSeconds() {
+        return resetSeconds;
+    }
+}
@@ -0,0 +1,57 @@
+package com.hrms.security.ratelimit;
+
+import com.hrms.security.service.UserDetailsImpl;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies per-user and per-company rate limits to authenticated requests. Registered right after
+ * {@link com.hrms.security.jwt.JwtAuthenticationFilter}, so the company and user come from the
+ * already verified token principal; unauthenticated requests pass through untouched.
+ */
+@Component
+public class TenantRateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private TenantRateLimiter tenantRateLimiter;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        UserDetailsImpl principal = (UserDetailsImpl) authentication.getPrincipal();
+        RateLimitDecision decision = tenantRateLimiter.tryAcquire(principal.getId(), principal.getCompanyId());
+        if (decision.isLimited()) {
+            response.setHeader("X-RateLimit-Limit", String.valueOf(decision.getLimit()));
+            response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+            response.setHeader("X-RateLimit-Reset", String.valueOf(decision.getResetSeconds()));
+            response.setHeader("X-RateLimit-Scope", decision.getScope());
+        }
+        if (!decision.isAllowed()) {
+            logger.debug("Rate limit exceeded for user " + principal.getUsername() + " (" + decision.getScope() + " bucket).");
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", String.valueOf(decision.getResetSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"status\":429,\"error\":\"Too Many Requests\",\"message\":\"Request rate limit exceeded for this "
+                    + decision.getScope() + ". Retry after " + decision.getResetSeconds() + " seconds.\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,202 @@
+package com.hrms.security.ratelimit;
+
+import com.hrms.service.config.SystemConfigValueProviderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-company and per-user request rate limits, so one tenant's integration cannot starve the others.
+ * Buckets live in concurrent maps (striped internally) and are updated lock-free; limits come from
+ * system configuration and are re-read periodically rather than on every request.
+ */
+@Service
+public class TenantRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantRateLimiter.class);
+
+    public static final String ENABLED_KEY = "RATE_LIMIT_ENABLED";
+    public static final String COMPANY_RATE_KEY = "RATE_LIMIT_COMPANY_REQUESTS_PER_SECOND";
+    public static final String COMPANY_BURST_KEY = "RATE_LIMIT_COMPANY_BURST";
+    public static final String USER_RATE_KEY = "RATE_LIMIT_USER_REQUESTS_PER_SECOND";
+    public static final String USER_BURST_KEY = "RATE_LIMIT_USER_BURST";
+
+    static final String SCOPE_COMPANY = "company";
+    static final String SCOPE_USER = "user";
+
+    @Autowired
+    private SystemConfigValueProviderService configValueProvider;
+
+    private final ConcurrentHashMap<Long, RateLimitBucket> companyBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, RateLimitBucket> userBuckets = new ConcurrentHashMap<>();
+
+    private volatile Limits limits = new Limits(true, 100.0, 200, 10.0, 20);
+
+    public RateLimitDecision tryAcquire(Long userId, Long companyId) {
+        Limits current = limits;
+        if (!current.enabled) {
+            return RateLimitDecision.UNLIMITED;
+        }
+        long now = System.nanoTime();
+        // The user bucket goes first, so a user over their own limit does not use up the company's shared tokens
+        RateLimitBucket userBucket = null;
+        RateLimitDecision userDecision = null;
+        if (userId != null) {
+            userBucket = bucket(userBuckets, userId);
+            userDecision = acquire(userBucket, SCOPE_USER, current.userIntervalNanos, current.userBurst, now);
+            if (!userDecision.isAllowed()) {
+                return userDecision;
+            }
+        }
+        if (companyId == null) {
+            return userDecision != null ? userDecision : RateLimitDecision.UNLIMITED;
+        }
+        RateLimitDecision companyDecision = acquire(bucket(companyBuckets, companyId), SCOPE_COMPANY,
+                current.companyIntervalNanos, current.companyBurst, now);
+        if (!companyDecision.isAllowed()) {
+            if (userBucket != null) {
+                // Not served: the user keeps their token for when the company bucket refills
+                userBucket.release(current.userIntervalNanos);
+            }
+            return companyDecision;
+        }
+        if (userDecision == null) {
+            return companyDecision;
+        }
+        // Report the bucket closest to running out
+        return companyDecision.getRemaining() < userDecision.getRemaining() ? companyDecision : userDecision;
+    }
+
+    private static RateLimitBucket bucket(ConcurrentHashMap<Long, RateLimitBucket> buckets, Long key) {
+        RateLimitBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new RateLimitBucket());
+        }
+        return bucket;
+    }
+
+    private static RateLimitDecision acquire(RateLimitBucket bucket, String scope, long intervalNanos, long burst, long now) {
+        long result = bucket.tryAcquire(now, intervalNanos, burst);
+        if (result < 0) {
+            return new RateLimitDecision(false, scope, burst, 0, toSecondsCeil(-result));
+        }
+        long remaining = (intervalNanos * burst - result) / intervalNanos;
+        return new RateLimitDecision(true, scope, burst, remaining, toSecondsCeil(result));
+    }
+
+    private static long toSecondsCeil(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    @Scheduled(fixedDelayString = "${hrms.ratelimit.config-refresh-ms:30000}")
+    public void refreshLimits() {
+        try {
+            Limits refreshed = new Limits(
+                    configValueProvider.getBooleanValue(ENABLED_KEY, true),
+                    configValueProvider.getDoubleValue(COMPANY_RATE_KEY, 100.0),
+                    configValueProvider.getIntegerValue(COMPANY_BURST_KEY, 200),
+                    configValueProvider.getDoubleValue(USER_RATE_KEY, 10.0),
+                    configValueProvider.getIntegerValue(USER_BURST_KEY, 20));
+            if (!refreshed.equals(limits)) {
+                logger.info("Rate limits updated: {}", refreshed);
+            }
+            limits = refreshed;
+        } catch (Exception e) {
+            logger.warn("Could not refresh rate limits, keeping current values: {}", e.getMessage());
+        }
+    }
+
+    // User buckets come and go with sessions; drop the ones that have fully refilled.
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleUserBuckets() {
+        long now = System.nanoTime();
+        userBuckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    /**
+     * Per-company counters since startup, hottest (most rejected, then most allowed) first.
+     */
+    public List<CompanyCounters> getCompanyCounters() {
+        List<CompanyCounters> counters = new ArrayList<>(companyBuckets.size());
+        companyBuckets.forEach((companyId, bucket) ->
+                counters.add(new CompanyCounters(companyId, bucket.getAllowed(), bucket.getRejected())));
+        counters.sort(Comparator.comparingLong(CompanyCounters::getRejected)
+                .thenComparingLong(CompanyCounters::getAllowed).reversed());
+        return counters;
+    }
+
+    public static final class CompanyCounters {
+        private final Long companyId;
+        private final long allowed;
+        private final long rejected;
+
+        CompanyCounters(Long companyId, long allowed, long rejected) {
+            this.companyId = companyId;
+            this.allowed = allowed;
+            this.rejected = rejected;
+        }
+
+        public Long getCompanyId() {
+            return companyId;
+        }
+
+        public long getAllowed() {
+            return allowed;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+    }
+
+    private static final class Limits {
+        private final boolean enabled;
+        private final long companyIntervalNanos;
+        private final long companyBurst;
+        private final long userIntervalNanos;
+        private final long userBurst;
+
+        Limits(boolean enabled, double companyPerSecond, int companyBurst, double userPerSecond, int userBurst) {
+            this.enabled = enabled;
+            this.companyIntervalNanos = intervalNanos(companyPerSecond);
+            this.companyBurst = Math.max(1, companyBurst);
+            this.userIntervalNanos = intervalNanos(userPerSecond);
+            this.userBurst = Math.max(1, userBurst);
+        }
+
+        private static long intervalNanos(double perSecond) {
+            return perSecond > 0 ? Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond)) : TimeUnit.SECONDS.toNanos(1);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Limits)) {
+                return false;
+            }
+            Limits other = (Limits) o;
+            return enabled == other.enabled
+                    && companyIntervalNanos == other.companyIntervalNanos && companyBurst == other.companyBurst
+                    && userIntervalNanos == other.userIntervalNanos && userBurst == other.userBurst;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(companyIntervalNanos) * 31 + Long.hashCode(userIntervalNanos);
+        }
+
+        @Override
+        public String toString() {
+            return "enabled=" + enabled
+                    + ", company=" + TimeUnit.SECONDS.toNanos(1) / companyIntervalNanos + "/s burst " + companyBurst
+                    + ", user=" + TimeUnit.SECONDS.toNanos(1) / userIntervalNanos + "/s burst " + userBurst;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.hrms.security.service;
+
+import com.hrms.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, size-capped pool for password verification on login. BCrypt is deliberately slow,
+ * so a burst of logins must not occupy the servlet worker threads that serve the rest of the API.
+ * When the queue is full the login is rejected with 503 + Retry-After instead of piling up.
+ */
+@Component
+public class LoginHashingExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginHashingExecutor.class);
+
+    // 0 runs the task on the calling thread (tests rely on this: their fixtures live in an uncommitted transaction)
+    @Value("${hrms.security.login.hashing-pool-size:4}")
+    private int poolSize;
+
+    @Value("${hrms.security.login.hashing-queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${hrms.security.login.retry-after-seconds:2}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalExecutionNanos = new LongAdder();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+    private final AtomicLong maxExecutionNanos = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        if (poolSize <= 0) {
+            logger.info("Login hashing pool disabled; password checks run on the request thread.");
+            return;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        logger.info("Login hashing pool started with {} threads and queue capacity {}.", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Schedules the task on the hashing pool.
+     *
+     * @throws ServiceUnavailableException if the pool queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(timed(task, enqueuedAt));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> timed(task, enqueuedAt), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            logger.warn("Login hashing queue full ({} queued); rejecting login.", executor.getQueue().size());
+            throw new ServiceUnavailableException("Too many login attempts in progress. Please retry shortly.", retryAfterSeconds);
+        }
+    }
+
+    private <T> T timed(Supplier<T> task, long enqueuedAt) {
+        long startedAt = System.nanoTime();
+        totalQueueWaitNanos.add(startedAt - enqueuedAt);
+        try {
+            T result = task.get();
+            completed.increment();
+            return result;
+        } catch (RuntimeException e) {
+            failed.increment();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            totalExecutionNanos.add(elapsed);
+            maxExecutionNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    public int getPoolSize() {
+        return Math.max(poolSize, 0);
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getQueueDepth() {
+        return executor != null ? executor.getQueue().size() : 0;
+    }
+
+    public int getActiveCount() {
+        return executor != null ? executor.getActiveCount() : 0;
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public double getAverageHashMillis() {
+        long count = completed.sum() + failed.sum();
+        return count == 0 ? 0.0 : totalExecutionNanos.sum() / (count * 1_000_000.0);
+    }
+
+    public double getMaxHashMillis() {
+        return maxExecutionNanos.get() / 1_000_000.0;
+    }
+
+    public double getAverageQueueWaitMillis() {
+        long count = completed.sum() + failed.sum();
+        return count == 0 ? 0.0 : totalQueueWaitNanos.sum() / (count * 1_000_000.0);
+    }
+}
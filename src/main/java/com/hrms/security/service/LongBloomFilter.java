@@ -0,0 +1,65 @@
+package com.hrms.security.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over long keys. Lookups are lock-free and allocation-free;
+ * a negative answer is definitive, a positive one must be confirmed against the backing map.
+ */
+class LongBloomFilter {
+
+    private static final int HASH_FUNCTIONS = 3;
+
+    private final AtomicLongArray words;
+    private final int bitMask;
+
+    /**
+     * @param log2Bits number of bits as a power of two (e.g. 18 = 256K bits = 32 KB)
+     */
+    LongBloomFilter(int log2Bits) {
+        int bits = 1 << Math.max(log2Bits, 6);
+        this.words = new AtomicLongArray(bits >>> 6);
+        this.bitMask = bits - 1;
+    }
+
+    void add(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = (h1 + i * h2) & bitMask;
+            long mask = 1L << bit; // Shift uses the low 6 bits only
+            int word = bit >>> 6;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = (h1 + i * h2) & bitMask;
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // MurmurHash3 fmix64 finalizer: user ids are sequential, so they need to be spread before indexing
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,177 @@
+package com.hrms.security.service;
+
+import com.hrms.security.entity.TokenRevocation;
+import com.hrms.security.repository.TokenRevocationRepository;
+import com.hrms.service.sync.SyncVersionService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revokes all outstanding JWTs of a user (offboarding, deactivation, role change) without a
+ * per-request database lookup. Revocations are persisted to {@code token_revocations}, held in
+ * memory behind a Bloom filter, and picked up by other nodes by polling the
+ * {@code token_revocations} sync version.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    public static final String VERSION_KEY = "token_revocations";
+
+    public static final String REASON_OFFBOARDED = "OFFBOARDED";
+    public static final String REASON_DEACTIVATED = "DEACTIVATED";
+    public static final String REASON_ROLE_CHANGED = "ROLE_CHANGED";
+
+    private static final int BLOOM_FILTER_LOG2_BITS = 18; // 32 KB, well under 0.1% false positives for a few thousand users
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Autowired
+    private SyncVersionService syncVersionService;
+
+    @Value("${jwt.expiration.ms}")
+    private long jwtExpirationMs;
+
+    // userId -> tokens issued before this instant (epoch millis) are revoked
+    private final ConcurrentHashMap<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+    private volatile LongBloomFilter bloomFilter = new LongBloomFilter(BLOOM_FILTER_LOG2_BITS);
+    private final Object writeLock = new Object();
+
+    // Highest sync version applied locally; -1 until the initial load succeeds
+    private volatile long appliedVersion = -1L;
+
+    @PostConstruct
+    public void loadRevocations() {
+        try {
+            refreshFromDatabase();
+            logger.info("Loaded {} token revocations (version {}).", revokedBefore.size(), appliedVersion);
+        } catch (DataAccessException e) {
+            // The poller retries; until then only revocations made on this node are enforced.
+            logger.error("Could not load token revocations at startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Revokes every token issued to the user up to now. The row is written in the caller's
+     * transaction; the local in-memory list is updated only after commit.
+     */
+    @Transactional
+    public void revokeUserTokens(Long userId, String reason) {
+        if (userId == null) {
+            return;
+        }
+        // JWT "iat" has second precision, so a token of this same second cannot be told apart from one minted
+        // right after. A deactivated or offboarded user cannot log in again: revoke that second too. After a role
+        // change the user must be able to log in straight away with the new roles: keep it.
+        long now = System.currentTimeMillis();
+        long cutoff = now - (now % 1000);
+        if (!REASON_ROLE_CHANGED.equals(reason)) {
+            cutoff += 1000;
+        }
+
+        TokenRevocation revocation = tokenRevocationRepository.findById(userId).orElseGet(TokenRevocation::new);
+        revocation.setUserId(userId);
+        revocation.setRevokedBeforeMs(Math.max(cutoff, revocation.getRevokedBeforeMs() != null ? revocation.getRevokedBeforeMs() : 0L));
+        revocation.setReason(reason);
+        revocation.setVersion(syncVersionService.nextVersion(VERSION_KEY));
+        tokenRevocationRepository.save(revocation);
+
+        long revokedBeforeMs = revocation.getRevokedBeforeMs();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyRevocation(userId, revokedBeforeMs);
+                }
+            });
+        } else {
+            applyRevocation(userId, revokedBeforeMs);
+        }
+        logger.info("Revoked tokens for user ID {} issued before {} ({}).", userId, revokedBeforeMs, reason);
+    }
+
+    /**
+     * Hot path for the JWT filter. For users never revoked the Bloom filter answers without
+     * touching the map, so the check allocates nothing.
+     */
+    public boolean isRevoked(long userId, long issuedAtMillis) {
+        if (!bloomFilter.mightContain(userId)) {
+            return false;
+        }
+        Long cutoff = revokedBefore.get(userId);
+        return cutoff != null && issuedAtMillis < cutoff;
+    }
+
+    // Picks up revocations written by other nodes. Only rows newer than the applied version are read.
+    @Scheduled(fixedDelayString = "${hrms.security.revocation.poll-interval-ms:5000}")
+    public void pollForChanges() {
+        try {
+            if (appliedVersion < 0 || syncVersionService.currentVersion(VERSION_KEY) > appliedVersion) {
+                refreshFromDatabase();
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Token revocation poll failed: {}", e.getMessage());
+        }
+    }
+
+    // Revocations older than the token lifetime can no longer reject anything.
+    @Scheduled(fixedDelay = 600000)
+    public void pruneExpiredRevocations() {
+        long cutoff = System.currentTimeMillis() - jwtExpirationMs;
+        synchronized (writeLock) {
+            int before = revokedBefore.size();
+            revokedBefore.values().removeIf(revokedBeforeMs -> revokedBeforeMs < cutoff);
+            if (before != revokedBefore.size()) {
+                rebuildBloomFilter();
+                logger.debug("Pruned {} expired token revocations.", before - revokedBefore.size());
+            }
+        }
+        try {
+            tokenRevocationRepository.deleteExpired(cutoff);
+        } catch (DataAccessException e) {
+            logger.warn("Could not delete expired token revocations: {}", e.getMessage());
+        }
+    }
+
+    private void refreshFromDatabase() {
+        // Versions are handed out under a row lock held until commit, so every row at or below
+        // the version read here is already visible.
+        long currentVersion = syncVersionService.currentVersion(VERSION_KEY);
+        List<TokenRevocation> changed = tokenRevocationRepository.findByVersionGreaterThan(Math.max(appliedVersion, 0L));
+        for (TokenRevocation revocation : changed) {
+            applyRevocation(revocation.getUserId(), revocation.getRevokedBeforeMs());
+        }
+        appliedVersion = Math.max(appliedVersion, currentVersion);
+    }
+
+    private void applyRevocation(Long userId, long revokedBeforeMs) {
+        synchronized (writeLock) {
+            revokedBefore.merge(userId, revokedBeforeMs, Math::max);
+            bloomFilter.add(userId); // After the map write, so a Bloom hit always finds the entry
+        }
+    }
+
+    private void rebuildBloomFilter() {
+        LongBloomFilter rebuilt = new LongBloomFilter(BLOOM_FILTER_LOG2_BITS);
+        revokedBefore.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+    }
+
+    int getRevocationCount() {
+        return revokedBefore.size();
+    }
+}
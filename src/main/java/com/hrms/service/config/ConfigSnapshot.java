@@ -0,0 +1,112 @@
+package com.hrms.service.config;
+
+import com.hrms.config.entity.SystemConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable, pre-parsed view of all system configuration rows at one version.
+ * Every value is parsed once when the snapshot is built, so typed reads are plain map lookups
+ * that return already boxed values.
+ */
+public final class ConfigSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSnapshot.class);
+
+    static final ConfigSnapshot EMPTY = new ConfigSnapshot(-1L, Map.of());
+
+    private final long version;
+    private final Map<String, Entry> entries;
+
+    private ConfigSnapshot(long version, Map<String, Entry> entries) {
+        this.version = version;
+        this.entries = entries;
+    }
+
+    static ConfigSnapshot of(long version, Collection<SystemConfiguration> configurations) {
+        Map<String, Entry> entries = new HashMap<>(Math.max(16, configurations.size() * 2));
+        for (SystemConfiguration config : configurations) {
+            entries.put(config.getConfigKey(), Entry.parse(config));
+        }
+        return new ConfigSnapshot(version, Map.copyOf(entries));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    Entry get(String key) {
+        return entries.get(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * One configuration row with its value parsed according to its declared type.
+     * A typed field is null when the row has another type or its value failed to parse.
+     */
+    static final class Entry {
+        final String key;
+        final String valueType;
+        final String rawValue;
+        final Double doubleValue;
+        final Integer integerValue;
+        final Boolean booleanValue;
+        final LocalTime timeValue;
+
+        private Entry(String key, String valueType, String rawValue, Double doubleValue, Integer integerValue,
+                      Boolean booleanValue, LocalTime timeValue) {
+            this.key = key;
+            this.valueType = valueType;
+            this.rawValue = rawValue;
+            this.doubleValue = doubleValue;
+            this.integerValue = integerValue;
+            this.booleanValue = booleanValue;
+            this.timeValue = timeValue;
+        }
+
+        static Entry parse(SystemConfiguration config) {
+            String key = config.getConfigKey();
+            String type = config.getValueType() != null ? config.getValueType().toUpperCase() : "STRING";
+            String value = config.getConfigValue();
+            Double doubleValue = null;
+            Integer integerValue = null;
+            Boolean booleanValue = null;
+            LocalTime timeValue = null;
+            try {
+                switch (type) {
+                    case "NUMBER":
+                        doubleValue = Double.parseDouble(value);
+                        integerValue = doubleValue.intValue(); // Allow "8.0" to be read as integer 8
+                        break;
+                    case "BOOLEAN":
+                        if ("true".equalsIgnoreCase(value)) {
+                            booleanValue = Boolean.TRUE;
+                        } else if ("false".equalsIgnoreCase(value)) {
+                            booleanValue = Boolean.FALSE;
+                        } else {
+                            logger.error("Invalid boolean value for key '{}': '{}'. Typed reads will return defaults.", key, value);
+                        }
+                        break;
+                    case "TIME":
+                        timeValue = LocalTime.parse(value); // Assumes ISO format HH:mm or HH:mm:ss
+                        break;
+                    default:
+                        break;
+                }
+            } catch (NumberFormatException | DateTimeParseException | NullPointerException e) {
+                logger.error("Error parsing {} value for key '{}': {}. Value: '{}'. Typed reads will return defaults.",
+                             type, key, e.getMessage(), value);
+            }
+            return new Entry(key, type, value, doubleValue, integerValue, booleanValue, timeValue);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.hrms.service.config;
+
+import com.hrms.config.entity.SystemConfiguration;
+import com.hrms.config.repository.SystemConfigurationRepository;
+import com.hrms.service.sync.SyncVersionService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Holds the current {@link ConfigSnapshot} and swaps it atomically when configuration changes.
+ * Writers publish a new version through the {@code system_configurations} sync version; every
+ * node polls that counter and rebuilds its snapshot when it moves.
+ */
+@Service
+public class ConfigSnapshotRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSnapshotRegistry.class);
+
+    public static final String VERSION_KEY = "system_configurations";
+
+    @Autowired
+    private SystemConfigurationRepository systemConfigurationRepository;
+
+    @Autowired
+    private SyncVersionService syncVersionService;
+
+    private volatile ConfigSnapshot snapshot = ConfigSnapshot.EMPTY;
+
+    @PostConstruct
+    public void loadSnapshot() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            // Readers fall back to their defaults until the poller manages to load the snapshot.
+            logger.error("Could not load system configuration snapshot at startup: {}", e.getMessage());
+        }
+    }
+
+    public ConfigSnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Publishes a configuration change made in the caller's transaction: bumps the shared version
+     * so other nodes reload, and rebuilds the local snapshot once the change is committed.
+     */
+    @Transactional
+    public void publishChange() {
+        long version = syncVersionService.nextVersion(VERSION_KEY);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reloadQuietly();
+                }
+            });
+        } else {
+            reloadQuietly();
+        }
+        logger.info("Published system configuration version {}.", version);
+    }
+
+    @Scheduled(fixedDelayString = "${hrms.config.snapshot.poll-interval-ms:5000}")
+    public void pollForChanges() {
+        try {
+            if (syncVersionService.currentVersion(VERSION_KEY) != snapshot.getVersion()) {
+                reload();
+            }
+        } catch (DataAccessException e) {
+            logger.warn("System configuration poll failed: {}", e.getMessage());
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            logger.warn("Could not rebuild system configuration snapshot, the poller will retry: {}", e.getMessage());
+        }
+    }
+
+    // Read the version before the rows: the snapshot may then be newer than its version, never older.
+    private synchronized void reload() {
+        long version = syncVersionService.currentVersion(VERSION_KEY);
+        List<SystemConfiguration> configurations = systemConfigurationRepository.findAll();
+        ConfigSnapshot rebuilt = ConfigSnapshot.of(version, configurations);
+        snapshot = rebuilt;
+        logger.info("Loaded system configuration snapshot version {} ({} keys).", version, rebuilt.size());
+    }
+}
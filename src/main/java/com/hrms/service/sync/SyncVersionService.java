@@ -0,0 +1,34 @@
+package com.hrms.service.sync;
+
+import com.hrms.core.entity.SyncVersion;
+import com.hrms.core.repository.SyncVersionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class SyncVersionService {
+
+    @Autowired
+    private SyncVersionRepository syncVersionRepository;
+
+    /**
+     * Bumps the counter for the key within the caller's transaction and returns the new value.
+     * Concurrent writers serialize on the counter row, so a poller that has seen version N
+     * is guaranteed every change up to N is already committed.
+     */
+    @Transactional
+    public long nextVersion(String versionKey) {
+        if (syncVersionRepository.incrementVersion(versionKey) == 0) {
+            // Row not seeded (e.g. schema created by Hibernate in tests): start the counter.
+            syncVersionRepository.saveAndFlush(new SyncVersion(versionKey, 1L));
+            return 1L;
+        }
+        return currentVersion(versionKey);
+    }
+
+    @Transactional(readOnly = true)
+    public long currentVersion(String versionKey) {
+        return syncVersionRepository.findVersionByKey(versionKey).orElse(0L);
+    }
+}
@@ -1,7 +1,16 @@
 package com.hrms.superadmin.controller;
 
+import com.hrms.notification.service.NotificationOutboxDispatcher;
+import com.hrms.notification.service.SmtpTransportPool;
+import com.hrms.security.ratelimit.TenantRateLimiter;
+import com.hrms.security.service.LoginHashingExecutor;
 import com.hrms.security.service.UserDetailsImpl;
+import com.hrms.superadmin.payload.response.CacheStatisticsDTO;
+import com.hrms.superadmin.payload.response.LoginHashingStatsDTO;
+import com.hrms.superadmin.payload.response.NotificationOutboxStatsDTO;
+import com.hrms.superadmin.payload.response.ScheduledJobStatsDTO;
 import com.hrms.superadmin.payload.response.SystemStatisticsDTO;
+import com.hrms.superadmin.payload.response.TenantRateLimitStatsDTO;
 import com.hrms.superadmin.service.SuperAdminStatisticsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,9 +21,13 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @RestController
 @RequestMapping("/api/super-admin/statistics")
 @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
@@ -25,6 +38,18 @@ public class SuperAdminStatisticsController {
     @Autowired
     private SuperAdminStatisticsService superAdminStatisticsService;
 
+    @Autowired
+    private LoginHashingExecutor loginHashingExecutor;
+
+    @Autowired
+    private TenantRateLimiter tenantRateLimiter;
+
+    @Autowired
+    private NotificationOutboxDispatcher notificationOutboxDispatcher;
+
+    @Autowired
+    private SmtpTransportPool smtpTransportPool;
+
     @GetMapping("/system")
     public ResponseEntity<SystemStatisticsDTO> getSystemWideStatistics(
             @AuthenticationPrincipal UserDetailsImpl superAdminUser) {
@@ -37,4 +62,83 @@ public class SuperAdminStatisticsController {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error fetching system statistics.", ex);
         }
     }
+
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStatisticsDTO>> getCacheStatistics(
+            @AuthenticationPrincipal UserDetailsImpl superAdminUser) {
+        try {
+            logger.info("Received request for cache statistics from SuperAdmin: {}", superAdminUser.getUsername());
+            return ResponseEntity.ok(superAdminStatisticsService.getCacheStatistics(superAdminUser));
+        } catch (Exception ex) {
+            logger.error("Error fetching cache statistics for SuperAdmin: {}", superAdminUser.getUsername(), ex);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error fetching cache statistics.", ex);
+        }
+    }
+
+    @GetMapping("/login-hashing")
+    public ResponseEntity<LoginHashingStatsDTO> getLoginHashingStatistics(
+            @AuthenticationPrincipal UserDetailsImpl superAdminUser) {
+        logger.info("Received request for login hashing statistics from SuperAdmin: {}", superAdminUser.getUsername());
+        LoginHashingStatsDTO statistics = new LoginHashingStatsDTO(
+                loginHashingExecutor.getPoolSize(),
+                loginHashingExecutor.getQueueCapacity(),
+                loginHashingExecutor.getQueueDepth(),
+                loginHashingExecutor.getActiveCount(),
+                loginHashingExecutor.getCompletedCount(),
+                loginHashingExecutor.getFailedCount(),
+                loginHashingExecutor.getRejectedCount(),
+                loginHashingExecutor.getAverageHashMillis(),
+                loginHashingExecutor.getMaxHashMillis(),
+                loginHashingExecutor.getAverageQueueWaitMillis());
+        return ResponseEntity.ok(statistics);
+    }
+
+    @GetMapping("/rate-limits")
+    public ResponseEntity<List<TenantRateLimitStatsDTO>> getTenantRateLimitStatistics(
+            @AuthenticationPrincipal UserDetailsImpl superAdminUser) {
+        logger.info("Received request for tenant rate limit statistics from SuperAdmin: {}", superAdminUser.getUsername());
+        List<TenantRateLimitStatsDTO> statistics = tenantRateLimiter.getCompanyCounters().stream()
+                .map(counters -> new TenantRateLimitStatsDTO(counters.getCompanyId(), counters.getAllowed(), counters.getRejected()))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(statistics);
+    }
+
+    @GetMapping("/notification-outbox")
+    public ResponseEntity<NotificationOutboxStatsDTO> getNotificationOutboxStatistics(
+            @AuthenticationPrincipal UserDetailsImpl superAdminUser) {
+        logger.info("Received request for notification outbox statistics from SuperAdmin: {}", superAdminUser.getUsername());
+        NotificationOutboxStatsDTO statistics = new NotificationOutboxStatsDTO(
+                notificationOutboxDispatcher.getPendingCount(),
+                notificationOutboxDispatcher.getSendingCount(),
+                notificationOutboxDispatcher.getFailedCount(),
+                notificationOutboxDispatcher.getOldestPendingAgeSeconds(),
+                notificationOutboxDispatcher.getWorkerPoolSize(),
+                notificationOutboxDispatcher.getActiveWorkers(),
+                notificationOutboxDispatcher.getMaxPerSecond(),
+                notificationOutboxDispatcher.getSentCount(),
+                notificationOutboxDispatcher.getFailedAttemptCount(),
+                notificationOutboxDispatcher.getDuplicateCount(),
+                notificationOutboxDispatcher.getAverageSendMillis(),
+                notificationOutboxDispatcher.getMaxSendMillis(),
+                notificationOutboxDispatcher.getAverageDeliveryLagMillis(),
+                smtpTransportPool.getPoolSize(),
+                smtpTransportPool.getIdleConnections(),
+                smtpTransportPool.getConnectionsOpened(),
+                smtpTransportPool.getReconnects());
+        return ResponseEntity.ok(statistics);
+    }
+
+    @GetMapping("/scheduled-jobs")
+    public ResponseEntity<List<ScheduledJobStatsDTO>> getScheduledJobStatistics(
+            @AuthenticationPrincipal UserDetailsImpl superAdminUser,
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "20") int recent) {
+        try {
+            logger.info("Received request for scheduled job statistics from SuperAdmin: {}", superAdminUser.getUsername());
+            return ResponseEntity.ok(superAdminStatisticsService.getScheduledJobStatistics(superAdminUser, days, recent));
+        } catch (Exception ex) {
+            logger.error("Error fetching scheduled job statistics for SuperAdmin: {}", superAdminUser.getUsername(), ex);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error fetching scheduled job statistics.", ex);
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package com.hrms.superadmin.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatisticsDTO {
+    private String cacheName;
+    private long estimatedSize;
+    private Long maximumSize; // Null when the cache is unbounded
+    // Null below when the cache does not count them
+    private Long hitCount;
+    private Long missCount;
+    private Double hitRatio;
+    private Long evictionCount;
+    private Long loadCount; // Loads through @Cacheable(sync = true), a refresh loader, or the cache's own rebuild
+    private Double averageLoadMillis;
+}
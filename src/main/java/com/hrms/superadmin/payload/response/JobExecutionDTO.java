@@ -0,0 +1,27 @@
+package com.hrms.superadmin.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobExecutionDTO {
+    private String runKey;
+    private String nodeId;
+    private String status;
+    private LocalDateTime scheduledAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long durationMs;
+    private Long lagMs; // Null when the run was not started by its cron
+    private long rowsScanned;
+    private long rowsAlerted;
+    private long emailsQueued;
+    private long failures;
+    private int chunkCount;
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.hrms.superadmin.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginHashingStatsDTO {
+    private int poolSize;
+    private int queueCapacity;
+    private int queueDepth;
+    private int activeThreads;
+    private long completedLogins;
+    private long failedLogins; // Bad credentials, unknown or deactivated users
+    private long rejectedLogins; // Turned away with 503 because the queue was full
+    private double averageHashMillis;
+    private double maxHashMillis;
+    private double averageQueueWaitMillis;
+}
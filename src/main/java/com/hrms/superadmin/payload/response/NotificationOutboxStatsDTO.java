@@ -0,0 +1,28 @@
+package com.hrms.superadmin.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutboxStatsDTO {
+    private long pendingMessages; // Queue depth: waiting for their first send or a retry
+    private long sendingMessages; // Claimed by a dispatcher, not yet recorded
+    private long failedMessages; // Gave up after max attempts
+    private long oldestPendingAgeSeconds;
+    private int workerPoolSize;
+    private int activeWorkers;
+    private double maxSendsPerSecond;
+    private long sentSinceStartup;
+    private long failedAttemptsSinceStartup;
+    private long duplicatesSkippedSinceStartup;
+    private double averageSendMillis;
+    private double maxSendMillis;
+    private double averageDeliveryLagMillis; // From enqueue to accepted by SMTP
+    private int smtpPoolSize;
+    private int smtpIdleConnections;
+    private long smtpConnectionsOpened; // Compare with sentSinceStartup for messages per connection
+    private long smtpReconnects; // Reused connections the server had dropped
+}
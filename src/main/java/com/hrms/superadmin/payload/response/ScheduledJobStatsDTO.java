@@ -0,0 +1,32 @@
+package com.hrms.superadmin.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledJobStatsDTO {
+    private String jobName;
+    private long executions; // One per partition run, and one more for each resume
+    private long failedExecutions;
+    private long interruptedExecutions; // Stopped before the run finished, e.g. lost lease or shutdown
+    private LocalDateTime lastStartedAt;
+    private String lastStatus;
+    private long p50DurationMs;
+    private long p95DurationMs;
+    private long maxDurationMs;
+    private Map<String, Long> durationHistogram; // Executions per duration bucket, shortest first
+    private double averageLagMs; // Start relative to the cron fire time
+    private long maxLagMs;
+    private long rowsScanned;
+    private long rowsAlerted;
+    private long emailsQueued;
+    private long failures;
+    private List<JobExecutionDTO> recentExecutions; // Newest first
+}
@@ -0,0 +1,14 @@
+package com.hrms.superadmin.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TenantRateLimitStatsDTO {
+    private Long companyId;
+    private long allowedRequests; // Since startup, on this node
+    private long rejectedRequests; // Answered with 429
+}
@@ -4,13 +4,13 @@ import com.hrms.config.entity.SystemConfiguration;
 import com.hrms.config.repository.SystemConfigurationRepository;
 import com.hrms.core.entity.User;
 import com.hrms.core.repository.UserRepository;
+import com.hrms.service.config.ConfigSnapshotRegistry;
 import com.hrms.security.service.UserDetailsImpl;
 import com.hrms.audit.service.AuditLogService;
 import com.hrms.superadmin.payload.request.SystemConfigurationCreateRequest;
 import com.hrms.superadmin.payload.request.SystemConfigurationUpdateRequest;
 import com.hrms.superadmin.payload.response.SystemConfigurationDTO;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,6 +35,9 @@ public class SuperAdminConfigService {
     @Autowired
     private AuditLogService auditLogService;
 
+    @Autowired
+    private ConfigSnapshotRegistry configSnapshotRegistry;
+
     private SystemConfigurationDTO mapToDTO(SystemConfiguration entity) {
         String updatedByName = null;
         Long updatedById = null;
@@ -68,7 +71,6 @@ public class SuperAdminConfigService {
     }
 
     @Transactional
-    @CacheEvict(value = "systemConfigurations", key = "#request.configKey")
     public SystemConfigurationDTO createConfiguration(SystemConfigurationCreateRequest request, UserDetailsImpl superAdminUserDetails) {
         if (systemConfigurationRepository.existsById(request.getConfigKey())) {
             throw new DataIntegrityViolationException("Configuration key '" + request.getConfigKey() + "' already exists.");
@@ -87,6 +89,7 @@ public class SuperAdminConfigService {
         entity.setUpdatedBy(superAdminUser);
 
         SystemConfiguration savedEntity = systemConfigurationRepository.save(entity);
+        configSnapshotRegistry.publishChange(); // Snapshot is rebuilt on every node once this commits
 
         String createDetails = String.format("Key: %s, Value: %s, Type: %s, Description: %s",
                                            savedEntity.getConfigKey(),
@@ -107,7 +110,6 @@ public class SuperAdminConfigService {
     }
 
     @Transactional
-    @CacheEvict(value = "systemConfigurations", key = "#configKey")
     public SystemConfigurationDTO updateConfiguration(String configKey, SystemConfigurationUpdateRequest request, UserDetailsImpl superAdminUserDetails) {
         SystemConfiguration entity = systemConfigurationRepository.findById(configKey)
                 .orElseThrow(() -> new ResourceNotFoundException("Configuration with key '" + configKey + "' not found."));
@@ -124,6 +126,7 @@ public class SuperAdminConfigService {
         // updatedAt is set by @LastModifiedDate
 
         SystemConfiguration updatedEntity = systemConfigurationRepository.save(entity);
+        configSnapshotRegistry.publishChange(); // Snapshot is rebuilt on every node once this commits
 
         String updateDetails = String.format("Key: %s, Old Value: %s, New Value: %s",
                                            updatedEntity.getConfigKey(),
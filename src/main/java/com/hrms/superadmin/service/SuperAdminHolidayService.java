@@ -6,6 +6,7 @@ import com.hrms.core.repository.UserRepository;
 import com.hrms.employee.core.entity.Holiday;
 import com.hrms.employee.core.repository.HolidayRepository;
 import com.hrms.employee.payload.response.HolidayDetailsDTO; // Reusing
+import com.hrms.employee.service.HolidayCalendar;
 import com.hrms.hr.payload.request.HolidayManagementRequest;   // Reusing
 import com.hrms.security.service.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,6 +37,9 @@ public class SuperAdminHolidayService {
     @Autowired
     private UserRepository userRepository; // To fetch User entity for audit logging
 
+    @Autowired
+    private HolidayCalendar holidayCalendar;
+
     private HolidayDetailsDTO mapToHolidayDetailsDTO(Holiday holiday) {
         return new HolidayDetailsDTO(
                 holiday.getName(),
@@ -58,6 +62,7 @@ public class SuperAdminHolidayService {
         holiday.setCompany(null); // Ensure no company is associated
 
         Holiday savedHoliday = holidayRepository.save(holiday);
+        holidayCalendar.publishChange(); // Calendar is rebuilt on every node once this commits
 
         auditLogService.logEvent(
                 superAdminUserDetails.getUsername(),
@@ -88,6 +93,7 @@ public class SuperAdminHolidayService {
         holiday.setCompany(null);
 
         Holiday updatedHoliday = holidayRepository.save(holiday);
+        holidayCalendar.publishChange();
 
         String newDetails = String.format("Name: %s, Date: %s, Desc: %s", updatedHoliday.getName(), updatedHoliday.getDate(), updatedHoliday.getDescription());
         auditLogService.logEvent(
@@ -110,6 +116,7 @@ public class SuperAdminHolidayService {
         String deletedDetails = String.format("Global holiday '%s' (ID: %d) for date %s deleted.", holiday.getName(), holiday.getId(), holiday.getDate());
 
         holidayRepository.delete(holiday); // Use delete(entity) to allow for any cascades if defined, or deleteById(id)
+        holidayCalendar.publishChange();
 
         auditLogService.logEvent(
                 superAdminUserDetails.getUsername(),
@@ -2,19 +2,40 @@ package com.hrms.superadmin.service;
 
 import com.hrms.audit.repository.AuditLogRepository;
 import com.hrms.config.repository.SystemConfigurationRepository;
+import com.hrms.employee.service.HolidayCalendar;
 import com.hrms.core.repository.CompanyRepository;
 import com.hrms.core.repository.UserRepository;
 import com.hrms.performancemanagement.repository.PerformanceReviewRepository;
 import com.hrms.performancemanagement.repository.ReviewCycleRepository;
+import com.hrms.scheduler.entity.JobExecution;
+import com.hrms.scheduler.enums.JobExecutionStatus;
+import com.hrms.scheduler.repository.JobExecutionRepository;
+import com.hrms.security.jwt.JwtUtil;
 import com.hrms.security.service.UserDetailsImpl;
+import com.hrms.superadmin.payload.response.CacheStatisticsDTO;
+import com.hrms.superadmin.payload.response.JobExecutionDTO;
+import com.hrms.superadmin.payload.response.ScheduledJobStatsDTO;
 import com.hrms.superadmin.payload.response.SystemStatisticsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.thymeleaf.cache.ICache;
+import org.thymeleaf.cache.StandardCache;
+import org.thymeleaf.spring6.SpringTemplateEngine;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 public class SuperAdminStatisticsService {
@@ -26,6 +47,15 @@ public class SuperAdminStatisticsService {
     @Autowired private AuditLogRepository auditLogRepository;
     @Autowired private ReviewCycleRepository reviewCycleRepository;
     @Autowired private PerformanceReviewRepository performanceReviewRepository;
+    @Autowired private CacheManager cacheManager;
+    @Autowired private JwtUtil jwtUtil;
+    @Autowired private HolidayCalendar holidayCalendar;
+    @Autowired @Qualifier("emailTemplateEngine") private SpringTemplateEngine emailTemplateEngine;
+    @Autowired private JobExecutionRepository jobExecutionRepository;
+
+    // Upper bounds of the duration histogram buckets, in milliseconds
+    private static final long[] DURATION_BUCKET_BOUNDS = {1_000, 10_000, 30_000, 60_000, 300_000, 900_000, 1_800_000, 3_600_000};
+    private static final String[] DURATION_BUCKET_LABELS = {"<=1s", "<=10s", "<=30s", "<=1m", "<=5m", "<=15m", "<=30m", "<=1h", ">1h"};
 
     @Transactional(readOnly = true)
     public SystemStatisticsDTO getSystemStatistics(UserDetailsImpl superAdminUser) {
@@ -63,4 +93,173 @@ public class SuperAdminStatisticsService {
         logger.debug("System statistics compiled: {}", stats);
         return stats;
     }
+
+    public List<CacheStatisticsDTO> getCacheStatistics(UserDetailsImpl superAdminUser) {
+        logger.info("SuperAdmin {} requesting cache statistics.", superAdminUser.getUsername());
+
+        List<CacheStatisticsDTO> result = new ArrayList<>();
+        for (String cacheName : cacheManager.getCacheNames()) {
+            org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+            if (cache == null || !(cache.getNativeCache() instanceof Cache)) {
+                continue; // Only Caffeine caches record statistics
+            }
+            Cache<?, ?> nativeCache = (Cache<?, ?>) cache.getNativeCache();
+            CacheStats stats = nativeCache.stats();
+            Long maximumSize = nativeCache.policy().eviction()
+                    .map(eviction -> eviction.getMaximum())
+                    .orElse(null);
+            result.add(new CacheStatisticsDTO(
+                    cacheName,
+                    nativeCache.estimatedSize(),
+                    maximumSize,
+                    stats.hitCount(),
+                    stats.missCount(),
+                    stats.hitRate(),
+                    stats.evictionCount(),
+                    stats.loadCount(),
+                    stats.averageLoadPenalty() / 1_000_000.0));
+        }
+
+        // Caches outside the cache manager, which bound themselves
+        long tokenHits = jwtUtil.getVerifiedTokenCacheHits();
+        long tokenMisses = jwtUtil.getVerifiedTokenCacheMisses();
+        result.add(new CacheStatisticsDTO(
+                "verifiedTokens",
+                jwtUtil.getVerifiedTokenCacheSize(),
+                (long) jwtUtil.getVerifiedTokenCacheMaxEntries(),
+                tokenHits,
+                tokenMisses,
+                hitRatio(tokenHits, tokenMisses),
+                jwtUtil.getVerifiedTokenCacheEvictions(),
+                jwtUtil.getVerifiedTokenCacheLoads(),
+                jwtUtil.getVerifiedTokenCacheAverageLoadMillis()));
+
+        // A complete index of every holiday, rebuilt when the holidays change: lookups never miss
+        result.add(new CacheStatisticsDTO(
+                "holidayCalendar",
+                holidayCalendar.getHolidayDateCount(),
+                null,
+                null,
+                null,
+                null,
+                null,
+                holidayCalendar.getReloadCount(),
+                holidayCalendar.getAverageReloadMillis()));
+
+        ICache<?, ?> templateCache = emailTemplateEngine.getCacheManager() != null
+                ? emailTemplateEngine.getCacheManager().getTemplateCache() : null;
+        if (templateCache instanceof StandardCache) {
+            StandardCache<?, ?> standardCache = (StandardCache<?, ?>) templateCache;
+            result.add(new CacheStatisticsDTO(
+                    "emailTemplates",
+                    standardCache.size(),
+                    standardCache.hasMaxSize() ? (long) standardCache.getMaxSize() : null,
+                    standardCache.getHitCount(),
+                    standardCache.getMissCount(),
+                    hitRatio(standardCache.getHitCount(), standardCache.getMissCount()),
+                    null,
+                    null,
+                    null));
+        }
+        return result;
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        long requests = hits + misses;
+        return requests > 0 ? (double) hits / requests : 1.0;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduledJobStatsDTO> getScheduledJobStatistics(UserDetailsImpl superAdminUser, int days, int recent) {
+        logger.info("SuperAdmin {} requesting scheduled job statistics for the last {} days.", superAdminUser.getUsername(), days);
+
+        List<JobExecution> executions = jobExecutionRepository.findByStartedAtAfterOrderByStartedAtDesc(LocalDateTime.now().minusDays(days));
+        Map<String, List<JobExecution>> byJob = new TreeMap<>();
+        for (JobExecution execution : executions) {
+            byJob.computeIfAbsent(execution.getJobName(), name -> new ArrayList<>()).add(execution);
+        }
+        List<ScheduledJobStatsDTO> result = new ArrayList<>(byJob.size());
+        byJob.forEach((jobName, jobExecutions) -> result.add(toJobStats(jobName, jobExecutions, recent)));
+        return result;
+    }
+
+    // Executions are newest first
+    private ScheduledJobStatsDTO toJobStats(String jobName, List<JobExecution> executions, int recent) {
+        ScheduledJobStatsDTO stats = new ScheduledJobStatsDTO();
+        stats.setJobName(jobName);
+        stats.setExecutions(executions.size());
+        stats.setLastStartedAt(executions.get(0).getStartedAt());
+        stats.setLastStatus(executions.get(0).getStatus().name());
+
+        long[] durations = new long[executions.size()];
+        long[] histogram = new long[DURATION_BUCKET_LABELS.length];
+        long lagTotal = 0;
+        long lagCount = 0;
+        for (int i = 0; i < executions.size(); i++) {
+            JobExecution execution = executions.get(i);
+            if (execution.getStatus() == JobExecutionStatus.FAILED) {
+                stats.setFailedExecutions(stats.getFailedExecutions() + 1);
+            } else if (execution.getStatus() == JobExecutionStatus.INTERRUPTED) {
+                stats.setInterruptedExecutions(stats.getInterruptedExecutions() + 1);
+            }
+            durations[i] = execution.getDurationMs();
+            histogram[durationBucket(durations[i])]++;
+            if (execution.getLagMs() != null) {
+                lagTotal += execution.getLagMs();
+                lagCount++;
+                stats.setMaxLagMs(Math.max(stats.getMaxLagMs(), execution.getLagMs()));
+            }
+            stats.setRowsScanned(stats.getRowsScanned() + execution.getRowsScanned());
+            stats.setRowsAlerted(stats.getRowsAlerted() + execution.getRowsAlerted());
+            stats.setEmailsQueued(stats.getEmailsQueued() + execution.getEmailsQueued());
+            stats.setFailures(stats.getFailures() + execution.getFailures());
+        }
+        Arrays.sort(durations);
+        stats.setP50DurationMs(percentile(durations, 50));
+        stats.setP95DurationMs(percentile(durations, 95));
+        stats.setMaxDurationMs(durations[durations.length - 1]);
+        stats.setAverageLagMs(lagCount > 0 ? (double) lagTotal / lagCount : 0);
+
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < DURATION_BUCKET_LABELS.length; i++) {
+            buckets.put(DURATION_BUCKET_LABELS[i], histogram[i]);
+        }
+        stats.setDurationHistogram(buckets);
+
+        List<JobExecutionDTO> recentExecutions = new ArrayList<>();
+        for (JobExecution execution : executions.subList(0, Math.min(Math.max(recent, 0), executions.size()))) {
+            recentExecutions.add(new JobExecutionDTO(
+                    execution.getRunKey(),
+                    execution.getNodeId(),
+                    execution.getStatus().name(),
+                    execution.getScheduledAt(),
+                    execution.getStartedAt(),
+                    execution.getFinishedAt(),
+                    execution.getDurationMs(),
+                    execution.getLagMs(),
+                    execution.getRowsScanned(),
+                    execution.getRowsAlerted(),
+                    execution.getEmailsQueued(),
+                    execution.getFailures(),
+                    execution.getChunkCount(),
+                    execution.getError()));
+        }
+        stats.setRecentExecutions(recentExecutions);
+        return stats;
+    }
+
+    private static int durationBucket(long durationMs) {
+        for (int i = 0; i < DURATION_BUCKET_BOUNDS.length; i++) {
+            if (durationMs <= DURATION_BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return DURATION_BUCKET_BOUNDS.length;
+    }
+
+    // Nearest-rank percentile of sorted, non-empty values
+    private static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
 }
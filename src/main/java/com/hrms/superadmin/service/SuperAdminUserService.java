@@ -6,6 +6,7 @@ import com.hrms.core.entity.User;
 import com.hrms.core.repository.UserRepository;
 import com.hrms.employee.payload.response.EmployeeProfileResponse; // Reusing
 import com.hrms.security.service.UserDetailsImpl;
+import com.hrms.security.service.TokenRevocationService;
 import com.hrms.superadmin.specs.UserSpecification;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -36,6 +37,9 @@ public class SuperAdminUserService {
     @Autowired
     private AuditLogService auditLogService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     private static final Set<String> MANAGEABLE_ROLES = Set.of(
         "ROLE_EMPLOYEE", "ROLE_LEAD", "ROLE_HR", "ROLE_MANAGER"
     );
@@ -87,6 +91,7 @@ public class SuperAdminUserService {
 
         userToGrant.getRoles().add(superAdminRole);
         User updatedUser = userRepository.save(userToGrant);
+        tokenRevocationService.revokeUserTokens(updatedUser.getId(), TokenRevocationService.REASON_ROLE_CHANGED);
 
         String grantDetails = String.format("ROLE_SUPER_ADMIN granted to user '%s' (ID: %d).",
                                            updatedUser.getUsername(),
@@ -126,6 +131,7 @@ public class SuperAdminUserService {
 
         userToRevoke.getRoles().remove(superAdminRole);
         User updatedUser = userRepository.save(userToRevoke);
+        tokenRevocationService.revokeUserTokens(updatedUser.getId(), TokenRevocationService.REASON_ROLE_CHANGED);
 
         String revokeDetails = String.format("ROLE_SUPER_ADMIN revoked from user '%s' (ID: %d).",
                                            updatedUser.getUsername(),
@@ -163,6 +169,7 @@ public class SuperAdminUserService {
 
         targetUser.getRoles().add(roleToAssign);
         User updatedUser = userRepository.save(targetUser);
+        tokenRevocationService.revokeUserTokens(updatedUser.getId(), TokenRevocationService.REASON_ROLE_CHANGED);
 
         String details = String.format("Role '%s' assigned to user '%s' (ID: %d).",
                                        roleName, updatedUser.getUsername(), updatedUser.getId());
@@ -206,6 +213,7 @@ public class SuperAdminUserService {
 
         targetUser.getRoles().remove(roleToRemove);
         User updatedUser = userRepository.save(targetUser);
+        tokenRevocationService.revokeUserTokens(updatedUser.getId(), TokenRevocationService.REASON_ROLE_CHANGED);
 
         String details = String.format("Role '%s' revoked from user '%s' (ID: %d).",
                                        roleName, updatedUser.getUsername(), updatedUser.getId());
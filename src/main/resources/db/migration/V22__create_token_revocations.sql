@@ -0,0 +1,24 @@
+-- Per-key version counters polled by every node to detect changes to shared in-memory state
+CREATE TABLE sync_versions (
+    version_key VARCHAR(100) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO sync_versions (version_key, version) VALUES ('token_revocations', 0);
+
+-- One row per user: JWTs issued before revoked_before_ms are rejected
+CREATE TABLE token_revocations (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    revoked_before_ms BIGINT NOT NULL,
+    reason VARCHAR(50),
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_token_revocations_version ON token_revocations(version);
+CREATE INDEX idx_token_revocations_revoked_before ON token_revocations(revoked_before_ms);
+
+COMMENT ON TABLE sync_versions IS 'Monotonic version counters used by nodes to poll for changes to cached state.';
+COMMENT ON TABLE token_revocations IS 'Per-user JWT revocation cut-off, loaded into memory at startup and polled by version.';
+COMMENT ON INDEX idx_token_revocations_version IS 'Supports incremental polling of revocations newer than the last applied version.';
+COMMENT ON INDEX idx_token_revocations_revoked_before IS 'Supports deletion of revocations older than the token lifetime.';
@@ -0,0 +1,47 @@
+-- Seed per-tenant and per-user API rate limit parameters read by TenantRateLimiter
+
+INSERT INTO system_configurations (config_key, config_value, description, value_type, updated_at, updated_by_id)
+VALUES
+(
+    'RATE_LIMIT_ENABLED',
+    'true',
+    'Enables per-company and per-user API rate limiting. Requests over the limit receive HTTP 429.',
+    'BOOLEAN',
+    CURRENT_TIMESTAMP,
+    (SELECT id FROM users WHERE username = 'superadmin' LIMIT 1)
+),
+(
+    'RATE_LIMIT_COMPANY_REQUESTS_PER_SECOND',
+    '100',
+    'Sustained API requests per second allowed for all users of one company combined.',
+    'NUMBER',
+    CURRENT_TIMESTAMP,
+    (SELECT id FROM users WHERE username = 'superadmin' LIMIT 1)
+),
+(
+    'RATE_LIMIT_COMPANY_BURST',
+    '200',
+    'Maximum burst of API requests a company may send above its sustained rate.',
+    'NUMBER',
+    CURRENT_TIMESTAMP,
+    (SELECT id FROM users WHERE username = 'superadmin' LIMIT 1)
+),
+(
+    'RATE_LIMIT_USER_REQUESTS_PER_SECOND',
+    '10',
+    'Sustained API requests per second allowed for a single user.',
+    'NUMBER',
+    CURRENT_TIMESTAMP,
+    (SELECT id FROM users WHERE username = 'superadmin' LIMIT 1)
+),
+(
+    'RATE_LIMIT_USER_BURST',
+    '20',
+    'Maximum burst of API requests a single user may send above the sustained rate.',
+    'NUMBER',
+    CURRENT_TIMESTAMP,
+    (SELECT id FROM users WHERE username = 'superadmin' LIMIT 1)
+);
+
+-- Note: limits are applied per application node; with N nodes behind a balancer the effective
+-- cluster-wide limit is up to N times these values.
@@ -0,0 +1,2 @@
+-- Version counter polled by every node to rebuild its in-memory system configuration snapshot
+INSERT INTO sync_versions (version_key, version) VALUES ('system_configurations', 0);
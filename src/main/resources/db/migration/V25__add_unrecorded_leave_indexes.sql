@@ -0,0 +1,16 @@
+-- Supports the NOT EXISTS probes of the unrecorded-leave anti-join (UserRepository.findUnrecordedLeaveCandidates).
+-- The attendance probe is already served by uq_attendance_employee_work_date (employee_id, work_date).
+
+-- Company holiday lookup by (company_id, date) instead of two single-column indexes
+CREATE INDEX idx_holidays_company_date ON company_holidays(company_id, date);
+
+-- Approved leave covering a date for one employee; only approved rows are ever probed
+CREATE INDEX idx_leave_requests_approved_employee_dates ON employee_leave_requests(employee_id, start_date, end_date)
+    WHERE status = 'APPROVED';
+
+-- Keyset paging walks active users in id order
+CREATE INDEX idx_users_active_id ON users(id) WHERE is_active = TRUE;
+
+COMMENT ON INDEX idx_holidays_company_date IS 'Company holiday lookup for a given date, used by the unrecorded-leave check.';
+COMMENT ON INDEX idx_leave_requests_approved_employee_dates IS 'Partial index over approved leave date ranges per employee.';
+COMMENT ON INDEX idx_users_active_id IS 'Partial index for keyset paging over active users.';
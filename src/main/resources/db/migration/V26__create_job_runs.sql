@@ -0,0 +1,20 @@
+-- One checkpoint row per chunked scheduled job run (job name + run key, e.g. the processed date)
+CREATE TABLE job_runs (
+    id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    run_key VARCHAR(100) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    last_processed_id BIGINT NOT NULL DEFAULT 0,
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    chunk_count INTEGER NOT NULL DEFAULT 0,
+    attempt INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT,
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    CONSTRAINT uq_job_runs_job_name_run_key UNIQUE (job_name, run_key)
+);
+
+CREATE INDEX idx_job_runs_status ON job_runs(status);
+
+COMMENT ON TABLE job_runs IS 'Keyset checkpoint per scheduled job run; a restarted node resumes after last_processed_id.';
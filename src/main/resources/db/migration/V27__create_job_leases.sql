@@ -0,0 +1,10 @@
+-- Cluster-wide leases for scheduled jobs: only the node owning an unexpired lease runs the job (or partition)
+CREATE TABLE job_leases (
+    lease_name VARCHAR(150) PRIMARY KEY,
+    owner_id VARCHAR(150),
+    lease_until TIMESTAMP NOT NULL,
+    acquired_at TIMESTAMP,
+    heartbeat_at TIMESTAMP
+);
+
+COMMENT ON TABLE job_leases IS 'Scheduled job leases; acquired by conditional UPDATE, extended by heartbeats, expired leases can be taken over.';
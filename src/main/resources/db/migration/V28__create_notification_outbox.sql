@@ -0,0 +1,28 @@
+-- Transactional outbox for outgoing email: rows are written with the business change and delivered by the dispatcher
+CREATE TABLE notification_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    body TEXT NOT NULL,
+    html BOOLEAN NOT NULL,
+    template_name VARCHAR(100),
+    dedupe_key VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    locked_until TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP
+);
+
+-- Dispatcher claim query: only undelivered rows are indexed
+CREATE INDEX idx_outbox_dispatchable ON notification_outbox(status, next_attempt_at, id)
+    WHERE status IN ('PENDING', 'SENDING');
+-- Per-recipient dedupe lookups against recent deliveries
+CREATE INDEX idx_outbox_dedupe_key_sent_at ON notification_outbox(dedupe_key, sent_at);
+CREATE INDEX idx_outbox_created_at ON notification_outbox(created_at);
+
+COMMENT ON TABLE notification_outbox IS 'Outgoing email written in the business transaction and drained in batches by the notification dispatcher.';
+COMMENT ON INDEX idx_outbox_dispatchable IS 'Partial index over pending and in-flight messages for the dispatcher claim query.';
+COMMENT ON INDEX idx_outbox_dedupe_key_sent_at IS 'Supports skipping identical messages already sent to the same recipient.';
@@ -0,0 +1,12 @@
+-- Seed the switch for combined attendance alert emails read by AttendanceAlertService
+
+INSERT INTO system_configurations (config_key, config_value, description, value_type, updated_at, updated_by_id)
+VALUES
+(
+    'ATTENDANCE_ALERT_DIGEST_ENABLED',
+    'false',
+    'When true, an employee with several attendance anomalies (underwork, missed logout, early logout, late login) on the same day receives one combined alert email instead of one per anomaly.',
+    'BOOLEAN',
+    CURRENT_TIMESTAMP,
+    (SELECT id FROM users WHERE username = 'superadmin' LIMIT 1)
+);
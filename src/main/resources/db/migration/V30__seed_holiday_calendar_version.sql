@@ -0,0 +1,2 @@
+-- Version counter polled by every node to rebuild its in-memory holiday calendar
+INSERT INTO sync_versions (version_key, version) VALUES ('company_holidays', 0);
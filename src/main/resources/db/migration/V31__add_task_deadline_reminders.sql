@@ -0,0 +1,12 @@
+-- Set when the deadline scheduler has sent the assignee a reminder; the conditional update on it keeps
+-- reminders to one per task when several nodes fire the same timer.
+ALTER TABLE employee_tasks
+ADD COLUMN reminder_sent_at TIMESTAMP WITHOUT TIME ZONE NULL;
+
+COMMENT ON COLUMN employee_tasks.reminder_sent_at IS 'Timestamp when the deadline reminder was sent to the assignee.';
+
+-- Open tasks by deadline: the deadline scheduler's reconcile sweep reads only tasks due within its horizon
+CREATE INDEX idx_employee_tasks_open_deadline ON employee_tasks(deadline, id)
+    WHERE auto_closed_at IS NULL AND status IN ('TODO', 'IN_PROGRESS');
+
+COMMENT ON INDEX idx_employee_tasks_open_deadline IS 'Partial index over open task deadlines, used by the deadline scheduler and the nightly auto-close.';
@@ -0,0 +1,24 @@
+-- One row per execution of a chunked scheduled job on a node: timings, lag behind the cron and row counters
+CREATE TABLE job_executions (
+    id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    run_key VARCHAR(100) NOT NULL,
+    node_id VARCHAR(100),
+    status VARCHAR(20) NOT NULL,
+    scheduled_at TIMESTAMP,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP NOT NULL,
+    duration_ms BIGINT NOT NULL,
+    lag_ms BIGINT,
+    rows_scanned BIGINT NOT NULL DEFAULT 0,
+    rows_alerted BIGINT NOT NULL DEFAULT 0,
+    emails_queued BIGINT NOT NULL DEFAULT 0,
+    failures BIGINT NOT NULL DEFAULT 0,
+    chunk_count INTEGER NOT NULL DEFAULT 0,
+    error TEXT
+);
+
+-- The statistics endpoint reads a recent window; the purge deletes by the same column
+CREATE INDEX idx_job_executions_started_at ON job_executions(started_at);
+
+COMMENT ON TABLE job_executions IS 'Rolling history of scheduled job executions, purged after hrms.jobs.history.retention-days.';
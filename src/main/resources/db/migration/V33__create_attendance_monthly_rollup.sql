@@ -0,0 +1,36 @@
+-- Per employee and month attendance totals, kept up to date with every attendance write
+CREATE TABLE attendance_monthly_rollup (
+    id BIGSERIAL PRIMARY KEY,
+    employee_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    days_present INTEGER NOT NULL DEFAULT 0,
+    total_hours DOUBLE PRECISION NOT NULL DEFAULT 0,
+    late_count INTEGER NOT NULL DEFAULT 0,
+    missed_logout_count INTEGER NOT NULL DEFAULT 0,
+    regularized_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_attendance_rollup_employee FOREIGN KEY(employee_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT uq_attendance_rollup_employee_month UNIQUE (employee_id, month_start)
+);
+
+-- Company-wide month summaries (payroll) read by month
+CREATE INDEX idx_attendance_rollup_month_start ON attendance_monthly_rollup(month_start);
+
+-- Backfill from the existing attendance, judging late logins by the configured threshold
+INSERT INTO attendance_monthly_rollup (employee_id, month_start, days_present, total_hours, late_count,
+                                       missed_logout_count, regularized_count, updated_at)
+SELECT a.employee_id,
+       CAST(date_trunc('month', a.work_date) AS DATE),
+       count(*),
+       coalesce(sum(a.total_hours), 0),
+       count(*) FILTER (WHERE CAST(a.login_time AS TIME) > t.threshold AND NOT a.is_regularized),
+       count(*) FILTER (WHERE a.logout_time IS NULL),
+       count(*) FILTER (WHERE a.is_regularized),
+       CURRENT_TIMESTAMP
+FROM employee_attendance a
+CROSS JOIN (SELECT coalesce((SELECT CAST(config_value AS TIME) FROM system_configurations
+                             WHERE config_key = 'LATE_LOGIN_THRESHOLD_TIME'), TIME '09:30') AS threshold) t
+GROUP BY a.employee_id, CAST(date_trunc('month', a.work_date) AS DATE);
+
+COMMENT ON TABLE attendance_monthly_rollup IS 'Attendance totals per employee and month, updated in the same transaction as the attendance rows.';
+COMMENT ON COLUMN attendance_monthly_rollup.late_count IS 'Logins after LATE_LOGIN_THRESHOLD_TIME (as configured when the row was written) that are not regularized.';
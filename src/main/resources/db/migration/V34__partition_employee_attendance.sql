@@ -0,0 +1,152 @@
+-- Range-partition employee_attendance by month of work_date.
+-- Every alert and report query filters on work_date, so PostgreSQL prunes them to the partitions of the dates
+-- asked for and the daily alert scan stays the size of one month however much history is kept.
+-- Monthly partitions are named employee_attendance_yYYYYmMM; rows for a month with no partition yet go to
+-- employee_attendance_default and are moved out when the partition is created. Partitions are created ahead
+-- and archived by the attendance partition maintenance job (hrms.attendance.partitions.*). Requires PostgreSQL 13+.
+
+CREATE SCHEMA IF NOT EXISTS attendance_archive;
+COMMENT ON SCHEMA attendance_archive IS 'Monthly employee_attendance partitions detached after the retention period.';
+
+-- 1. Move the existing table out of the way; constraint and index names are reused by the new table.
+--    A foreign key must cover the partition key, so regularization requests lose theirs (see the trigger below).
+ALTER TABLE employee_regularization_requests DROP CONSTRAINT fk_reg_requests_attendance;
+ALTER TABLE employee_attendance RENAME TO employee_attendance_unpartitioned;
+ALTER TABLE employee_attendance_unpartitioned RENAME CONSTRAINT employee_attendance_pkey TO employee_attendance_unpartitioned_pkey;
+ALTER TABLE employee_attendance_unpartitioned DROP CONSTRAINT uq_attendance_employee_work_date;
+ALTER TABLE employee_attendance_unpartitioned DROP CONSTRAINT fk_attendance_employee;
+DROP INDEX idx_attendance_employee_id;
+DROP INDEX idx_attendance_work_date;
+DROP TRIGGER update_employee_attendance_updated_at ON employee_attendance_unpartitioned;
+ALTER SEQUENCE employee_attendance_id_seq OWNED BY NONE;
+
+-- 2. Partitioned table with the same columns. Primary and unique keys must include work_date.
+CREATE TABLE employee_attendance (
+    id BIGINT NOT NULL DEFAULT nextval('employee_attendance_id_seq'),
+    employee_id BIGINT NOT NULL,
+    login_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    logout_time TIMESTAMP WITHOUT TIME ZONE,
+    work_date DATE NOT NULL,
+    total_hours DOUBLE PRECISION,
+    is_regularized BOOLEAN NOT NULL DEFAULT FALSE,
+    notes TEXT,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    underwork_alert_sent_at TIMESTAMP WITHOUT TIME ZONE NULL,
+    missed_logout_alert_sent_at TIMESTAMP WITHOUT TIME ZONE NULL,
+    early_logout_alert_sent_at TIMESTAMP WITHOUT TIME ZONE NULL,
+    late_login_alert_sent_at TIMESTAMP WITHOUT TIME ZONE NULL,
+    CONSTRAINT employee_attendance_pkey PRIMARY KEY (id, work_date),
+    CONSTRAINT fk_attendance_employee FOREIGN KEY(employee_id) REFERENCES users(id) ON DELETE RESTRICT,
+    CONSTRAINT uq_attendance_employee_work_date UNIQUE (employee_id, work_date)
+) PARTITION BY RANGE (work_date);
+ALTER SEQUENCE employee_attendance_id_seq OWNED BY employee_attendance.id;
+-- Employee lookups are served by uq_attendance_employee_work_date, which leads with employee_id
+CREATE INDEX idx_attendance_work_date ON employee_attendance(work_date);
+CREATE TRIGGER update_employee_attendance_updated_at
+BEFORE UPDATE ON employee_attendance
+FOR EACH ROW
+EXECUTE FUNCTION update_updated_at_column();
+
+CREATE TABLE employee_attendance_default PARTITION OF employee_attendance DEFAULT;
+
+COMMENT ON TABLE employee_attendance IS 'Daily attendance, range-partitioned by month of work_date.';
+COMMENT ON COLUMN employee_attendance.underwork_alert_sent_at IS 'Timestamp when an underwork alert email was sent for this attendance record.';
+COMMENT ON COLUMN employee_attendance.missed_logout_alert_sent_at IS 'Timestamp when a missed logout alert email was sent for this attendance record.';
+COMMENT ON COLUMN employee_attendance.early_logout_alert_sent_at IS 'Timestamp when an early logout alert was sent for this record';
+COMMENT ON COLUMN employee_attendance.late_login_alert_sent_at IS 'Timestamp when a late login alert was sent for this record';
+
+-- 3. Deleting attendance still deletes its regularization requests, as the dropped foreign key did.
+--    Rows moved between partitions by create_attendance_partition are not deletions.
+CREATE INDEX IF NOT EXISTS idx_reg_requests_attendance_record_id ON employee_regularization_requests(attendance_record_id);
+
+CREATE OR REPLACE FUNCTION delete_attendance_regularization_requests()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF current_setting('hrms.moving_attendance', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+    DELETE FROM employee_regularization_requests WHERE attendance_record_id = OLD.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER delete_employee_attendance_regularization_requests
+AFTER DELETE ON employee_attendance
+FOR EACH ROW
+EXECUTE FUNCTION delete_attendance_regularization_requests();
+
+-- 4. Partition management, called by the maintenance job. Concurrent callers (one per node) serialize on an
+--    advisory lock, so every function is safe to call repeatedly.
+
+-- Monthly partitions with their bounds; the default partition is not listed
+CREATE OR REPLACE FUNCTION attendance_partitions()
+RETURNS TABLE(partition_name TEXT, month_start DATE, month_end DATE) AS $$
+    SELECT p.partition_name, p.month_start, p.month_end
+    FROM (SELECT c.relname::text AS partition_name,
+                 CAST(substring(pg_get_expr(c.relpartbound, c.oid) FROM 'FROM \(''([0-9-]+)''\)') AS DATE) AS month_start,
+                 CAST(substring(pg_get_expr(c.relpartbound, c.oid) FROM 'TO \(''([0-9-]+)''\)') AS DATE) AS month_end
+          FROM pg_inherits i
+          JOIN pg_class c ON c.oid = i.inhrelid
+          WHERE i.inhparent = CAST('employee_attendance' AS regclass)) p
+    WHERE p.month_start IS NOT NULL
+    ORDER BY p.month_start;
+$$ LANGUAGE sql STABLE;
+
+-- Creates the partition of the month containing p_month, moving that month's rows out of the default partition.
+-- Returns false when the partition already exists.
+CREATE OR REPLACE FUNCTION create_attendance_partition(p_month DATE)
+RETURNS BOOLEAN AS $$
+DECLARE
+    v_from DATE := CAST(date_trunc('month', p_month) AS DATE);
+    v_to DATE := CAST(date_trunc('month', p_month) + INTERVAL '1 month' AS DATE);
+    v_name TEXT := 'employee_attendance_' || to_char(v_from, '"y"YYYY"m"MM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('employee_attendance_partitions'));
+    IF EXISTS (SELECT 1 FROM attendance_partitions() WHERE month_start = v_from) THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE employee_attendance INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', v_name);
+    PERFORM set_config('hrms.moving_attendance', 'on', true);
+    EXECUTE format('WITH moved AS (DELETE FROM employee_attendance_default WHERE work_date >= %L AND work_date < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', v_from, v_to, v_name);
+    PERFORM set_config('hrms.moving_attendance', 'off', true);
+    EXECUTE format('ALTER TABLE employee_attendance ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', v_name, v_from, v_to);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaches the monthly partitions ending on or before p_before and moves them to the attendance_archive schema.
+-- Returns the names of the archived partitions.
+CREATE OR REPLACE FUNCTION archive_attendance_partitions(p_before DATE)
+RETURNS SETOF TEXT AS $$
+DECLARE
+    v_partition RECORD;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('employee_attendance_partitions'));
+    FOR v_partition IN SELECT partition_name FROM attendance_partitions() WHERE month_end <= p_before LOOP
+        EXECUTE format('ALTER TABLE employee_attendance DETACH PARTITION %I', v_partition.partition_name);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA attendance_archive', v_partition.partition_name);
+        RETURN NEXT v_partition.partition_name;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 5. Partitions for every month with data up to three months ahead, then copy the rows over.
+--    This rewrites the table once; run it in a maintenance window on large installations.
+SELECT create_attendance_partition(CAST(m AS DATE))
+FROM generate_series(date_trunc('month', coalesce((SELECT min(work_date) FROM employee_attendance_unpartitioned), CURRENT_DATE)),
+                     date_trunc('month', CURRENT_DATE) + INTERVAL '3 months',
+                     INTERVAL '1 month') AS m;
+
+INSERT INTO employee_attendance (id, employee_id, login_time, logout_time, work_date, total_hours, is_regularized, notes,
+                                 created_at, updated_at, underwork_alert_sent_at, missed_logout_alert_sent_at,
+                                 early_logout_alert_sent_at, late_login_alert_sent_at)
+SELECT id, employee_id, login_time, logout_time, work_date, total_hours, is_regularized, notes,
+       created_at, updated_at, underwork_alert_sent_at, missed_logout_alert_sent_at,
+       early_logout_alert_sent_at, late_login_alert_sent_at
+FROM employee_attendance_unpartitioned;
+
+DROP TABLE employee_attendance_unpartitioned;
+
+ANALYZE employee_attendance;
@@ -0,0 +1,52 @@
+-- Sargable attendance alert candidates.
+-- The nightly anomaly check used to read every row of the work date that still had any alert unsent and
+-- classify it in Java; on a fresh day that is the whole day. The candidate query now states each rule's
+-- condition in SQL, and every condition is served by a partial index holding only the rows not yet alerted
+-- for that rule, so the check reads just the rows it will alert on.
+
+-- 1. Login time of day, stored so the late-login threshold comparison can use an index instead of evaluating
+--    a cast per row. Adding a stored generated column rewrites every partition.
+ALTER TABLE employee_attendance
+ADD COLUMN login_time_of_day TIME WITHOUT TIME ZONE GENERATED ALWAYS AS (CAST(login_time AS TIME)) STORED;
+
+COMMENT ON COLUMN employee_attendance.login_time_of_day IS 'Time of day of login_time, maintained by the database; used by the late login alert.';
+
+-- 2. One partial index per alert rule; a row leaves the index once its alert is stamped. The predicates must
+--    match AttendanceRepository.findAlertCandidates.
+CREATE INDEX idx_attendance_underwork_alert_pending ON employee_attendance(work_date, total_hours)
+    WHERE underwork_alert_sent_at IS NULL AND is_regularized = FALSE;
+CREATE INDEX idx_attendance_missed_logout_alert_pending ON employee_attendance(work_date)
+    WHERE missed_logout_alert_sent_at IS NULL AND logout_time IS NULL;
+CREATE INDEX idx_attendance_early_logout_alert_pending ON employee_attendance(work_date, total_hours)
+    WHERE early_logout_alert_sent_at IS NULL AND logout_time IS NOT NULL AND is_regularized = FALSE;
+CREATE INDEX idx_attendance_late_login_alert_pending ON employee_attendance(work_date, login_time_of_day)
+    WHERE late_login_alert_sent_at IS NULL AND is_regularized = FALSE;
+
+-- 3. New partitions must copy the generation expression (ATTACH requires it) and cannot have generated values
+--    inserted, so rows moved out of the default partition list their columns explicitly.
+CREATE OR REPLACE FUNCTION create_attendance_partition(p_month DATE)
+RETURNS BOOLEAN AS $$
+DECLARE
+    v_from DATE := CAST(date_trunc('month', p_month) AS DATE);
+    v_to DATE := CAST(date_trunc('month', p_month) + INTERVAL '1 month' AS DATE);
+    v_name TEXT := 'employee_attendance_' || to_char(v_from, '"y"YYYY"m"MM');
+    v_columns TEXT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('employee_attendance_partitions'));
+    IF EXISTS (SELECT 1 FROM attendance_partitions() WHERE month_start = v_from) THEN
+        RETURN FALSE;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE employee_attendance INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED)', v_name);
+    SELECT string_agg(quote_ident(attname), ', ' ORDER BY attnum) INTO v_columns
+    FROM pg_attribute
+    WHERE attrelid = CAST('employee_attendance' AS regclass) AND attnum > 0 AND NOT attisdropped AND attgenerated = '';
+    PERFORM set_config('hrms.moving_attendance', 'on', true);
+    EXECUTE format('WITH moved AS (DELETE FROM employee_attendance_default WHERE work_date >= %L AND work_date < %L RETURNING *) '
+                   'INSERT INTO %I (%s) SELECT %s FROM moved', v_from, v_to, v_name, v_columns, v_columns);
+    PERFORM set_config('hrms.moving_attendance', 'off', true);
+    EXECUTE format('ALTER TABLE employee_attendance ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', v_name, v_from, v_to);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+ANALYZE employee_attendance;
@@ -0,0 +1,23 @@
+-- Late logins are judged once, when the login is recorded, and the flag is kept on the row. The monthly rollup
+-- moves late_count by the stored flag, so a change of LATE_LOGIN_THRESHOLD_TIME no longer makes the counts drift.
+ALTER TABLE employee_attendance ADD COLUMN is_late_login BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Existing rows are judged by the threshold configured now
+UPDATE employee_attendance a
+SET is_late_login = TRUE
+FROM (SELECT coalesce((SELECT CAST(config_value AS TIME) FROM system_configurations
+                       WHERE config_key = 'LATE_LOGIN_THRESHOLD_TIME'), TIME '09:30') AS threshold) t
+WHERE CAST(a.login_time AS TIME) > t.threshold;
+
+-- Counts maintained so far may have drifted with earlier threshold changes: recount them from the flags
+UPDATE attendance_monthly_rollup r
+SET late_count = coalesce((SELECT count(*)
+                           FROM employee_attendance a
+                           WHERE a.employee_id = r.employee_id
+                             AND a.work_date >= r.month_start
+                             AND a.work_date < CAST(r.month_start + INTERVAL '1 month' AS DATE)
+                             AND a.is_late_login AND NOT a.is_regularized), 0),
+    updated_at = CURRENT_TIMESTAMP;
+
+COMMENT ON COLUMN employee_attendance.is_late_login IS 'Login after LATE_LOGIN_THRESHOLD_TIME as configured when the login was recorded.';
+COMMENT ON COLUMN attendance_monthly_rollup.late_count IS 'Attendance rows flagged is_late_login that are not regularized.';
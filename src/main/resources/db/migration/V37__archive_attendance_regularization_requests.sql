@@ -0,0 +1,34 @@
+-- V34 indexed employee_regularization_requests(attendance_record_id) for its delete trigger, but the column's
+-- UNIQUE constraint (V2) already provides that index.
+DROP INDEX IF EXISTS idx_reg_requests_attendance_record_id;
+
+-- Archiving a partition used to leave the regularization requests of its attendance pointing at rows no longer in
+-- employee_attendance. They are now archived with the partition, into a table of the same columns.
+CREATE TABLE IF NOT EXISTS attendance_archive.employee_regularization_requests (
+    LIKE employee_regularization_requests,
+    CONSTRAINT employee_regularization_requests_pkey PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_archived_reg_requests_attendance_record_id
+    ON attendance_archive.employee_regularization_requests(attendance_record_id);
+COMMENT ON TABLE attendance_archive.employee_regularization_requests IS 'Regularization requests of archived attendance partitions.';
+
+-- Detaches the monthly partitions ending on or before p_before, moves them to the attendance_archive schema and
+-- moves the regularization requests of their rows to attendance_archive.employee_regularization_requests.
+-- Returns the names of the archived partitions.
+CREATE OR REPLACE FUNCTION archive_attendance_partitions(p_before DATE)
+RETURNS SETOF TEXT AS $$
+DECLARE
+    v_partition RECORD;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('employee_attendance_partitions'));
+    FOR v_partition IN SELECT partition_name FROM attendance_partitions() WHERE month_end <= p_before LOOP
+        EXECUTE format('ALTER TABLE employee_attendance DETACH PARTITION %I', v_partition.partition_name);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA attendance_archive', v_partition.partition_name);
+        EXECUTE format('WITH moved AS (DELETE FROM employee_regularization_requests r USING attendance_archive.%I a '
+                       'WHERE r.attendance_record_id = a.id RETURNING r.*) '
+                       'INSERT INTO attendance_archive.employee_regularization_requests SELECT * FROM moved',
+                       v_partition.partition_name);
+        RETURN NEXT v_partition.partition_name;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
@@ -18,12 +18,14 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 
 import java.time.LocalDate;
 import java.util.Set;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -86,9 +88,7 @@ class AuthControllerIntegrationTest {
     void login_success() throws Exception {
         LoginRequest loginRequest = new LoginRequest("testloginuser", "password123");
 
-        String responseString = mockMvc.perform(post("/api/auth/login")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(loginRequest)))
+        String responseString = mockMvc.perform(asyncDispatch(performLogin(loginRequest)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").isNotEmpty())
                 .andExpect(jsonPath("$.username").value("testloginuser"))
@@ -104,9 +104,7 @@ class AuthControllerIntegrationTest {
     void login_invalidCredentials_usernameNotFound() throws Exception {
         LoginRequest loginRequest = new LoginRequest("unknownuser", "password123");
 
-        mockMvc.perform(post("/api/auth/login")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(loginRequest)))
+        mockMvc.perform(asyncDispatch(performLogin(loginRequest)))
                 .andExpect(status().isUnauthorized()); // Or specific error code if customized
     }
 
@@ -114,9 +112,7 @@ class AuthControllerIntegrationTest {
     void login_invalidCredentials_wrongPassword() throws Exception {
         LoginRequest loginRequest = new LoginRequest("testloginuser", "wrongpassword");
 
-        mockMvc.perform(post("/api/auth/login")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(loginRequest)))
+        mockMvc.perform(asyncDispatch(performLogin(loginRequest)))
                 .andExpect(status().isUnauthorized());
     }
 
@@ -127,9 +123,29 @@ class AuthControllerIntegrationTest {
 
         LoginRequest loginRequest = new LoginRequest("testloginuser", "password123");
 
-        mockMvc.perform(post("/api/auth/login")
+        mockMvc.perform(asyncDispatch(performLogin(loginRequest)))
+                .andExpect(status().isUnauthorized()); // DisabledException maps to 401 by default
+    }
+
+    // Login completes asynchronously on the hashing executor, so the response is read from the async dispatch
+    private MvcResult performLogin(LoginRequest loginRequest) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
-                .andExpect(status().isUnauthorized()); // DisabledException maps to 401 by default
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    @Test
+    void login_withOutdatedBcryptCost_rehashesStoredPassword() throws Exception {
+        testUser.setPassword(new org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder(5).encode("password123"));
+        userRepository.save(testUser);
+
+        mockMvc.perform(asyncDispatch(performLogin(new LoginRequest("testloginuser", "password123"))))
+                .andExpect(status().isOk());
+
+        String storedHash = userRepository.findByUsername("testloginuser").orElseThrow().getPassword();
+        assertThat(storedHash).startsWith("$2a$04$");
+        assertThat(passwordEncoder.matches("password123", storedHash)).isTrue();
     }
 }
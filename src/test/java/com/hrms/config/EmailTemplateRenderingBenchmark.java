@@ -0,0 +1,74 @@
+package com.hrms.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders an attendance alert the way EmailService.sendHtmlMailFromTemplate does, with the email template
+ * engine as previously configured (template re-read and re-parsed on every render, interpreted SpEL) and as
+ * configured now (parsed once and cached, compiled SpEL).
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.include=EmailTemplateRenderingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateRenderingBenchmark {
+
+    private static final String TEMPLATE = "late-login-alert.html";
+
+    private SpringTemplateEngine uncachedEngine;
+    private SpringTemplateEngine cachedEngine;
+    private int employee;
+
+    @Setup
+    public void setUp() {
+        uncachedEngine = newEngine(false);
+        uncachedEngine.setEnableSpringELCompiler(false);
+        cachedEngine = newEngine(true);
+    }
+
+    private static SpringTemplateEngine newEngine(boolean cacheEnabled) {
+        ThymeleafConfig config = new ThymeleafConfig();
+        ReflectionTestUtils.setField(config, "templateCacheEnabled", cacheEnabled);
+        ReflectionTestUtils.setField(config, "templateCacheTtlMs", 0L);
+        return config.emailTemplateEngine();
+    }
+
+    private Context alertContext() {
+        int n = employee++;
+        Context context = new Context();
+        context.setVariable("greeting", "Dear Employee" + n + ",");
+        context.setVariable("subject", "Alert: Late Login Detected for 2026-03-10");
+        context.setVariable("bodyMessage", "Your attendance record for 2026-03-10 shows a late login at 10:0" + (n % 10)
+                + ". The expected login time is by 09:30.<br/>Please review your attendance or apply for regularization if this is incorrect.");
+        return context;
+    }
+
+    @Benchmark
+    public String uncachedTemplate() {
+        return uncachedEngine.process(TEMPLATE, alertContext());
+    }
+
+    @Benchmark
+    public String cachedTemplate() {
+        return cachedEngine.process(TEMPLATE, alertContext());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EmailTemplateRenderingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,32 @@
+package com.hrms.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebAsyncConfigTest {
+
+    private final WebAsyncConfig.RequestTimeoutInterceptor interceptor = new WebAsyncConfig.RequestTimeoutInterceptor();
+
+    // Starts the request the way WebAsyncManager does: default timeout, interceptors, then startAsync
+    private long startedTimeout(MockHttpServletRequest request) throws Exception {
+        request.setAsyncSupported(true);
+        StandardServletAsyncWebRequest asyncRequest = new StandardServletAsyncWebRequest(request, new MockHttpServletResponse());
+        asyncRequest.setTimeout(30_000L);
+        interceptor.beforeConcurrentHandling(asyncRequest, () -> null);
+        asyncRequest.startAsync();
+        return request.getAsyncContext().getTimeout();
+    }
+
+    @Test
+    void beforeConcurrentHandling_appliesTheTimeoutTheHandlerSet() throws Exception {
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/api/hr/attendance/export");
+        WebAsyncConfig.setAsyncTimeout(export, 1_800_000L);
+
+        assertThat(startedTimeout(export)).isEqualTo(1_800_000L);
+        assertThat(startedTimeout(new MockHttpServletRequest("GET", "/api/other"))).isEqualTo(30_000L);
+    }
+}
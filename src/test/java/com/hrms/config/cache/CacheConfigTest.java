@@ -0,0 +1,79 @@
+package com.hrms.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheConfigTest {
+
+    private CacheManager newCacheManager(HrmsCacheProperties properties, CacheRefreshLoader... loaders) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        for (int i = 0; i < loaders.length; i++) {
+            beanFactory.addBean("loader" + i, loaders[i]);
+        }
+        return new CacheConfig().cacheManager(properties, beanFactory.getBeanProvider(CacheRefreshLoader.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> nativeCache(CacheManager cacheManager, String name) {
+        return (Cache<Object, Object>) cacheManager.getCache(name).getNativeCache();
+    }
+
+    @Test
+    void cacheManager_appliesPerCacheSizeAndDefaultsToUnlistedCaches() {
+        HrmsCacheProperties properties = new HrmsCacheProperties();
+        properties.getDefaults().setMaximumSize(50);
+        HrmsCacheProperties.CacheSpec holidays = new HrmsCacheProperties.CacheSpec();
+        holidays.setMaximumSize(5);
+        holidays.setExpireAfterWrite(Duration.ofMinutes(1));
+        properties.getCaches().put("holidays", holidays);
+
+        CacheManager cacheManager = newCacheManager(properties);
+
+        assertThat(nativeCache(cacheManager, "holidays").policy().eviction().orElseThrow().getMaximum()).isEqualTo(5);
+        assertThat(nativeCache(cacheManager, "holidays").policy().expireAfterWrite()).isPresent();
+        assertThat(nativeCache(cacheManager, "anythingElse").policy().eviction().orElseThrow().getMaximum()).isEqualTo(50);
+    }
+
+    @Test
+    void cacheManager_recordsHitAndMissStatistics() {
+        CacheManager cacheManager = newCacheManager(new HrmsCacheProperties());
+        org.springframework.cache.Cache cache = cacheManager.getCache("users");
+
+        cache.get("missing");
+        cache.put("alice", "Alice");
+        cache.get("alice");
+
+        assertThat(nativeCache(cacheManager, "users").stats().hitCount()).isEqualTo(1);
+        assertThat(nativeCache(cacheManager, "users").stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cacheManager_refreshAfterWriteUsesRegisteredLoader() {
+        HrmsCacheProperties properties = new HrmsCacheProperties();
+        HrmsCacheProperties.CacheSpec spec = new HrmsCacheProperties.CacheSpec();
+        spec.setRefreshAfterWrite(Duration.ofMinutes(5));
+        properties.getCaches().put("holidays", spec);
+        CacheRefreshLoader loader = new CacheRefreshLoader() {
+            @Override
+            public String getCacheName() {
+                return "holidays";
+            }
+
+            @Override
+            public Object load(Object key) {
+                return "loaded-" + key;
+            }
+        };
+
+        CacheManager cacheManager = newCacheManager(properties, loader);
+
+        assertThat(nativeCache(cacheManager, "holidays").policy().refreshAfterWrite()).isPresent();
+        assertThat(cacheManager.getCache("holidays").get(2026, () -> "loaded-2026")).isEqualTo("loaded-2026");
+    }
+}
@@ -0,0 +1,85 @@
+package com.hrms.core.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The parts of a PostgreSQL {@code EXPLAIN (FORMAT JSON)} plan the plan check looks at.
+ */
+final class QueryPlan {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final double totalCost;
+    private final List<String> seqScannedRelations;
+    private final List<String> relations;
+    private final String summary;
+
+    private QueryPlan(double totalCost, List<String> seqScannedRelations, List<String> relations, String summary) {
+        this.totalCost = totalCost;
+        this.seqScannedRelations = seqScannedRelations;
+        this.relations = relations;
+        this.summary = summary;
+    }
+
+    static QueryPlan parse(String explainJson) throws IOException {
+        JsonNode root = MAPPER.readTree(explainJson).get(0).get("Plan");
+        List<String> seqScans = new ArrayList<>();
+        List<String> relations = new ArrayList<>();
+        StringBuilder summary = new StringBuilder();
+        walk(root, 0, seqScans, relations, summary);
+        return new QueryPlan(root.path("Total Cost").asDouble(), seqScans, relations, summary.toString());
+    }
+
+    private static void walk(JsonNode node, int depth, List<String> seqScans, List<String> relations, StringBuilder summary) {
+        String nodeType = node.path("Node Type").asText();
+        String relation = node.path("Relation Name").asText(null);
+        if ("Seq Scan".equals(nodeType) && relation != null) {
+            seqScans.add(relation);
+        }
+        if (relation != null) {
+            relations.add(relation);
+        }
+        summary.append("  ".repeat(depth + 2)).append(nodeType);
+        if (relation != null) {
+            summary.append(" on ").append(relation);
+        }
+        if (node.hasNonNull("Index Name")) {
+            summary.append(" using ").append(node.get("Index Name").asText());
+        }
+        summary.append(String.format(" (cost=%.2f rows=%d)%n", node.path("Total Cost").asDouble(), node.path("Plan Rows").asLong()));
+        for (JsonNode child : node.path("Plans")) {
+            walk(child, depth + 1, seqScans, relations, summary);
+        }
+    }
+
+    double getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Tables and partitions read with a sequential scan.
+     */
+    List<String> getSeqScannedRelations() {
+        return seqScannedRelations;
+    }
+
+    /**
+     * Tables and partitions the plan reads or writes, by any node; partitions pruned at planning are not listed.
+     */
+    List<String> getRelations() {
+        return relations;
+    }
+
+    /**
+     * Indented plan tree, one node per line.
+     */
+    @Override
+    public String toString() {
+        return summary;
+    }
+}
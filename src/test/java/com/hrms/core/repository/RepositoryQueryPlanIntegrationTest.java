@@ -0,0 +1,521 @@
+package com.hrms.core.repository;
+
+import com.hrms.employee.core.entity.Attendance;
+import com.hrms.employee.core.repository.AttendanceRepository;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plan regression check for every query method of every Spring Data repository. The schema is built from the
+ * Flyway migrations in a dedicated schema of a local PostgreSQL database and filled with a synthetic dataset
+ * (plan-check/seed.sql); each query method is then called with representative arguments in a rolled-back
+ * transaction, and every statement it issued is re-run under {@code EXPLAIN (FORMAT JSON)}. A statement fails
+ * the check when its estimated cost exceeds the budget, or when it sequentially scans a large table or partition
+ * without that being recorded as expected in plan-check/expected-plans.properties.
+ * Run with: mvn test -Dtest=RepositoryQueryPlanIntegrationTest -Dhrms.plan-check.url=jdbc:postgresql://localhost:5432/hrms_plan_check
+ * (plus -Dhrms.plan-check.username / -Dhrms.plan-check.password). The schema "plan_check" is dropped and recreated.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles({"test", "plancheck"})
+@EnabledIfSystemProperty(named = "hrms.plan-check.url", matches = ".+")
+class RepositoryQueryPlanIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryQueryPlanIntegrationTest.class);
+
+    static final String SCHEMA = "plan_check";
+    static final StatementRecorder RECORDER = new StatementRecorder();
+
+    // Last weekday with seeded attendance
+    private static final LocalDate WORK_DATE = lastWeekdayBefore(LocalDate.now());
+    private static final long EMPLOYEE_ID = 5000L;
+    private static final long COMPANY_ID = 5L;
+
+    @TestConfiguration
+    static class RecordingConfiguration {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? RECORDER.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Runs before the Spring context starts, so the application sees the migrated and seeded schema
+    @BeforeAll
+    static void createSchema() throws Exception {
+        try (Connection connection = DriverManager.getConnection(System.getProperty("hrms.plan-check.url"),
+                System.getProperty("hrms.plan-check.username", "postgres"), System.getProperty("hrms.plan-check.password", ""));
+             Statement statement = connection.createStatement()) {
+            long started = System.nanoTime();
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("SET search_path TO " + SCHEMA);
+            Resource[] migrations = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*__*.sql");
+            Arrays.sort(migrations, Comparator.comparingInt(RepositoryQueryPlanIntegrationTest::migrationVersion));
+            for (Resource migration : migrations) {
+                statement.execute(read(migration));
+            }
+            statement.execute(read(new PathMatchingResourcePatternResolver().getResource("classpath:plan-check/seed.sql")));
+            statement.execute("VACUUM ANALYZE");
+            logger.info("Applied {} migrations and seeded the plan check dataset in {} s.", migrations.length,
+                        (System.nanoTime() - started) / 1_000_000_000);
+        }
+    }
+
+    @Test
+    void repositoryQueriesStayWithinTheirPlanBudgets() throws Exception {
+        Properties expected = expectedPlans();
+        long largeTableRows = Long.parseLong(expected.getProperty("large-table-rows"));
+        double defaultMaxCost = Double.parseDouble(expected.getProperty("max-cost"));
+        Map<String, Long> tableRows = tableRows();
+
+        List<String> failures = new ArrayList<>();
+        Set<String> usedSeqScanExpectations = new TreeSet<>();
+        StringBuilder report = new StringBuilder();
+        int checked = 0;
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+            for (Method method : information.getQueryMethods()) {
+                String key = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                List<StatementRecorder.RecordedStatement> statements;
+                try {
+                    statements = invoke(repository, method);
+                } catch (IllegalArgumentException e) {
+                    failures.add(key + ": " + e.getMessage());
+                    continue;
+                }
+                if (statements.isEmpty()) {
+                    failures.add(key + ": issued no SQL");
+                    continue;
+                }
+                double maxCost = Double.parseDouble(expected.getProperty("max-cost." + key, String.valueOf(defaultMaxCost)));
+                for (StatementRecorder.RecordedStatement statement : statements) {
+                    QueryPlan plan;
+                    try {
+                        plan = explain(statement);
+                    } catch (SQLException e) {
+                        failures.add(key + ": could not explain " + statement.getSql() + ": " + e.getMessage());
+                        continue;
+                    }
+                    checked++;
+                    report.append(String.format("%s  cost=%.2f%n    %s%n%s", key, plan.getTotalCost(), statement.getSql(), plan));
+                    if (plan.getTotalCost() > maxCost) {
+                        failures.add(String.format("%s: estimated cost %.2f exceeds the budget of %.2f%n%s", key, plan.getTotalCost(), maxCost, plan));
+                    }
+                    for (String relation : plan.getSeqScannedRelations()) {
+                        if (tableRows.getOrDefault(relation, 0L) < largeTableRows) {
+                            continue;
+                        }
+                        String expectation = key + "." + relation;
+                        if (expected.getProperty("seq-scan." + expectation) != null) {
+                            usedSeqScanExpectations.add(expectation);
+                        } else {
+                            failures.add(String.format("%s: sequential scan on %s (%d rows)%n%s", key, relation, tableRows.get(relation), plan));
+                        }
+                    }
+                }
+            }
+        }
+        logger.info("Checked the plans of {} statements:{}{}", checked, System.lineSeparator(), report);
+        expected.stringPropertyNames().stream()
+                .filter(name -> name.startsWith("seq-scan.") && !usedSeqScanExpectations.contains(name.substring("seq-scan.".length())))
+                .forEach(name -> logger.info("Expected sequential scan no longer happens, the entry can go: {}", name));
+
+        assertThat(failures).as("Query plan regressions").isEmpty();
+    }
+
+    /**
+     * employee_attendance is range-partitioned by work_date. Every AttendanceRepository query, called for one seeded
+     * work day, must be planned against no more partitions than its budget; a query that cannot prune is listed
+     * with the reason in expected-plans.properties. Entity updates must prune too (Attendance.workDate is the
+     * partition key Hibernate adds to their WHERE clause).
+     */
+    @Test
+    void attendanceQueriesReadOnlyThePartitionsOfTheirDates() throws Exception {
+        Properties expected = expectedPlans();
+        int defaultMaxPartitions = Integer.parseInt(expected.getProperty("max-partitions"));
+        Set<String> partitions = attendancePartitions();
+        assertThat(partitions).as("employee_attendance partitions of the plan check schema").hasSizeGreaterThan(1);
+
+        List<String> failures = new ArrayList<>();
+        Repositories repositories = new Repositories(applicationContext);
+        RepositoryInformation information = repositories.getRequiredRepositoryInformation(Attendance.class);
+        Object repository = repositories.getRepositoryFor(Attendance.class).orElseThrow();
+        for (Method method : information.getQueryMethods()) {
+            String key = "AttendanceRepository." + method.getName();
+            if (expected.getProperty("unpruned." + key) != null) {
+                continue;
+            }
+            int maxPartitions = Integer.parseInt(expected.getProperty("max-partitions." + key, String.valueOf(defaultMaxPartitions)));
+            for (StatementRecorder.RecordedStatement statement : invoke(repository, method)) {
+                checkPartitions(key, statement, partitions, maxPartitions, failures);
+            }
+        }
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        RECORDER.start();
+        tx.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Attendance attendance = entityManager.createQuery("SELECT a FROM Attendance a WHERE a.workDate = :workDate", Attendance.class)
+                    .setParameter("workDate", WORK_DATE)
+                    .setMaxResults(1)
+                    .getSingleResult();
+            attendance.setNotes("plan-check");
+            entityManager.flush();
+        });
+        List<StatementRecorder.RecordedStatement> updates = RECORDER.stop().stream()
+                .filter(statement -> statement.getSql().regionMatches(true, 0, "update", 0, 6))
+                .toList();
+        assertThat(updates).as("Attendance entity update").isNotEmpty();
+        for (StatementRecorder.RecordedStatement statement : updates) {
+            checkPartitions("Attendance entity update", statement, partitions, defaultMaxPartitions, failures);
+        }
+
+        expected.stringPropertyNames().stream()
+                .filter(name -> name.startsWith("unpruned.AttendanceRepository."))
+                .filter(name -> Arrays.stream(AttendanceRepository.class.getDeclaredMethods())
+                        .noneMatch(method -> method.getName().equals(name.substring("unpruned.AttendanceRepository.".length()))))
+                .forEach(name -> failures.add(name + ": no such AttendanceRepository method, the entry can go"));
+
+        assertThat(failures).as("Attendance statements reading more partitions than their dates").isEmpty();
+    }
+
+    private void checkPartitions(String key, StatementRecorder.RecordedStatement statement, Set<String> partitions,
+                                 int maxPartitions, List<String> failures) {
+        QueryPlan plan;
+        try {
+            plan = explain(statement);
+        } catch (SQLException | IOException e) {
+            failures.add(key + ": could not explain " + statement.getSql() + ": " + e.getMessage());
+            return;
+        }
+        Set<String> scanned = new TreeSet<>(plan.getRelations());
+        scanned.retainAll(partitions);
+        if (scanned.size() > maxPartitions) {
+            failures.add(String.format("%s: %d of %d partitions planned, at most %d expected: %s%n    %s%n%s", key, scanned.size(),
+                                       partitions.size(), maxPartitions, scanned, statement.getSql(), plan));
+        }
+    }
+
+    // Partitions of employee_attendance, the default partition included
+    private Set<String> attendancePartitions() throws SQLException {
+        Set<String> partitions = new TreeSet<>();
+        try (Connection connection = RECORDER.getTarget().getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                     "WHERE i.inhparent = CAST(? AS regclass)")) {
+            statement.setString(1, SCHEMA + ".employee_attendance");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    partitions.add(resultSet.getString(1));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Archiving a month detaches its attendance partition; the regularization requests of its rows go to the
+     * archive with it instead of pointing at attendance that is no longer in employee_attendance.
+     */
+    @Test
+    void archivingAPartitionArchivesItsRegularizationRequests() throws SQLException {
+        try (Connection connection = RECORDER.getTarget().getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                String partition;
+                LocalDate monthEnd;
+                try (ResultSet resultSet = statement.executeQuery(
+                        "SELECT partition_name, month_end FROM attendance_partitions() ORDER BY month_start LIMIT 1")) {
+                    resultSet.next();
+                    partition = resultSet.getString(1);
+                    monthEnd = resultSet.getObject(2, LocalDate.class);
+                }
+                long requests = count(statement, "SELECT count(*) FROM employee_regularization_requests r JOIN " + partition +
+                                                 " a ON a.id = r.attendance_record_id");
+                assertThat(requests).as("seeded regularization requests in " + partition).isPositive();
+
+                try (ResultSet resultSet = statement.executeQuery("SELECT archive_attendance_partitions(DATE '" + monthEnd + "')")) {
+                    resultSet.next();
+                    assertThat(resultSet.getString(1)).isEqualTo(partition);
+                }
+
+                assertThat(count(statement, "SELECT count(*) FROM employee_regularization_requests r " +
+                                            "WHERE r.attendance_record_id IS NOT NULL AND NOT EXISTS " +
+                                            "(SELECT 1 FROM employee_attendance a WHERE a.id = r.attendance_record_id)"))
+                        .as("requests left pointing at archived attendance").isZero();
+                assertThat(count(statement, "SELECT count(*) FROM attendance_archive.employee_regularization_requests r " +
+                                            "JOIN attendance_archive." + partition + " a ON a.id = r.attendance_record_id"))
+                        .isEqualTo(requests);
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private static long count(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private Properties expectedPlans() throws IOException {
+        Properties expected = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/plan-check/expected-plans.properties")) {
+            expected.load(in);
+        }
+        return expected;
+    }
+
+    private List<StatementRecorder.RecordedStatement> invoke(Object repository, Method method) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        RECORDER.start();
+        try {
+            tx.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                Object[] args = Arrays.stream(method.getParameters()).map(this::argument).toArray();
+                try {
+                    method.invoke(repository, args);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                } catch (InvocationTargetException e) {
+                    // The statements were recorded before they ran; only their plans matter here
+                    logger.debug("{} failed with the plan check arguments: {}", method, e.getTargetException().getMessage());
+                }
+            });
+        } catch (RuntimeException e) {
+            RECORDER.stop();
+            throw e;
+        }
+        return RECORDER.stop();
+    }
+
+    private QueryPlan explain(StatementRecorder.RecordedStatement statement) throws SQLException, IOException {
+        try (Connection connection = RECORDER.getTarget().getConnection();
+             PreparedStatement explain = statement.prepare(connection, "EXPLAIN (FORMAT JSON) ");
+             ResultSet resultSet = explain.executeQuery()) {
+            resultSet.next();
+            return QueryPlan.parse(resultSet.getString(1));
+        }
+    }
+
+    // Planner row estimates of the tables and partitions of the schema
+    private Map<String, Long> tableRows() throws SQLException {
+        Map<String, Long> rows = new HashMap<>();
+        try (Connection connection = RECORDER.getTarget().getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT c.relname, c.reltuples FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+                     "WHERE n.nspname = ? AND c.relkind IN ('r', 'p')")) {
+            statement.setString(1, SCHEMA);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows.put(resultSet.getString(1), Math.max(0L, resultSet.getLong(2)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * A representative value for a query method parameter: ids of seeded rows, the last seeded work day, small
+     * collections and pages. Unknown types fail the check so that new parameter types get a deliberate value.
+     */
+    private Object argument(Parameter parameter) {
+        Param param = parameter.getAnnotation(Param.class);
+        String name = param != null ? param.value() : parameter.getName();
+        return value(parameter.getType(), parameter.getParameterizedType(), name);
+    }
+
+    private Object value(Class<?> type, Type genericType, String name) {
+        String lowerName = name.toLowerCase();
+        if (type == Long.class || type == long.class) {
+            if (lowerName.equals("afterid")) {
+                return 0L;
+            }
+            if (lowerName.endsWith("ms")) {
+                return System.currentTimeMillis() - 86_400_000L;
+            }
+            return lowerName.contains("company") ? COMPANY_ID : lowerName.contains("cycle") ? 3L : EMPLOYEE_ID;
+        }
+        if (type == Integer.class || type == int.class) {
+            return switch (name) {
+                case "partition" -> 0;
+                case "chunkSize" -> 500;
+                default -> 1;
+            };
+        }
+        if (type == Double.class || type == double.class) {
+            return 8.0;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return true;
+        }
+        if (type == String.class) {
+            if (lowerName.contains("skill")) {
+                return "kotlin";
+            }
+            if (lowerName.contains("category")) {
+                return "Engineering";
+            }
+            if (lowerName.contains("role")) {
+                return "ROLE_EMPLOYEE";
+            }
+            if (lowerName.contains("username")) {
+                return "user" + EMPLOYEE_ID;
+            }
+            if (lowerName.contains("email")) {
+                return "user" + EMPLOYEE_ID + "@example.com";
+            }
+            if (lowerName.contains("status")) {
+                return lowerName.contains("closed") ? "CLOSED_FAILED" : "SUBMITTED";
+            }
+            if (lowerName.contains("year")) {
+                return (WORK_DATE.getYear() - 1) + "-" + WORK_DATE.getYear();
+            }
+            return "plan-check";
+        }
+        if (type == LocalDate.class) {
+            return lowerName.startsWith("from") || lowerName.startsWith("start") ? WORK_DATE.withDayOfMonth(1) : WORK_DATE;
+        }
+        if (type == LocalDateTime.class) {
+            if (lowerName.contains("cutoff")) {
+                return LocalDate.now().minusDays(179).atStartOfDay(); // Purges remove the oldest day of history
+            }
+            if (lowerName.contains("since")) {
+                return LocalDateTime.now().minusDays(7);
+            }
+            return LocalDateTime.now();
+        }
+        if (type == LocalTime.class) {
+            return LocalTime.of(9, 30);
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (type.isAnnotationPresent(Entity.class)) {
+            long id = lowerName.contains("company") ? COMPANY_ID : lowerName.contains("cycle") ? 3L : lowerName.contains("role") ? 1L : EMPLOYEE_ID;
+            return entityManager.getReference(type, id);
+        }
+        if (Pageable.class.isAssignableFrom(type)) {
+            return PageRequest.of(0, 100);
+        }
+        if (type == Sort.class) {
+            return Sort.unsorted();
+        }
+        if (type == Specification.class) {
+            return (Specification<?>) (root, query, builder) -> null;
+        }
+        if (type.isArray()) {
+            Object array = Array.newInstance(type.getComponentType(), 1);
+            Array.set(array, 0, value(type.getComponentType(), type.getComponentType(), name));
+            return array;
+        }
+        if (Collection.class.isAssignableFrom(type) && genericType instanceof ParameterizedType parameterized
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> elementType) {
+            List<Object> elements = new ArrayList<>();
+            if (elementType.isEnum()) {
+                elements.addAll(Arrays.asList(elementType.getEnumConstants()).subList(0, Math.min(2, elementType.getEnumConstants().length)));
+            } else if (elementType == Long.class) {
+                for (long id = EMPLOYEE_ID; id < EMPLOYEE_ID + 20; id++) {
+                    elements.add(id);
+                }
+            } else {
+                elements.add(value(elementType, elementType, name));
+            }
+            return type == Set.class ? Set.copyOf(elements) : elements;
+        }
+        throw new IllegalArgumentException("no plan check value for parameter " + name + " of type " + genericType.getTypeName());
+    }
+
+    private static LocalDate lastWeekdayBefore(LocalDate date) {
+        LocalDate day = date.minusDays(1);
+        while (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            day = day.minusDays(1);
+        }
+        return day;
+    }
+
+    private static int migrationVersion(Resource migration) {
+        String name = migration.getFilename();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+
+    private static String read(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
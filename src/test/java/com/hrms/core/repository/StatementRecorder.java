@@ -0,0 +1,158 @@
+package com.hrms.core.repository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Wraps a DataSource so that the SQL a thread executes while recording, with its bound parameters, can be
+ * prepared again later, e.g. under EXPLAIN on another connection. Other threads and statements executed outside
+ * a recording pass through untouched. The same SQL text is recorded once per recording.
+ */
+final class StatementRecorder {
+
+    private final ThreadLocal<Map<String, RecordedStatement>> recording = new ThreadLocal<>();
+    private DataSource target;
+
+    DataSource wrap(DataSource dataSource) {
+        target = dataSource;
+        return proxy(DataSource.class, dataSource, (method, args) -> {
+            Object result = method.invoke(dataSource, args);
+            return result instanceof Connection connection ? wrapConnection(connection) : result;
+        });
+    }
+
+    /**
+     * The wrapped DataSource itself, for statements that must not be recorded.
+     */
+    DataSource getTarget() {
+        return target;
+    }
+
+    void start() {
+        recording.set(new LinkedHashMap<>());
+    }
+
+    List<RecordedStatement> stop() {
+        Map<String, RecordedStatement> statements = recording.get();
+        recording.remove();
+        return statements != null ? new ArrayList<>(statements.values()) : List.of();
+    }
+
+    private void record(String sql, Collection<Binding> bindings) {
+        Map<String, RecordedStatement> statements = recording.get();
+        if (statements != null) {
+            statements.putIfAbsent(sql, new RecordedStatement(sql, List.copyOf(bindings)));
+        }
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = method.invoke(connection, args);
+            if (result instanceof PreparedStatement statement && args != null && args[0] instanceof String sql) {
+                return wrapPreparedStatement(statement, sql);
+            }
+            if (result instanceof Statement statement && !(result instanceof PreparedStatement)) {
+                return wrapStatement(statement);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrapPreparedStatement(PreparedStatement statement, String sql) {
+        Map<Integer, Binding> bindings = new TreeMap<>();
+        return proxy(PreparedStatement.class, statement, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bindings.put(index, new Binding(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            } else if (name.startsWith("execute") || name.equals("addBatch")) {
+                record(sql, bindings.values());
+            }
+            return method.invoke(statement, args);
+        });
+    }
+
+    private Statement wrapStatement(Statement statement) {
+        return proxy(Statement.class, statement, (method, args) -> {
+            if ((method.getName().startsWith("execute") || method.getName().equals("addBatch"))
+                    && args != null && args[0] instanceof String sql) {
+                record(sql, List.of());
+            }
+            return method.invoke(statement, args);
+        });
+    }
+
+    private interface Call {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, T delegate, Call call) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return call.invoke(method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(StatementRecorder.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    /**
+     * One executed statement: its SQL and the parameter setter calls made before execution.
+     */
+    static final class RecordedStatement {
+
+        private final String sql;
+        private final List<Binding> bindings;
+
+        RecordedStatement(String sql, List<Binding> bindings) {
+            this.sql = sql;
+            this.bindings = bindings;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        /**
+         * Prepares the statement on the given connection with the prefix (e.g. "EXPLAIN ") and the recorded parameters.
+         */
+        PreparedStatement prepare(Connection connection, String prefix) throws SQLException {
+            PreparedStatement statement = connection.prepareStatement(prefix + sql);
+            for (Binding binding : bindings) {
+                binding.apply(statement);
+            }
+            return statement;
+        }
+    }
+
+    private record Binding(Method setter, Object[] args) {
+
+        void apply(PreparedStatement statement) throws SQLException {
+            try {
+                setter.invoke(statement, args);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (InvocationTargetException e) {
+                if (e.getTargetException() instanceof SQLException sqlException) {
+                    throw sqlException;
+                }
+                throw new IllegalStateException(e.getTargetException());
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.hrms.employee.core.repository;
+
+import com.hrms.employee.core.entity.Attendance;
+import org.hibernate.annotations.PartitionKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * employee_attendance is range-partitioned by work_date: a query that does not constrain work_date reads every
+ * partition. Every query of {@link AttendanceRepository} must name the work date, unless listed below with the
+ * reason it may not. A source-level guard for the normal build; RepositoryQueryPlanIntegrationTest checks the
+ * actual plans against PostgreSQL when hrms.plan-check.url is set.
+ */
+class AttendanceRepositoryPartitionPruningTest {
+
+    private static final Map<String, String> NOT_PRUNED = Map.of(
+            "findByIdForUpdate", "single regularization approvals: one primary key probe per partition",
+            "upsertAttendance", "INSERT routes each row to its partition; ON CONFLICT probes only that partition");
+
+    // An equality, IN, BETWEEN or range condition on the partition key
+    private static final Pattern WORK_DATE_CONDITION =
+            Pattern.compile("\\b(\\w+\\.workDate|work_date)\\s*(=|>=?|<=?|IN\\b|BETWEEN\\b)", Pattern.CASE_INSENSITIVE);
+
+    @Test
+    void everyQueryConstrainsTheWorkDate() {
+        List<String> unpruned = new ArrayList<>();
+        for (Method method : AttendanceRepository.class.getDeclaredMethods()) {
+            if (method.isSynthetic() || method.isDefault() || NOT_PRUNED.containsKey(method.getName())) {
+                continue;
+            }
+            Query query = method.getAnnotation(Query.class);
+            boolean prunes = query != null
+                    ? WORK_DATE_CONDITION.matcher(query.value()).find()
+                    : method.getName().contains("WorkDate"); // Derived query: the property is part of the name
+            if (!prunes) {
+                unpruned.add(method.getName());
+            }
+        }
+
+        assertThat(unpruned).as("AttendanceRepository queries without a work_date condition").isEmpty();
+    }
+
+    @Test
+    void exceptionsStillExist() {
+        List<String> methods = Arrays.stream(AttendanceRepository.class.getDeclaredMethods()).map(Method::getName).toList();
+
+        assertThat(methods).containsAll(NOT_PRUNED.keySet());
+    }
+
+    @Test
+    void entityUpdatesAndDeletesNameThePartitionKey() throws NoSuchFieldException {
+        // Inherited save and delete address rows by id; Hibernate adds the partition key to their WHERE clause
+        assertThat(Attendance.class.getDeclaredField("workDate").isAnnotationPresent(PartitionKey.class)).isTrue();
+    }
+}
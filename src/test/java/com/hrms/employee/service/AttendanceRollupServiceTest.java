@@ -0,0 +1,123 @@
+package com.hrms.employee.service;
+
+import com.hrms.employee.core.entity.Attendance;
+import com.hrms.employee.core.repository.AttendanceMonthlyRollupRepository;
+import com.hrms.service.config.SystemConfigValueProviderService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceRollupServiceTest {
+
+    @Mock
+    private AttendanceMonthlyRollupRepository rollupRepository;
+
+    @Mock
+    private SystemConfigValueProviderService configValueProvider;
+
+    @InjectMocks
+    private AttendanceRollupService rollupService;
+
+    private void lateLoginThreshold(int hour, int minute) {
+        when(configValueProvider.getLocalTimeValue(eq(AttendanceRollupService.LATE_LOGIN_THRESHOLD_KEY), any()))
+                .thenReturn(LocalTime.of(hour, minute));
+    }
+
+    private static LocalDateTime at(int day, int hour, int minute) {
+        return LocalDateTime.of(2026, 3, day, hour, minute);
+    }
+
+    @Test
+    void apply_sumsChangesPerEmployeeMonthAndSkipsThoseThatCancelOut() {
+        AttendanceRollupService.Changes changes = new AttendanceRollupService.Changes();
+        // New late day with no logout yet
+        changes.add(10L, LocalDate.of(2026, 3, 2), AttendanceRollupService.Contribution.NONE,
+                    rollupService.contributionOf(at(2, 9, 45), true, null, null, false));
+        // Same month: an on-time day gains its logout
+        changes.add(10L, LocalDate.of(2026, 3, 3), rollupService.contributionOf(at(3, 9, 0), false, null, null, false),
+                    rollupService.contributionOf(at(3, 9, 0), false, at(3, 17, 0), 8.0, false));
+        // Next month: a late day is regularized, so it no longer counts as late
+        changes.add(10L, LocalDate.of(2026, 4, 1), rollupService.contributionOf(at(1, 10, 0), true, at(1, 18, 0), 8.0, false),
+                    rollupService.contributionOf(at(1, 10, 0), true, at(1, 18, 0), 8.0, true));
+        // Another employee: written twice to the same values
+        changes.add(11L, LocalDate.of(2026, 3, 2), rollupService.contributionOf(at(2, 9, 0), false, at(2, 17, 0), 8.0, false),
+                    rollupService.contributionOf(at(2, 9, 0), false, at(2, 17, 0), 8.0, false));
+
+        rollupService.apply(changes);
+
+        ArgumentCaptor<Long[]> employeeIds = ArgumentCaptor.forClass(Long[].class);
+        ArgumentCaptor<LocalDate[]> months = ArgumentCaptor.forClass(LocalDate[].class);
+        ArgumentCaptor<Integer[]> days = ArgumentCaptor.forClass(Integer[].class);
+        ArgumentCaptor<Double[]> hours = ArgumentCaptor.forClass(Double[].class);
+        ArgumentCaptor<Integer[]> late = ArgumentCaptor.forClass(Integer[].class);
+        ArgumentCaptor<Integer[]> missed = ArgumentCaptor.forClass(Integer[].class);
+        ArgumentCaptor<Integer[]> regularized = ArgumentCaptor.forClass(Integer[].class);
+        verify(rollupRepository).addToRollups(employeeIds.capture(), months.capture(), days.capture(), hours.capture(),
+                                              late.capture(), missed.capture(), regularized.capture(), any());
+        assertThat(employeeIds.getValue()).containsExactly(10L, 10L);
+        assertThat(months.getValue()).containsExactly(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 4, 1));
+        assertThat(days.getValue()).containsExactly(1, 0);
+        assertThat(hours.getValue()).containsExactly(8.0, 0.0);
+        assertThat(late.getValue()).containsExactly(1, -1);
+        assertThat(missed.getValue()).containsExactly(0, 0); // The new day's missing logout is offset by the other day's
+        assertThat(regularized.getValue()).containsExactly(0, 1);
+    }
+
+    @Test
+    void apply_withNoNetChangeWritesNothing() {
+        AttendanceRollupService.Changes changes = new AttendanceRollupService.Changes();
+        changes.add(10L, LocalDate.of(2026, 3, 2), rollupService.contributionOf(at(2, 9, 0), false, null, null, false),
+                    rollupService.contributionOf(at(2, 9, 0), false, null, null, false));
+
+        rollupService.apply(changes);
+
+        verify(rollupRepository, never()).addToRollups(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void contributionOf_countsLateLoginsAsFlaggedWhenRecordedAcrossAThresholdChange() {
+        lateLoginThreshold(10, 0);
+        Attendance attendance = new Attendance();
+        attendance.setLoginTime(at(2, 9, 45));
+        attendance.setLateLogin(rollupService.isLateLogin(null, at(2, 9, 45)));
+        AttendanceRollupService.Changes changes = new AttendanceRollupService.Changes();
+        changes.add(10L, LocalDate.of(2026, 3, 2), AttendanceRollupService.Contribution.NONE, rollupService.contributionOf(attendance));
+
+        // The threshold is lowered, then the day is regularized with its login unchanged
+        lateLoginThreshold(9, 30);
+        AttendanceRollupService.Contribution before = rollupService.contributionOf(attendance);
+        attendance.setLateLogin(rollupService.isLateLogin(attendance, at(2, 9, 45)));
+        attendance.setRegularized(true);
+        changes.add(10L, LocalDate.of(2026, 3, 2), before, rollupService.contributionOf(attendance));
+        // A login changed after the threshold change is judged by the new threshold
+        Attendance moved = new Attendance();
+        moved.setLoginTime(at(3, 9, 0));
+        AttendanceRollupService.Contribution movedBefore = rollupService.contributionOf(moved);
+        moved.setLateLogin(rollupService.isLateLogin(moved, at(3, 9, 40)));
+        moved.setLoginTime(at(3, 9, 40));
+        changes.add(11L, LocalDate.of(2026, 3, 3), movedBefore, rollupService.contributionOf(moved));
+
+        rollupService.apply(changes);
+
+        ArgumentCaptor<Integer[]> late = ArgumentCaptor.forClass(Integer[].class);
+        verify(rollupRepository).addToRollups(any(), any(), any(), any(), late.capture(), any(), any(), any());
+        // Judging the first row again by the new threshold would have taken 1 off a count it never added to
+        assertThat(late.getValue()).containsExactly(0, 1);
+        assertThat(attendance.isLateLogin()).isFalse();
+    }
+}
@@ -0,0 +1,243 @@
+package com.hrms.employee.service;
+
+import com.hrms.core.entity.User;
+import com.hrms.core.repository.UserRepository;
+import com.hrms.employee.core.entity.Attendance;
+import com.hrms.employee.core.repository.AttendanceMonthlyRollupRepository;
+import com.hrms.employee.core.repository.AttendanceRepository;
+import com.hrms.employee.payload.request.AttendanceLogRequest;
+import com.hrms.hr.payload.request.AttendanceBatchRecord;
+import com.hrms.hr.payload.request.AttendanceBatchRequest;
+import com.hrms.hr.payload.response.AttendanceBatchSummaryDTO;
+import com.hrms.security.service.UserDetailsImpl;
+import com.hrms.service.config.SystemConfigValueProviderService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+
+    @Mock
+    private AttendanceRepository attendanceRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AttendanceMonthlyRollupRepository rollupRepository;
+
+    @Mock
+    private SystemConfigValueProviderService configValueProvider;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private AttendanceService attendanceService;
+
+    private UserDetailsImpl hrUser;
+
+    @BeforeEach
+    void setUp() {
+        AttendanceRollupService rollupService = new AttendanceRollupService();
+        ReflectionTestUtils.setField(rollupService, "rollupRepository", rollupRepository);
+        ReflectionTestUtils.setField(rollupService, "configValueProvider", configValueProvider);
+        ReflectionTestUtils.setField(attendanceService, "attendanceRollupService", rollupService);
+        lenient().when(configValueProvider.getLocalTimeValue(anyString(), any())).thenReturn(LocalTime.of(9, 30));
+        ReflectionTestUtils.setField(attendanceService, "maxBatchRecords", 100);
+        ReflectionTestUtils.setField(attendanceService, "batchChunkSize", 2);
+        hrUser = new UserDetailsImpl(1L, "hr", "hr@example.com", "pass", 7L, List.of(new SimpleGrantedAuthority("ROLE_HR")));
+    }
+
+    private static AttendanceUpsertCounts counts(long inserted, long updated) {
+        return new AttendanceUpsertCounts() {
+            @Override
+            public long getInserted() {
+                return inserted;
+            }
+
+            @Override
+            public long getUpdated() {
+                return updated;
+            }
+        };
+    }
+
+    // Built the way Spring Data maps a native row: a tuple-backed map with JDBC types behind the interface
+    private static AttendanceBatchRow locked(long employeeId, LocalTime login, LocalTime logout, Double totalHours) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("employeeId", employeeId);
+        row.put("workDate", Date.valueOf(DAY));
+        row.put("loginTime", Timestamp.valueOf(LocalDateTime.of(DAY, login)));
+        row.put("lateLogin", false);
+        row.put("logoutTime", logout != null ? Timestamp.valueOf(LocalDateTime.of(DAY, logout)) : null);
+        row.put("totalHours", totalHours);
+        row.put("regularized", false);
+        return new SpelAwareProxyProjectionFactory().createProjection(AttendanceBatchRow.class, row);
+    }
+
+    private static Attendance attendance(long employeeId, LocalTime login, LocalTime logout, Double totalHours) {
+        User employee = new User();
+        employee.setId(employeeId);
+        Attendance attendance = new Attendance();
+        attendance.setEmployee(employee);
+        attendance.setWorkDate(DAY);
+        attendance.setLoginTime(LocalDateTime.of(DAY, login));
+        attendance.setLogoutTime(logout != null ? LocalDateTime.of(DAY, logout) : null);
+        attendance.setTotalHours(totalHours);
+        return attendance;
+    }
+
+    @Test
+    void logOrUpdateAttendance_movesTheMonthlyRollupByTheChange() {
+        User employee = new User();
+        employee.setId(10L);
+        Attendance existing = attendance(10L, LocalTime.of(9, 45), null, null); // Late, no logout yet
+        existing.setLateLogin(true);
+        when(userRepository.findById(10L)).thenReturn(Optional.of(employee));
+        when(attendanceRepository.findByEmployeeAndWorkDateForUpdate(employee, DAY)).thenReturn(Optional.of(existing));
+        when(attendanceRepository.save(existing)).thenReturn(existing);
+        UserDetailsImpl currentUser = new UserDetailsImpl(10L, "emp", "emp@example.com", "pass", 7L, List.of());
+
+        attendanceService.logOrUpdateAttendance(new AttendanceLogRequest(DAY, LocalTime.of(9, 45), LocalTime.of(18, 15)), currentUser);
+
+        verify(rollupRepository).addToRollups(eq(new Long[]{10L}), eq(new LocalDate[]{LocalDate.of(2026, 3, 1)}),
+                                              eq(new Integer[]{0}), eq(new Double[]{8.5}), eq(new Integer[]{0}),
+                                              eq(new Integer[]{-1}), eq(new Integer[]{0}), any());
+    }
+
+    @Test
+    void ingestAttendanceBatch_upsertsValidRecordsInChunksWithTotalHours() {
+        List<AttendanceBatchRecord> records = List.of(
+                new AttendanceBatchRecord(10L, DAY, NINE, LocalTime.of(17, 30)),
+                new AttendanceBatchRecord(11L, DAY, NINE, null),
+                new AttendanceBatchRecord(12L, DAY, NINE, LocalTime.of(18, 0)));
+        when(userRepository.findActiveIdsByCompanyIdAndIdIn(eq(7L), anyCollection()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<Long>>getArgument(1)));
+        when(attendanceRepository.findForUpdateByEmployeeAndWorkDatePairs(any(), any(), eq(DAY), eq(DAY)))
+                .thenReturn(List.of(locked(11L, NINE, LocalTime.of(17, 0), 8.0)),
+                            List.of(locked(12L, NINE, LocalTime.of(18, 0), 9.0)));
+        when(attendanceRepository.upsertAttendance(any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(counts(1, 1), counts(0, 0));
+
+        AttendanceBatchSummaryDTO summary = attendanceService.ingestAttendanceBatch(new AttendanceBatchRequest(records), hrUser);
+
+        // Employee 10 is new, 11 lost its logout; 12 is unchanged, so the second chunk does not touch the rollup
+        verify(rollupRepository, times(1)).addToRollups(eq(new Long[]{10L, 11L}), any(), eq(new Integer[]{1, 0}),
+                                                        eq(new Double[]{8.5, -8.0}), eq(new Integer[]{0, 0}),
+                                                        eq(new Integer[]{0, 1}), eq(new Integer[]{0, 0}), any());
+
+        ArgumentCaptor<Long[]> ids = ArgumentCaptor.forClass(Long[].class);
+        ArgumentCaptor<LocalDateTime[]> logouts = ArgumentCaptor.forClass(LocalDateTime[].class);
+        ArgumentCaptor<Double[]> hours = ArgumentCaptor.forClass(Double[].class);
+        verify(attendanceRepository, times(2)).upsertAttendance(ids.capture(), any(), any(), any(), logouts.capture(), hours.capture(), any());
+        assertThat(ids.getAllValues().get(0)).containsExactly(10L, 11L);
+        assertThat(ids.getAllValues().get(1)).containsExactly(12L);
+        assertThat(logouts.getAllValues().get(0)).containsExactly(LocalDateTime.of(DAY, LocalTime.of(17, 30)), null);
+        assertThat(hours.getAllValues().get(0)).containsExactly(8.5, null);
+        assertThat(hours.getAllValues().get(1)).containsExactly(9.0);
+        assertThat(summary.getTotalRecordsProcessed()).isEqualTo(3);
+        assertThat(summary.getInserted()).isEqualTo(1);
+        assertThat(summary.getUpdated()).isEqualTo(1);
+        assertThat(summary.getUnchanged()).isEqualTo(1);
+        assertThat(summary.getFailedRecords()).isZero();
+
+        // Each chunk locks only its own pairs and leaves nothing in the persistence context
+        ArgumentCaptor<Long[]> lockedIds = ArgumentCaptor.forClass(Long[].class);
+        verify(attendanceRepository, times(2)).findForUpdateByEmployeeAndWorkDatePairs(lockedIds.capture(), any(), any(), any());
+        assertThat(lockedIds.getAllValues().get(0)).containsExactly(10L, 11L);
+        assertThat(lockedIds.getAllValues().get(1)).containsExactly(12L);
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void ingestAttendanceBatch_reportsInvalidAndForeignRecordsAndKeepsTheLastDuplicate() {
+        List<AttendanceBatchRecord> records = Arrays.asList(
+                new AttendanceBatchRecord(10L, DAY, NINE, null),
+                new AttendanceBatchRecord(10L, DAY, NINE, LocalTime.of(8, 0)), // Logout before login
+                new AttendanceBatchRecord(null, DAY, NINE, null),
+                new AttendanceBatchRecord(99L, DAY, NINE, null), // Not in the HR user's company
+                new AttendanceBatchRecord(10L, DAY, NINE, LocalTime.of(17, 0)),
+                null);
+        when(userRepository.findActiveIdsByCompanyIdAndIdIn(eq(7L), anyCollection())).thenReturn(List.of(10L));
+        when(attendanceRepository.upsertAttendance(any(), any(), any(), any(), any(), any(), any())).thenReturn(counts(1, 0));
+
+        AttendanceBatchSummaryDTO summary = attendanceService.ingestAttendanceBatch(new AttendanceBatchRequest(records), hrUser);
+
+        ArgumentCaptor<LocalDateTime[]> logouts = ArgumentCaptor.forClass(LocalDateTime[].class);
+        verify(attendanceRepository).upsertAttendance(any(), any(), any(), any(), logouts.capture(), any(), any());
+        assertThat(logouts.getValue()).containsExactly(LocalDateTime.of(DAY, LocalTime.of(17, 0)));
+        assertThat(summary.getSuperseded()).isEqualTo(1);
+        assertThat(summary.getInserted()).isEqualTo(1);
+        assertThat(summary.getFailedRecords()).isEqualTo(4);
+        assertThat(summary.getErrorDetails()).hasSize(4);
+        assertThat(summary.getErrorDetails().get(0)).startsWith("Record 2 (Employee: 10").contains("Logout time cannot be before login time");
+        assertThat(summary.getErrorDetails().get(1)).startsWith("Record 3").contains("Employee ID cannot be null");
+        assertThat(summary.getErrorDetails().get(2)).startsWith("Record 4 (Employee: 99").contains("not found or not active");
+        assertThat(summary.getErrorDetails().get(3)).isEqualTo("Record 6: Record is empty.");
+    }
+
+    @Test
+    void ingestAttendanceBatch_failsWhenARowAppearedAfterTheChunkWasLocked() {
+        List<AttendanceBatchRecord> records = List.of(new AttendanceBatchRecord(10L, DAY, NINE, null));
+        when(userRepository.findActiveIdsByCompanyIdAndIdIn(eq(7L), anyCollection())).thenReturn(List.of(10L));
+        when(attendanceRepository.upsertAttendance(any(), any(), any(), any(), any(), any(), any())).thenReturn(counts(0, 1));
+
+        assertThatThrownBy(() -> attendanceService.ingestAttendanceBatch(new AttendanceBatchRequest(records), hrUser))
+                .isInstanceOf(ConcurrencyFailureException.class);
+        verify(rollupRepository, never()).addToRollups(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void ingestAttendanceBatch_rejectsOversizedBatchesAndHrWithoutCompany() {
+        ReflectionTestUtils.setField(attendanceService, "maxBatchRecords", 1);
+        List<AttendanceBatchRecord> records = List.of(
+                new AttendanceBatchRecord(10L, DAY, NINE, null),
+                new AttendanceBatchRecord(11L, DAY, NINE, null));
+        UserDetailsImpl withoutCompany = new UserDetailsImpl(2L, "hr2", "hr2@example.com", "pass", null, List.of());
+
+        assertThatThrownBy(() -> attendanceService.ingestAttendanceBatch(new AttendanceBatchRequest(records), hrUser))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> attendanceService.ingestAttendanceBatch(new AttendanceBatchRequest(records), withoutCompany))
+                .isInstanceOf(IllegalStateException.class);
+        verify(attendanceRepository, never()).upsertAttendance(any(), any(), any(), any(), any(), any(), any());
+    }
+}
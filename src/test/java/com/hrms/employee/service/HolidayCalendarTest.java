@@ -0,0 +1,91 @@
+package com.hrms.employee.service;
+
+import com.hrms.employee.core.repository.HolidayRepository;
+import com.hrms.service.sync.SyncVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HolidayCalendarTest {
+
+    private static final Long ACME = 7L;
+    private static final Long GLOBEX = 9L;
+
+    @Mock private HolidayRepository holidayRepository;
+    @Mock private SyncVersionService syncVersionService;
+
+    @InjectMocks
+    private HolidayCalendar holidayCalendar;
+
+    @BeforeEach
+    void setUp() {
+        when(syncVersionService.currentVersion(HolidayCalendar.VERSION_KEY)).thenReturn(1L);
+        when(holidayRepository.findAllHolidayDays()).thenReturn(List.of(
+                new HolidayDay(null, LocalDate.of(2026, 1, 1), true),
+                new HolidayDay(null, LocalDate.of(2026, 12, 25), true),
+                new HolidayDay(ACME, LocalDate.of(2026, 3, 10), false),
+                new HolidayDay(ACME, LocalDate.of(2026, 12, 25), false),  // Same date as a global holiday
+                new HolidayDay(ACME, LocalDate.of(2028, 12, 31), false), // Last day of a leap year
+                new HolidayDay(GLOBEX, LocalDate.of(2026, 3, 11), false)));
+        holidayCalendar.load();
+    }
+
+    @Test
+    void isHoliday_combinesCompanyAndGlobalHolidays() {
+        assertThat(holidayCalendar.isHoliday(ACME, LocalDate.of(2026, 3, 10))).isTrue();
+        assertThat(holidayCalendar.isHoliday(ACME, LocalDate.of(2026, 1, 1))).isTrue();
+        assertThat(holidayCalendar.isHoliday(ACME, LocalDate.of(2026, 3, 11))).isFalse(); // Other company's holiday
+        assertThat(holidayCalendar.isHoliday(ACME, LocalDate.of(2028, 12, 31))).isTrue();
+        assertThat(holidayCalendar.isHoliday(ACME, LocalDate.of(2027, 3, 10))).isFalse();
+        assertThat(holidayCalendar.isHoliday(null, LocalDate.of(2026, 3, 10))).isFalse();
+        assertThat(holidayCalendar.isHoliday(42L, LocalDate.of(2026, 1, 1))).isTrue();
+    }
+
+    @Test
+    void isGlobalHoliday_ignoresCompanyHolidays() {
+        assertThat(holidayCalendar.isGlobalHoliday(LocalDate.of(2026, 12, 25))).isTrue();
+        assertThat(holidayCalendar.isGlobalHoliday(LocalDate.of(2026, 3, 10))).isFalse();
+        assertThat(holidayCalendar.isGlobalHoliday(LocalDate.of(1999, 1, 1))).isFalse();
+    }
+
+    @Test
+    void countHolidays_countsDistinctDatesInclusiveAcrossYears() {
+        assertThat(holidayCalendar.countHolidays(ACME, LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 10))).isEqualTo(1);
+        assertThat(holidayCalendar.countHolidays(ACME, LocalDate.of(2026, 3, 11), LocalDate.of(2026, 12, 24))).isZero();
+        assertThat(holidayCalendar.countHolidays(ACME, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31))).isEqualTo(3);
+        assertThat(holidayCalendar.countHolidays(ACME, LocalDate.of(2025, 6, 1), LocalDate.of(2029, 1, 31))).isEqualTo(4);
+        assertThat(holidayCalendar.countHolidays(GLOBEX, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31))).isEqualTo(3);
+        assertThat(holidayCalendar.countHolidays(ACME, LocalDate.of(2026, 5, 1), LocalDate.of(2026, 4, 1))).isZero();
+    }
+
+    @Test
+    void countHolidaysOnOrAfter_stopsAtLastIndexedYear() {
+        assertThat(holidayCalendar.countHolidaysOnOrAfter(ACME, LocalDate.of(2026, 3, 11))).isEqualTo(2);
+        assertThat(holidayCalendar.countHolidaysOnOrAfter(GLOBEX, LocalDate.of(2027, 1, 1))).isZero();
+        assertThat(holidayCalendar.countHolidaysOnOrAfter(ACME, LocalDate.of(2030, 1, 1))).isZero();
+    }
+
+    @Test
+    void pollForChanges_rebuildsOnlyWhenVersionMoved() {
+        holidayCalendar.pollForChanges();
+        verify(holidayRepository, times(1)).findAllHolidayDays();
+
+        when(syncVersionService.currentVersion(HolidayCalendar.VERSION_KEY)).thenReturn(2L);
+        when(holidayRepository.findAllHolidayDays()).thenReturn(List.of(new HolidayDay(null, LocalDate.of(2026, 3, 10), true)));
+        holidayCalendar.pollForChanges();
+
+        assertThat(holidayCalendar.getVersion()).isEqualTo(2L);
+        assertThat(holidayCalendar.isGlobalHoliday(LocalDate.of(2026, 3, 10))).isTrue();
+        assertThat(holidayCalendar.isHoliday(ACME, LocalDate.of(2026, 12, 25))).isFalse();
+    }
+}
@@ -0,0 +1,105 @@
+package com.hrms.hr.service;
+
+import com.hrms.audit.service.AuditLogService;
+import com.hrms.security.service.UserDetailsImpl;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceExportServiceTest {
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    @InjectMocks
+    private AttendanceExportService exportService;
+
+    private final UserDetailsImpl hrUser = new UserDetailsImpl(1L, "hr", "hr@example.com", "secret", 7L, List.of());
+
+    @BeforeEach
+    void setUp() {
+        // The export reads plain SQL, so a small in-memory database stands in for PostgreSQL
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:attendance_export;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50), first_name VARCHAR(100), " +
+                             "last_name VARCHAR(100), company_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE employee_attendance (id BIGINT PRIMARY KEY, employee_id BIGINT, work_date DATE, " +
+                             "login_time TIMESTAMP, logout_time TIMESTAMP, total_hours DOUBLE PRECISION, is_regularized BOOLEAN)");
+        jdbcTemplate.update("INSERT INTO users VALUES (10, 'asha', 'Asha', 'Rao, Jr.', 7), (11, 'ben', 'Ben \"BJ\"', 'Cole', 7), " +
+                            "(12, 'other', 'Other', 'Company', 8)");
+        jdbcTemplate.update("INSERT INTO employee_attendance VALUES " +
+                            "(1, 11, DATE '2026-03-02', TIMESTAMP '2026-03-02 09:00:00', TIMESTAMP '2026-03-02 17:30:00', 8.5, FALSE), " +
+                            "(2, 10, DATE '2026-03-03', TIMESTAMP '2026-03-03 09:45:00', NULL, NULL, TRUE), " +
+                            "(3, 10, DATE '2026-03-02', TIMESTAMP '2026-03-02 09:00:00', TIMESTAMP '2026-03-02 17:00:00', 8.0, FALSE), " +
+                            "(4, 10, DATE '2026-04-01', TIMESTAMP '2026-04-01 09:00:00', TIMESTAMP '2026-04-01 17:00:00', 8.0, FALSE), " +
+                            "(5, 12, DATE '2026-03-02', TIMESTAMP '2026-03-02 09:00:00', TIMESTAMP '2026-03-02 17:00:00', 8.0, FALSE)");
+
+        ReflectionTestUtils.setField(exportService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(exportService, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(exportService, "fetchSize", 2);
+        ReflectionTestUtils.setField(exportService, "bufferSize", 16);
+        exportService.init();
+    }
+
+    @Test
+    void exportCompanyMonth_csvListsTheCompanysMonthPerEmployeeAndDateWithQuotedFields() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportCompanyMonth(YearMonth.of(2026, 3), AttendanceExportService.Format.CSV, hrUser, out);
+
+        assertThat(rows).isEqualTo(3);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "employee_id,username,first_name,last_name,work_date,login_time,logout_time,total_hours,is_regularized\r\n" +
+                "10,asha,Asha,\"Rao, Jr.\",2026-03-02,2026-03-02T09:00,2026-03-02T17:00,8.0,false\r\n" +
+                "10,asha,Asha,\"Rao, Jr.\",2026-03-03,2026-03-03T09:45,,,true\r\n" +
+                "11,ben,\"Ben \"\"BJ\"\"\",Cole,2026-03-02,2026-03-02T09:00,2026-03-02T17:30,8.5,false\r\n");
+        verify(auditLogService).logEvent(eq("hr"), eq(1L), eq("ATTENDANCE_EXPORTED"), eq("Company"), eq("7"),
+                                         any(), any(), eq("SUCCESS"));
+    }
+
+    @Test
+    void exportCompanyMonth_ndjsonWritesOneObjectPerLine() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportCompanyMonth(YearMonth.of(2026, 3), AttendanceExportService.Format.NDJSON, hrUser, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[1]).isEqualTo("{\"employee_id\":10,\"username\":\"asha\",\"first_name\":\"Asha\",\"last_name\":\"Rao, Jr.\"," +
+                                       "\"work_date\":\"2026-03-03\",\"login_time\":\"2026-03-03T09:45\",\"logout_time\":null," +
+                                       "\"total_hours\":null,\"is_regularized\":true}");
+        assertThat(lines[2]).contains("\"first_name\":\"Ben \\\"BJ\\\"\"");
+    }
+
+    @Test
+    void exportCompanyMonth_rejectsHrUserWithoutCompany() {
+        UserDetailsImpl noCompany = new UserDetailsImpl(2L, "hr2", "hr2@example.com", "secret", null, List.of());
+
+        assertThatThrownBy(() -> exportService.exportCompanyMonth(YearMonth.of(2026, 3), AttendanceExportService.Format.CSV,
+                                                                  noCompany, new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(auditLogService);
+    }
+}
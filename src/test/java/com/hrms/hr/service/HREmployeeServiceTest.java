@@ -11,8 +11,10 @@ import com.hrms.employee.core.enums.TaskStatus;
 import com.hrms.employee.core.repository.TaskRepository;
 import com.hrms.employee.payload.response.EmployeeProfileResponse;
 import com.hrms.hr.payload.request.HRAddEmployeeRequest;
+import com.hrms.hr.payload.request.HRUpdateEmployeeRequest;
 import com.hrms.hr.payload.request.InitiateOffboardingRequest;
 import com.hrms.security.service.UserDetailsImpl;
+import com.hrms.security.service.TokenRevocationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -48,6 +50,7 @@ class HREmployeeServiceTest {
     @Mock private PasswordEncoder passwordEncoder;
     @Mock private AuditLogService auditLogService;
     @Mock private TaskRepository taskRepository;
+    @Mock private TokenRevocationService tokenRevocationService;
 
     @InjectMocks
     private HREmployeeService hrEmployeeService;
@@ -150,6 +153,7 @@ class HREmployeeServiceTest {
         verify(userRepository).save(userCaptor.capture());
         assertThat(userCaptor.getValue().isActive()).isFalse();
         assertThat(userCaptor.getValue().getReasonForLeaving()).isEqualTo("Resigned");
+        verify(tokenRevocationService).revokeUserTokens(2L, TokenRevocationService.REASON_OFFBOARDED);
 
         verify(auditLogService).logEvent(
             eq(mockHrUserDetails.getUsername()),
@@ -163,6 +167,44 @@ class HREmployeeServiceTest {
         );
     }
 
+    @Test
+    void updateEmployeeDetails_deactivation_revokesTokens() {
+        User employee = new User();
+        employee.setId(2L);
+        employee.setCompany(mockCompany);
+        employee.setActive(true);
+        HRUpdateEmployeeRequest request = new HRUpdateEmployeeRequest();
+        request.setIsActive(false);
+
+        when(userRepository.findById(mockHrUserDetails.getId())).thenReturn(Optional.of(mockHrUser));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(employee));
+        when(userRepository.save(any(User.class))).thenReturn(employee);
+
+        hrEmployeeService.updateEmployeeDetails(2L, request, mockHrUserDetails);
+
+        assertThat(employee.isActive()).isFalse();
+        verify(tokenRevocationService).revokeUserTokens(2L, TokenRevocationService.REASON_DEACTIVATED);
+    }
+
+    @Test
+    void updateEmployeeDetails_reactivation_keepsTokens() {
+        User employee = new User();
+        employee.setId(2L);
+        employee.setCompany(mockCompany);
+        employee.setActive(false);
+        HRUpdateEmployeeRequest request = new HRUpdateEmployeeRequest();
+        request.setIsActive(true);
+
+        when(userRepository.findById(mockHrUserDetails.getId())).thenReturn(Optional.of(mockHrUser));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(employee));
+        when(userRepository.save(any(User.class))).thenReturn(employee);
+
+        hrEmployeeService.updateEmployeeDetails(2L, request, mockHrUserDetails);
+
+        assertThat(employee.isActive()).isTrue();
+        verifyNoInteractions(tokenRevocationService); // Nothing issued while inactive needs revoking
+    }
+
     @Test
     void initiateOffboarding_selfDeactivation_throwsException() {
         InitiateOffboardingRequest request = new InitiateOffboardingRequest();
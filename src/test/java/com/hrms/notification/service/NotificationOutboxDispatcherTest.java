@@ -0,0 +1,160 @@
+package com.hrms.notification.service;
+
+import com.hrms.notification.entity.OutboxMessage;
+import com.hrms.notification.enums.OutboxStatus;
+import com.hrms.notification.repository.OutboxMessageRepository;
+import com.hrms.service.notification.EmailService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationOutboxDispatcherTest {
+
+    @Mock private OutboxMessageRepository outboxMessageRepository;
+    @Mock private EmailService emailService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private NotificationOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 10);
+        ReflectionTestUtils.setField(dispatcher, "workers", 2);
+        ReflectionTestUtils.setField(dispatcher, "maxPerSecond", 0.0);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "retryBaseMs", 1000L);
+        ReflectionTestUtils.setField(dispatcher, "retryMaxMs", 5000L);
+        ReflectionTestUtils.setField(dispatcher, "claimTimeoutMs", 60000L);
+        ReflectionTestUtils.setField(dispatcher, "dedupeWindowMinutes", 60L);
+        dispatcher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    private OutboxMessage message(long id, String dedupeKey, int attempts) {
+        OutboxMessage message = new OutboxMessage();
+        message.setId(id);
+        message.setRecipient("employee" + id + "@example.com");
+        message.setSubject("Subject");
+        message.setBody("Body");
+        message.setDedupeKey(dedupeKey);
+        message.setStatus(OutboxStatus.SENDING);
+        message.setAttempts(attempts);
+        message.setCreatedAt(LocalDateTime.now().minusSeconds(5));
+        return message;
+    }
+
+    @Test
+    void dispatchBatch_claimsSendsAndMarksSent() throws Exception {
+        List<OutboxMessage> batch = List.of(message(1L, "a", 0), message(2L, "b", 0));
+        when(outboxMessageRepository.findDispatchable(any(), any())).thenReturn(batch);
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(2);
+
+        verify(outboxMessageRepository).markSending(eq(List.of(1L, 2L)), any());
+        verify(emailService, times(2)).deliver(any(OutboxMessage.class));
+        ArgumentCaptor<Collection<Long>> sent = ArgumentCaptor.forClass(Collection.class);
+        verify(outboxMessageRepository).markSent(sent.capture(), any());
+        assertThat(sent.getValue()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(dispatcher.getSentCount()).isEqualTo(2);
+        assertThat(dispatcher.getAverageDeliveryLagMillis()).isGreaterThanOrEqualTo(5000);
+    }
+
+    @Test
+    void dispatchBatch_skipsDuplicatesInBatchAndRecentlySent() throws Exception {
+        List<OutboxMessage> batch = List.of(message(1L, "a", 0), message(2L, "a", 0), message(3L, "sent-earlier", 0));
+        when(outboxMessageRepository.findDispatchable(any(), any())).thenReturn(batch);
+        when(outboxMessageRepository.findRecentlySentDedupeKeys(anyCollection(), any())).thenReturn(List.of("sent-earlier"));
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxMessageRepository).markDuplicate(List.of(2L, 3L));
+        verify(emailService, times(1)).deliver(any(OutboxMessage.class));
+        verify(outboxMessageRepository).markSent(eq(List.of(1L)), any());
+        assertThat(dispatcher.getDuplicateCount()).isEqualTo(2);
+    }
+
+    @Test
+    void dispatchBatch_failedSendIsRescheduledWithBackoff() throws Exception {
+        OutboxMessage failing = message(1L, "a", 1);
+        when(outboxMessageRepository.findDispatchable(any(), any())).thenReturn(List.of(failing));
+        doThrow(new MailSendException("421 try again later")).when(emailService).deliver(failing);
+        when(outboxMessageRepository.findAllById(anyIterable())).thenReturn(List.of(failing));
+
+        dispatcher.dispatchBatch();
+
+        assertThat(failing.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(failing.getAttempts()).isEqualTo(2);
+        assertThat(failing.getLastError()).contains("421 try again later");
+        assertThat(failing.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(1));
+        verify(outboxMessageRepository).save(failing);
+        verify(outboxMessageRepository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void dispatchBatch_givesUpAfterMaxAttempts() throws Exception {
+        OutboxMessage failing = message(1L, "a", 2);
+        when(outboxMessageRepository.findDispatchable(any(), any())).thenReturn(List.of(failing));
+        doThrow(new MailSendException("550 mailbox unavailable")).when(emailService).deliver(failing);
+        when(outboxMessageRepository.findAllById(anyIterable())).thenReturn(List.of(failing));
+
+        dispatcher.dispatchBatch();
+
+        assertThat(failing.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(failing.getAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    void dispatchPending_drainsFullBatchesUntilAShortOne() {
+        when(emailService.isMailConfigured()).thenReturn(true);
+        List<OutboxMessage> full = new java.util.ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            full.add(message(id, "k" + id, 0));
+        }
+        when(outboxMessageRepository.findDispatchable(any(), any())).thenReturn(full, List.of(message(11L, "k11", 0)));
+
+        dispatcher.dispatchPending();
+
+        verify(outboxMessageRepository, times(2)).findDispatchable(any(), any());
+        assertThat(dispatcher.getSentCount()).isEqualTo(11);
+    }
+
+    @Test
+    void dispatchPending_doesNothingWithoutMailConfiguration() {
+        when(emailService.isMailConfigured()).thenReturn(false);
+
+        dispatcher.dispatchPending();
+
+        verifyNoInteractions(outboxMessageRepository);
+    }
+
+    @Test
+    void backoffMillis_doublesUpToTheCap() {
+        assertThat(dispatcher.backoffMillis(1)).isEqualTo(1000);
+        assertThat(dispatcher.backoffMillis(2)).isEqualTo(2000);
+        assertThat(dispatcher.backoffMillis(3)).isEqualTo(4000);
+        assertThat(dispatcher.backoffMillis(4)).isEqualTo(5000);
+        assertThat(dispatcher.backoffMillis(40)).isEqualTo(5000);
+    }
+}
@@ -0,0 +1,87 @@
+package com.hrms.notification.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares one SMTP connection per message (JavaMailSenderImpl.send) with pooled connections, against the
+ * in-process SMTP stand-in. greetingDelayMillis stands in for the connect, STARTTLS and AUTH round trips of
+ * a real relay; at 0 only the TCP connect and EHLO/QUIT are saved.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.include=SmtpBulkSendBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(4)
+public class SmtpBulkSendBenchmark {
+
+    @Param({"0", "20"})
+    private long greetingDelayMillis;
+
+    private SmtpStandIn server;
+    private JavaMailSenderImpl mailSender;
+    private SmtpTransportPool pool;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new SmtpStandIn();
+        server.setGreetingDelayMillis(greetingDelayMillis);
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(server.getPort());
+        pool = new SmtpTransportPool();
+        ReflectionTestUtils.setField(pool, "mailSender", mailSender);
+        ReflectionTestUtils.setField(pool, "poolSize", 4);
+        ReflectionTestUtils.setField(pool, "maxMessagesPerConnection", 100);
+        ReflectionTestUtils.setField(pool, "maxIdleMs", 30000L);
+        ReflectionTestUtils.setField(pool, "borrowTimeoutMs", 30000L);
+        pool.init();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        server.close();
+    }
+
+    private MimeMessage message() throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "utf-8");
+        helper.setFrom("noreply@hrms.example.com");
+        helper.setTo("employee@example.com");
+        helper.setSubject("Attendance alert");
+        helper.setText("<p>Your logout time for yesterday is missing. Please regularize it.</p>", true);
+        return message;
+    }
+
+    @Benchmark
+    public void connectionPerMessage() throws MessagingException {
+        mailSender.send(message());
+    }
+
+    @Benchmark
+    public void pooledConnections() throws MessagingException {
+        pool.send(message());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SmtpBulkSendBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
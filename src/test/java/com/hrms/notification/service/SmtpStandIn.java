@@ -0,0 +1,126 @@
+package com.hrms.notification.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process SMTP server for tests and benchmarks: accepts every message, counts connections
+ * and messages, and can delay its greeting (to stand in for TLS and AUTH cost) or drop each connection
+ * silently after a number of messages (to simulate a server closing idle or long-lived sessions).
+ */
+public class SmtpStandIn implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "smtp-stand-in");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger messages = new AtomicInteger();
+    private volatile long greetingDelayMillis;
+    private volatile int dropAfterMessages; // 0 = never
+
+    public SmtpStandIn() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        sessions.submit(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    public int getMessages() {
+        return messages.get();
+    }
+
+    public void setGreetingDelayMillis(long greetingDelayMillis) {
+        this.greetingDelayMillis = greetingDelayMillis;
+    }
+
+    public void setDropAfterMessages(int dropAfterMessages) {
+        this.dropAfterMessages = dropAfterMessages;
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                sessions.submit(() -> session(socket));
+            } catch (IOException e) {
+                return; // Closed
+            }
+        }
+    }
+
+    private void session(Socket socket) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream raw = socket.getOutputStream();
+            Writer out = new OutputStreamWriter(raw, StandardCharsets.US_ASCII);
+            if (greetingDelayMillis > 0) {
+                Thread.sleep(greetingDelayMillis);
+            }
+            reply(out, "220 stand-in ESMTP");
+            int sessionMessages = 0;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-stand-in\r\n250 8BITMIME");
+                    case "HELO", "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Discard the message body
+                        }
+                        messages.incrementAndGet();
+                        sessionMessages++;
+                        reply(out, "250 OK queued");
+                        if (dropAfterMessages > 0 && sessionMessages >= dropAfterMessages) {
+                            return; // Hang up without a 421, as servers do on idle or session limits
+                        }
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // Client went away
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void reply(Writer out, String response) throws IOException {
+        out.write(response);
+        out.write("\r\n");
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+}
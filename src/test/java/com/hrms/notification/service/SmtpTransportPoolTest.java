@@ -0,0 +1,119 @@
+package com.hrms.notification.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmtpTransportPoolTest {
+
+    private SmtpStandIn server;
+    private JavaMailSenderImpl mailSender;
+    private SmtpTransportPool pool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new SmtpStandIn();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(server.getPort());
+        pool = newPool(2, 100);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        pool.shutdown();
+        server.close();
+    }
+
+    private SmtpTransportPool newPool(int size, int maxMessagesPerConnection) {
+        SmtpTransportPool newPool = new SmtpTransportPool();
+        ReflectionTestUtils.setField(newPool, "mailSender", mailSender);
+        ReflectionTestUtils.setField(newPool, "poolSize", size);
+        ReflectionTestUtils.setField(newPool, "maxMessagesPerConnection", maxMessagesPerConnection);
+        ReflectionTestUtils.setField(newPool, "maxIdleMs", 30000L);
+        ReflectionTestUtils.setField(newPool, "borrowTimeoutMs", 5000L);
+        newPool.init();
+        return newPool;
+    }
+
+    private MimeMessage message(int n) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "utf-8");
+        helper.setFrom("noreply@hrms.example.com");
+        helper.setTo("employee" + n + "@example.com");
+        helper.setSubject("Attendance alert " + n);
+        helper.setText("<p>Please review your attendance.</p>", true);
+        return message;
+    }
+
+    @Test
+    void send_reusesConnectionsAcrossMessages() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                int n = i;
+                futures.add(callers.submit(() -> {
+                    pool.send(message(n));
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            callers.shutdown();
+        }
+
+        assertThat(server.getMessages()).isEqualTo(60);
+        assertThat(server.getConnections()).isLessThanOrEqualTo(2); // Bounded by the pool, not by the callers
+        assertThat(pool.getMessagesSent()).isEqualTo(60);
+    }
+
+    @Test
+    void send_retiresConnectionAfterMessageLimit() throws Exception {
+        pool = newPool(1, 10);
+
+        for (int i = 0; i < 25; i++) {
+            pool.send(message(i));
+        }
+
+        assertThat(server.getMessages()).isEqualTo(25);
+        assertThat(server.getConnections()).isEqualTo(3);
+    }
+
+    @Test
+    void send_reconnectsWhenServerDroppedTheConnection() throws Exception {
+        pool = newPool(1, 100);
+        server.setDropAfterMessages(5);
+
+        for (int i = 0; i < 12; i++) {
+            pool.send(message(i));
+        }
+
+        assertThat(server.getMessages()).isEqualTo(12);
+        assertThat(server.getConnections()).isEqualTo(3);
+        assertThat(pool.getReconnects()).isEqualTo(2);
+    }
+
+    @Test
+    void isAvailable_requiresJavaMailSenderImpl() {
+        SmtpTransportPool withoutSender = new SmtpTransportPool();
+
+        assertThat(withoutSender.isAvailable()).isFalse();
+        assertThat(pool.isAvailable()).isTrue();
+    }
+}
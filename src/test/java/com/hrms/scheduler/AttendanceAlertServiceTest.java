@@ -0,0 +1,108 @@
+package com.hrms.scheduler;
+
+import com.hrms.core.repository.UserRepository;
+import com.hrms.employee.service.HolidayCalendar;
+import com.hrms.scheduler.batch.InMemoryJobRuns;
+import com.hrms.scheduler.lease.JobLeaseService;
+import com.hrms.scheduler.lease.JobPartition;
+import com.hrms.service.notification.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceAlertServiceTest {
+
+    private static final LocalDate WORK_DATE = LocalDate.of(2026, 3, 10);
+
+    @Mock private UserRepository userRepository;
+    @Mock private HolidayCalendar holidayCalendar;
+    @Mock private EmailService emailService;
+    @Mock private JobLeaseService jobLeaseService;
+
+    @InjectMocks
+    private AttendanceAlertService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "unrecordedLeavePageSize", 2);
+        ReflectionTestUtils.setField(service, "chunkedJobRunner", new InMemoryJobRuns().newRunner(2));
+        // This node wins the lease for the only partition
+        lenient().when(jobLeaseService.runPartitioned(anyString(), any())).thenAnswer(inv -> {
+            inv.<Consumer<JobPartition>>getArgument(1).accept(JobPartition.SINGLE);
+            return 1;
+        });
+    }
+
+    private static UnrecordedLeaveCandidate candidate(long id) {
+        return new UnrecordedLeaveCandidate(id, "Emp" + id, "emp" + id + "@example.com");
+    }
+
+    @Test
+    void detectUnrecordedLeave_walksKeysetPagesUntilAShortPage() {
+        when(userRepository.findUnrecordedLeaveCandidates(eq(WORK_DATE), eq(0L), eq(0), eq(1), any(Pageable.class)))
+                .thenReturn(List.of(candidate(3), candidate(7)));
+        when(userRepository.findUnrecordedLeaveCandidates(eq(WORK_DATE), eq(7L), eq(0), eq(1), any(Pageable.class)))
+                .thenReturn(List.of(candidate(12)));
+
+        service.detectUnrecordedLeave(WORK_DATE);
+
+        verify(userRepository, times(2)).findUnrecordedLeaveCandidates(eq(WORK_DATE), anyLong(), anyInt(), anyInt(), any(Pageable.class));
+        verify(emailService, times(3)).sendHtmlMailFromTemplate(anyString(), anyString(), eq("unrecorded-leave-alert.html"), any());
+        verify(emailService).sendHtmlMailFromTemplate(eq("emp12@example.com"), anyString(), anyString(), any());
+    }
+
+    @Test
+    void detectUnrecordedLeave_skipsEmployeesWithoutEmailAndKeepsPaging() {
+        when(userRepository.findUnrecordedLeaveCandidates(eq(WORK_DATE), eq(0L), eq(0), eq(1), any(Pageable.class)))
+                .thenReturn(List.of(new UnrecordedLeaveCandidate(4L, "NoMail", null), candidate(5)));
+        when(userRepository.findUnrecordedLeaveCandidates(eq(WORK_DATE), eq(5L), eq(0), eq(1), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        service.detectUnrecordedLeave(WORK_DATE);
+
+        verify(emailService).sendHtmlMailFromTemplate(eq("emp5@example.com"), anyString(), anyString(), any());
+        verifyNoMoreInteractions(emailService);
+    }
+
+    @Test
+    void detectUnrecordedLeave_rerunForSameDateDoesNotAlertAgain() {
+        when(userRepository.findUnrecordedLeaveCandidates(eq(WORK_DATE), eq(0L), eq(0), eq(1), any(Pageable.class)))
+                .thenReturn(List.of(candidate(3)));
+
+        service.detectUnrecordedLeave(WORK_DATE);
+        service.detectUnrecordedLeave(WORK_DATE);
+
+        verify(emailService, times(1)).sendHtmlMailFromTemplate(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void detectUnrecordedLeave_skipsPartitionsLeasedByOtherNodes() {
+        doReturn(0).when(jobLeaseService).runPartitioned(anyString(), any());
+
+        service.detectUnrecordedLeave(WORK_DATE);
+
+        verifyNoInteractions(userRepository, emailService);
+    }
+
+    @Test
+    void detectUnrecordedLeave_globalHolidaySkipsTheQuery() {
+        when(holidayCalendar.isGlobalHoliday(WORK_DATE)).thenReturn(true);
+
+        service.detectUnrecordedLeave(WORK_DATE);
+
+        verifyNoInteractions(userRepository, emailService);
+    }
+}
@@ -0,0 +1,174 @@
+package com.hrms.scheduler;
+
+import com.hrms.employee.core.repository.TaskRepository;
+import com.hrms.scheduler.batch.InMemoryJobRuns;
+import com.hrms.scheduler.lease.JobLeaseService;
+import com.hrms.scheduler.lease.JobPartition;
+import com.hrms.service.notification.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.context.Context;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskManagementJobServiceTest {
+
+    private static final LocalDateTime DEADLINE = LocalDateTime.of(2026, 3, 9, 18, 0);
+    private static final List<String> OPEN_STATUSES = List.of("TODO", "IN_PROGRESS");
+
+    @Mock private TaskRepository taskRepository;
+    @Mock private EmailService emailService;
+    @Mock private JobLeaseService jobLeaseService;
+
+    @InjectMocks
+    private TaskManagementJobService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "chunkedJobRunner", new InMemoryJobRuns().newRunner(3));
+        ReflectionTestUtils.setField(service, "autoCloseChunkSize", 3);
+        // This node wins the lease for the only partition
+        lenient().when(jobLeaseService.runPartitioned(anyString(), any())).thenAnswer(inv -> {
+            inv.<Consumer<JobPartition>>getArgument(1).accept(JobPartition.SINGLE);
+            return 1;
+        });
+    }
+
+    // Built the way Spring Data maps a native row: a tuple-backed map with JDBC types behind the interface
+    private static TaskNotificationRow closed(long taskId, long assigneeId, Long assignerId) {
+        return new SpelAwareProxyProjectionFactory().createProjection(TaskNotificationRow.class, row(taskId, assigneeId, assignerId));
+    }
+
+    // One auto-close chunk: the closed tasks, each carrying the scan's last id and size, or the lone scan row
+    private static List<OverdueTaskClosureRow> chunk(Long scannedLastId, long scannedCount, TaskNotificationRow... closed) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (TaskNotificationRow task : closed) {
+            rows.add(row(task.getTaskId(), task.getAssigneeId(), task.getAssignerId()));
+        }
+        if (rows.isEmpty()) {
+            rows.add(new HashMap<>());
+        }
+        List<OverdueTaskClosureRow> projected = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            row.put("scannedLastId", scannedLastId);
+            row.put("scannedCount", scannedCount);
+            projected.add(new SpelAwareProxyProjectionFactory().createProjection(OverdueTaskClosureRow.class, row));
+        }
+        return projected;
+    }
+
+    private static Map<String, Object> row(long taskId, long assigneeId, Long assignerId) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("taskId", taskId);
+        row.put("title", "Task " + taskId);
+        row.put("deadline", Timestamp.valueOf(DEADLINE));
+        row.put("assigneeId", assigneeId);
+        row.put("assigneeFirstName", "Emp" + assigneeId);
+        row.put("assigneeLastName", "Last" + assigneeId);
+        row.put("assigneeEmail", "emp" + assigneeId + "@example.com");
+        row.put("assignerId", assignerId);
+        row.put("assignerFirstName", assignerId != null ? "Lead" + assignerId : null);
+        row.put("assignerEmail", assignerId != null ? "lead" + assignerId + "@example.com" : null);
+        return row;
+    }
+
+    @Test
+    void autoCloseOverdueTasks_closesKeysetChunksUntilAScanFindsNothing() {
+        when(taskRepository.closeOverdueTasks(any(), eq(OPEN_STATUSES), eq("AUTO_CLOSED_DEADLINE_PASSED"), eq(0L), eq(0), eq(1), eq(3)))
+                .thenReturn(chunk(5L, 3, closed(1, 10, 50L), closed(2, 11, 50L), closed(5, 12, 51L)));
+        // Tasks 6 and 7 were completed between the scan and the UPDATE: a short chunk, but not the end of the input
+        when(taskRepository.closeOverdueTasks(any(), anyList(), anyString(), eq(5L), eq(0), eq(1), eq(3)))
+                .thenReturn(chunk(8L, 3, closed(8, 13, 51L)));
+        when(taskRepository.closeOverdueTasks(any(), anyList(), anyString(), eq(8L), eq(0), eq(1), eq(3)))
+                .thenReturn(chunk(null, 0));
+
+        service.autoCloseOverdueTasks();
+
+        verify(taskRepository, times(3)).closeOverdueTasks(any(), anyList(), anyString(), anyLong(), anyInt(), anyInt(), anyInt());
+        verify(taskRepository, never()).save(any());
+        verify(emailService, times(4)).sendHtmlMailFromTemplate(startsWith("emp"), anyString(), eq("task-auto-closed-notification.html"), any());
+    }
+
+    @Test
+    void autoCloseOverdueTasks_sendsOneDigestPerAssignerInAChunk() {
+        when(taskRepository.closeOverdueTasks(any(), anyList(), anyString(), eq(0L), anyInt(), anyInt(), anyInt()))
+                .thenReturn(chunk(3L, 3, closed(1, 10, 50L), closed(2, 11, 50L), closed(3, 12, 51L)));
+        when(taskRepository.closeOverdueTasks(any(), anyList(), anyString(), eq(3L), anyInt(), anyInt(), anyInt()))
+                .thenReturn(chunk(null, 0));
+
+        service.autoCloseOverdueTasks();
+
+        ArgumentCaptor<Context> digest = ArgumentCaptor.forClass(Context.class);
+        verify(emailService).sendHtmlMailFromTemplate(eq("lead50@example.com"), eq("2 Tasks Assigned by You Auto-Closed"),
+                eq("task-auto-closed-digest.html"), digest.capture());
+        assertThat((List<Object>) digest.getValue().getVariable("tasks")).hasSize(2);
+        verify(emailService).sendHtmlMailFromTemplate(eq("lead51@example.com"), eq("Task Assigned by You Auto-Closed: Task 3"),
+                eq("task-auto-closed-assigner-notification.html"), any());
+    }
+
+    @Test
+    void autoCloseOverdueTasks_groupsAssigneeTasksAndSkipsSelfAssignedOrOrphanedAssigners() {
+        when(taskRepository.closeOverdueTasks(any(), anyList(), anyString(), eq(0L), anyInt(), anyInt(), anyInt()))
+                .thenReturn(chunk(2L, 2, closed(1, 10, 10L), closed(2, 10, null)));
+        when(taskRepository.closeOverdueTasks(any(), anyList(), anyString(), eq(2L), anyInt(), anyInt(), anyInt()))
+                .thenReturn(chunk(null, 0));
+
+        service.autoCloseOverdueTasks();
+
+        ArgumentCaptor<Context> digest = ArgumentCaptor.forClass(Context.class);
+        verify(emailService).sendHtmlMailFromTemplate(eq("emp10@example.com"), eq("2 Tasks Auto-Closed"),
+                eq("task-auto-closed-digest.html"), digest.capture());
+        assertThat((List<Object>) digest.getValue().getVariable("tasks"))
+                .containsExactly("<strong>Task 1</strong>, due on 2026-03-09", "<strong>Task 2</strong>, due on 2026-03-09");
+        verifyNoMoreInteractions(emailService);
+    }
+
+    @Test
+    void autoCloseOverdueTasks_movesPastAChunkThatClosedNothing() {
+        // Every scanned task was completed concurrently: the UPDATE returns no task, only the scan
+        when(taskRepository.closeOverdueTasks(any(), anyList(), anyString(), eq(0L), anyInt(), anyInt(), anyInt()))
+                .thenReturn(chunk(3L, 3));
+        when(taskRepository.closeOverdueTasks(any(), anyList(), anyString(), eq(3L), anyInt(), anyInt(), anyInt()))
+                .thenReturn(chunk(4L, 1, closed(4, 10, null)));
+        when(taskRepository.closeOverdueTasks(any(), anyList(), anyString(), eq(4L), anyInt(), anyInt(), anyInt()))
+                .thenReturn(chunk(null, 0));
+
+        service.autoCloseOverdueTasks();
+
+        verify(emailService).sendHtmlMailFromTemplate(eq("emp10@example.com"), eq("Task Auto-Closed: Task 4"),
+                eq("task-auto-closed-notification.html"), any());
+        verifyNoMoreInteractions(emailService);
+    }
+
+    @Test
+    void remindDueTasks_remindsOnlyTasksTheConditionalUpdateStamped() {
+        LocalDateTime now = DEADLINE.minusHours(1);
+        when(taskRepository.markRemindersSent(eq(List.of(1L, 2L)), eq(now), eq(OPEN_STATUSES)))
+                .thenReturn(List.of(closed(2, 11, 50L))); // Task 1 was completed or reminded by another node
+
+        int reminded = service.remindDueTasks(List.of(1L, 2L), now);
+
+        assertThat(reminded).isEqualTo(1);
+        verify(emailService).sendHtmlMailFromTemplate(eq("emp11@example.com"), eq("Task Due Soon: Task 2"),
+                eq("generic-notification.html"), any());
+        verifyNoMoreInteractions(emailService);
+    }
+}
@@ -0,0 +1,191 @@
+package com.hrms.scheduler;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous per-employee unrecorded-leave check (one user scan plus three lookups per employee)
+ * with the keyset-paged anti-join, against an in-memory H2 database seeded with 100k users.
+ * The SQL mirrors what Hibernate generates for UserRepository.findUnrecordedLeaveCandidates.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.include=UnrecordedLeaveBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class UnrecordedLeaveBenchmark {
+
+    private static final LocalDate CHECK_DATE = LocalDate.of(2026, 3, 10);
+    private static final int COMPANIES = 50;
+    private static final int PAGE_SIZE = 1000;
+
+    private static final String ANTI_JOIN_PAGE =
+            "SELECT u.id, u.first_name, u.email FROM users u WHERE u.is_active = TRUE AND u.id > ? " +
+            "AND NOT EXISTS (SELECT 1 FROM employee_attendance a WHERE a.employee_id = u.id AND a.work_date = ?) " +
+            "AND NOT EXISTS (SELECT 1 FROM employee_leave_requests lr WHERE lr.employee_id = u.id " +
+            "    AND lr.status = 'APPROVED' AND ? BETWEEN lr.start_date AND lr.end_date) " +
+            "AND NOT EXISTS (SELECT 1 FROM company_holidays h WHERE h.company_id = u.company_id AND h.date = ?) " +
+            "ORDER BY u.id FETCH FIRST " + PAGE_SIZE + " ROWS ONLY";
+
+    @Param({"100000"})
+    public int users;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void seed() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:unrecorded_leave;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, first_name VARCHAR(100), email VARCHAR(255), " +
+                       "is_active BOOLEAN NOT NULL, company_id BIGINT)");
+            // Same constraint and indexes as V2 plus the V25 anti-join indexes
+            st.execute("CREATE TABLE employee_attendance (id BIGINT AUTO_INCREMENT PRIMARY KEY, employee_id BIGINT NOT NULL, " +
+                       "work_date DATE NOT NULL, CONSTRAINT uq_att UNIQUE (employee_id, work_date))");
+            st.execute("CREATE TABLE employee_leave_requests (id BIGINT AUTO_INCREMENT PRIMARY KEY, employee_id BIGINT NOT NULL, " +
+                       "start_date DATE NOT NULL, end_date DATE NOT NULL, status VARCHAR(50) NOT NULL)");
+            st.execute("CREATE INDEX idx_leave_emp_dates ON employee_leave_requests(employee_id, start_date, end_date)");
+            st.execute("CREATE TABLE company_holidays (id BIGINT AUTO_INCREMENT PRIMARY KEY, company_id BIGINT, " +
+                       "date DATE NOT NULL, is_global BOOLEAN NOT NULL)");
+            st.execute("CREATE INDEX idx_holidays_company_date ON company_holidays(company_id, date)");
+        }
+        connection.setAutoCommit(false);
+        // ~95% active; of those ~90% attended, ~3% on approved leave, and company 1 has a holiday on the date
+        try (PreparedStatement user = connection.prepareStatement("INSERT INTO users VALUES (?, ?, ?, ?, ?)");
+             PreparedStatement attendance = connection.prepareStatement(
+                     "INSERT INTO employee_attendance (employee_id, work_date) VALUES (?, ?)");
+             PreparedStatement leave = connection.prepareStatement(
+                     "INSERT INTO employee_leave_requests (employee_id, start_date, end_date, status) VALUES (?, ?, ?, ?)")) {
+            Date checkDate = Date.valueOf(CHECK_DATE);
+            for (long id = 1; id <= users; id++) {
+                user.setLong(1, id);
+                user.setString(2, "Emp" + id);
+                user.setString(3, "emp" + id + "@example.com");
+                user.setBoolean(4, id % 20 != 0);
+                user.setLong(5, id % COMPANIES + 1);
+                user.addBatch();
+                if (id % 10 != 0) {
+                    attendance.setLong(1, id);
+                    attendance.setDate(2, checkDate);
+                    attendance.addBatch();
+                } else if (id % 30 == 0) {
+                    leave.setLong(1, id);
+                    leave.setDate(2, Date.valueOf(CHECK_DATE.minusDays(1)));
+                    leave.setDate(3, Date.valueOf(CHECK_DATE.plusDays(1)));
+                    leave.setString(4, "APPROVED");
+                    leave.addBatch();
+                }
+                if (id % 5000 == 0) {
+                    user.executeBatch();
+                    attendance.executeBatch();
+                    leave.executeBatch();
+                }
+            }
+            user.executeBatch();
+            attendance.executeBatch();
+            leave.executeBatch();
+        }
+        try (PreparedStatement holiday = connection.prepareStatement(
+                "INSERT INTO company_holidays (company_id, date, is_global) VALUES (1, ?, FALSE)")) {
+            holiday.setDate(1, Date.valueOf(CHECK_DATE));
+            holiday.executeUpdate();
+        }
+        connection.commit();
+        try (Statement st = connection.createStatement()) {
+            st.execute("ANALYZE");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    /**
+     * Reproduces the previous path: findByIsActiveTrue, then existsByCompanyIdAndDate,
+     * existsByEmployeeAndWorkDate and hasApprovedLeaveForDate for every active employee.
+     */
+    @Benchmark
+    public List<Long> legacyPerEmployee() throws SQLException {
+        Date checkDate = Date.valueOf(CHECK_DATE);
+        List<long[]> active = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT id, company_id, first_name, email FROM users WHERE is_active = TRUE");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                active.add(new long[]{rs.getLong(1), rs.getLong(2)});
+            }
+        }
+        List<Long> unrecorded = new ArrayList<>();
+        try (PreparedStatement holiday = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM company_holidays WHERE company_id = ? AND date = ?");
+             PreparedStatement attendance = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM employee_attendance WHERE employee_id = ? AND work_date = ?");
+             PreparedStatement leave = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM employee_leave_requests WHERE employee_id = ? AND status = 'APPROVED' " +
+                     "AND ? BETWEEN start_date AND end_date")) {
+            for (long[] employee : active) {
+                if (exists(holiday, employee[1], checkDate)
+                        || exists(attendance, employee[0], checkDate)
+                        || exists(leave, employee[0], checkDate)) {
+                    continue;
+                }
+                unrecorded.add(employee[0]);
+            }
+        }
+        return unrecorded;
+    }
+
+    private static boolean exists(PreparedStatement ps, long id, Date date) throws SQLException {
+        ps.setLong(1, id);
+        ps.setDate(2, date);
+        try (ResultSet rs = ps.executeQuery()) {
+            return rs.next() && rs.getLong(1) > 0;
+        }
+    }
+
+    @Benchmark
+    public List<Long> antiJoinKeyset() throws SQLException {
+        Date checkDate = Date.valueOf(CHECK_DATE);
+        List<Long> unrecorded = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(ANTI_JOIN_PAGE)) {
+            long afterId = 0L;
+            int pageRows;
+            do {
+                ps.setLong(1, afterId);
+                ps.setDate(2, checkDate);
+                ps.setDate(3, checkDate);
+                ps.setDate(4, checkDate);
+                pageRows = 0;
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        afterId = rs.getLong(1);
+                        unrecorded.add(afterId);
+                        pageRows++;
+                    }
+                }
+            } while (pageRows == PAGE_SIZE);
+        }
+        return unrecorded;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(UnrecordedLeaveBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,156 @@
+package com.hrms.scheduler.anomaly;
+
+import com.hrms.employee.core.repository.AttendanceRepository;
+import com.hrms.scheduler.batch.InMemoryJobRuns;
+import com.hrms.scheduler.lease.JobPartition;
+import com.hrms.service.notification.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceAnomalyEngineTest {
+
+    private static final LocalDate WORK_DATE = LocalDate.of(2026, 3, 10);
+
+    @Mock private AttendanceRepository attendanceRepository;
+    @Mock private EmailService emailService;
+
+    @InjectMocks
+    private AttendanceAnomalyEngine engine;
+
+    private AnomalyCheckContext context;
+
+    @BeforeEach
+    void setUp() {
+        List<AttendanceAnomalyRule> rules = List.of(new UnderworkRule(), new MissedLogoutRule(), new EarlyLogoutRule(), new LateLoginRule());
+        rules.forEach(rule -> ReflectionTestUtils.setField(rule, "attendanceRepository", attendanceRepository));
+        ReflectionTestUtils.setField(engine, "rules", rules);
+        ReflectionTestUtils.setField(engine, "chunkedJobRunner", new InMemoryJobRuns().newRunner(1000));
+        ReflectionTestUtils.setField(engine, "chunkSize", 1000);
+        context = new AnomalyCheckContext(WORK_DATE, 8.0, LocalTime.of(9, 30), false);
+    }
+
+    private static AttendanceAlertRow row(long id, LocalTime login, LocalTime logout, Double hours,
+                                          boolean regularized, LocalDateTime lateLoginAlertSentAt) {
+        return new AttendanceAlertRow(id, 100 + id, "Emp" + id, "emp" + id + "@example.com",
+                WORK_DATE.atTime(login), logout != null ? WORK_DATE.atTime(logout) : null, hours, regularized,
+                null, null, null, lateLoginAlertSentAt);
+    }
+
+    @Test
+    void run_classifiesEachRowAgainstAllRulesInOnePass() {
+        when(attendanceRepository.findAlertCandidates(eq(WORK_DATE), eq(0L), eq(0), eq(1), eq(8.0), eq(LocalTime.of(9, 30)), any(Pageable.class))).thenReturn(List.of(
+                row(1, LocalTime.of(9, 0), LocalTime.of(15, 0), 6.0, false, null),   // underwork + early logout
+                row(2, LocalTime.of(10, 0), null, null, false, null),                // missed logout + late login
+                row(3, LocalTime.of(9, 0), LocalTime.of(18, 0), 9.0, false, null),   // clean
+                row(4, LocalTime.of(10, 0), LocalTime.of(14, 0), 4.0, true, null))); // regularized: no alerts
+
+        Map<String, Integer> summary = engine.run(context, JobPartition.SINGLE);
+
+        assertThat(summary).containsEntry("UNDERWORK", 1)
+                .containsEntry("MISSED_LOGOUT", 1)
+                .containsEntry("EARLY_LOGOUT", 1)
+                .containsEntry("LATE_LOGIN", 1);
+        verify(attendanceRepository, times(1)).findAlertCandidates(eq(WORK_DATE), anyLong(), anyInt(), anyInt(), anyDouble(), any(LocalTime.class), any(Pageable.class));
+        verify(attendanceRepository).markUnderworkAlertSent(eq(WORK_DATE), eq(List.of(1L)), any(LocalDateTime.class));
+        verify(attendanceRepository).markEarlyLogoutAlertSent(eq(WORK_DATE), eq(List.of(1L)), any(LocalDateTime.class));
+        verify(attendanceRepository).markMissedLogoutAlertSent(eq(WORK_DATE), eq(List.of(2L)), any(LocalDateTime.class));
+        verify(attendanceRepository).markLateLoginAlertSent(eq(WORK_DATE), eq(List.of(2L)), any(LocalDateTime.class));
+        verify(emailService, times(4)).sendHtmlMailFromTemplate(anyString(), anyString(), anyString(), any());
+        verify(attendanceRepository, never()).save(any());
+    }
+
+    @Test
+    void run_skipsRulesAlreadyAlertedForRow() {
+        when(attendanceRepository.findAlertCandidates(eq(WORK_DATE), eq(0L), eq(0), eq(1), eq(8.0), eq(LocalTime.of(9, 30)), any(Pageable.class))).thenReturn(List.of(
+                row(2, LocalTime.of(10, 0), LocalTime.of(19, 0), 9.0, false, LocalDateTime.now())));
+
+        Map<String, Integer> summary = engine.run(context, JobPartition.SINGLE);
+
+        assertThat(summary).containsEntry("LATE_LOGIN", 0);
+        verify(emailService, never()).sendHtmlMailFromTemplate(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void run_stampsOncePerChunk() {
+        ReflectionTestUtils.setField(engine, "chunkSize", 2);
+        when(attendanceRepository.findAlertCandidates(eq(WORK_DATE), eq(0L), eq(0), eq(1), eq(8.0), eq(LocalTime.of(9, 30)), any(Pageable.class))).thenReturn(List.of(
+                row(1, LocalTime.of(9, 0), null, null, false, null),
+                row(2, LocalTime.of(9, 0), null, null, false, null)));
+        when(attendanceRepository.findAlertCandidates(eq(WORK_DATE), eq(2L), eq(0), eq(1), eq(8.0), eq(LocalTime.of(9, 30)), any(Pageable.class))).thenReturn(List.of(
+                row(3, LocalTime.of(9, 0), null, null, false, null)));
+
+        Map<String, Integer> summary = engine.run(context, JobPartition.SINGLE);
+
+        assertThat(summary).containsEntry("MISSED_LOGOUT", 3);
+        verify(attendanceRepository).markMissedLogoutAlertSent(eq(WORK_DATE), eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(attendanceRepository).markMissedLogoutAlertSent(eq(WORK_DATE), eq(List.of(3L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void run_completedWorkDateIsNotCheckedAgain() {
+        when(attendanceRepository.findAlertCandidates(eq(WORK_DATE), eq(0L), eq(0), eq(1), eq(8.0), eq(LocalTime.of(9, 30)), any(Pageable.class))).thenReturn(List.of(
+                row(1, LocalTime.of(9, 0), null, null, false, null)));
+
+        engine.run(context, JobPartition.SINGLE);
+        engine.run(context, JobPartition.SINGLE);
+
+        verify(attendanceRepository, times(1)).findAlertCandidates(eq(WORK_DATE), anyLong(), anyInt(), anyInt(), anyDouble(), any(LocalTime.class), any(Pageable.class));
+        verify(emailService, times(1)).sendHtmlMailFromTemplate(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void run_digestModeSendsOneEmailPerEmployeeDay() {
+        AnomalyCheckContext digestContext = new AnomalyCheckContext(WORK_DATE, 8.0, LocalTime.of(9, 30), true);
+        when(attendanceRepository.findAlertCandidates(eq(WORK_DATE), eq(0L), eq(0), eq(1), eq(8.0), eq(LocalTime.of(9, 30)), any(Pageable.class))).thenReturn(List.of(
+                row(1, LocalTime.of(9, 0), LocalTime.of(15, 0), 6.0, false, null),   // underwork + early logout
+                row(2, LocalTime.of(10, 0), null, null, false, null),                // missed logout + late login
+                row(3, LocalTime.of(9, 0), null, null, false, null)));               // missed logout only
+
+        Map<String, Integer> summary = engine.run(digestContext, JobPartition.SINGLE);
+
+        assertThat(summary).containsEntry("UNDERWORK", 1)
+                .containsEntry("MISSED_LOGOUT", 2)
+                .containsEntry("EARLY_LOGOUT", 1)
+                .containsEntry("LATE_LOGIN", 1);
+        verify(emailService).sendHtmlMailFromTemplate(eq("emp1@example.com"), anyString(), eq(AttendanceAnomalyEngine.DIGEST_TEMPLATE), any());
+        verify(emailService).sendHtmlMailFromTemplate(eq("emp2@example.com"), anyString(), eq(AttendanceAnomalyEngine.DIGEST_TEMPLATE), any());
+        verify(emailService).sendHtmlMailFromTemplate(eq("emp3@example.com"), anyString(), eq("missed-logout-alert.html"), any());
+        verify(emailService, times(3)).sendHtmlMailFromTemplate(anyString(), anyString(), anyString(), any());
+        verify(attendanceRepository).markUnderworkAlertSent(eq(WORK_DATE), eq(List.of(1L)), any(LocalDateTime.class));
+        verify(attendanceRepository).markEarlyLogoutAlertSent(eq(WORK_DATE), eq(List.of(1L)), any(LocalDateTime.class));
+        verify(attendanceRepository).markMissedLogoutAlertSent(eq(WORK_DATE), eq(List.of(2L, 3L)), any(LocalDateTime.class));
+        verify(attendanceRepository).markLateLoginAlertSent(eq(WORK_DATE), eq(List.of(2L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void run_failedDigestStampsNoneOfItsRules() {
+        AnomalyCheckContext digestContext = new AnomalyCheckContext(WORK_DATE, 8.0, LocalTime.of(9, 30), true);
+        when(attendanceRepository.findAlertCandidates(eq(WORK_DATE), eq(0L), eq(0), eq(1), eq(8.0), eq(LocalTime.of(9, 30)), any(Pageable.class))).thenReturn(List.of(
+                row(1, LocalTime.of(9, 0), LocalTime.of(15, 0), 6.0, false, null)));
+        doThrow(new RuntimeException("outbox unavailable")).when(emailService)
+                .sendHtmlMailFromTemplate(anyString(), anyString(), eq(AttendanceAnomalyEngine.DIGEST_TEMPLATE), any());
+
+        Map<String, Integer> summary = engine.run(digestContext, JobPartition.SINGLE);
+
+        assertThat(summary.values()).containsOnly(0);
+        verify(attendanceRepository, never()).markUnderworkAlertSent(any(), anyCollection(), any());
+        verify(attendanceRepository, never()).markEarlyLogoutAlertSent(any(), anyCollection(), any());
+    }
+}
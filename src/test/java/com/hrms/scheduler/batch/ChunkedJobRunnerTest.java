@@ -0,0 +1,133 @@
+package com.hrms.scheduler.batch;
+
+import com.hrms.scheduler.entity.JobRun;
+import com.hrms.scheduler.enums.JobRunStatus;
+import com.hrms.scheduler.history.JobExecutionRecorder;
+import com.hrms.scheduler.history.JobMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ChunkedJobRunnerTest {
+
+    private ChunkedJobRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        runner = new InMemoryJobRuns().newRunner(3);
+    }
+
+    // Source of ids 1..total; fails once when asked to process the chunk containing failAtId
+    private static class IdJob implements ChunkedJob<Long> {
+        private final List<Long> source;
+        private final List<Long> processed = new ArrayList<>();
+        private final List<Long> readCursors = new ArrayList<>();
+        private Long failAtId;
+
+        IdJob(long total) {
+            this.source = LongStream.rangeClosed(1, total).boxed().collect(Collectors.toList());
+        }
+
+        @Override
+        public String getName() {
+            return "TEST_JOB";
+        }
+
+        @Override
+        public List<Long> readChunk(long afterId, int chunkSize) {
+            readCursors.add(afterId);
+            return source.stream().filter(id -> id > afterId).limit(chunkSize).collect(Collectors.toList());
+        }
+
+        @Override
+        public long getId(Long item) {
+            return item;
+        }
+
+        @Override
+        public void processChunk(List<Long> chunk) {
+            if (failAtId != null && chunk.contains(failAtId)) {
+                failAtId = null;
+                throw new IllegalStateException("simulated crash");
+            }
+            processed.addAll(chunk);
+        }
+    }
+
+    @Test
+    void run_processesAllChunksAndRecordsCheckpoint() {
+        IdJob job = new IdJob(7);
+
+        JobRun run = runner.run(job, "2026-03-10");
+
+        assertThat(run.getStatus()).isEqualTo(JobRunStatus.COMPLETED);
+        assertThat(run.getProcessedCount()).isEqualTo(7L);
+        assertThat(run.getChunkCount()).isEqualTo(3);
+        assertThat(run.getLastProcessedId()).isEqualTo(7L);
+        assertThat(job.processed).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(job.readCursors).containsExactly(0L, 3L, 6L); // Short last chunk ends the run without an extra read
+    }
+
+    @Test
+    void run_resumesAfterLastCommittedChunk() {
+        IdJob job = new IdJob(7);
+        job.failAtId = 5L;
+
+        JobRun failed = runner.run(job, "2026-03-10");
+        assertThat(failed.getStatus()).isEqualTo(JobRunStatus.FAILED);
+        assertThat(failed.getLastProcessedId()).isEqualTo(3L);
+        assertThat(failed.getLastError()).contains("simulated crash");
+
+        JobRun resumed = runner.run(job, "2026-03-10");
+
+        assertThat(resumed.getStatus()).isEqualTo(JobRunStatus.COMPLETED);
+        assertThat(resumed.getAttempt()).isEqualTo(2);
+        assertThat(job.processed).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L); // Nothing processed twice
+    }
+
+    @Test
+    void run_completedRunIsNotRepeated() {
+        IdJob job = new IdJob(2);
+        runner.run(job, "2026-03-10");
+        job.processed.clear();
+
+        JobRun again = runner.run(job, "2026-03-10");
+
+        assertThat(again.getStatus()).isEqualTo(JobRunStatus.COMPLETED);
+        assertThat(job.processed).isEmpty();
+
+        runner.run(job, "2026-03-11");
+        assertThat(job.processed).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void run_recordsExecutionWithRowAndChunkCounts() {
+        JobExecutionRecorder recorder = mock(JobExecutionRecorder.class);
+        ReflectionTestUtils.setField(runner, "jobExecutionRecorder", recorder);
+        IdJob job = new IdJob(7);
+
+        JobRun run = runner.run(job, "2026-03-10");
+        runner.run(job, "2026-03-10"); // Already completed: looked up, not recorded again
+
+        ArgumentCaptor<JobMetrics> metrics = ArgumentCaptor.forClass(JobMetrics.class);
+        verify(recorder, times(1)).record(eq("TEST_JOB"), eq("2026-03-10"), isNull(), any(), anyLong(),
+                                          metrics.capture(), eq(run), isNull());
+        assertThat(metrics.getValue().getRowsScanned()).isEqualTo(7L);
+        assertThat(metrics.getValue().getChunks()).isEqualTo(3);
+    }
+}
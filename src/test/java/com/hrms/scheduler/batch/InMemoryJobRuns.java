@@ -0,0 +1,63 @@
+package com.hrms.scheduler.batch;
+
+import com.hrms.scheduler.entity.JobRun;
+import com.hrms.scheduler.repository.JobRunRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Map-backed job_runs store and a {@link ChunkedJobRunner} wired to it with no-op transactions,
+ * for unit tests of jobs built on the runner.
+ */
+public class InMemoryJobRuns {
+
+    private final Map<Long, JobRun> runs = new HashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final JobRunRepository repository = mock(JobRunRepository.class);
+
+    public InMemoryJobRuns() {
+        lenient().when(repository.save(any(JobRun.class))).thenAnswer(inv -> {
+            JobRun run = inv.getArgument(0);
+            if (run.getId() == null) {
+                run.setId(ids.incrementAndGet());
+            }
+            runs.put(run.getId(), run);
+            return run;
+        });
+        lenient().when(repository.findById(anyLong())).thenAnswer(inv -> Optional.ofNullable(runs.get(inv.<Long>getArgument(0))));
+        lenient().when(repository.findByJobNameAndRunKey(anyString(), anyString())).thenAnswer(inv -> runs.values().stream()
+                .filter(r -> r.getJobName().equals(inv.getArgument(0)) && r.getRunKey().equals(inv.getArgument(1)))
+                .findFirst());
+        lenient().when(repository.findByStatusInAndStartedAtAfterAndUpdatedAtBeforeOrderByStartedAt(anyCollection(), any(), any()))
+                .thenAnswer(inv -> runs.values().stream()
+                        .filter(r -> inv.<Collection<?>>getArgument(0).contains(r.getStatus())
+                                && r.getStartedAt().isAfter(inv.getArgument(1))
+                                && r.getUpdatedAt().isBefore(inv.getArgument(2)))
+                        .sorted(Comparator.comparing(JobRun::getStartedAt))
+                        .toList());
+    }
+
+    public JobRunRepository getRepository() {
+        return repository;
+    }
+
+    public ChunkedJobRunner newRunner(int defaultChunkSize) {
+        ChunkedJobRunner runner = new ChunkedJobRunner();
+        ReflectionTestUtils.setField(runner, "jobRunRepository", repository);
+        ReflectionTestUtils.setField(runner, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(runner, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(runner, "defaultChunkSize", defaultChunkSize);
+        return runner;
+    }
+}
@@ -0,0 +1,147 @@
+package com.hrms.scheduler.batch;
+
+import com.hrms.scheduler.entity.JobRun;
+import com.hrms.scheduler.enums.JobRunStatus;
+import com.hrms.scheduler.lease.JobLeaseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class JobRunReconcilerTest {
+
+    private InMemoryJobRuns jobRuns;
+    private ChunkedJobRunner runner;
+    private JobLeaseService jobLeaseService;
+    private AlertJob job;
+    private JobRunReconciler reconciler;
+
+    // Stands in for a node dying mid-run: not a RuntimeException, so the runner cannot record the run as FAILED
+    private static class SimulatedCrash extends Error {
+    }
+
+    // "Alerts" ids 1..total; crashes once when asked to process the chunk containing crashAtId
+    private static class AlertJob implements ChunkedJob<Long> {
+        private final List<Long> source;
+        private final List<Long> alerted = new ArrayList<>();
+        private Long crashAtId;
+
+        AlertJob(long total) {
+            this.source = LongStream.rangeClosed(1, total).boxed().collect(Collectors.toList());
+        }
+
+        @Override
+        public String getName() {
+            return "ALERT_JOB";
+        }
+
+        @Override
+        public List<Long> readChunk(long afterId, int chunkSize) {
+            return source.stream().filter(id -> id > afterId).limit(chunkSize).collect(Collectors.toList());
+        }
+
+        @Override
+        public long getId(Long item) {
+            return item;
+        }
+
+        @Override
+        public void processChunk(List<Long> chunk) {
+            if (crashAtId != null && chunk.contains(crashAtId)) {
+                crashAtId = null;
+                throw new SimulatedCrash();
+            }
+            alerted.addAll(chunk);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jobRuns = new InMemoryJobRuns();
+        runner = jobRuns.newRunner(3);
+        job = new AlertJob(7);
+
+        jobLeaseService = mock(JobLeaseService.class);
+        lenient().when(jobLeaseService.runExclusively(anyString(), any())).thenAnswer(inv -> {
+            inv.<Runnable>getArgument(1).run();
+            return true;
+        });
+
+        ChunkedJobResumer resumer = new ChunkedJobResumer() {
+            @Override
+            public Collection<String> getResumableJobNames() {
+                return List.of("ALERT_JOB");
+            }
+
+            @Override
+            public void resume(JobRun run) {
+                runner.run(job, run.getRunKey());
+            }
+        };
+        reconciler = new JobRunReconciler();
+        ReflectionTestUtils.setField(reconciler, "jobRunRepository", jobRuns.getRepository());
+        ReflectionTestUtils.setField(reconciler, "jobLeaseService", jobLeaseService);
+        ReflectionTestUtils.setField(reconciler, "resumers", List.of(resumer));
+        ReflectionTestUtils.setField(reconciler, "enabled", true);
+        ReflectionTestUtils.setField(reconciler, "idleMs", 300000L);
+        ReflectionTestUtils.setField(reconciler, "maxAgeHours", 24L);
+        ReflectionTestUtils.setField(reconciler, "maxAttempts", 3);
+        reconciler.init();
+    }
+
+    // Moves the run's last checkpoint back past the idle time, as if the sweep ran minutes after the crash
+    private JobRun idle(String runKey) {
+        JobRun run = jobRuns.getRepository().findByJobNameAndRunKey("ALERT_JOB", runKey).orElseThrow();
+        run.setUpdatedAt(LocalDateTime.now().minusMinutes(10));
+        return run;
+    }
+
+    @Test
+    void reconcile_finishesRunKilledMidwayFromItsCheckpointWithoutRealerting() {
+        job.crashAtId = 5L;
+        assertThatThrownBy(() -> runner.run(job, "2026-03-10/p1of2")).isInstanceOf(SimulatedCrash.class);
+        JobRun crashed = idle("2026-03-10/p1of2");
+        assertThat(crashed.getStatus()).isEqualTo(JobRunStatus.RUNNING);
+        assertThat(crashed.getLastProcessedId()).isEqualTo(3L);
+
+        int resumed = reconciler.reconcile();
+
+        assertThat(resumed).isEqualTo(1);
+        verify(jobLeaseService).runExclusively(eq("ALERT_JOB/p1of2"), any()); // The partition's own lease
+        JobRun run = jobRuns.getRepository().findByJobNameAndRunKey("ALERT_JOB", "2026-03-10/p1of2").orElseThrow();
+        assertThat(run.getStatus()).isEqualTo(JobRunStatus.COMPLETED);
+        assertThat(run.getAttempt()).isEqualTo(2);
+        assertThat(job.alerted).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L); // Each id alerted once
+
+        assertThat(reconciler.reconcile()).isZero(); // Nothing left to resume
+    }
+
+    @Test
+    void reconcile_leavesRecentAndExhaustedRunsAlone() {
+        job.crashAtId = 5L;
+        assertThatThrownBy(() -> runner.run(job, "2026-03-10")).isInstanceOf(SimulatedCrash.class);
+
+        assertThat(reconciler.reconcile()).isZero(); // Checkpointed moments ago: may still be running
+
+        idle("2026-03-10").setAttempt(3);
+        assertThat(reconciler.reconcile()).isZero();
+        verify(jobLeaseService, never()).runExclusively(anyString(), any());
+        assertThat(job.alerted).containsExactly(1L, 2L, 3L);
+    }
+}
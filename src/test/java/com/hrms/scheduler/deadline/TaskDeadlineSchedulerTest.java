@@ -0,0 +1,93 @@
+package com.hrms.scheduler.deadline;
+
+import com.hrms.employee.core.entity.Task;
+import com.hrms.employee.core.enums.TaskStatus;
+import com.hrms.employee.core.repository.TaskRepository;
+import com.hrms.scheduler.TaskManagementJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskDeadlineSchedulerTest {
+
+    @Mock private TaskRepository taskRepository;
+    @Mock private TaskManagementJobService taskManagementJobService;
+
+    @InjectMocks
+    private TaskDeadlineScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "tickMs", 1000L);
+        ReflectionTestUtils.setField(scheduler, "horizonHours", 24L);
+        ReflectionTestUtils.setField(scheduler, "reminderLeadMinutes", 60L);
+        ReflectionTestUtils.setField(scheduler, "reconcilePageSize", 2);
+        scheduler.init();
+    }
+
+    private static Task task(long id, TaskStatus status, LocalDateTime deadline) {
+        Task task = new Task();
+        task.setId(id);
+        task.setStatus(status);
+        task.setDeadline(deadline);
+        return task;
+    }
+
+    @Test
+    void reconcile_pagesOpenTasksAndFiresOverdueOnesOnNextTick() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        when(taskRepository.findOpenTaskDeadlines(any(), anyList(), eq(0L), any(Pageable.class))).thenReturn(List.of(
+                new TaskDeadline(3L, now.minusHours(2), now.minusHours(3)),  // Missed while down
+                new TaskDeadline(5L, now.plusMinutes(30), null)));            // Reminder time already passed
+        when(taskRepository.findOpenTaskDeadlines(any(), anyList(), eq(5L), any(Pageable.class))).thenReturn(List.of(
+                new TaskDeadline(8L, now.plusHours(5), null)));
+
+        scheduler.reconcile();
+
+        assertThat(scheduler.getPendingClosures()).isEqualTo(3);
+        assertThat(scheduler.getPendingReminders()).isEqualTo(2);
+        Thread.sleep(1100); // Past the next tick boundary
+        scheduler.tick();
+
+        verify(taskManagementJobService).closeDueTasks(eq(List.of(3L)), any(LocalDateTime.class));
+        verify(taskManagementJobService).remindDueTasks(eq(List.of(5L)), any(LocalDateTime.class));
+        assertThat(scheduler.getPendingClosures()).isEqualTo(2);
+        assertThat(scheduler.getPendingReminders()).isEqualTo(1);
+    }
+
+    @Test
+    void schedule_setsTimersForOpenTasksAndCancelsThemWhenCompleted() {
+        LocalDateTime deadline = LocalDateTime.now().plusHours(3);
+
+        scheduler.schedule(task(7, TaskStatus.TODO, deadline));
+        assertThat(scheduler.getPendingClosures()).isEqualTo(1);
+        assertThat(scheduler.getPendingReminders()).isEqualTo(1);
+
+        scheduler.schedule(task(7, TaskStatus.COMPLETED, deadline));
+        assertThat(scheduler.getPendingClosures()).isZero();
+        assertThat(scheduler.getPendingReminders()).isZero();
+    }
+
+    @Test
+    void schedule_leavesTasksBeyondTheHorizonToTheReconcileSweep() {
+        scheduler.schedule(task(9, TaskStatus.IN_PROGRESS, LocalDateTime.now().plusDays(3)));
+
+        assertThat(scheduler.getPendingClosures()).isZero();
+        scheduler.tick();
+        verifyNoInteractions(taskManagementJobService);
+    }
+}
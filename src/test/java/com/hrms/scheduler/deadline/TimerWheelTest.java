@@ -0,0 +1,86 @@
+package com.hrms.scheduler.deadline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void advance_firesTimersAtTheirTickAcrossLevels() {
+        TimerWheel wheel = new TimerWheel(1000, START);
+        wheel.schedule(1, START + 5_000);              // Level 0
+        wheel.schedule(2, START + 90_000);             // Level 1
+        wheel.schedule(3, START + 3 * 3_600_000L);     // Level 2
+        wheel.schedule(4, START + 40L * 86_400_000L);  // Level 3
+
+        assertThat(wheel.advance(START + 4_999)).isEmpty();
+        assertThat(wheel.advance(START + 5_000)).containsExactly(1L);
+        assertThat(wheel.advance(START + 89_999)).isEmpty();
+        assertThat(wheel.advance(START + 90_000)).containsExactly(2L);
+        assertThat(wheel.advance(START + 3 * 3_600_000L - 1)).isEmpty();
+        assertThat(wheel.advance(START + 3 * 3_600_000L)).containsExactly(3L);
+        assertThat(wheel.advance(START + 40L * 86_400_000L)).containsExactly(4L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void schedule_replacesAndCancelRemovesTimer() {
+        TimerWheel wheel = new TimerWheel(1000, START);
+        wheel.schedule(1, START + 10_000);
+        wheel.schedule(2, START + 10_000);
+        wheel.schedule(1, START + 20_000);
+
+        assertThat(wheel.cancel(2)).isTrue();
+        assertThat(wheel.cancel(2)).isFalse();
+        assertThat(wheel.advance(START + 10_000)).isEmpty();
+        assertThat(wheel.advance(START + 20_000)).containsExactly(1L);
+    }
+
+    @Test
+    void schedule_pastDueFiresOnNextAdvanceAndSubTickDueIsRoundedUp() {
+        TimerWheel wheel = new TimerWheel(1000, START);
+        wheel.schedule(1, START - 60_000);
+        wheel.schedule(2, START + 1_500);
+
+        assertThat(wheel.advance(START + 1_000)).containsExactly(1L);
+        assertThat(wheel.advance(START + 1_999)).isEmpty();
+        assertThat(wheel.advance(START + 2_000)).containsExactly(2L);
+    }
+
+    @Test
+    void advance_neverFiresEarlyNorMoreThanOneTickLate() {
+        Random random = new Random(42);
+        TimerWheel wheel = new TimerWheel(1000, START);
+        Map<Long, Long> due = new HashMap<>();
+        for (long id = 1; id <= 5_000; id++) {
+            long dueMillis = START + (long) (Math.pow(random.nextDouble(), 4) * 200L * 86_400_000L); // Beyond the top wheel too
+            due.put(id, dueMillis);
+            wheel.schedule(id, dueMillis);
+        }
+        for (long id = 1; id <= 5_000; id += 7) {
+            wheel.cancel(id);
+            due.remove(id);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        long now = START;
+        while (wheel.size() > 0) {
+            now += 1 + random.nextInt(600_000);
+            for (Long id : wheel.advance(now)) {
+                assertThat(due.get(id)).isLessThanOrEqualTo(now);
+                assertThat(due.get(id)).isGreaterThan(now - 600_000 - 1000);
+                fired.add(id);
+            }
+        }
+        assertThat(fired).containsExactlyInAnyOrderElementsOf(due.keySet());
+    }
+}
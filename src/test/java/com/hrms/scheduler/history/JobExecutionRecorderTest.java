@@ -0,0 +1,113 @@
+package com.hrms.scheduler.history;
+
+import com.hrms.scheduler.entity.JobExecution;
+import com.hrms.scheduler.entity.JobRun;
+import com.hrms.scheduler.enums.JobExecutionStatus;
+import com.hrms.scheduler.enums.JobRunStatus;
+import com.hrms.scheduler.repository.JobExecutionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobExecutionRecorderTest {
+
+    @Mock
+    private JobExecutionRepository jobExecutionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private JobExecutionRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder.init();
+    }
+
+    private JobExecution recorded() {
+        ArgumentCaptor<JobExecution> captor = ArgumentCaptor.forClass(JobExecution.class);
+        verify(jobExecutionRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void record_measuresLagFromCronFireTimeAndCopiesCounters() {
+        LocalDateTime startedAt = LocalDateTime.of(2026, 3, 10, 2, 0, 4);
+        JobMetrics metrics = new JobMetrics();
+        metrics.addRowsScanned(1200);
+        metrics.addRowsAlerted(35);
+        metrics.addEmailQueued();
+        metrics.addFailure();
+        metrics.addChunk();
+        JobRun run = new JobRun();
+        run.setStatus(JobRunStatus.COMPLETED);
+
+        recorder.record("ATTENDANCE_ANOMALY", "2026-03-09", "0 0 2 * * MON-FRI", startedAt,
+                        TimeUnit.SECONDS.toNanos(90), metrics, run, null);
+
+        JobExecution execution = recorded();
+        assertThat(execution.getStatus()).isEqualTo(JobExecutionStatus.SUCCEEDED);
+        assertThat(execution.getScheduledAt()).isEqualTo(LocalDateTime.of(2026, 3, 10, 2, 0));
+        assertThat(execution.getLagMs()).isEqualTo(4000L);
+        assertThat(execution.getDurationMs()).isEqualTo(90_000L);
+        assertThat(execution.getFinishedAt()).isEqualTo(startedAt.plusSeconds(90));
+        assertThat(execution.getRowsScanned()).isEqualTo(1200L);
+        assertThat(execution.getRowsAlerted()).isEqualTo(35L);
+        assertThat(execution.getEmailsQueued()).isEqualTo(1L);
+        assertThat(execution.getFailures()).isEqualTo(1L);
+        assertThat(execution.getChunkCount()).isEqualTo(1);
+    }
+
+    @Test
+    void record_mapsRunStatusAndTruncatesError() {
+        JobRun run = new JobRun();
+        run.setStatus(JobRunStatus.FAILED);
+        run.setLastError("x".repeat(5000));
+
+        recorder.record("TASK_AUTO_CLOSE", "2026-03-10", null, LocalDateTime.of(2026, 3, 10, 1, 0), 1_000_000L,
+                        new JobMetrics(), run, null);
+
+        JobExecution execution = recorded();
+        assertThat(execution.getStatus()).isEqualTo(JobExecutionStatus.FAILED);
+        assertThat(execution.getError()).hasSize(2000);
+        assertThat(execution.getScheduledAt()).isNull();
+        assertThat(execution.getLagMs()).isNull();
+    }
+
+    @Test
+    void record_storageFailureDoesNotEscape() {
+        when(jobExecutionRepository.save(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        recorder.record("TASK_AUTO_CLOSE", "2026-03-10", null, LocalDateTime.of(2026, 3, 10, 1, 0), 0L,
+                        new JobMetrics(), null, new IllegalStateException("boom"));
+
+        assertThat(recorded().getStatus()).isEqualTo(JobExecutionStatus.FAILED);
+    }
+
+    @Test
+    void lastFireTime_looksBackOverTheWeekendForWeekdayCrons() {
+        LocalDateTime mondayMorning = LocalDateTime.of(2026, 3, 9, 1, 30); // Last fire: Friday 02:00
+
+        assertThat(JobExecutionRecorder.lastFireTime("0 0 2 * * MON-FRI", mondayMorning))
+                .isEqualTo(LocalDateTime.of(2026, 3, 6, 2, 0));
+        assertThat(JobExecutionRecorder.lastFireTime("0 0 2 * * MON-FRI", LocalDateTime.of(2026, 3, 9, 2, 0)))
+                .isEqualTo(LocalDateTime.of(2026, 3, 9, 2, 0));
+        assertThat(JobExecutionRecorder.lastFireTime("not a cron", mondayMorning)).isNull();
+    }
+}
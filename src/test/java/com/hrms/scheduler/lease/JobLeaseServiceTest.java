@@ -0,0 +1,162 @@
+package com.hrms.scheduler.lease;
+
+import com.hrms.scheduler.entity.JobLease;
+import com.hrms.scheduler.repository.JobLeaseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobLeaseServiceTest {
+
+    @Mock private JobLeaseRepository jobLeaseRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private JobLeaseService service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "configuredNodeId", "node-a");
+        ReflectionTestUtils.setField(service, "leaseDurationMs", 120000L);
+        ReflectionTestUtils.setField(service, "heartbeatMs", 30000L);
+        ReflectionTestUtils.setField(service, "partitionCount", 1);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void runExclusively_runsAndReleasesWhenLeaseAcquired() {
+        when(jobLeaseRepository.tryAcquire(eq("NIGHTLY"), eq("node-a"), any(), any())).thenReturn(1);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        boolean result = service.runExclusively("NIGHTLY", () -> ran.set(true));
+
+        assertThat(result).isTrue();
+        assertThat(ran).isTrue();
+        verify(jobLeaseRepository).release(eq("NIGHTLY"), eq("node-a"), any());
+    }
+
+    @Test
+    void runExclusively_skipsWhileAnotherNodeHoldsTheLease() {
+        when(jobLeaseRepository.tryAcquire(eq("NIGHTLY"), eq("node-a"), any(), any())).thenReturn(0);
+        when(jobLeaseRepository.existsById("NIGHTLY")).thenReturn(true);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        boolean result = service.runExclusively("NIGHTLY", () -> ran.set(true));
+
+        assertThat(result).isFalse();
+        assertThat(ran).isFalse();
+        verify(jobLeaseRepository, never()).release(anyString(), anyString(), any());
+    }
+
+    @Test
+    void runExclusively_skipsWhileThisNodeAlreadyRunsUnderTheLease() {
+        when(jobLeaseRepository.tryAcquire(eq("NIGHTLY"), eq("node-a"), any(), any())).thenReturn(1);
+        AtomicBoolean nestedRan = new AtomicBoolean();
+
+        // tryAcquire accepts our own lease; a second run on this node must still be refused
+        boolean result = service.runExclusively("NIGHTLY",
+                () -> assertThat(service.runExclusively("NIGHTLY", () -> nestedRan.set(true))).isFalse());
+
+        assertThat(result).isTrue();
+        assertThat(nestedRan).isFalse();
+        verify(jobLeaseRepository, times(1)).release(eq("NIGHTLY"), eq("node-a"), any());
+        assertThat(service.runExclusively("NIGHTLY", () -> nestedRan.set(true))).isTrue(); // Free again afterwards
+    }
+
+    @Test
+    void runExclusively_createsLeaseRowOnFirstRun() {
+        when(jobLeaseRepository.tryAcquire(eq("NIGHTLY"), eq("node-a"), any(), any())).thenReturn(0);
+        when(jobLeaseRepository.existsById("NIGHTLY")).thenReturn(false);
+
+        assertThat(service.runExclusively("NIGHTLY", () -> { })).isTrue();
+
+        verify(jobLeaseRepository).saveAndFlush(argThat((JobLease lease) ->
+                lease.getLeaseName().equals("NIGHTLY") && lease.getOwnerId().equals("node-a")
+                        && lease.getLeaseUntil().isAfter(LocalDateTime.now())));
+    }
+
+    @Test
+    void runExclusively_losingTheInsertRaceSkipsTheRun() {
+        when(jobLeaseRepository.tryAcquire(eq("NIGHTLY"), eq("node-a"), any(), any())).thenReturn(0);
+        when(jobLeaseRepository.existsById("NIGHTLY")).thenReturn(false);
+        when(jobLeaseRepository.saveAndFlush(any(JobLease.class))).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertThat(service.runExclusively("NIGHTLY", () -> { })).isFalse();
+    }
+
+    @Test
+    void runExclusively_flagsLeaseLostWhenHeartbeatFindsItTakenOver() {
+        ReflectionTestUtils.setField(service, "heartbeatMs", 20L);
+        when(jobLeaseRepository.tryAcquire(eq("NIGHTLY"), eq("node-a"), any(), any())).thenReturn(1);
+        when(jobLeaseRepository.heartbeat(eq("NIGHTLY"), eq("node-a"), any(), any())).thenReturn(0);
+        AtomicBoolean observedLost = new AtomicBoolean();
+
+        service.runExclusively("NIGHTLY", () -> {
+            await().pollInSameThread().atMost(2, TimeUnit.SECONDS).until(service::isCurrentLeaseLost); // Thread-bound flag
+            observedLost.set(true);
+        });
+
+        assertThat(observedLost).isTrue();
+        assertThat(service.isCurrentLeaseLost()).isFalse(); // Cleared once the run ends
+    }
+
+    @Test
+    void runPartitioned_runsOnlyThePartitionsThisNodeLeases() {
+        ReflectionTestUtils.setField(service, "partitionCount", 3);
+        when(jobLeaseRepository.tryAcquire(anyString(), eq("node-a"), any(), any()))
+                .thenAnswer(inv -> inv.<String>getArgument(0).equals("NIGHTLY/p1of3") ? 0 : 1);
+        when(jobLeaseRepository.existsById("NIGHTLY/p1of3")).thenReturn(true);
+        List<Integer> ran = new ArrayList<>();
+
+        int count = service.runPartitioned("NIGHTLY", partition -> ran.add(partition.getIndex()));
+
+        assertThat(count).isEqualTo(2);
+        assertThat(ran).containsExactlyInAnyOrder(0, 2);
+    }
+
+    @Test
+    void runPartitioned_retriesAPartitionOnceItsHoldersLeaseRunsOut() {
+        ReflectionTestUtils.setField(service, "partitionCount", 2);
+        ReflectionTestUtils.setField(service, "partitionRetryMaxWaitMs", 60000L);
+        AtomicBoolean holderAlive = new AtomicBoolean(true);
+        when(jobLeaseRepository.tryAcquire(anyString(), eq("node-a"), any(), any()))
+                .thenAnswer(inv -> inv.<String>getArgument(0).equals("NIGHTLY/p1of2") && holderAlive.getAndSet(false) ? 0 : 1);
+        when(jobLeaseRepository.existsById("NIGHTLY/p1of2")).thenReturn(true);
+        // The holder died and stopped heartbeating: its lease runs out now
+        when(jobLeaseRepository.findById("NIGHTLY/p1of2"))
+                .thenReturn(Optional.of(new JobLease("NIGHTLY/p1of2", "node-b", LocalDateTime.now(), null, null)));
+        List<Integer> ran = new CopyOnWriteArrayList<>();
+
+        int count = service.runPartitioned("NIGHTLY", partition -> ran.add(partition.getIndex()));
+
+        assertThat(count).isEqualTo(1);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> ran.size() == 2);
+        assertThat(ran).containsExactlyInAnyOrder(0, 1);
+    }
+}
@@ -2,6 +2,7 @@ package com.hrms.security.jwt;
 
 import com.hrms.security.service.UserDetailsImpl;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
@@ -126,6 +128,65 @@ class JwtUtilTest {
         assertThat(isValid).isFalse();
     }
 
+    @Test
+    void verify_shouldRestorePrincipalWithoutPassword() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        UserDetailsImpl principal = jwtUtil.verify(token).getPrincipal();
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.getId()).isEqualTo(1L);
+        assertThat(principal.getUsername()).isEqualTo("testuser");
+        assertThat(principal.getEmail()).isEqualTo("test@example.com");
+        assertThat(principal.getCompanyId()).isEqualTo(100L);
+        assertThat(principal.getPassword()).isNull();
+        assertThat(principal.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void verify_tokenWithoutUserId_shouldHaveNoPrincipal() {
+        String token = jwtUtil.generateToken("anotheruser", List.of("ROLE_ADMIN"), 200L);
+        VerifiedToken verified = jwtUtil.verify(token);
+        assertThat(verified.getSubject()).isEqualTo("anotheruser");
+        assertThat(verified.getPrincipal()).isNull();
+    }
+
+    @Test
+    void verify_repeatedCallsWithSameToken_shouldReuseCachedVerification() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        VerifiedToken first = jwtUtil.verify(token);
+        VerifiedToken second = jwtUtil.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getRoles()).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void verify_countsCacheHitsMissesAndVerifications() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        jwtUtil.verify(token);
+        jwtUtil.verify(token);
+        jwtUtil.verify(token);
+
+        assertThat(jwtUtil.getVerifiedTokenCacheMisses()).isEqualTo(1);
+        assertThat(jwtUtil.getVerifiedTokenCacheHits()).isEqualTo(2);
+        assertThat(jwtUtil.getVerifiedTokenCacheLoads()).isEqualTo(1); // Signature checked once
+        assertThat(jwtUtil.getVerifiedTokenCacheSize()).isEqualTo(1);
+        assertThat(jwtUtil.getVerifiedTokenCacheEvictions()).isZero();
+    }
+
+    @Test
+    void verify_withTamperedToken_shouldThrow() {
+        String token = jwtUtil.generateToken(userDetails);
+        jwtUtil.verify(token); // Cache the genuine token first
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+        assertThat(jwtUtil.tryVerify(tampered)).isNull();
+    }
+
     @Test
     void extractExpiration_shouldReturnValidDate() {
         String token = jwtUtil.generateToken(userDetails);
@@ -0,0 +1,89 @@
+package com.hrms.security.jwt;
+
+import com.hrms.security.service.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JWT filter path before and after single-parse verification.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.include=JwtVerificationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "BenchmarkSecretKeyForJwtVerificationPleaseMakeItLongEnough";
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtil = newJwtUtil(10000);
+        uncachedJwtUtil = newJwtUtil(0);
+        UserDetailsImpl user = new UserDetailsImpl(42L, "bench.user", "bench@example.com", "password", 7L,
+                List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE"), new SimpleGrantedAuthority("ROLE_LEAD")));
+        token = cachedJwtUtil.generateToken(user);
+    }
+
+    private static JwtUtil newJwtUtil(int cacheEntries) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", (int) TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCacheMaxEntries", cacheEntries);
+        return jwtUtil;
+    }
+
+    /**
+     * Reproduces the previous filter path: validateToken(jwt), extractUsername(jwt) and
+     * validateToken(jwt, userDetails), each rebuilding the key and parser and re-verifying the token.
+     */
+    @Benchmark
+    public boolean legacyFilterPath() {
+        boolean valid = !legacyClaims().getExpiration().before(new Date()); // validateToken(jwt) -> parse + isTokenExpired
+        valid &= !legacyClaims().getExpiration().before(new Date());
+        String username = legacyClaims().getSubject();                   // extractUsername(jwt)
+        valid &= username.equals(legacyClaims().getSubject());             // validateToken(jwt, userDetails)
+        return valid && !legacyClaims().getExpiration().before(new Date());
+    }
+
+    private Claims legacyClaims() {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public VerifiedToken singleParseUncached() {
+        return uncachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken singleParseCached() {
+        return cachedJwtUtil.verify(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
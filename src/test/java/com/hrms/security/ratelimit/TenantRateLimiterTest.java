@@ -0,0 +1,112 @@
+package com.hrms.security.ratelimit;
+
+import com.hrms.service.config.SystemConfigValueProviderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TenantRateLimiterTest {
+
+    @Mock
+    private SystemConfigValueProviderService configValueProvider;
+
+    @InjectMocks
+    private TenantRateLimiter tenantRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        // A very slow refill keeps the tests independent of timing
+        when(configValueProvider.getBooleanValue(TenantRateLimiter.ENABLED_KEY, true)).thenReturn(true);
+        when(configValueProvider.getDoubleValue(TenantRateLimiter.COMPANY_RATE_KEY, 100.0)).thenReturn(0.001);
+        when(configValueProvider.getIntegerValue(TenantRateLimiter.COMPANY_BURST_KEY, 200)).thenReturn(5);
+        when(configValueProvider.getDoubleValue(TenantRateLimiter.USER_RATE_KEY, 10.0)).thenReturn(0.001);
+        when(configValueProvider.getIntegerValue(TenantRateLimiter.USER_BURST_KEY, 20)).thenReturn(3);
+        tenantRateLimiter.refreshLimits();
+    }
+
+    @Test
+    void tryAcquire_rejectsUserOverBurstWithRetryHint() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(tenantRateLimiter.tryAcquire(1L, 10L).isAllowed()).isTrue();
+        }
+
+        RateLimitDecision decision = tenantRateLimiter.tryAcquire(1L, 10L);
+
+        assertThat(decision.isAllowed()).isFalse();
+        assertThat(decision.getScope()).isEqualTo("user");
+        assertThat(decision.getRemaining()).isZero();
+        assertThat(decision.getResetSeconds()).isPositive();
+    }
+
+    @Test
+    void tryAcquire_companyBucketSharedAcrossUsersOfSameTenantOnly() {
+        for (long userId = 1; userId <= 5; userId++) {
+            assertThat(tenantRateLimiter.tryAcquire(userId, 10L).isAllowed()).isTrue();
+        }
+
+        RateLimitDecision hotTenant = tenantRateLimiter.tryAcquire(6L, 10L);
+        RateLimitDecision otherTenant = tenantRateLimiter.tryAcquire(7L, 20L);
+
+        assertThat(hotTenant.isAllowed()).isFalse();
+        assertThat(hotTenant.getScope()).isEqualTo("company");
+        assertThat(otherTenant.isAllowed()).isTrue();
+
+        List<TenantRateLimiter.CompanyCounters> counters = tenantRateLimiter.getCompanyCounters();
+        assertThat(counters.get(0).getCompanyId()).isEqualTo(10L); // Hottest tenant first
+        assertThat(counters.get(0).getAllowed()).isEqualTo(5);
+        assertThat(counters.get(0).getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_companyRejectionLeavesUserBucketUntouched() {
+        for (long userId = 1; userId <= 5; userId++) {
+            assertThat(tenantRateLimiter.tryAcquire(userId, 10L).isAllowed()).isTrue();
+        }
+
+        // More requests than the user's own burst, all turned away by the exhausted company bucket
+        for (int i = 0; i < 4; i++) {
+            RateLimitDecision decision = tenantRateLimiter.tryAcquire(6L, 10L);
+            assertThat(decision.isAllowed()).isFalse();
+            assertThat(decision.getScope()).isEqualTo("company");
+        }
+
+        // Room in the company again: the user still has their whole burst
+        when(configValueProvider.getIntegerValue(TenantRateLimiter.COMPANY_BURST_KEY, 200)).thenReturn(100);
+        tenantRateLimiter.refreshLimits();
+        RateLimitDecision decision = tenantRateLimiter.tryAcquire(6L, 10L);
+
+        assertThat(decision.isAllowed()).isTrue();
+        assertThat(decision.getScope()).isEqualTo("user");
+        assertThat(decision.getRemaining()).isEqualTo(2);
+    }
+
+    @Test
+    void tryAcquire_reportsRemainingOfTightestBucket() {
+        RateLimitDecision decision = tenantRateLimiter.tryAcquire(1L, 10L);
+
+        assertThat(decision.isAllowed()).isTrue();
+        assertThat(decision.getScope()).isEqualTo("user");
+        assertThat(decision.getLimit()).isEqualTo(3);
+        assertThat(decision.getRemaining()).isEqualTo(2);
+    }
+
+    @Test
+    void tryAcquire_whenDisabled_isUnlimited() {
+        when(configValueProvider.getBooleanValue(TenantRateLimiter.ENABLED_KEY, true)).thenReturn(false);
+        tenantRateLimiter.refreshLimits();
+
+        RateLimitDecision decision = tenantRateLimiter.tryAcquire(1L, 10L);
+
+        assertThat(decision.isAllowed()).isTrue();
+        assertThat(decision.isLimited()).isFalse();
+    }
+}
@@ -0,0 +1,79 @@
+package com.hrms.security.service;
+
+import com.hrms.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoginHashingExecutorTest {
+
+    private LoginHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new LoginHashingExecutor();
+        ReflectionTestUtils.setField(executor, "poolSize", 1);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(executor, "retryAfterSeconds", 3L);
+        executor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.stop();
+    }
+
+    @Test
+    void submit_runsTaskOnPoolAndRecordsLatency() throws Exception {
+        CompletableFuture<String> result = executor.submit(() -> Thread.currentThread().getName());
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).startsWith("login-hash-");
+        assertThat(executor.getCompletedCount()).isEqualTo(1);
+        assertThat(executor.getMaxHashMillis()).isGreaterThanOrEqualTo(0.0);
+    }
+
+    @Test
+    void submit_whenQueueFull_throwsServiceUnavailableWithRetryAfter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<Boolean> busy = executor.submit(() -> {
+            running.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Boolean> queued = executor.submit(() -> true); // Fills the single queue slot
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class, () -> executor.submit(() -> true));
+        assertThat(ex.getRetryAfterSeconds()).isEqualTo(3L);
+        assertThat(executor.getRejectedCount()).isEqualTo(1);
+        assertThat(executor.getQueueDepth()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(busy.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void submit_withPoolDisabled_runsOnCallingThread() throws Exception {
+        LoginHashingExecutor inline = new LoginHashingExecutor();
+        ReflectionTestUtils.setField(inline, "poolSize", 0);
+        inline.start();
+
+        CompletableFuture<String> result = inline.submit(() -> Thread.currentThread().getName());
+
+        assertThat(result.get()).isEqualTo(Thread.currentThread().getName());
+    }
+}
@@ -0,0 +1,125 @@
+package com.hrms.security.service;
+
+import com.hrms.security.entity.TokenRevocation;
+import com.hrms.security.repository.TokenRevocationRepository;
+import com.hrms.service.sync.SyncVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock private TokenRevocationRepository tokenRevocationRepository;
+    @Mock private SyncVersionService syncVersionService;
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenRevocationService, "jwtExpirationMs", TimeUnit.HOURS.toMillis(1));
+    }
+
+    @Test
+    void isRevoked_withoutRevocation_returnsFalse() {
+        long issuedAt = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(30);
+        assertThat(tokenRevocationService.isRevoked(1L, issuedAt)).isFalse();
+    }
+
+    @Test
+    void revokeUserTokens_persistsRowAndRevokesEarlierTokens() {
+        when(tokenRevocationRepository.findById(1L)).thenReturn(Optional.empty());
+        when(syncVersionService.nextVersion(TokenRevocationService.VERSION_KEY)).thenReturn(7L);
+        long issuedAt = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(5);
+
+        tokenRevocationService.revokeUserTokens(1L, TokenRevocationService.REASON_OFFBOARDED);
+
+        ArgumentCaptor<TokenRevocation> captor = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(tokenRevocationRepository).save(captor.capture());
+        assertThat(captor.getValue().getUserId()).isEqualTo(1L);
+        assertThat(captor.getValue().getVersion()).isEqualTo(7L);
+        assertThat(captor.getValue().getReason()).isEqualTo("OFFBOARDED");
+        assertThat(tokenRevocationService.isRevoked(1L, issuedAt)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(2L, issuedAt)).isFalse(); // Other users unaffected
+    }
+
+    @Test
+    void isRevoked_tokenIssuedAfterRevocation_returnsFalse() {
+        when(tokenRevocationRepository.findById(1L)).thenReturn(Optional.empty());
+        tokenRevocationService.revokeUserTokens(1L, TokenRevocationService.REASON_DEACTIVATED);
+
+        long issuedAt = System.currentTimeMillis() + 2000;
+        assertThat(tokenRevocationService.isRevoked(1L, issuedAt)).isFalse();
+    }
+
+    @Test
+    void isRevoked_deactivation_rejectsTokenIssuedEarlierInTheSameSecond() {
+        when(tokenRevocationRepository.findById(1L)).thenReturn(Optional.empty());
+        long sameSecond = System.currentTimeMillis() / 1000 * 1000; // "iat" of a token minted just before
+
+        tokenRevocationService.revokeUserTokens(1L, TokenRevocationService.REASON_DEACTIVATED);
+
+        assertThat(tokenRevocationService.isRevoked(1L, sameSecond)).isTrue();
+    }
+
+    @Test
+    void isRevoked_roleChange_keepsTokenOfANewLoginInTheSameSecond() {
+        when(tokenRevocationRepository.findById(1L)).thenReturn(Optional.empty());
+        long secondBefore = System.currentTimeMillis() / 1000 * 1000;
+        tokenRevocationService.revokeUserTokens(1L, TokenRevocationService.REASON_ROLE_CHANGED);
+        long secondAfter = System.currentTimeMillis() / 1000 * 1000;
+
+        // A login right after the role change gets an "iat" of the revocation's own second
+        assertThat(tokenRevocationService.isRevoked(1L, secondAfter)).isFalse();
+        assertThat(tokenRevocationService.isRevoked(1L, secondBefore - 1000)).isTrue();
+    }
+
+    @Test
+    void pollForChanges_appliesRevocationsFromOtherNodesOnlyWhenVersionMoves() {
+        long now = System.currentTimeMillis();
+        when(syncVersionService.currentVersion(TokenRevocationService.VERSION_KEY)).thenReturn(3L);
+        when(tokenRevocationRepository.findByVersionGreaterThan(0L))
+                .thenReturn(List.of(new TokenRevocation(5L, now, "DEACTIVATED", 3L, LocalDateTime.now())));
+        tokenRevocationService.loadRevocations();
+
+        assertThat(tokenRevocationService.isRevoked(5L, now - 1000)).isTrue();
+
+        tokenRevocationService.pollForChanges(); // Version unchanged: no reload
+        verify(tokenRevocationRepository, times(1)).findByVersionGreaterThan(anyLong());
+
+        when(syncVersionService.currentVersion(TokenRevocationService.VERSION_KEY)).thenReturn(4L);
+        when(tokenRevocationRepository.findByVersionGreaterThan(3L))
+                .thenReturn(List.of(new TokenRevocation(6L, now, "OFFBOARDED", 4L, LocalDateTime.now())));
+        tokenRevocationService.pollForChanges();
+
+        assertThat(tokenRevocationService.isRevoked(6L, now - 1000)).isTrue();
+    }
+
+    @Test
+    void pruneExpiredRevocations_dropsRevocationsOlderThanTokenLifetime() {
+        when(tokenRevocationRepository.findById(1L)).thenReturn(Optional.empty());
+        tokenRevocationService.revokeUserTokens(1L, TokenRevocationService.REASON_DEACTIVATED);
+        ReflectionTestUtils.setField(tokenRevocationService, "jwtExpirationMs", -TimeUnit.MINUTES.toMillis(1));
+
+        tokenRevocationService.pruneExpiredRevocations();
+
+        assertThat(tokenRevocationService.isRevoked(1L, 0L)).isFalse();
+        verify(tokenRevocationRepository).deleteExpired(anyLong());
+    }
+}
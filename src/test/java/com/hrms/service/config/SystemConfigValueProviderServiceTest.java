@@ -0,0 +1,101 @@
+package com.hrms.service.config;
+
+import com.hrms.config.entity.SystemConfiguration;
+import com.hrms.config.repository.SystemConfigurationRepository;
+import com.hrms.service.sync.SyncVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SystemConfigValueProviderServiceTest {
+
+    @Mock private SystemConfigurationRepository systemConfigurationRepository;
+    @Mock private SyncVersionService syncVersionService;
+
+    @InjectMocks
+    private ConfigSnapshotRegistry configSnapshotRegistry;
+
+    private SystemConfigValueProviderService configValueProvider;
+
+    @BeforeEach
+    void setUp() {
+        configValueProvider = new SystemConfigValueProviderService();
+        ReflectionTestUtils.setField(configValueProvider, "configSnapshotRegistry", configSnapshotRegistry);
+
+        when(syncVersionService.currentVersion(ConfigSnapshotRegistry.VERSION_KEY)).thenReturn(1L);
+        when(systemConfigurationRepository.findAll()).thenReturn(List.of(
+                config("MINIMUM_WORK_HOURS_PER_DAY", "8.0", "NUMBER"),
+                config("LATE_LOGIN_THRESHOLD_TIME", "09:30:00", "TIME"),
+                config("RATE_LIMIT_ENABLED", "false", "BOOLEAN")));
+        configSnapshotRegistry.loadSnapshot();
+    }
+
+    private static SystemConfiguration config(String key, String value, String type) {
+        SystemConfiguration config = new SystemConfiguration();
+        config.setConfigKey(key);
+        config.setConfigValue(value);
+        config.setValueType(type);
+        return config;
+    }
+
+    @Test
+    void typedGetters_sameKeyThroughDifferentGetters_returnValueOfRequestedType() {
+        assertThat(configValueProvider.getStringValue("MINIMUM_WORK_HOURS_PER_DAY", null)).isEqualTo("8.0");
+        assertThat(configValueProvider.getDoubleValue("MINIMUM_WORK_HOURS_PER_DAY", 0.0)).isEqualTo(8.0);
+        assertThat(configValueProvider.getIntegerValue("MINIMUM_WORK_HOURS_PER_DAY", 0)).isEqualTo(8);
+        assertThat(configValueProvider.getLocalTimeValue("LATE_LOGIN_THRESHOLD_TIME", null)).isEqualTo(LocalTime.of(9, 30));
+        assertThat(configValueProvider.getBooleanValue("RATE_LIMIT_ENABLED", true)).isFalse();
+    }
+
+    @Test
+    void typedGetters_wrongTypeOrMissingKey_returnDefault() {
+        assertThat(configValueProvider.getDoubleValue("LATE_LOGIN_THRESHOLD_TIME", 1.5)).isEqualTo(1.5);
+        assertThat(configValueProvider.getLocalTimeValue("MINIMUM_WORK_HOURS_PER_DAY", LocalTime.NOON)).isEqualTo(LocalTime.NOON);
+        assertThat(configValueProvider.getIntegerValue("UNKNOWN_KEY", 42)).isEqualTo(42);
+    }
+
+    @Test
+    void reads_doNotHitRepository() {
+        for (int i = 0; i < 100; i++) {
+            configValueProvider.getDoubleValue("MINIMUM_WORK_HOURS_PER_DAY", 0.0);
+        }
+
+        verify(systemConfigurationRepository, times(1)).findAll(); // Only the initial snapshot load
+        verify(systemConfigurationRepository, never()).findById(any());
+    }
+
+    @Test
+    void pollForChanges_rebuildsSnapshotOnlyWhenVersionMoves() {
+        configSnapshotRegistry.pollForChanges();
+        verify(systemConfigurationRepository, times(1)).findAll();
+
+        when(syncVersionService.currentVersion(ConfigSnapshotRegistry.VERSION_KEY)).thenReturn(2L);
+        when(systemConfigurationRepository.findAll()).thenReturn(List.of(config("MINIMUM_WORK_HOURS_PER_DAY", "7.5", "NUMBER")));
+        configSnapshotRegistry.pollForChanges();
+
+        assertThat(configSnapshotRegistry.current().getVersion()).isEqualTo(2L);
+        assertThat(configValueProvider.getDoubleValue("MINIMUM_WORK_HOURS_PER_DAY", 0.0)).isEqualTo(7.5);
+    }
+
+    @Test
+    void publishChange_outsideTransaction_bumpsVersionAndReloads() {
+        when(syncVersionService.nextVersion(ConfigSnapshotRegistry.VERSION_KEY)).thenReturn(2L);
+        when(syncVersionService.currentVersion(ConfigSnapshotRegistry.VERSION_KEY)).thenReturn(2L);
+
+        configSnapshotRegistry.publishChange();
+
+        assertThat(configSnapshotRegistry.current().getVersion()).isEqualTo(2L);
+        verify(systemConfigurationRepository, times(2)).findAll();
+    }
+}
@@ -9,6 +9,7 @@ import com.hrms.employee.payload.response.EmployeeProfileResponse;
 import com.hrms.hr.service.BadRequestException; // Assuming this is the one used
 import com.hrms.hr.service.ResourceNotFoundException; // Assuming this is the one used
 import com.hrms.security.service.UserDetailsImpl;
+import com.hrms.security.service.TokenRevocationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,6 +36,7 @@ class SuperAdminUserServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private RoleRepository roleRepository;
     @Mock private AuditLogService auditLogService;
+    @Mock private TokenRevocationService tokenRevocationService;
 
     @InjectMocks
     private SuperAdminUserService superAdminUserService;
@@ -69,6 +71,7 @@ class SuperAdminUserServiceTest {
         assertThat(response).isNotNull();
         assertThat(mockTargetUser.getRoles()).contains(mockSuperAdminRole);
         verify(userRepository).save(mockTargetUser);
+        verify(tokenRevocationService).revokeUserTokens(2L, TokenRevocationService.REASON_ROLE_CHANGED);
         verify(auditLogService).logEvent(eq("superadmin"), eq(1L), eq("USER_ROLE_GRANT_SUPER_ADMIN"), eq("User"), eq("2"), anyString(), isNull(), eq("SUCCESS"));
     }
 
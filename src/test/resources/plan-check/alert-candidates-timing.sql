@@ -0,0 +1,47 @@
+-- Before/after timings of the nightly attendance alert candidate read (AttendanceRepository.findAlertCandidates)
+-- on the plan check dataset. Run RepositoryQueryPlanIntegrationTest first to create and seed the plan_check
+-- schema, then:
+--   psql -d hrms_plan_check -f src/test/resources/plan-check/alert-candidates-timing.sql
+-- Everything runs in one transaction that is rolled back.
+
+SET search_path TO plan_check;
+\timing on
+
+BEGIN;
+
+-- The latest seeded day is not checked yet: no alert sent for it (earlier days are stamped by seed.sql)
+SELECT max(work_date) AS work_date FROM employee_attendance \gset
+-- One node checks every company
+\set partition_count 1
+
+-- After: only the rows some rule will alert on (on an unchecked day the work_date index beats the partial indexes)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT a.id, e.id, e.first_name, e.email, a.login_time, a.logout_time, a.total_hours, a.is_regularized
+FROM employee_attendance a JOIN users e ON e.id = a.employee_id
+WHERE a.work_date = :'work_date' AND a.id > 0
+  AND (:partition_count = 1 OR mod(coalesce(e.company_id, 0), :partition_count) = 0)
+  AND ((a.underwork_alert_sent_at IS NULL AND a.is_regularized = FALSE AND a.total_hours < 8.0)
+    OR (a.missed_logout_alert_sent_at IS NULL AND a.logout_time IS NULL)
+    OR (a.early_logout_alert_sent_at IS NULL AND a.logout_time IS NOT NULL AND a.is_regularized = FALSE AND a.total_hours < 8.0)
+    OR (a.late_login_alert_sent_at IS NULL AND a.is_regularized = FALSE AND a.login_time_of_day > TIME '09:30'))
+ORDER BY a.id;
+
+DROP INDEX idx_attendance_underwork_alert_pending, idx_attendance_missed_logout_alert_pending,
+           idx_attendance_early_logout_alert_pending, idx_attendance_late_login_alert_pending;
+
+-- Before: every row of the day with any alert unsent, classified by the rules in Java
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT a.id, e.id, e.first_name, e.email, a.login_time, a.logout_time, a.total_hours, a.is_regularized
+FROM employee_attendance a JOIN users e ON e.id = a.employee_id
+WHERE a.work_date = :'work_date' AND a.id > 0 AND mod(coalesce(e.company_id, 0), :partition_count) = 0
+  AND (a.underwork_alert_sent_at IS NULL OR a.missed_logout_alert_sent_at IS NULL
+    OR a.early_logout_alert_sent_at IS NULL OR a.late_login_alert_sent_at IS NULL)
+ORDER BY a.id;
+
+-- Before, late logins only: the time of day computed per row
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT a.id FROM employee_attendance a
+WHERE a.work_date = :'work_date' AND a.late_login_alert_sent_at IS NULL AND a.is_regularized = FALSE
+  AND CAST(a.login_time AS TIME) > TIME '09:30';
+
+ROLLBACK;
@@ -0,0 +1,204 @@
+-- Synthetic dataset for RepositoryQueryPlanIntegrationTest, loaded after the migrations.
+-- Sized like a mid-sized installation so the planner faces realistic row counts: 40 companies, 10,000 employees,
+-- six months of weekday attendance (about 1.2M rows over the monthly partitions), and the tables around them.
+-- Time series end yesterday and reach back 180 days; values are pseudo-random with a fixed seed.
+
+SELECT setseed(0.42);
+
+INSERT INTO companies (name, address, is_active)
+SELECT 'Plan Check Company ' || c, c || ' Test Street', c % 20 <> 0
+FROM generate_series(1, 40) AS c;
+
+INSERT INTO users (first_name, last_name, username, email, password, is_active, company_id, designation, created_at, updated_at)
+SELECT 'First' || u, 'Last' || u, 'user' || u, 'user' || u || '@example.com', '$2a$10$planCheckPasswordHashPlaceholder',
+       u % 25 <> 0, (SELECT min(id) FROM companies WHERE name LIKE 'Plan Check%') + u % 40,
+       CASE WHEN u % 10 = 0 THEN 'Manager' ELSE 'Engineer' END,
+       now() - (u % 720) * INTERVAL '1 day', now() - (u % 30) * INTERVAL '1 day'
+FROM generate_series(1, 10000) AS u;
+
+-- Teams of ten: the first seeded user of every ten manages the other nine
+UPDATE users u SET manager_id = m.id
+FROM users m
+WHERE u.username LIKE 'user%' AND m.username = 'user' || (((substring(u.username FROM 5)::int - 1) / 10) * 10 + 1)
+  AND m.id <> u.id;
+
+INSERT INTO user_roles (user_id, role_id)
+SELECT u.id, r.id FROM users u JOIN roles r ON r.name = 'ROLE_EMPLOYEE' WHERE u.username LIKE 'user%';
+INSERT INTO user_roles (user_id, role_id)
+SELECT DISTINCT u.manager_id, r.id FROM users u JOIN roles r ON r.name = 'ROLE_MANAGER' WHERE u.manager_id IS NOT NULL;
+INSERT INTO user_roles (user_id, role_id)
+SELECT u.id, r.id FROM users u JOIN roles r ON r.name = 'ROLE_HR' WHERE u.username LIKE 'user%' AND u.id % 250 = 0;
+
+-- Attendance: one row per employee and weekday, about 5% absent. Of the rows present about 5% log in late, 3% have
+-- no logout and 4% log out early. Every day but the last has been through the nightly alert check.
+-- The migration only created partitions from the current month on.
+SELECT create_attendance_partition(CAST(m AS DATE))
+FROM generate_series(date_trunc('month', CURRENT_DATE - 180), date_trunc('month', CURRENT_DATE), INTERVAL '1 month') AS m;
+
+INSERT INTO employee_attendance (employee_id, work_date, login_time, logout_time, total_hours, is_regularized,
+                                 created_at, updated_at, underwork_alert_sent_at, missed_logout_alert_sent_at,
+                                 early_logout_alert_sent_at, late_login_alert_sent_at)
+SELECT a.employee_id, a.work_date, a.login_time, a.logout_time, a.total_hours,
+       a.is_regularized, a.login_time, coalesce(a.logout_time, a.login_time),
+       CASE WHEN a.checked AND a.total_hours < 8 AND NOT a.is_regularized THEN a.work_date + 1 + TIME '02:00' END,
+       CASE WHEN a.checked AND a.logout_time IS NULL THEN a.work_date + 1 + TIME '02:00' END,
+       CASE WHEN a.checked AND a.total_hours < 8 AND NOT a.is_regularized THEN a.work_date + 1 + TIME '02:00' END,
+       CASE WHEN a.checked AND CAST(a.login_time AS TIME) > TIME '09:30' AND NOT a.is_regularized THEN a.work_date + 1 + TIME '02:00' END
+FROM (SELECT t.*, CASE WHEN t.logout_time IS NOT NULL
+                       THEN round(CAST(extract(epoch FROM t.logout_time - t.login_time) / 3600 AS numeric), 2) END AS total_hours
+      FROM (SELECT u.id AS employee_id, CAST(d AS DATE) AS work_date, r.regularized AS is_regularized,
+                   CAST(d AS DATE) < l.last_day AS checked,
+                   d + CASE WHEN r.late < 0.05 THEN TIME '09:31' + r.minutes * INTERVAL '60 minutes'
+                            ELSE TIME '08:30' + r.minutes * INTERVAL '55 minutes' END AS login_time,
+                   CASE WHEN r.logout < 0.03 THEN NULL
+                        WHEN r.logout < 0.07 THEN d + TIME '15:00' + r.minutes * INTERVAL '120 minutes'
+                        ELSE d + TIME '17:30' + r.minutes * INTERVAL '120 minutes' END AS logout_time
+            FROM generate_series(CURRENT_DATE - 180, CURRENT_DATE - 1, INTERVAL '1 day') AS d
+            CROSS JOIN (SELECT CAST(max(day) AS DATE) AS last_day
+                        FROM generate_series(CURRENT_DATE - 7, CURRENT_DATE - 1, INTERVAL '1 day') AS day
+                        WHERE extract(isodow FROM day) < 6) l
+            CROSS JOIN users u
+            CROSS JOIN LATERAL (SELECT random() AS late, random() AS logout, random() AS minutes,
+                                       random() < 0.01 AS regularized, random() AS absent, u.id AS uid, d AS day) r
+            WHERE u.username LIKE 'user%' AND extract(isodow FROM d) < 6 AND r.absent >= 0.05) t) a;
+
+INSERT INTO attendance_monthly_rollup (employee_id, month_start, days_present, total_hours, late_count,
+                                       missed_logout_count, regularized_count, updated_at)
+SELECT employee_id, CAST(date_trunc('month', work_date) AS DATE), count(*), coalesce(sum(total_hours), 0),
+       count(*) FILTER (WHERE CAST(login_time AS TIME) > TIME '09:30' AND NOT is_regularized),
+       count(*) FILTER (WHERE logout_time IS NULL), count(*) FILTER (WHERE is_regularized), now()
+FROM employee_attendance
+GROUP BY employee_id, date_trunc('month', work_date);
+
+INSERT INTO employee_regularization_requests (employee_id, attendance_record_id, request_date, reason_type, status, created_at, updated_at)
+SELECT a.employee_id, a.id, a.work_date,
+       (ARRAY['MISSED_LOGOUT', 'EARLY_LOGOUT', 'LATE_LOGIN', 'OTHER'])[1 + a.id % 4],
+       (ARRAY['PENDING', 'APPROVED', 'APPROVED', 'REJECTED'])[1 + a.id % 4], a.created_at, a.created_at
+FROM employee_attendance a
+WHERE a.id % 60 = 0;
+
+INSERT INTO employee_leave_requests (employee_id, leave_type, start_date, end_date, reason, status, created_at, updated_at)
+SELECT u.id, (ARRAY['SICK', 'PRIVILEGE', 'PERSONAL', 'BEREAVEMENT'])[1 + (u.id + n) % 4],
+       CURRENT_DATE - s.offset_days, CURRENT_DATE - s.offset_days + (n % 3),
+       'Plan check leave', (ARRAY['APPROVED', 'APPROVED', 'PENDING', 'REJECTED', 'CANCELLED'])[1 + (u.id * 7 + n) % 5],
+       now() - s.offset_days * INTERVAL '1 day', now() - s.offset_days * INTERVAL '1 day'
+FROM users u
+CROSS JOIN generate_series(1, 4) AS n
+CROSS JOIN LATERAL (SELECT CAST(floor(random() * 360) AS int) - 30 AS offset_days) s
+WHERE u.username LIKE 'user%';
+
+INSERT INTO employee_tasks (assigned_to_id, assigned_by_id, title, description, deadline, status, priority, created_at, updated_at,
+                            completed_at, auto_closed_at)
+SELECT t.assigned_to_id, coalesce(t.manager_id, t.assigned_to_id), 'Task ' || t.n || ' for ' || t.assigned_to_id, 'Plan check task',
+       t.deadline, t.status, t.n % 4, t.deadline - INTERVAL '14 days', t.deadline - INTERVAL '7 days',
+       CASE WHEN t.status = 'COMPLETED' THEN t.deadline - INTERVAL '1 day' END,
+       CASE WHEN t.status = 'CLOSED_FAILED' THEN t.deadline + INTERVAL '1 hour' END
+FROM (SELECT u.id AS assigned_to_id, u.manager_id, n,
+             now() + (random() * 240 - 180) * INTERVAL '1 day' AS deadline,
+             (ARRAY['COMPLETED', 'COMPLETED', 'COMPLETED', 'CLOSED_SUCCESS', 'CLOSED_FAILED', 'TODO', 'IN_PROGRESS'])[1 + floor(random() * 7)::int] AS status
+      FROM users u CROSS JOIN generate_series(1, 10) AS n
+      WHERE u.username LIKE 'user%') t;
+-- Open tasks are the ones still ahead of their deadline
+UPDATE employee_tasks SET status = 'COMPLETED', completed_at = deadline - INTERVAL '1 day'
+WHERE status IN ('TODO', 'IN_PROGRESS') AND deadline < now() - INTERVAL '2 days';
+
+INSERT INTO employee_payslips (employee_id, pay_period_start, pay_period_end, gross_salary, deductions, net_salary, file_url,
+                               generated_date, created_at, updated_at)
+SELECT u.id, CAST(date_trunc('month', CURRENT_DATE) - m * INTERVAL '1 month' AS DATE),
+       CAST(date_trunc('month', CURRENT_DATE) - (m - 1) * INTERVAL '1 month' - INTERVAL '1 day' AS DATE),
+       80000, 12000, 68000, '/payslips/' || u.id || '/' || m || '.pdf',
+       CAST(date_trunc('month', CURRENT_DATE) - (m - 1) * INTERVAL '1 month' AS DATE), now(), now()
+FROM users u CROSS JOIN generate_series(1, 6) AS m
+WHERE u.username LIKE 'user%';
+
+INSERT INTO company_holidays (company_id, name, date, is_global, created_at, updated_at)
+SELECT c.id, 'Company holiday ' || h, CAST(date_trunc('year', CURRENT_DATE) AS DATE) + CAST(h * 29 + c.id % 7 AS int), FALSE, now(), now()
+FROM companies c CROSS JOIN generate_series(0, 11) AS h
+WHERE c.name LIKE 'Plan Check%';
+INSERT INTO company_holidays (company_id, name, date, is_global, created_at, updated_at)
+SELECT NULL, 'Global holiday ' || h, CAST(date_trunc('year', CURRENT_DATE) AS DATE) + h * 36, TRUE, now(), now()
+FROM generate_series(0, 9) AS h;
+
+INSERT INTO employee_documents (employee_id, company_id, document_type, display_name, file_name, file_url, uploaded_by_id,
+                                is_company_wide, is_global_policy, is_restricted_to_hr, created_at, updated_at)
+SELECT u.id, u.company_id, (ARRAY['EDUCATION', 'BANK_STATEMENT', 'AGREEMENT', 'INVESTMENT_PROOF'])[1 + (u.id + n) % 4],
+       'Document ' || n, md5(u.id || '-' || n) || '.pdf', '/documents/' || md5(u.id || '-' || n) || '.pdf', u.id,
+       FALSE, FALSE, n = 3, now(), now()
+FROM users u CROSS JOIN generate_series(1, 3) AS n
+WHERE u.username LIKE 'user%';
+INSERT INTO employee_documents (employee_id, company_id, document_type, display_name, file_name, file_url, is_company_wide,
+                                is_global_policy, created_at, updated_at)
+SELECT NULL, c.id, 'POLICY', 'Company policy ' || n, md5(c.id || '/' || n) || '.pdf', '/documents/' || md5(c.id || '/' || n) || '.pdf',
+       TRUE, FALSE, now(), now()
+FROM companies c CROSS JOIN generate_series(1, 10) AS n;
+INSERT INTO employee_documents (employee_id, company_id, document_type, display_name, file_name, file_url, is_company_wide,
+                                is_global_policy, created_at, updated_at)
+SELECT NULL, NULL, 'POLICY', 'Global policy ' || n, md5('global/' || n) || '.pdf', '/documents/' || md5('global/' || n) || '.pdf',
+       FALSE, TRUE, now(), now()
+FROM generate_series(1, 20) AS n;
+
+INSERT INTO employee_concerns (raised_by_id, raised_against_employee_id, concern_text, status, category, created_at, updated_at)
+SELECT u.id, u.manager_id, 'Plan check concern', (ARRAY['OPEN', 'IN_PROGRESS', 'RESOLVED', 'RESOLVED'])[1 + u.id % 4],
+       (ARRAY['Workload', 'Conduct', 'Facilities'])[1 + u.id % 3], now(), now()
+FROM users u
+WHERE u.username LIKE 'user%' AND u.id % 2 = 0;
+
+INSERT INTO employee_hikes (employee_id, hike_percentage, old_salary, new_salary, effective_date, processed_by_id, processed_at,
+                            created_at, updated_at, published_at)
+SELECT u.id, 8.5, 80000, 86800, CURRENT_DATE - CAST(u.id % 365 AS int), coalesce(u.manager_id, u.id), now(), now(), now(), now()
+FROM users u
+WHERE u.username LIKE 'user%';
+
+INSERT INTO hiring_resumes (candidate_name, resume_link, skills, category, notes, uploaded_by_id, uploaded_at)
+SELECT 'Candidate ' || r, 'https://resumes.example.com/' || r,
+       (ARRAY['java', 'spring', 'postgresql', 'kotlin', 'react', 'typescript', 'python', 'aws', 'docker', 'sql'])[1 + r % 10] || ', ' ||
+       (ARRAY['kafka', 'kubernetes', 'go', 'rust', 'terraform', 'angular', 'vue', 'scala', 'spark', 'linux'])[1 + (r / 10) % 10] || ', ' ||
+       (ARRAY['git', 'jira', 'agile', 'scrum', 'testing', 'ci/cd', 'graphql', 'redis', 'mongodb', 'elasticsearch'])[1 + (r / 100) % 10],
+       (ARRAY['Engineering', 'Product', 'Design', 'Sales', 'Marketing', 'Finance', 'HR', 'Operations', 'Support', 'Data', 'Security', 'Legal'])[1 + r % 12],
+       'Plan check resume', (SELECT min(id) FROM users WHERE username LIKE 'user%') + r % 10000, now() - (r % 1000) * INTERVAL '1 day'
+FROM generate_series(1, 60000) AS r;
+
+INSERT INTO employee_investment_declarations (employee_id, declaration_year, it_declaration_amount, fbp_opted_amount, status,
+                                              submitted_at, updated_at)
+SELECT u.id, y || '-' || (y + 1), 150000, 50000,
+       (ARRAY['SUBMITTED', 'APPROVED_BY_HR', 'APPROVED_BY_HR', 'REJECTED_BY_HR'])[1 + (u.id + y) % 4],
+       make_date(y, 6, 1), make_date(y, 6, 1)
+FROM users u CROSS JOIN generate_series(extract(year FROM CURRENT_DATE)::int - 2, extract(year FROM CURRENT_DATE)::int - 1) AS y
+WHERE u.username LIKE 'user%';
+
+INSERT INTO performance_review_cycles (name, start_date, end_date, status, created_at, updated_at)
+SELECT 'Plan Check Cycle ' || n, CURRENT_DATE - (n * 182), CURRENT_DATE - (n * 182) + 90,
+       CASE WHEN n = 0 THEN 'ACTIVE' ELSE 'COMPLETED' END, now(), now()
+FROM generate_series(0, 7) AS n;
+
+INSERT INTO performance_reviews (employee_id, reviewer_id, review_cycle_id, status, overall_rating_by_manager, final_rating,
+                                 created_at, updated_at)
+SELECT u.id, u.manager_id, c.id, CASE WHEN c.status = 'ACTIVE' THEN 'PENDING_SELF_APPRAISAL' ELSE 'COMPLETED' END,
+       1 + u.id % 5, 1 + u.id % 5, c.start_date, c.start_date
+FROM users u
+JOIN performance_review_cycles c ON c.name LIKE 'Plan Check Cycle%' AND c.start_date > CURRENT_DATE - 4 * 182
+WHERE u.username LIKE 'user%' AND u.manager_id IS NOT NULL;
+
+-- Outbox: delivered mail of the last 180 days plus a small dispatchable backlog
+INSERT INTO notification_outbox (recipient, subject, body, html, template_name, dedupe_key, status, attempts, next_attempt_at,
+                                 created_at, sent_at)
+SELECT 'user' || (1 + n % 10000) || '@example.com', 'Attendance alert', '<p>Plan check message</p>', TRUE, 'late-login-alert.html',
+       md5(CAST(n AS text)), CASE WHEN n % 500 = 0 THEN 'DUPLICATE' ELSE 'SENT' END, 1, t, t, t + INTERVAL '5 seconds'
+FROM generate_series(1, 200000) AS n
+CROSS JOIN LATERAL (SELECT now() - (n % 180) * INTERVAL '1 day' - (n % 86400) * INTERVAL '1 second' AS t) s;
+INSERT INTO notification_outbox (recipient, subject, body, html, template_name, dedupe_key, status, attempts, next_attempt_at, created_at)
+SELECT 'user' || n || '@example.com', 'Task reminder', '<p>Plan check message</p>', TRUE, 'task-reminder.html',
+       md5('pending' || n), 'PENDING', n % 3, now() + (n % 60) * INTERVAL '1 second', now()
+FROM generate_series(1, 200) AS n;
+
+INSERT INTO job_executions (job_name, run_key, node_id, status, scheduled_at, started_at, finished_at, duration_ms, lag_ms,
+                            rows_scanned, rows_alerted, emails_queued, failures, chunk_count)
+SELECT (ARRAY['attendance-anomalies', 'unrecorded-leave', 'task-auto-close'])[1 + n % 3], 'run-' || n, 'node-1', 'SUCCEEDED',
+       t, t + INTERVAL '2 seconds', t + INTERVAL '40 seconds', 38000, 2000, 10000, 300, 300, 0, 10
+FROM generate_series(1, 20000) AS n
+CROSS JOIN LATERAL (SELECT now() - (n % 180) * INTERVAL '1 day' - (n % 1440) * INTERVAL '1 minute' AS t) s;
+
+INSERT INTO token_revocations (user_id, revoked_before_ms, reason, version, updated_at)
+SELECT u.id, CAST(extract(epoch FROM now()) * 1000 AS bigint) - u.id, 'LOGOUT_ALL', u.id, now()
+FROM users u
+WHERE u.username LIKE 'user%' AND u.id % 20 = 0;